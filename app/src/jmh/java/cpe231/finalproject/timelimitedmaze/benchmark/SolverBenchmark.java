@@ -0,0 +1,49 @@
+package cpe231.finalproject.timelimitedmaze.benchmark;
+
+import cpe231.finalproject.timelimitedmaze.solver.MazeSolver;
+import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import cpe231.finalproject.timelimitedmaze.utils.SolverRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures one {@link MazeSolver#solve(Maze)} call per invocation.
+ *
+ * The parameter defaults only cover a single pair; {@link SolverBenchmarkRunner}
+ * expands them to every registered solver and maze.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolverBenchmark {
+
+  @Param({"Dijkstra's Algorithm"})
+  public String solverName;
+
+  @Param({"m100_100.txt"})
+  public String mazeFile;
+
+  private MazeSolver solver;
+  private Maze maze;
+
+  @Setup
+  public void setUp() {
+    solver = SolverRegistry.createSolver(solverName);
+    solver.setResultCaching(false);
+    maze = MazeStore.getMaze(mazeFile);
+  }
+
+  @Benchmark
+  public SolverResult solve() {
+    return solver.solve(maze);
+  }
+}
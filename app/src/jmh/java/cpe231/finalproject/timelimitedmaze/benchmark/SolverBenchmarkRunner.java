@@ -0,0 +1,84 @@
+package cpe231.finalproject.timelimitedmaze.benchmark;
+
+import cpe231.finalproject.timelimitedmaze.solver.MazeSolver;
+import cpe231.finalproject.timelimitedmaze.utils.MazeCatalog;
+import cpe231.finalproject.timelimitedmaze.utils.SolverRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs {@link SolverBenchmark} over the solver x maze matrix.
+ *
+ * Solvers come from {@link SolverRegistry} and mazes from
+ * {@link MazeCatalog}, so new entries are benchmarked without touching this
+ * class. Solvers without a bounded running time are skipped unless
+ * {@code --all} is given.
+ */
+public final class SolverBenchmarkRunner {
+
+  private static final Set<String> UNBOUNDED_SOLVERS = Set.of(
+      "Genetic Algorithm",
+      "IDDFS (Iterative Deepening DFS)");
+
+  private static final String RESULT_FILE = "build/jmh-results.json";
+
+  private SolverBenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    List<String> algorithms = new ArrayList<>();
+    List<String> mazes = new ArrayList<>();
+    boolean includeAll = false;
+
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if ((arg.equals("--algo") || arg.equals("-a")) && i + 1 < args.length) {
+        algorithms.add(args[++i]);
+      } else if ((arg.equals("--maze") || arg.equals("-m")) && i + 1 < args.length) {
+        mazes.add(args[++i]);
+      } else if (arg.equals("--all")) {
+        includeAll = true;
+      }
+    }
+
+    if (algorithms.isEmpty()) {
+      for (MazeSolver solver : SolverRegistry.getAvailableSolvers()) {
+        String name = solver.getAlgorithmName();
+        if (includeAll || !UNBOUNDED_SOLVERS.contains(name)) {
+          algorithms.add(name);
+        }
+      }
+    }
+    if (mazes.isEmpty()) {
+      mazes.addAll(MazeCatalog.listMazes());
+    }
+
+    System.out.println("Benchmarking " + algorithms.size() + " solver(s) on " + mazes.size() + " maze(s)");
+
+    Options options = new OptionsBuilder()
+        .include(SolverBenchmark.class.getSimpleName())
+        .param("solverName", algorithms.toArray(String[]::new))
+        .param("mazeFile", mazes.toArray(String[]::new))
+        .warmupIterations(3)
+        .warmupTime(TimeValue.seconds(1))
+        .measurementIterations(5)
+        .measurementTime(TimeValue.seconds(1))
+        .timeUnit(TimeUnit.MICROSECONDS)
+        .forks(1)
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(RESULT_FILE)
+        .build();
+
+    new Runner(options).run();
+  }
+}
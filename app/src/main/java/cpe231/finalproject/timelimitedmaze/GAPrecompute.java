@@ -3,7 +3,7 @@ package cpe231.finalproject.timelimitedmaze;
 import cpe231.finalproject.timelimitedmaze.solver.GeneticAlgorithmSolver;
 import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeFileLister;
+import cpe231.finalproject.timelimitedmaze.utils.MazeCatalog;
 import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,7 +25,7 @@ public final class GAPrecompute {
   public static void main(String[] args) {
     System.out.println("=== Genetic Algorithm Pre-computation ===\n");
 
-    List<String> mazeFiles = MazeFileLister.listMazeFiles();
+    List<String> mazeFiles = MazeCatalog.listMazes();
     List<PrecomputeResult> results = new ArrayList<>();
 
     System.out.println("Pre-computing solutions for " + mazeFiles.size() + " maze(s)...\n");
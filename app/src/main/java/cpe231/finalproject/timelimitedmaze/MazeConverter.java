@@ -0,0 +1,74 @@
+package cpe231.finalproject.timelimitedmaze;
+
+import cpe231.finalproject.timelimitedmaze.utils.BinaryMazeFormat;
+import cpe231.finalproject.timelimitedmaze.utils.MazeCatalog;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts text mazes to {@link BinaryMazeFormat} sidecars.
+ *
+ * Each argument is a maze file or a directory of {@code .txt} mazes; every
+ * maze gets a {@code .mzb} file next to it, which {@code MazeStore} then
+ * loads instead of re-parsing the text.
+ */
+public final class MazeConverter {
+
+  private MazeConverter() {
+  }
+
+  public static void main(String[] args) {
+    if (args.length == 0 || args[0].equals("--help") || args[0].equals("-h")) {
+      printUsage();
+      return;
+    }
+
+    List<Path> textFiles = new ArrayList<>();
+    for (String arg : args) {
+      Path path = Path.of(arg);
+      if (Files.isDirectory(path)) {
+        MazeCatalog.listMazes(path).forEach(name -> textFiles.add(path.resolve(name)));
+      } else {
+        textFiles.add(path);
+      }
+    }
+
+    System.out.println("=== Maze Converter ===\n");
+    System.out.println("Converting " + textFiles.size() + " maze(s)...\n");
+
+    int failures = 0;
+    for (Path textFile : textFiles) {
+      System.out.print("  " + textFile + "... ");
+      try {
+        long startNs = System.nanoTime();
+        Path sidecar = BinaryMazeFormat.convert(textFile);
+        double elapsedMs = (System.nanoTime() - startNs) / 1_000_000.0;
+        System.out.printf("%s (%d -> %d bytes, %.3f ms)%n", sidecar.getFileName(), Files.size(textFile),
+            Files.size(sidecar), elapsedMs);
+      } catch (IllegalArgumentException | UncheckedIOException | IOException e) {
+        failures++;
+        System.out.println("ERROR: " + e.getMessage());
+      }
+    }
+
+    System.out.println();
+    System.out.println((textFiles.size() - failures) + "/" + textFiles.size() + " maze(s) converted.");
+    if (failures > 0) {
+      System.exit(1);
+    }
+  }
+
+  private static void printUsage() {
+    System.out.println("Usage: MazeConverter <maze file or directory>...");
+    System.out.println();
+    System.out.println("Writes a binary .mzb sidecar next to each text maze.");
+    System.out.println();
+    System.out.println("Examples:");
+    System.out.println("  ./gradlew :app:convertMazes -Pargs=\"/data/mazes\"");
+    System.out.println("  ./gradlew :app:convertMazes -Pargs=\"/data/mazes/m5000_5000.txt\"");
+  }
+}
@@ -0,0 +1,107 @@
+package cpe231.finalproject.timelimitedmaze;
+
+import cpe231.finalproject.timelimitedmaze.generator.MazeAlgorithm;
+import cpe231.finalproject.timelimitedmaze.generator.MazeGenerator;
+import cpe231.finalproject.timelimitedmaze.generator.MazeSpec;
+import cpe231.finalproject.timelimitedmaze.generator.WeightDistribution;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one procedurally generated maze in the text format, ready for the
+ * profiler, the binary converter or the tiled solver.
+ */
+public final class MazeGeneratorRunner {
+
+  private static final String DEFAULT_WEIGHTS = "uniform:1:10";
+
+  private MazeGeneratorRunner() {
+  }
+
+  public static void main(String[] args) {
+    if (args.length < 2 || args[0].equals("--help") || args[0].equals("-h")) {
+      printUsage();
+      return;
+    }
+
+    MazeSpec spec;
+    Path output = null;
+    boolean sequential = false;
+    try {
+      int width = Integer.parseInt(args[0]);
+      int height = Integer.parseInt(args[1]);
+      MazeAlgorithm algorithm = MazeAlgorithm.BACKTRACKER;
+      WeightDistribution weights = WeightDistribution.parse(DEFAULT_WEIGHTS);
+      double loopRatio = 0;
+      long seed = System.nanoTime();
+      for (int i = 2; i < args.length; i++) {
+        switch (args[i]) {
+          case "--algorithm" -> algorithm = MazeAlgorithm.fromName(requireValue(args, ++i, "--algorithm"));
+          case "--weights" -> weights = WeightDistribution.parse(requireValue(args, ++i, "--weights"));
+          case "--loops" -> loopRatio = Double.parseDouble(requireValue(args, ++i, "--loops"));
+          case "--seed" -> seed = Long.parseLong(requireValue(args, ++i, "--seed"));
+          case "--out" -> output = Path.of(requireValue(args, ++i, "--out"));
+          case "--sequential" -> sequential = true;
+          default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+        }
+      }
+      spec = new MazeSpec(width, height, algorithm, weights, loopRatio, seed);
+    } catch (IllegalArgumentException e) {
+      System.err.println("Error: " + e.getMessage());
+      printUsage();
+      System.exit(1);
+      return;
+    }
+    if (output == null) {
+      output = Path.of(spec.defaultFileName());
+    } else if (Files.isDirectory(output)) {
+      output = output.resolve(spec.defaultFileName());
+    }
+
+    System.out.println("=== Maze Generator ===\n");
+    System.out.println("Size: " + spec.width() + "x" + spec.height() + " (" + spec.columns() + "x" + spec.rows()
+        + " carved cells)");
+    System.out.println("Algorithm: " + spec.algorithm().getDisplayName());
+    System.out.println("Weights: " + spec.weights());
+    System.out.println("Loop ratio: " + spec.loopRatio());
+    System.out.println("Seed: " + spec.seed());
+    System.out.println();
+
+    MazeGenerator generator = sequential ? new MazeGenerator(Runnable::run) : new MazeGenerator();
+    try {
+      long startNs = System.nanoTime();
+      generator.write(spec, output);
+      double elapsedMs = (System.nanoTime() - startNs) / 1_000_000.0;
+      System.out.printf("Wrote %s (%d bytes) in %.1f ms%n", output, Files.size(output), elapsedMs);
+    } catch (IllegalArgumentException | UncheckedIOException | IOException e) {
+      System.err.println("Error: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private static String requireValue(String[] args, int index, String option) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException(option + " expects a value");
+    }
+    return args[index];
+  }
+
+  private static void printUsage() {
+    System.out.println("Usage: MazeGeneratorRunner <width> <height> [options]");
+    System.out.println();
+    System.out.println("Options:");
+    System.out.println("  --algorithm <name>  backtracker, kruskal, prim or wilson (default backtracker)");
+    System.out.println("  --weights <dist>    constant:w, uniform:min:max or geometric:min:max:p (default "
+        + DEFAULT_WEIGHTS + ")");
+    System.out.println("  --loops <ratio>     Fraction of dead ends to open, 0 to 1 (default 0, a perfect maze)");
+    System.out.println("  --seed <n>          Seed for a reproducible maze (default: random)");
+    System.out.println("  --out <path>        Output file or directory (default m<width>_<height>.txt)");
+    System.out.println("  --sequential        Generate on the calling thread only");
+    System.out.println();
+    System.out.println("Examples:");
+    System.out.println("  ./gradlew :app:generateMaze -Pargs=\"20001 20001 --seed 42 --out /data/mazes\"");
+    System.out.println("  ./gradlew :app:generateMaze -Pargs=\"5000 5000 --algorithm wilson --loops 0.3\"");
+  }
+}
@@ -1,42 +1,67 @@
 package cpe231.finalproject.timelimitedmaze;
 
 import cpe231.finalproject.timelimitedmaze.solver.MazeSolver;
+import cpe231.finalproject.timelimitedmaze.solver.SolveResultStore;
 import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeFileLister;
+import cpe231.finalproject.timelimitedmaze.utils.MazeCatalog;
+import cpe231.finalproject.timelimitedmaze.utils.MazePreloadResult;
 import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
 import cpe231.finalproject.timelimitedmaze.utils.SolverRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Profiles maze solvers on available mazes.
  *
  * Runs selected algorithms on selected mazes and displays results in a table
  * format.
- * Supports filtering by algorithm and maze names.
+ * Supports filtering by algorithm and maze names, loading mazes from a
+ * directory or absolute path on disk, and can spread the
+ * solver/maze matrix over a worker pool with {@code --parallel}. Results can
+ * be saved as CSV or JSON and compared against a saved baseline.
  */
 public final class MazeProfiler {
 
+  private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
   private MazeProfiler() {
   }
 
   public static void main(String[] args) {
-    if (args.length > 0 && (args[0].equals("--list") || args[0].equals("-l"))) {
-      printAvailableOptions();
-      return;
-    }
-
     ParsedArgs parsed = parseArguments(args);
     if (parsed.showHelp()) {
       printUsage();
       return;
     }
 
+    if (parsed.mazeDirectory() != null) {
+      try {
+        MazeStore.setMazeDirectory(parsed.mazeDirectory());
+      } catch (IllegalArgumentException e) {
+        System.err.println("Error: " + e.getMessage());
+        return;
+      }
+    }
+
+    if (parsed.listOptions()) {
+      printAvailableOptions();
+      return;
+    }
+
     List<MazeSolver> allSolvers = SolverRegistry.getAvailableSolvers();
-    List<String> allMazeFiles = MazeFileLister.listMazeFiles();
+    List<String> allMazeFiles = availableMazeFiles();
 
     List<MazeSolver> selectedSolvers = filterSolvers(allSolvers, parsed.algorithms());
     List<String> selectedMazeFiles = filterMazeFiles(allMazeFiles, parsed.mazes());
@@ -55,41 +80,299 @@ public final class MazeProfiler {
       return;
     }
 
+    if (parsed.parallelism() < 1) {
+      System.err.println("Error: --parallel expects a positive number of workers.");
+      return;
+    }
+
+    if (parsed.warmup() < 0 || parsed.iterations() < 1) {
+      System.err.println("Error: --warmup must be >= 0 and --iterations must be >= 1.");
+      return;
+    }
+
+    if (parsed.budget() != null && parsed.budget().isNegative()) {
+      System.err.println("Error: --budget expects a non-negative number of milliseconds.");
+      return;
+    }
+
+    if (!(parsed.thresholdPercent() >= 0.0)) {
+      System.err.println("Error: --threshold expects a non-negative percentage.");
+      return;
+    }
+
+    ProfileReport.Format format = null;
+    if (parsed.format() != null) {
+      try {
+        format = ProfileReport.Format.parse(parsed.format());
+      } catch (IllegalArgumentException e) {
+        System.err.println("Error: --format expects csv or json.");
+        return;
+      }
+    } else if (parsed.outputPath() != null) {
+      format = ProfileReport.Format.forPath(parsed.outputPath());
+    }
+
+    List<ProfileResult> baseline = null;
+    if (parsed.baselinePath() != null) {
+      try {
+        baseline = ProfileReport.read(parsed.baselinePath());
+      } catch (RuntimeException e) {
+        System.err.println("Error: Could not read baseline " + parsed.baselinePath() + ": " + e.getMessage());
+        return;
+      }
+    }
+
     System.out.println("=== Maze Solver Profiler ===\n");
     System.out
-        .println("Running " + selectedSolvers.size() + " solver(s) on " + selectedMazeFiles.size() + " maze(s)...\n");
-
-    List<ProfileResult> results = new ArrayList<>();
+        .println("Running " + selectedSolvers.size() + " solver(s) on " + selectedMazeFiles.size() + " maze(s)...");
+    System.out.println("Warmup: " + parsed.warmup() + ", measured iterations: " + parsed.iterations() + "\n");
+    preloadMazes(selectedMazeFiles);
+
+    // Timing, report and baseline runs must measure real solves
+    boolean resultCache = parsed.resultCache() && parsed.warmup() == 0 && parsed.iterations() == 1
+        && format == null && baseline == null;
+    if (resultCache) {
+      // Open the store now so the first lookup is not charged for it
+      SolveResultStore.getDefault();
+    }
 
+    List<ProfileTask> tasks = new ArrayList<>();
     for (MazeSolver solver : selectedSolvers) {
-      String solverName = solver.getAlgorithmName();
-      System.out.println("Testing: " + solverName);
-
       for (String mazeFile : selectedMazeFiles) {
-        try {
-          Maze maze = MazeStore.getMaze(mazeFile);
-          System.out.print("  " + mazeFile + "... ");
+        tasks.add(new ProfileTask(solver.getAlgorithmName(), mazeFile, parsed.warmup(), parsed.iterations(),
+            parsed.budget(), resultCache));
+      }
+    }
+
+    List<ProfileResult> results;
+    if (parsed.parallelism() > 1 && parsed.isolateTiming()) {
+      warmUpParallel(tasks, parsed.parallelism());
+      System.out.println("Parallel warmup finished; measuring serially...\n");
+      List<ProfileTask> measured = new ArrayList<>();
+      for (ProfileTask task : tasks) {
+        measured.add(new ProfileTask(task.solverName(), task.mazeFile(), 0, task.iterations(), task.budget(),
+            task.resultCache()));
+      }
+      results = runSerial(measured);
+    } else if (parsed.parallelism() > 1) {
+      results = runParallel(tasks, parsed.parallelism());
+    } else {
+      results = runSerial(tasks);
+    }
+
+    printResultsTable(results, selectedSolvers, selectedMazeFiles);
+    System.out.println("\nMaze cache: " + MazeStore.cacheStats());
+    if (resultCache) {
+      SolveResultStore.getDefault()
+          .ifPresent(store -> System.out.println("Solve cache: " + store.stats()));
+    }
+
+    if (parsed.outputPath() != null) {
+      ProfileReport.write(results, format, parsed.outputPath());
+      System.out.println("Report written to " + parsed.outputPath());
+    } else if (format != null) {
+      System.out.print(ProfileReport.render(results, format));
+    }
 
-          SolverResult result = solver.solve(maze);
+    if (baseline != null && !compareWithBaseline(baseline, results, parsed.thresholdPercent())) {
+      System.exit(1);
+    }
+  }
 
-          long executionTimeNs = result.endTimeNs() - result.startTimeNs();
-          double executionTimeMs = executionTimeNs / 1_000_000.0;
-          boolean reachedGoal = result.path().getLast().equals(maze.getGoal());
+  /**
+   * Prints regressions against {@code baseline} and returns {@code true} when
+   * there are none.
+   */
+  private static boolean compareWithBaseline(List<ProfileResult> baseline, List<ProfileResult> results,
+      double thresholdPercent) {
+    List<ProfileReport.Regression> regressions = ProfileReport.compare(baseline, results, thresholdPercent);
+
+    System.out.printf("%n=== Baseline Comparison (threshold %.1f%%) ===%n%n", thresholdPercent);
+    if (regressions.isEmpty()) {
+      System.out.println("No regressions.");
+      return true;
+    }
 
-          results.add(new ProfileResult(solverName, mazeFile, result.totalCost(),
-              result.path().size(), executionTimeMs, reachedGoal));
+    for (ProfileReport.Regression regression : regressions) {
+      System.out.println("  " + regression.solverName() + " / " + regression.mazeFile() + ": "
+          + regression.metric() + " " + regression.baseline() + " -> " + regression.current());
+    }
+    System.out.println();
+    System.out.println(regressions.size() + " regression(s) found.");
+    return false;
+  }
 
-          System.out.println(reachedGoal ? "✓" : "✗");
+  private static List<ProfileResult> runSerial(List<ProfileTask> tasks) {
+    List<ProfileResult> results = new ArrayList<>();
+    String currentSolver = null;
 
-        } catch (Exception e) {
-          System.out.println("ERROR: " + e.getMessage());
-          results.add(new ProfileResult(solverName, mazeFile, -1, -1, -1.0, false));
+    for (ProfileTask task : tasks) {
+      if (!task.solverName().equals(currentSolver)) {
+        if (currentSolver != null) {
+          System.out.println();
         }
+        currentSolver = task.solverName();
+        System.out.println("Testing: " + currentSolver);
+      }
+
+      ProfileResult result = profile(task);
+      results.add(result);
+      System.out.println("  " + task.mazeFile() + "... " + statusOf(result));
+    }
+    System.out.println();
+
+    return results;
+  }
+
+  private static List<ProfileResult> runParallel(List<ProfileTask> tasks, int parallelism) {
+    System.out.println("Profiling " + tasks.size() + " solver/maze pair(s) on " + parallelism + " worker(s)\n");
+
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      List<ForkJoinTask<ProfileResult>> futures = new ArrayList<>();
+      for (ProfileTask task : tasks) {
+        futures.add(pool.submit(() -> {
+          ProfileResult result = profile(task);
+          synchronized (System.out) {
+            System.out.println("  " + task.solverName() + " / " + task.mazeFile() + "... " + statusOf(result));
+          }
+          return result;
+        }));
+      }
+
+      List<ProfileResult> results = new ArrayList<>();
+      for (ForkJoinTask<ProfileResult> future : futures) {
+        results.add(future.join());
       }
       System.out.println();
+      return results;
     }
+  }
 
-    printResultsTable(results, selectedSolvers, selectedMazeFiles);
+  /**
+   * Runs only the warmup solves of every pair, at least one each, on the
+   * worker pool, so the serial measuring pass starts with warm JIT and
+   * caches. Nothing is measured and failures are left for that pass.
+   */
+  private static void warmUpParallel(List<ProfileTask> tasks, int parallelism) {
+    System.out.println("Warming up " + tasks.size() + " solver/maze pair(s) on " + parallelism + " worker(s)\n");
+
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      List<ForkJoinTask<?>> futures = new ArrayList<>();
+      for (ProfileTask task : tasks) {
+        futures.add(pool.submit(() -> warmUp(task)));
+      }
+      for (ForkJoinTask<?> future : futures) {
+        future.join();
+      }
+    }
+  }
+
+  private static void warmUp(ProfileTask task) {
+    try {
+      Maze maze = MazeStore.getMaze(task.mazeFile());
+      MazeSolver solver = SolverRegistry.createSolver(task.solverName());
+      // Warmup results must not land in the store the measured solves read
+      solver.setResultCaching(false);
+      for (int i = 0; i < Math.max(1, task.warmup()); i++) {
+        solve(solver, maze, task.budget());
+      }
+    } catch (Exception e) {
+      // Reported by the measuring pass
+    }
+  }
+
+  /**
+   * Loads the selected mazes in parallel before any timing starts. Failures
+   * are only reported here; the affected pairs show up as errors later.
+   */
+  private static void preloadMazes(List<String> mazeFiles) {
+    System.out.println("Loading " + mazeFiles.size() + " maze(s)...");
+    MazePreloadResult preload = MazeStore.preloadAll(mazeFiles, (mazeFile, completed, total, failure) -> {
+      if (failure != null) {
+        System.out.println("  " + mazeFile + "... ERROR: " + failure.getMessage());
+      }
+    }).join();
+    System.out.printf("Loaded %d/%d maze(s) in %.1f ms%n%n", preload.loaded().size(), preload.total(),
+        preload.elapsedMillis());
+  }
+
+  /**
+   * Profiles one pair with a fresh solver instance, since solvers hold mutable
+   * logs and per-solve state that must not be shared across threads. Warmup
+   * solves are discarded; cost, length and goal status come from the last
+   * measured solve.
+   */
+  private static ProfileResult profile(ProfileTask task) {
+    try {
+      Maze maze = MazeStore.getMaze(task.mazeFile());
+      MazeSolver solver = SolverRegistry.createSolver(task.solverName());
+      solver.setResultCaching(task.resultCache());
+
+      for (int i = 0; i < task.warmup(); i++) {
+        solve(solver, maze, task.budget());
+      }
+
+      double[] samplesMs = new double[task.iterations()];
+      long totalAllocatedBytes = 0;
+      boolean allocationTracked = true;
+      SolverResult result = null;
+
+      for (int i = 0; i < task.iterations(); i++) {
+        long allocatedBefore = currentThreadAllocatedBytes();
+        result = solve(solver, maze, task.budget());
+        long allocatedAfter = currentThreadAllocatedBytes();
+
+        samplesMs[i] = (result.endTimeNs() - result.startTimeNs()) / 1_000_000.0;
+        if (allocatedBefore < 0 || allocatedAfter < 0) {
+          allocationTracked = false;
+        } else {
+          totalAllocatedBytes += allocatedAfter - allocatedBefore;
+        }
+      }
+
+      boolean reachedGoal = result.path().getLast().equals(maze.getGoal());
+      long allocatedBytesPerSolve = allocationTracked ? totalAllocatedBytes / task.iterations() : -1;
+
+      return new ProfileResult(task.solverName(), task.mazeFile(), result.totalCost(),
+          result.path().size(), TimingStats.of(samplesMs), allocatedBytesPerSolve, reachedGoal, result.timedOut(),
+          solver.isLastResultCached(), null);
+    } catch (Exception e) {
+      return new ProfileResult(task.solverName(), task.mazeFile(), -1, -1, null, -1, false, false, false, e.getMessage());
+    }
+  }
+
+  private static SolverResult solve(MazeSolver solver, Maze maze, Duration budget) {
+    return budget == null ? solver.solve(maze) : solver.solve(maze, budget);
+  }
+
+  /**
+   * Bytes allocated so far by the calling thread, or -1 when the JVM cannot
+   * report it.
+   */
+  private static long currentThreadAllocatedBytes() {
+    if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+      return bean.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  private static String statusOf(ProfileResult result) {
+    if (result.error() != null) {
+      return "ERROR: " + result.error();
+    }
+    String goalStatus = result.reachedGoal() ? "✓" : "✗";
+    return result.timedOut() ? goalStatus + " (timed out, partial path)" : goalStatus;
+  }
+
+  /**
+   * Mazes in the configured maze directory, or the bundled ones when none is
+   * set.
+   */
+  private static List<String> availableMazeFiles() {
+    return MazeStore.getMazeDirectory()
+        .map(MazeCatalog::listMazes)
+        .orElseGet(MazeCatalog::listMazes);
   }
 
   private static void printAvailableOptions() {
@@ -102,7 +385,7 @@ public final class MazeProfiler {
     }
 
     System.out.println("\nMazes:");
-    List<String> mazeFiles = MazeFileLister.listMazeFiles();
+    List<String> mazeFiles = availableMazeFiles();
     for (String mazeFile : mazeFiles) {
       System.out.println("  - " + mazeFile);
     }
@@ -113,7 +396,18 @@ public final class MazeProfiler {
     System.out.println();
     System.out.println("Options:");
     System.out.println("  -a, --algo <name>     Select algorithm(s) to profile (can specify multiple)");
-    System.out.println("  -m, --maze <name>    Select maze(s) to profile (can specify multiple)");
+    System.out.println("  -m, --maze <name>    Select maze(s) to profile by name or absolute path (can specify multiple)");
+    System.out.println("  --maze-dir <dir>     Load mazes from a directory instead of the bundled resources");
+    System.out.println("  -p, --parallel <n>   Profile solver/maze pairs on n worker threads");
+    System.out.println("  --isolate-timing     With --parallel, warm up in parallel and measure serially");
+    System.out.println("  --warmup <k>         Unmeasured solves per pair before timing (default 0)");
+    System.out.println("  --iterations <n>     Measured solves per pair (default 1)");
+    System.out.println("  --budget <ms>        Per-solve time budget; solvers stop and report a partial path");
+    System.out.println("  --format <csv|json>  Machine-readable report (stdout unless --out is given)");
+    System.out.println("  --out <file>         Write the report to a file (format from extension by default)");
+    System.out.println("  --baseline <file>    Compare against a saved report; exit 1 on regressions");
+    System.out.println("  --threshold <pct>    Allowed median time increase over the baseline (default 10)");
+    System.out.println("  --result-cache       Serve single untimed solves from the solve cache");
     System.out.println("  -l, --list           List available algorithms and mazes");
     System.out.println("  -h, --help           Show this help message");
     System.out.println();
@@ -121,6 +415,12 @@ public final class MazeProfiler {
     System.out.println("  ./gradlew :app:profiler -Pargs=\"--algo 'Genetic Algorithm' --maze m15_15.txt\"");
     System.out.println(
         "  ./gradlew :app:profiler -Pargs=\"-a 'Wall Follower (LEFT)' -a 'Wall Follower (RIGHT)' -m m30_30.txt\"");
+    System.out.println("  ./gradlew :app:profiler -Pargs=\"--parallel 8 --isolate-timing\"");
+    System.out.println("  ./gradlew :app:profiler -Pargs=\"--warmup 5 --iterations 20 -m m100_100.txt\"");
+    System.out.println("  ./gradlew :app:profiler -Pargs=\"--iterations 10 --out build/profile.csv\"");
+    System.out.println(
+        "  ./gradlew :app:profiler -Pargs=\"--iterations 10 --baseline build/profile.csv --threshold 15\"");
+    System.out.println("  ./gradlew :app:profiler -Pargs=\"--maze-dir /data/mazes -a 'A* Search'\"");
     System.out.println("  ./gradlew :app:profiler -Pargs=\"--list\"");
   }
 
@@ -128,11 +428,29 @@ public final class MazeProfiler {
     Set<String> algorithms = new HashSet<>();
     Set<String> mazes = new HashSet<>();
     boolean showHelp = false;
+    boolean listOptions = false;
+    Path mazeDirectory = null;
+    int parallelism = 1;
+    boolean isolateTiming = false;
+    int warmup = 0;
+    int iterations = 1;
+    String format = null;
+    Path outputPath = null;
+    Path baselinePath = null;
+    double thresholdPercent = DEFAULT_THRESHOLD_PERCENT;
+    Duration budget = null;
+    boolean resultCache = false;
 
     for (int i = 0; i < args.length; i++) {
       String arg = args[i];
       if (arg.equals("--help") || arg.equals("-h")) {
         showHelp = true;
+      } else if (arg.equals("--list") || arg.equals("-l")) {
+        listOptions = true;
+      } else if (arg.equals("--maze-dir")) {
+        if (i + 1 < args.length) {
+          mazeDirectory = Path.of(args[++i]);
+        }
       } else if (arg.equals("--algo") || arg.equals("-a")) {
         if (i + 1 < args.length) {
           String value = args[++i];
@@ -145,10 +463,61 @@ public final class MazeProfiler {
           value = value.replaceAll("^['\"]|['\"]$", "");
           mazes.add(value);
         }
+      } else if (arg.equals("--parallel") || arg.equals("-p")) {
+        if (i + 1 < args.length) {
+          parallelism = parseCount(args[++i]);
+        }
+      } else if (arg.equals("--isolate-timing")) {
+        isolateTiming = true;
+      } else if (arg.equals("--result-cache")) {
+        resultCache = true;
+      } else if (arg.equals("--warmup")) {
+        if (i + 1 < args.length) {
+          warmup = parseCount(args[++i]);
+        }
+      } else if (arg.equals("--iterations")) {
+        if (i + 1 < args.length) {
+          iterations = parseCount(args[++i]);
+        }
+      } else if (arg.equals("--budget")) {
+        if (i + 1 < args.length) {
+          int budgetMs = parseCount(args[++i]);
+          budget = budgetMs < 0 ? Duration.ofMillis(-1) : Duration.ofMillis(budgetMs);
+        }
+      } else if (arg.equals("--format")) {
+        if (i + 1 < args.length) {
+          format = args[++i];
+        }
+      } else if (arg.equals("--out")) {
+        if (i + 1 < args.length) {
+          outputPath = Path.of(args[++i]);
+        }
+      } else if (arg.equals("--baseline")) {
+        if (i + 1 < args.length) {
+          baselinePath = Path.of(args[++i]);
+        }
+      } else if (arg.equals("--threshold")) {
+        if (i + 1 < args.length) {
+          try {
+            thresholdPercent = Double.parseDouble(args[++i]);
+          } catch (NumberFormatException e) {
+            thresholdPercent = -1.0;
+          }
+        }
       }
     }
 
-    return new ParsedArgs(algorithms.isEmpty() ? null : algorithms, mazes.isEmpty() ? null : mazes, showHelp);
+    return new ParsedArgs(algorithms.isEmpty() ? null : algorithms, mazes.isEmpty() ? null : mazes, showHelp,
+        listOptions, mazeDirectory, parallelism, isolateTiming, warmup, iterations, format, outputPath,
+        baselinePath, thresholdPercent, budget, resultCache);
+  }
+
+  private static int parseCount(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
   }
 
   private static List<MazeSolver> filterSolvers(List<MazeSolver> allSolvers, Set<String> selectedNames) {
@@ -176,6 +545,12 @@ public final class MazeProfiler {
         filtered.add(mazeFile);
       }
     }
+    // Absolute paths are profiled as given, even outside the listed mazes
+    selectedNames.stream()
+        .filter(name -> !allMazeFiles.contains(name))
+        .filter(name -> Path.of(name).isAbsolute() && Files.isRegularFile(Path.of(name)))
+        .sorted()
+        .forEach(filtered::add);
     return filtered;
   }
 
@@ -190,25 +565,38 @@ public final class MazeProfiler {
         .mapToInt(String::length)
         .max().orElse(15));
 
-    String headerFormat = "%-" + solverNameWidth + "s | %-" + mazeNameWidth + "s | %8s | %8s | %12s | %6s";
-    String rowFormat = "%-" + solverNameWidth + "s | %-" + mazeNameWidth + "s | %8d | %8d | %12.3f ms | %6s";
+    String headerFormat = "%-" + solverNameWidth + "s | %-" + mazeNameWidth
+        + "s | %8s | %8s | %10s | %10s | %10s | %10s | %10s | %10s | %6s";
+    String rowFormat = "%-" + solverNameWidth + "s | %-" + mazeNameWidth
+        + "s | %8d | %8d | %10.3f | %10.3f | %10.3f | %10.3f | %10.3f | %10s | %6s";
 
-    System.out.printf(headerFormat, "Algorithm", "Maze", "Cost", "Length", "Time", "Goal");
+    System.out.printf(headerFormat, "Algorithm", "Maze", "Cost", "Length",
+        "Min ms", "Median ms", "P90 ms", "P99 ms", "StdDev ms", "Alloc/op", "Goal");
     System.out.println();
-    System.out.println("-".repeat(solverNameWidth + mazeNameWidth + 55));
+    System.out.println("-".repeat(solverNameWidth + mazeNameWidth + 121));
 
     for (ProfileResult result : results) {
-      String goalStatus = result.reachedGoal() ? "✓" : "✗";
-      if (result.cost() < 0) {
-        System.out.printf("%-" + solverNameWidth + "s | %-" + mazeNameWidth + "s | %8s | %8s | %12s | %6s",
-            result.solverName(), result.mazeFile(), "ERROR", "ERROR", "ERROR", "ERROR");
+      String goalStatus = (result.reachedGoal() ? "✓" : "✗") + (result.timedOut() ? "*" : "")
+          + (result.cached() ? "c" : "");
+      if (result.timing() == null) {
+        System.out.printf(headerFormat, result.solverName(), result.mazeFile(),
+            "ERROR", "ERROR", "ERROR", "ERROR", "ERROR", "ERROR", "ERROR", "ERROR", "ERROR");
       } else {
+        TimingStats timing = result.timing();
         System.out.printf(rowFormat, result.solverName(), result.mazeFile(),
-            result.cost(), result.pathLength(), result.timeMs(), goalStatus);
+            result.cost(), result.pathLength(), timing.minMs(), timing.medianMs(), timing.p90Ms(),
+            timing.p99Ms(), timing.stddevMs(), formatBytes(result.allocatedBytes()), goalStatus);
       }
       System.out.println();
     }
 
+    if (results.stream().anyMatch(ProfileResult::timedOut)) {
+      System.out.println("\n* ran out of --budget; cost and length describe the partial path");
+    }
+    if (results.stream().anyMatch(ProfileResult::cached)) {
+      System.out.println("\nc served from the solve cache; times are lookup times (drop --result-cache to re-solve)");
+    }
+
     System.out.println("\n=== Summary ===\n");
 
     for (MazeSolver solver : solvers) {
@@ -217,9 +605,9 @@ public final class MazeProfiler {
           .filter(r -> r.solverName().equals(solverName))
           .toList();
 
-      double totalTime = solverResults.stream()
-          .filter(r -> r.timeMs() >= 0.0)
-          .mapToDouble(ProfileResult::timeMs)
+      double totalMedianTime = solverResults.stream()
+          .filter(r -> r.timing() != null)
+          .mapToDouble(r -> r.timing().medianMs())
           .sum();
       int successCount = (int) solverResults.stream()
           .filter(ProfileResult::reachedGoal)
@@ -231,16 +619,62 @@ public final class MazeProfiler {
 
       System.out.println(solverName + ":");
       System.out.println("  Success rate: " + successCount + "/" + solverResults.size());
-      System.out.printf("  Total time: %.3f ms%n", totalTime);
+      System.out.printf("  Total median time: %.3f ms%n", totalMedianTime);
       System.out.println("  Average cost: " + (solverResults.size() > 0 ? totalCost / solverResults.size() : 0));
       System.out.println();
     }
   }
 
-  private record ProfileResult(String solverName, String mazeFile, int cost,
-      int pathLength, double timeMs, boolean reachedGoal) {
+  private static String formatBytes(long bytes) {
+    if (bytes < 0) {
+      return "n/a";
+    }
+    if (bytes < 1024) {
+      return bytes + " B";
+    }
+    if (bytes < 1024 * 1024) {
+      return String.format("%.1f KB", bytes / 1024.0);
+    }
+    return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+  }
+
+  private record ProfileTask(String solverName, String mazeFile, int warmup, int iterations, Duration budget,
+      boolean resultCache) {
+  }
+
+  /**
+   * Summary of the measured solve times for one pair. Percentiles use the
+   * nearest-rank method and the standard deviation is the population one.
+   */
+  record TimingStats(int samples, double minMs, double medianMs, double p90Ms, double p99Ms,
+      double stddevMs) {
+
+    static TimingStats of(double[] samplesMs) {
+      double[] sorted = samplesMs.clone();
+      Arrays.sort(sorted);
+      double mean = Arrays.stream(sorted).average().orElse(0.0);
+      double variance = Arrays.stream(sorted)
+          .map(sample -> (sample - mean) * (sample - mean))
+          .average()
+          .orElse(0.0);
+      return new TimingStats(sorted.length, sorted[0], percentile(sorted, 50), percentile(sorted, 90),
+          percentile(sorted, 99), Math.sqrt(variance));
+    }
+
+    private static double percentile(double[] sorted, int percent) {
+      int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+      return sorted[Math.max(0, rank - 1)];
+    }
+  }
+
+  record ProfileResult(String solverName, String mazeFile, int cost,
+      int pathLength, TimingStats timing, long allocatedBytes, boolean reachedGoal, boolean timedOut,
+      boolean cached, String error) {
   }
 
-  private record ParsedArgs(Set<String> algorithms, Set<String> mazes, boolean showHelp) {
+  private record ParsedArgs(Set<String> algorithms, Set<String> mazes, boolean showHelp,
+      boolean listOptions, Path mazeDirectory, int parallelism, boolean isolateTiming, int warmup, int iterations,
+      String format, Path outputPath, Path baselinePath, double thresholdPercent, Duration budget,
+      boolean resultCache) {
   }
 }
@@ -0,0 +1,388 @@
+package cpe231.finalproject.timelimitedmaze;
+
+import cpe231.finalproject.timelimitedmaze.MazeProfiler.ProfileResult;
+import cpe231.finalproject.timelimitedmaze.MazeProfiler.TimingStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Machine-readable profiler output and baseline comparison.
+ *
+ * Reports are written as CSV or JSON with one record per solver/maze pair.
+ * Either format can be read back as a baseline, and
+ * {@link #compare(List, List, double)} flags pairs whose median time grew
+ * beyond the threshold or whose cost, goal or completion status got worse.
+ */
+final class ProfileReport {
+
+  enum Format {
+    CSV,
+    JSON;
+
+    static Format parse(String value) {
+      return switch (value.toLowerCase(Locale.ROOT)) {
+        case "csv" -> CSV;
+        case "json" -> JSON;
+        default -> throw new IllegalArgumentException("Unknown report format: " + value);
+      };
+    }
+
+    static Format forPath(Path path) {
+      return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+    }
+  }
+
+  private static final String[] COLUMNS = {
+      "solver", "maze", "cost", "length", "samples", "min_ms", "median_ms", "p90_ms", "p99_ms", "stddev_ms",
+      "alloc_bytes", "reached_goal", "timed_out", "error"
+  };
+
+  private static final Pattern JSON_FIELD = Pattern
+      .compile("\"(\\w+)\"\\s*:\\s*(\"((?:[^\"\\\\]|\\\\.)*)\"|[^,}\\s]+)");
+
+  private ProfileReport() {
+  }
+
+  static String render(List<ProfileResult> results, Format format) {
+    return format == Format.JSON ? renderJson(results) : renderCsv(results);
+  }
+
+  static void write(List<ProfileResult> results, Format format, Path path) {
+    try {
+      Path parent = path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Files.writeString(path, render(results, format), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write profile report: " + path, e);
+    }
+  }
+
+  static List<ProfileResult> read(Path path) {
+    String content;
+    try {
+      content = Files.readString(path, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read profile report: " + path, e);
+    }
+    return content.stripLeading().startsWith("[") ? parseJson(content) : parseCsv(content);
+  }
+
+  /**
+   * Compares {@code current} against {@code baseline} pair by pair. Pairs
+   * missing from either side are skipped.
+   */
+  static List<Regression> compare(List<ProfileResult> baseline, List<ProfileResult> current,
+      double thresholdPercent) {
+    Map<String, ProfileResult> baselineByPair = new LinkedHashMap<>();
+    for (ProfileResult result : baseline) {
+      baselineByPair.put(pairKey(result), result);
+    }
+
+    List<Regression> regressions = new ArrayList<>();
+    for (ProfileResult now : current) {
+      ProfileResult before = baselineByPair.get(pairKey(now));
+      if (before == null || before.timing() == null) {
+        continue;
+      }
+      if (now.timing() == null) {
+        regressions.add(new Regression(now.solverName(), now.mazeFile(), "error", "ok", now.error()));
+        continue;
+      }
+      if (!before.timedOut() && now.timedOut()) {
+        regressions.add(new Regression(now.solverName(), now.mazeFile(), "completion", "finished", "timed out"));
+      }
+      if (before.reachedGoal() && !now.reachedGoal()) {
+        regressions.add(new Regression(now.solverName(), now.mazeFile(), "goal", "reached", "missed"));
+      }
+      if (now.cost() > before.cost()) {
+        regressions.add(new Regression(now.solverName(), now.mazeFile(), "cost",
+            Integer.toString(before.cost()), Integer.toString(now.cost())));
+      }
+      double beforeMs = before.timing().medianMs();
+      double nowMs = now.timing().medianMs();
+      if (nowMs > beforeMs * (1.0 + thresholdPercent / 100.0)) {
+        double change = beforeMs > 0 ? (nowMs - beforeMs) / beforeMs * 100.0 : Double.POSITIVE_INFINITY;
+        regressions.add(new Regression(now.solverName(), now.mazeFile(), "median time",
+            String.format(Locale.ROOT, "%.3f ms", beforeMs),
+            String.format(Locale.ROOT, "%.3f ms (+%.1f%%)", nowMs, change)));
+      }
+    }
+    return regressions;
+  }
+
+  private static String pairKey(ProfileResult result) {
+    return result.solverName() + "\u0000" + result.mazeFile();
+  }
+
+  private static String[] fieldsOf(ProfileResult result) {
+    TimingStats timing = result.timing();
+    boolean ok = timing != null;
+    return new String[] {
+        result.solverName(),
+        result.mazeFile(),
+        Integer.toString(result.cost()),
+        Integer.toString(result.pathLength()),
+        ok ? Integer.toString(timing.samples()) : "0",
+        ok ? formatMs(timing.minMs()) : "",
+        ok ? formatMs(timing.medianMs()) : "",
+        ok ? formatMs(timing.p90Ms()) : "",
+        ok ? formatMs(timing.p99Ms()) : "",
+        ok ? formatMs(timing.stddevMs()) : "",
+        Long.toString(result.allocatedBytes()),
+        Boolean.toString(result.reachedGoal()),
+        Boolean.toString(result.timedOut()),
+        result.error() == null ? "" : result.error()
+    };
+  }
+
+  private static ProfileResult fromFields(Map<String, String> fields) {
+    String medianMs = fields.getOrDefault("median_ms", "");
+    TimingStats timing = medianMs.isEmpty() ? null
+        : new TimingStats(
+            Integer.parseInt(fields.get("samples")),
+            Double.parseDouble(fields.get("min_ms")),
+            Double.parseDouble(medianMs),
+            Double.parseDouble(fields.get("p90_ms")),
+            Double.parseDouble(fields.get("p99_ms")),
+            Double.parseDouble(fields.get("stddev_ms")));
+    String error = fields.getOrDefault("error", "");
+    return new ProfileResult(
+        fields.get("solver"),
+        fields.get("maze"),
+        Integer.parseInt(fields.get("cost")),
+        Integer.parseInt(fields.get("length")),
+        timing,
+        Long.parseLong(fields.get("alloc_bytes")),
+        Boolean.parseBoolean(fields.get("reached_goal")),
+        Boolean.parseBoolean(fields.get("timed_out")),
+        false,
+        error.isEmpty() ? null : error);
+  }
+
+  private static String formatMs(double value) {
+    return String.format(Locale.ROOT, "%.6f", value);
+  }
+
+  private static String renderCsv(List<ProfileResult> results) {
+    StringBuilder builder = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+    for (ProfileResult result : results) {
+      String[] fields = fieldsOf(result);
+      for (int i = 0; i < fields.length; i++) {
+        if (i > 0) {
+          builder.append(',');
+        }
+        builder.append(csvQuote(fields[i]));
+      }
+      builder.append('\n');
+    }
+    return builder.toString();
+  }
+
+  private static String csvQuote(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  private static List<ProfileResult> parseCsv(String content) {
+    List<List<String>> records = splitCsvRecords(content);
+    if (records.isEmpty()) {
+      return List.of();
+    }
+    List<String> header = records.getFirst();
+    List<ProfileResult> results = new ArrayList<>();
+    for (List<String> values : records.subList(1, records.size())) {
+      Map<String, String> fields = new LinkedHashMap<>();
+      for (int i = 0; i < header.size() && i < values.size(); i++) {
+        fields.put(header.get(i), values.get(i));
+      }
+      results.add(fromFields(fields));
+    }
+    return results;
+  }
+
+  /**
+   * Splits CSV content into records of fields. A line break only ends a
+   * record outside quotes, so quoted fields may span lines, as
+   * {@link #csvQuote(String)} allows. Blank records are skipped.
+   */
+  private static List<List<String>> splitCsvRecords(String content) {
+    List<List<String>> records = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    boolean blank = true;
+    for (int i = 0; i < content.length(); i++) {
+      char ch = content.charAt(i);
+      if (quoted) {
+        if (ch == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (ch == '"') {
+          quoted = false;
+        } else {
+          current.append(ch);
+        }
+      } else if (ch == '"') {
+        quoted = true;
+        blank = false;
+      } else if (ch == ',') {
+        values.add(current.toString());
+        current.setLength(0);
+        blank = false;
+      } else if (ch == '\n' || ch == '\r') {
+        if (ch == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+          i++;
+        }
+        endCsvRecord(records, values, current, blank);
+        values = new ArrayList<>();
+        blank = true;
+      } else {
+        current.append(ch);
+        if (!Character.isWhitespace(ch)) {
+          blank = false;
+        }
+      }
+    }
+    endCsvRecord(records, values, current, blank);
+    return records;
+  }
+
+  private static void endCsvRecord(List<List<String>> records, List<String> values, StringBuilder current,
+      boolean blank) {
+    if (!blank) {
+      values.add(current.toString());
+      records.add(values);
+    }
+    current.setLength(0);
+  }
+
+  private static String renderJson(List<ProfileResult> results) {
+    StringBuilder builder = new StringBuilder("[\n");
+    for (int r = 0; r < results.size(); r++) {
+      ProfileResult result = results.get(r);
+      TimingStats timing = result.timing();
+      builder.append("  {")
+          .append("\"solver\": ").append(jsonString(result.solverName()))
+          .append(", \"maze\": ").append(jsonString(result.mazeFile()))
+          .append(", \"cost\": ").append(result.cost())
+          .append(", \"length\": ").append(result.pathLength());
+      if (timing != null) {
+        builder.append(", \"samples\": ").append(timing.samples())
+            .append(", \"min_ms\": ").append(formatMs(timing.minMs()))
+            .append(", \"median_ms\": ").append(formatMs(timing.medianMs()))
+            .append(", \"p90_ms\": ").append(formatMs(timing.p90Ms()))
+            .append(", \"p99_ms\": ").append(formatMs(timing.p99Ms()))
+            .append(", \"stddev_ms\": ").append(formatMs(timing.stddevMs()));
+      }
+      builder.append(", \"alloc_bytes\": ").append(result.allocatedBytes())
+          .append(", \"reached_goal\": ").append(result.reachedGoal())
+          .append(", \"timed_out\": ").append(result.timedOut());
+      if (result.error() != null) {
+        builder.append(", \"error\": ").append(jsonString(result.error()));
+      }
+      builder.append('}').append(r + 1 < results.size() ? ",\n" : "\n");
+    }
+    return builder.append("]\n").toString();
+  }
+
+  private static String jsonString(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '"' -> builder.append("\\\"");
+        case '\\' -> builder.append("\\\\");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        case '\t' -> builder.append("\\t");
+        default -> {
+          if (ch < 0x20) {
+            builder.append(String.format("\\u%04x", (int) ch));
+          } else {
+            builder.append(ch);
+          }
+        }
+      }
+    }
+    return builder.append('"').toString();
+  }
+
+  /**
+   * Reads the flat array of objects produced by {@link #renderJson(List)}; it
+   * is not a general JSON parser. Objects are found by their braces outside
+   * string literals, so they need not sit on one line each.
+   */
+  private static List<ProfileResult> parseJson(String content) {
+    List<ProfileResult> results = new ArrayList<>();
+    int objectStart = -1;
+    boolean inString = false;
+    for (int i = 0; i < content.length(); i++) {
+      char ch = content.charAt(i);
+      if (inString) {
+        if (ch == '\\') {
+          i++;
+        } else if (ch == '"') {
+          inString = false;
+        }
+      } else if (ch == '"') {
+        inString = true;
+      } else if (ch == '{') {
+        objectStart = i;
+      } else if (ch == '}' && objectStart >= 0) {
+        results.add(fromFields(jsonFields(content.substring(objectStart, i + 1))));
+        objectStart = -1;
+      }
+    }
+    return results;
+  }
+
+  private static Map<String, String> jsonFields(String object) {
+    Map<String, String> fields = new LinkedHashMap<>();
+    Matcher matcher = JSON_FIELD.matcher(object);
+    while (matcher.find()) {
+      String value = matcher.group(3) != null ? unescapeJson(matcher.group(3)) : matcher.group(2);
+      fields.put(matcher.group(1), value);
+    }
+    return fields;
+  }
+
+  private static String unescapeJson(String value) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch != '\\' || i + 1 >= value.length()) {
+        builder.append(ch);
+        continue;
+      }
+      char escaped = value.charAt(++i);
+      switch (escaped) {
+        case 'n' -> builder.append('\n');
+        case 'r' -> builder.append('\r');
+        case 't' -> builder.append('\t');
+        case 'u' -> {
+          builder.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+          i += 4;
+        }
+        default -> builder.append(escaped);
+      }
+    }
+    return builder.toString();
+  }
+
+  record Regression(String solverName, String mazeFile, String metric, String baseline, String current) {
+  }
+}
@@ -0,0 +1,146 @@
+package cpe231.finalproject.timelimitedmaze;
+
+import cpe231.finalproject.timelimitedmaze.solver.MazeSolvingException;
+import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
+import cpe231.finalproject.timelimitedmaze.solver.TiledAStarSolver;
+import cpe231.finalproject.timelimitedmaze.utils.TileCacheStats;
+import cpe231.finalproject.timelimitedmaze.utils.TiledMaze;
+import cpe231.finalproject.timelimitedmaze.utils.TiledMazeFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Solves a maze out of core and reports how the tile cache behaved.
+ *
+ * A text maze is first streamed into a {@link TiledMazeFormat} file next to
+ * it (reused on later runs while it is newer than the text); a {@code .mzt}
+ * file is opened directly. The search then runs on a {@link TiledMaze} that
+ * keeps at most {@code --tile-cache} tiles decoded, and the tile faults and
+ * hit rate are printed so the cache can be sized for the next run.
+ */
+public final class TiledMazeRunner {
+
+  private static final int DEFAULT_TILE_CACHE = 1024;
+
+  private TiledMazeRunner() {
+  }
+
+  public static void main(String[] args) {
+    if (args.length == 0 || args[0].equals("--help") || args[0].equals("-h")) {
+      printUsage();
+      return;
+    }
+
+    Path input = null;
+    int tileSize = TiledMazeFormat.DEFAULT_TILE_SIZE;
+    int tileCache = DEFAULT_TILE_CACHE;
+    boolean dijkstra = false;
+    Duration budget = null;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--tile-size" -> tileSize = Integer.parseInt(requireValue(args, ++i, "--tile-size"));
+          case "--tile-cache" -> tileCache = Integer.parseInt(requireValue(args, ++i, "--tile-cache"));
+          case "--dijkstra" -> dijkstra = true;
+          case "--budget" -> budget = Duration.ofMillis(Long.parseLong(requireValue(args, ++i, "--budget")));
+          default -> input = Path.of(args[i]);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println("Error: " + e.getMessage());
+      printUsage();
+      System.exit(1);
+      return;
+    }
+    if (input == null) {
+      System.err.println("Error: No maze file given.");
+      System.exit(1);
+      return;
+    }
+
+    System.out.println("=== Tiled Maze Solver ===\n");
+    try {
+      Path tiledFile = tiledFile(input, tileSize);
+      try (TiledMaze maze = TiledMaze.open(tiledFile, tileCache)) {
+        System.out.println("Maze: " + maze.getName() + " (" + maze.getHeight() + "x" + maze.getWidth()
+            + ", tiles " + maze.getTileSize() + "x" + maze.getTileSize() + ")");
+        System.out.printf("Tile cache: %d tiles, %s%n%n", tileCache,
+            formatBytes(maze.tileStats().maxResidentBytes()));
+
+        TiledAStarSolver solver = new TiledAStarSolver(!dijkstra);
+        SolverResult result = budget == null ? solver.solve(maze) : solver.solve(maze, budget);
+        TileCacheStats stats = maze.tileStats();
+
+        System.out.println("Algorithm: " + solver.getAlgorithmName());
+        System.out.println("Reached goal: " + (result.timedOut() ? "no (timed out, partial path)" : "yes"));
+        System.out.println("Cost: " + result.totalCost());
+        System.out.println("Path length: " + result.path().size());
+        System.out.printf("Time: %.3f ms%n", (result.endTimeNs() - result.startTimeNs()) / 1_000_000.0);
+        System.out.println("Expanded cells: " + solver.getLastExpansions());
+        System.out.println("Search state: " + formatBytes(solver.getLastSearchStateBytes())
+            + (solver.isLastSearchStateMapped() ? " (mapped scratch file)" : " (heap)"));
+        System.out.println();
+        System.out.println("Tile cache: " + stats);
+      }
+    } catch (IllegalArgumentException | UncheckedIOException | MazeSolvingException e) {
+      System.err.println("Error: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Returns {@code input} if it is already tiled, otherwise its tiled file,
+   * converting the text maze when the tiled file is missing or stale.
+   */
+  private static Path tiledFile(Path input, int tileSize) {
+    if (input.getFileName().toString().endsWith(TiledMazeFormat.EXTENSION)) {
+      return input;
+    }
+    Path tiledFile = TiledMazeFormat.tiledFileFor(input);
+    try {
+      if (Files.isRegularFile(tiledFile)
+          && Files.getLastModifiedTime(tiledFile).compareTo(Files.getLastModifiedTime(input)) >= 0) {
+        return tiledFile;
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read maze file: " + input, exception);
+    }
+    System.out.print("Converting " + input + " to " + tiledFile.getFileName() + "... ");
+    long startNs = System.nanoTime();
+    TiledMazeFormat.convert(input, tiledFile, tileSize);
+    System.out.printf("%.1f ms%n%n", (System.nanoTime() - startNs) / 1_000_000.0);
+    return tiledFile;
+  }
+
+  private static String requireValue(String[] args, int index, String option) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException(option + " expects a value");
+    }
+    return args[index];
+  }
+
+  private static String formatBytes(long bytes) {
+    if (bytes >= 1024L * 1024) {
+      return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+    return String.format("%.1f KB", bytes / 1024.0);
+  }
+
+  private static void printUsage() {
+    System.out.println("Usage: TiledMazeRunner <maze.txt | maze.mzt> [options]");
+    System.out.println();
+    System.out.println("Options:");
+    System.out.println("  --tile-size <n>    Tile edge in cells when converting a text maze (default "
+        + TiledMazeFormat.DEFAULT_TILE_SIZE + ")");
+    System.out.println("  --tile-cache <n>   Decoded tiles kept in memory (default " + DEFAULT_TILE_CACHE + ")");
+    System.out.println("  --dijkstra         Search without the A* heuristic");
+    System.out.println("  --budget <ms>      Stop after this long and report the partial path");
+    System.out.println();
+    System.out.println("Examples:");
+    System.out.println("  ./gradlew :app:solveTiled -Pargs=\"/data/mazes/m50000_50000.txt\"");
+    System.out.println("  ./gradlew :app:solveTiled -Pargs=\"/data/mazes/m50000_50000.mzt --tile-cache 256\"");
+  }
+}
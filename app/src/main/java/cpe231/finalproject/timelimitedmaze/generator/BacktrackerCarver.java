@@ -0,0 +1,52 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Iterative randomized depth-first search. The explicit stack can grow to
+ * the whole band, which is one reason large mazes are carved in strips.
+ */
+final class BacktrackerCarver implements Carver {
+
+  @Override
+  public void carve(Passages passages, int firstRow, int rowCount, SplittableRandom random) {
+    int columns = passages.columns();
+    int cells = Carver.bandCells(rowCount, columns);
+    BitSet visited = new BitSet(cells);
+    int[] stack = new int[64];
+    int size = 0;
+    int[] choices = new int[4];
+
+    int start = random.nextInt(cells);
+    visited.set(start);
+    stack[size++] = start;
+    while (size > 0) {
+      int cell = stack[size - 1];
+      int row = cell / columns;
+      int column = cell - row * columns;
+      int count = 0;
+      for (int direction = 0; direction < 4; direction++) {
+        int nextRow = row + Passages.D_ROW[direction];
+        int nextColumn = column + Passages.D_COL[direction];
+        if (nextRow >= 0 && nextRow < rowCount && nextColumn >= 0 && nextColumn < columns
+            && !visited.get(nextRow * columns + nextColumn)) {
+          choices[count++] = direction;
+        }
+      }
+      if (count == 0) {
+        size--;
+        continue;
+      }
+      int direction = choices[random.nextInt(count)];
+      passages.open(firstRow + row, column, direction);
+      int next = (row + Passages.D_ROW[direction]) * columns + column + Passages.D_COL[direction];
+      visited.set(next);
+      if (size == stack.length) {
+        stack = Arrays.copyOf(stack, size * 2);
+      }
+      stack[size++] = next;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Carves a perfect maze over the full-width band of rows
+ * {@code [firstRow, firstRow + rowCount)}, opening only walls between two
+ * cells of that band. Cells of the band are addressed by a band-local index
+ * {@code (row - firstRow) * columns + column}.
+ */
+interface Carver {
+
+  int MAX_BAND_CELLS = 1 << 30;
+
+  void carve(Passages passages, int firstRow, int rowCount, SplittableRandom random);
+
+  static int bandCells(int rowCount, int columns) {
+    long cells = (long) rowCount * columns;
+    if (cells > MAX_BAND_CELLS) {
+      throw new IllegalArgumentException("Maze is too large to carve in one region: " + cells + " cells");
+    }
+    return (int) cells;
+  }
+}
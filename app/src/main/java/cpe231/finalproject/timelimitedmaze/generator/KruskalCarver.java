@@ -0,0 +1,63 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Kruskal: every wall of the band in shuffled order, opened when
+ * it joins two cells that are not yet connected.
+ */
+final class KruskalCarver implements Carver {
+
+  @Override
+  public void carve(Passages passages, int firstRow, int rowCount, SplittableRandom random) {
+    int columns = passages.columns();
+    int cells = Carver.bandCells(rowCount, columns);
+    int edgeCount = rowCount * (columns - 1) + (rowCount - 1) * columns;
+    int[] edges = new int[edgeCount];
+    int next = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      int row = cell / columns;
+      int column = cell - row * columns;
+      if (column + 1 < columns) {
+        edges[next++] = cell << 1;
+      }
+      if (row + 1 < rowCount) {
+        edges[next++] = cell << 1 | 1;
+      }
+    }
+    for (int i = edgeCount - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = edges[i];
+      edges[i] = edges[j];
+      edges[j] = swap;
+    }
+
+    int[] parent = new int[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      parent[cell] = cell;
+    }
+    int remaining = cells - 1;
+    for (int i = 0; i < edgeCount && remaining > 0; i++) {
+      int cell = edges[i] >>> 1;
+      boolean south = (edges[i] & 1) != 0;
+      int a = find(parent, cell);
+      int b = find(parent, south ? cell + columns : cell + 1);
+      if (a == b) {
+        continue;
+      }
+      parent[a] = b;
+      remaining--;
+      int row = cell / columns;
+      passages.open(firstRow + row, cell - row * columns, south ? Passages.SOUTH : Passages.EAST);
+    }
+  }
+
+  private static int find(int[] parent, int cell) {
+    int current = cell;
+    while (parent[current] != current) {
+      parent[current] = parent[parent[current]];
+      current = parent[current];
+    }
+    return current;
+  }
+}
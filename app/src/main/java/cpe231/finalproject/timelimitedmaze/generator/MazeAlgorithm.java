@@ -0,0 +1,62 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.Locale;
+
+/**
+ * Carving algorithms supported by {@link MazeGenerator}. All of them produce
+ * perfect mazes (exactly one path between any two cells) before braiding.
+ */
+public enum MazeAlgorithm {
+
+  /** Randomized depth-first search: long, winding corridors and few branches. */
+  BACKTRACKER("Recursive Backtracker", true),
+  /** Randomized Kruskal: many short dead ends, uniform texture. */
+  KRUSKAL("Randomized Kruskal", true),
+  /** Randomized Prim: radial growth with many short branches. */
+  PRIM("Randomized Prim", true),
+  /**
+   * Wilson's loop-erased random walks: a uniform spanning tree. The whole
+   * maze is carved as one region, since splitting it would lose uniformity.
+   */
+  WILSON("Wilson", false);
+
+  private final String displayName;
+  private final boolean stripParallel;
+
+  MazeAlgorithm(String displayName, boolean stripParallel) {
+    this.displayName = displayName;
+    this.stripParallel = stripParallel;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * Whether large mazes are carved as independent horizontal strips in
+   * parallel.
+   */
+  public boolean isStripParallel() {
+    return stripParallel;
+  }
+
+  /**
+   * Looks an algorithm up by its constant name, case-insensitively.
+   */
+  public static MazeAlgorithm fromName(String name) {
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown maze algorithm: " + name);
+    }
+  }
+
+  Carver carver() {
+    return switch (this) {
+      case BACKTRACKER -> new BacktrackerCarver();
+      case KRUSKAL -> new KruskalCarver();
+      case PRIM -> new PrimCarver();
+      case WILSON -> new WilsonCarver();
+    };
+  }
+}
@@ -0,0 +1,368 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates mazes in the quoted-weight text format read by
+ * {@code MazeParser}, at sizes far beyond the bundled corpus.
+ *
+ * Only the carved passages are held in memory, at two bits per carved cell
+ * (about 25 MB for a 20000x20000 text maze); the text is formatted band by
+ * band from them and streamed out, so neither the text nor a cost grid is
+ * ever materialized. Weights are a hash of the seed and the cell position,
+ * so any band can be formatted independently.
+ *
+ * Work runs on the generator's executor:
+ * <ul>
+ *   <li>Algorithms that allow it ({@link MazeAlgorithm#isStripParallel()})
+ *       carve large mazes as independent horizontal strips of about
+ *       {@value #DEFAULT_STRIP_CELLS} cells, then join neighbouring strips
+ *       through one random wall each, which keeps the maze perfect.</li>
+ *   <li>Braiding runs in three phases by strip index modulo 3. A strip's
+ *       braid reads and opens cells in the rows just outside it, so tasks
+ *       that run together must be two whole strips apart to never touch a
+ *       row another one writes, even with strips of two rows.</li>
+ *   <li>Text bands are formatted in parallel and written in order.</li>
+ * </ul>
+ * Strip boundaries and random streams depend only on the spec, so the output
+ * is byte-identical whatever executor is used.
+ */
+public final class MazeGenerator {
+
+  static final int DEFAULT_STRIP_CELLS = 1 << 20;
+  private static final int BAND_TEXT_CELLS = 1 << 20;
+  private static final int BANDS_IN_FLIGHT = 8;
+  private static final long WEIGHT_SALT = 0x5DEECE66DL;
+  private static final long BRAID_SALT = 0x2545F4914F6CDD1DL;
+  private static final int BRAID_PHASES = 3;
+
+  private final Executor executor;
+  private final int stripCells;
+
+  public MazeGenerator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public MazeGenerator(Executor executor) {
+    this(executor, DEFAULT_STRIP_CELLS);
+  }
+
+  MazeGenerator(Executor executor, int stripCells) {
+    this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+    if (stripCells < 1) {
+      throw new IllegalArgumentException("stripCells must be positive");
+    }
+    this.stripCells = stripCells;
+  }
+
+  /**
+   * Streams the maze to {@code file}. A failed write leaves no file behind.
+   */
+  public void write(MazeSpec spec, Path file) {
+    Objects.requireNonNull(file, "file cannot be null");
+    boolean written = false;
+    try (OutputStream output = Files.newOutputStream(file)) {
+      write(spec, output);
+      written = true;
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to write maze file: " + file, exception);
+    } finally {
+      if (!written) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+          // The write error is the one worth reporting
+        }
+      }
+    }
+  }
+
+  /**
+   * Streams the maze to {@code output}, which is not closed.
+   */
+  public void write(MazeSpec spec, OutputStream output) throws IOException {
+    Objects.requireNonNull(output, "output cannot be null");
+    Layout layout = new Layout(spec, carve(spec));
+    int bandRows = Math.max(1, BAND_TEXT_CELLS / spec.width());
+    ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    for (int firstRow = 0; firstRow < spec.height(); firstRow += bandRows) {
+      int from = firstRow;
+      int to = Math.min(spec.height(), firstRow + bandRows);
+      pending.add(CompletableFuture.supplyAsync(() -> layout.format(from, to), executor));
+      if (pending.size() >= BANDS_IN_FLIGHT) {
+        output.write(join(pending.poll()));
+      }
+    }
+    while (!pending.isEmpty()) {
+      output.write(join(pending.poll()));
+    }
+    output.flush();
+  }
+
+  /**
+   * Generates the maze in memory, with exactly the cells that
+   * {@link #write(MazeSpec, Path)} would produce once parsed. Intended for
+   * mazes that fit in the heap.
+   */
+  public Maze generate(MazeSpec spec, String name) {
+    Objects.requireNonNull(name, "name cannot be null");
+    Layout layout = new Layout(spec, carve(spec));
+    int width = spec.width();
+    int[] costs = new int[Math.multiplyExact(width, spec.height())];
+    int[] row = new int[width];
+    for (int rowIndex = 0; rowIndex < spec.height(); rowIndex++) {
+      layout.fillRow(rowIndex, row);
+      System.arraycopy(row, 0, costs, rowIndex * width, width);
+    }
+    costs[layout.start.row() * width + layout.start.column()] = 1;
+    costs[layout.goal.row() * width + layout.goal.column()] = 1;
+    return new Maze(name, width, spec.height(), costs, layout.start, layout.goal);
+  }
+
+  Passages carve(MazeSpec spec) {
+    Passages passages = new Passages(spec.rows(), spec.columns());
+    int rows = spec.rows();
+    int stripRows = spec.algorithm().isStripParallel()
+        ? Math.max(2, stripCells / spec.columns())
+        : rows;
+    int strips = (rows + stripRows - 1) / stripRows;
+
+    SplittableRandom random = new SplittableRandom(spec.seed());
+    List<CompletableFuture<Void>> tasks = new ArrayList<>(strips);
+    for (int strip = 0; strip < strips; strip++) {
+      int firstRow = strip * stripRows;
+      int rowCount = Math.min(stripRows, rows - firstRow);
+      SplittableRandom stripRandom = random.split();
+      Carver carver = spec.algorithm().carver();
+      tasks.add(CompletableFuture.runAsync(
+          () -> carver.carve(passages, firstRow, rowCount, stripRandom), executor));
+    }
+    joinAll(tasks);
+    for (int strip = 1; strip < strips; strip++) {
+      passages.open(strip * stripRows - 1, random.nextInt(spec.columns()), Passages.SOUTH);
+    }
+
+    if (spec.loopRatio() > 0) {
+      for (int phase = 0; phase < BRAID_PHASES; phase++) {
+        tasks.clear();
+        for (int strip = phase; strip < strips; strip += BRAID_PHASES) {
+          int firstRow = strip * stripRows;
+          int lastRow = Math.min(rows, firstRow + stripRows);
+          tasks.add(CompletableFuture.runAsync(() -> braid(spec, passages, firstRow, lastRow), executor));
+        }
+        joinAll(tasks);
+      }
+    }
+    return passages;
+  }
+
+  /**
+   * Opens each dead end in rows {@code [firstRow, lastRow)} with
+   * probability {@code loopRatio}, preferring a neighbour that is itself a
+   * dead end so one opening removes two.
+   */
+  private static void braid(MazeSpec spec, Passages passages, int firstRow, int lastRow) {
+    long threshold = (long) (spec.loopRatio() * (1L << 53));
+    int[] choices = new int[4];
+    int[] deadEnds = new int[4];
+    for (int row = firstRow; row < lastRow; row++) {
+      for (int column = 0; column < passages.columns(); column++) {
+        if (passages.degree(row, column) != 1) {
+          continue;
+        }
+        long bits = mix(spec.seed() ^ BRAID_SALT, (long) row * passages.columns() + column);
+        if ((bits >>> 11) >= threshold) {
+          continue;
+        }
+        int count = 0;
+        int deadEndCount = 0;
+        for (int direction = 0; direction < 4; direction++) {
+          int nextRow = row + Passages.D_ROW[direction];
+          int nextColumn = column + Passages.D_COL[direction];
+          if (passages.isInside(nextRow, nextColumn) && !passages.isOpen(row, column, direction)) {
+            choices[count++] = direction;
+            if (passages.degree(nextRow, nextColumn) == 1) {
+              deadEnds[deadEndCount++] = direction;
+            }
+          }
+        }
+        int pick = (int) (bits & 0xFF);
+        if (deadEndCount > 0) {
+          passages.open(row, column, deadEnds[pick % deadEndCount]);
+        } else if (count > 0) {
+          passages.open(row, column, choices[pick % count]);
+        }
+      }
+    }
+  }
+
+  /**
+   * SplitMix64 finalizer over {@code seed + index}: a stateless, well-mixed
+   * random value per cell.
+   */
+  static long mix(long seed, long index) {
+    long z = seed + index * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static void joinAll(List<CompletableFuture<Void>> tasks) {
+    join(CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)));
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (exception.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * Maps carved cells onto the text grid: carved cell ({@code r}, {@code c})
+   * sits at text ({@code 2r + 1}, {@code 2c + 1}) and an open wall between
+   * two carved cells is the text cell between them. Everything else,
+   * including the extra row or column of an even-sized maze, is wall.
+   */
+  private static final class Layout {
+
+    private final Passages passages;
+    private final WeightDistribution weights;
+    private final long weightSeed;
+    private final int width;
+    private final int height;
+    final Coordinate start;
+    final Coordinate goal;
+
+    Layout(MazeSpec spec, Passages passages) {
+      this.passages = passages;
+      this.weights = spec.weights();
+      this.weightSeed = spec.seed() ^ WEIGHT_SALT;
+      this.width = spec.width();
+      this.height = spec.height();
+      this.start = new Coordinate(1, 1);
+      this.goal = new Coordinate(2 * spec.rows() - 1, 2 * spec.columns() - 1);
+    }
+
+    /**
+     * Fills {@code costs} with text row {@code row}: a weight for open
+     * cells, {@link Maze#WALL} otherwise.
+     */
+    void fillRow(int row, int[] costs) {
+      Arrays.fill(costs, Maze.WALL);
+      int columns = passages.columns();
+      if (row % 2 == 1 && row < 2 * passages.rows()) {
+        int cellRow = row / 2;
+        for (int column = 0; column < columns; column++) {
+          costs[2 * column + 1] = weight(row, 2 * column + 1);
+          if (column + 1 < columns && passages.hasEast(cellRow, column)) {
+            costs[2 * column + 2] = weight(row, 2 * column + 2);
+          }
+        }
+      } else if (row % 2 == 0 && row > 0 && row < 2 * passages.rows()) {
+        int cellRow = row / 2 - 1;
+        for (int column = 0; column < columns; column++) {
+          if (passages.hasSouth(cellRow, column)) {
+            costs[2 * column + 1] = weight(row, 2 * column + 1);
+          }
+        }
+      }
+    }
+
+    /**
+     * Formats text rows {@code [from, to)} including line breaks.
+     */
+    byte[] format(int from, int to) {
+      int[] costs = new int[width];
+      ByteSink sink = new ByteSink(Math.multiplyExact(width + 1, to - from) * 2);
+      for (int row = from; row < to; row++) {
+        fillRow(row, costs);
+        for (int column = 0; column < width; column++) {
+          if (row == start.row() && column == start.column()) {
+            sink.put('S');
+          } else if (row == goal.row() && column == goal.column()) {
+            sink.put('G');
+          } else if (costs[column] == Maze.WALL) {
+            sink.put('#');
+          } else {
+            sink.put('"');
+            sink.putInt(costs[column]);
+            sink.put('"');
+          }
+        }
+        sink.put('\n');
+      }
+      return sink.toByteArray();
+    }
+
+    private int weight(int row, int column) {
+      return weights.weight(mix(weightSeed, (long) row * width + column));
+    }
+  }
+
+  /**
+   * Growable byte buffer with allocation-free integer formatting.
+   */
+  private static final class ByteSink {
+
+    private byte[] bytes;
+    private int size;
+
+    ByteSink(int capacity) {
+      bytes = new byte[Math.max(16, capacity)];
+    }
+
+    void put(char value) {
+      ensure(1);
+      bytes[size++] = (byte) value;
+    }
+
+    void putInt(int value) {
+      ensure(10);
+      int digits = 1;
+      for (int rest = value / 10; rest > 0; rest /= 10) {
+        digits++;
+      }
+      int at = size + digits;
+      int rest = value;
+      do {
+        bytes[--at] = (byte) ('0' + rest % 10);
+        rest /= 10;
+      } while (rest > 0);
+      size += digits;
+    }
+
+    byte[] toByteArray() {
+      return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.Objects;
+
+/**
+ * What to generate. {@code width} and {@code height} are text-grid
+ * dimensions including the outer wall, as in the bundled {@code m<w>_<h>}
+ * mazes; carved cells sit on odd rows and columns.
+ *
+ * @param loopRatio fraction of dead ends opened into a neighbour after
+ *     carving: 0 keeps a perfect maze, 1 leaves no dead ends
+ * @param seed the same spec always produces the same maze, whatever the
+ *     number of threads
+ */
+public record MazeSpec(int width, int height, MazeAlgorithm algorithm, WeightDistribution weights,
+    double loopRatio, long seed) {
+
+  public MazeSpec {
+    Objects.requireNonNull(algorithm, "algorithm cannot be null");
+    Objects.requireNonNull(weights, "weights cannot be null");
+    if (width < 3 || height < 3) {
+      throw new IllegalArgumentException("Maze must be at least 3x3: " + width + "x" + height);
+    }
+    if ((long) ((width - 1) / 2) * ((height - 1) / 2) < 2) {
+      throw new IllegalArgumentException("Maze is too small to hold a start and a goal: " + width + "x" + height);
+    }
+    if (!(loopRatio >= 0 && loopRatio <= 1)) {
+      throw new IllegalArgumentException("Loop ratio must be between 0 and 1: " + loopRatio);
+    }
+  }
+
+  /**
+   * Carved cells per text row.
+   */
+  public int columns() {
+    return (width - 1) / 2;
+  }
+
+  /**
+   * Carved cells per text column.
+   */
+  public int rows() {
+    return (height - 1) / 2;
+  }
+
+  public String defaultFileName() {
+    return "m" + width + "_" + height + ".txt";
+  }
+}
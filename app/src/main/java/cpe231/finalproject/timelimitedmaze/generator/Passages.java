@@ -0,0 +1,92 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+/**
+ * Carved passages between the cells of a {@code rows x columns} maze, two
+ * bits per cell: open to the east and open to the south.
+ *
+ * Each row starts on its own 64-bit word, so threads that carve disjoint
+ * row ranges never write the same word.
+ */
+final class Passages {
+
+  static final int NORTH = 0;
+  static final int SOUTH = 1;
+  static final int EAST = 2;
+  static final int WEST = 3;
+  static final int[] D_ROW = {-1, 1, 0, 0};
+  static final int[] D_COL = {0, 0, 1, -1};
+
+  private final int rows;
+  private final int columns;
+  private final int rowWords;
+  private final long[] east;
+  private final long[] south;
+
+  Passages(int rows, int columns) {
+    this.rows = rows;
+    this.columns = columns;
+    this.rowWords = (columns + 63) >>> 6;
+    long words = (long) rows * rowWords;
+    if (words > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Maze is too large to generate: " + rows + "x" + columns + " cells");
+    }
+    this.east = new long[(int) words];
+    this.south = new long[(int) words];
+  }
+
+  int rows() {
+    return rows;
+  }
+
+  int columns() {
+    return columns;
+  }
+
+  boolean isInside(int row, int column) {
+    return row >= 0 && row < rows && column >= 0 && column < columns;
+  }
+
+  boolean hasEast(int row, int column) {
+    return (east[row * rowWords + (column >>> 6)] & 1L << column) != 0;
+  }
+
+  boolean hasSouth(int row, int column) {
+    return (south[row * rowWords + (column >>> 6)] & 1L << column) != 0;
+  }
+
+  /**
+   * Whether the wall from ({@code row}, {@code column}) towards
+   * {@code direction} is open. The neighbour must be inside the maze.
+   */
+  boolean isOpen(int row, int column, int direction) {
+    return switch (direction) {
+      case NORTH -> hasSouth(row - 1, column);
+      case SOUTH -> hasSouth(row, column);
+      case EAST -> hasEast(row, column);
+      default -> hasEast(row, column - 1);
+    };
+  }
+
+  /**
+   * Opens the wall from ({@code row}, {@code column}) towards
+   * {@code direction}. The neighbour must be inside the maze.
+   */
+  void open(int row, int column, int direction) {
+    switch (direction) {
+      case NORTH -> south[(row - 1) * rowWords + (column >>> 6)] |= 1L << column;
+      case SOUTH -> south[row * rowWords + (column >>> 6)] |= 1L << column;
+      case EAST -> east[row * rowWords + (column >>> 6)] |= 1L << column;
+      default -> east[row * rowWords + ((column - 1) >>> 6)] |= 1L << (column - 1);
+    }
+  }
+
+  int degree(int row, int column) {
+    int degree = 0;
+    for (int direction = 0; direction < 4; direction++) {
+      if (isInside(row + D_ROW[direction], column + D_COL[direction]) && isOpen(row, column, direction)) {
+        degree++;
+      }
+    }
+    return degree;
+  }
+}
@@ -0,0 +1,64 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Prim: grows the maze from one cell by repeatedly joining a
+ * random frontier cell to a random neighbour already in the maze.
+ */
+final class PrimCarver implements Carver {
+
+  @Override
+  public void carve(Passages passages, int firstRow, int rowCount, SplittableRandom random) {
+    int columns = passages.columns();
+    int cells = Carver.bandCells(rowCount, columns);
+    BitSet inMaze = new BitSet(cells);
+    BitSet queued = new BitSet(cells);
+    int[] frontier = new int[64];
+    int size = 0;
+    int[] choices = new int[4];
+
+    int start = random.nextInt(cells);
+    inMaze.set(start);
+    queued.set(start);
+    int current = start;
+    while (true) {
+      int row = current / columns;
+      int column = current - row * columns;
+      for (int direction = 0; direction < 4; direction++) {
+        int nextRow = row + Passages.D_ROW[direction];
+        int nextColumn = column + Passages.D_COL[direction];
+        int next = nextRow * columns + nextColumn;
+        if (nextRow >= 0 && nextRow < rowCount && nextColumn >= 0 && nextColumn < columns && !queued.get(next)) {
+          queued.set(next);
+          if (size == frontier.length) {
+            frontier = Arrays.copyOf(frontier, size * 2);
+          }
+          frontier[size++] = next;
+        }
+      }
+      if (size == 0) {
+        return;
+      }
+
+      int pick = random.nextInt(size);
+      current = frontier[pick];
+      frontier[pick] = frontier[--size];
+      row = current / columns;
+      column = current - row * columns;
+      int count = 0;
+      for (int direction = 0; direction < 4; direction++) {
+        int nextRow = row + Passages.D_ROW[direction];
+        int nextColumn = column + Passages.D_COL[direction];
+        if (nextRow >= 0 && nextRow < rowCount && nextColumn >= 0 && nextColumn < columns
+            && inMaze.get(nextRow * columns + nextColumn)) {
+          choices[count++] = direction;
+        }
+      }
+      passages.open(firstRow + row, column, choices[random.nextInt(count)]);
+      inMaze.set(current);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+/**
+ * Step-cost distribution for the open cells of a generated maze.
+ *
+ * A weight is a pure function of 64 random bits, which {@link MazeGenerator}
+ * derives from the seed and the cell position, so any row can be produced
+ * independently and in any order.
+ */
+public sealed interface WeightDistribution {
+
+  /**
+   * Maps 64 uniformly distributed bits to a weight of at least 1.
+   */
+  int weight(long bits);
+
+  static WeightDistribution constant(int weight) {
+    return new Constant(weight);
+  }
+
+  static WeightDistribution uniform(int min, int max) {
+    return new Uniform(min, max);
+  }
+
+  static WeightDistribution geometric(int min, int max, double p) {
+    return new Geometric(min, max, p);
+  }
+
+  /**
+   * Parses {@code constant:w}, {@code uniform:min:max} or
+   * {@code geometric:min:max:p}.
+   */
+  static WeightDistribution parse(String spec) {
+    String[] parts = spec.trim().split(":");
+    try {
+      return switch (parts[0]) {
+        case "constant" -> {
+          requireParts(spec, parts, 2);
+          yield constant(Integer.parseInt(parts[1]));
+        }
+        case "uniform" -> {
+          requireParts(spec, parts, 3);
+          yield uniform(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        }
+        case "geometric" -> {
+          requireParts(spec, parts, 4);
+          yield geometric(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Double.parseDouble(parts[3]));
+        }
+        default -> throw new IllegalArgumentException("Unknown weight distribution: " + spec);
+      };
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid weight distribution: " + spec);
+    }
+  }
+
+  private static void requireParts(String spec, String[] parts, int count) {
+    if (parts.length != count) {
+      throw new IllegalArgumentException("Invalid weight distribution: " + spec);
+    }
+  }
+
+  /** Every open cell costs {@code weight}. */
+  record Constant(int weight) implements WeightDistribution {
+
+    public Constant {
+      if (weight < 1) {
+        throw new IllegalArgumentException("Weights must be at least 1: " + weight);
+      }
+    }
+
+    @Override
+    public int weight(long bits) {
+      return weight;
+    }
+  }
+
+  /** Weights drawn uniformly from {@code [min, max]}, like the bundled mazes. */
+  record Uniform(int min, int max) implements WeightDistribution {
+
+    public Uniform {
+      if (min < 1 || max < min) {
+        throw new IllegalArgumentException("Weights must satisfy 1 <= min <= max: " + min + ".." + max);
+      }
+    }
+
+    @Override
+    public int weight(long bits) {
+      return min + (int) Long.remainderUnsigned(bits, (long) max - min + 1);
+    }
+  }
+
+  /**
+   * Mostly cheap cells with a long tail of expensive ones: {@code min + k}
+   * where {@code k} is geometric with success probability {@code p}, capped
+   * at {@code max}.
+   */
+  record Geometric(int min, int max, double p) implements WeightDistribution {
+
+    public Geometric {
+      if (min < 1 || max < min) {
+        throw new IllegalArgumentException("Weights must satisfy 1 <= min <= max: " + min + ".." + max);
+      }
+      if (!(p > 0 && p <= 1)) {
+        throw new IllegalArgumentException("Geometric p must be in (0, 1]: " + p);
+      }
+    }
+
+    @Override
+    public int weight(long bits) {
+      if (p == 1) {
+        return min;
+      }
+      double u = ((bits >>> 11) + 1) * 0x1.0p-53;
+      double k = Math.floor(Math.log(u) / Math.log1p(-p));
+      return k >= (double) max - min ? max : min + (int) k;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Wilson's algorithm: loop-erased random walks from each cell not yet in the
+ * tree until they hit it. The walk's last exit direction is kept per cell in
+ * two bits, which erases loops implicitly when a cell is revisited.
+ */
+final class WilsonCarver implements Carver {
+
+  @Override
+  public void carve(Passages passages, int firstRow, int rowCount, SplittableRandom random) {
+    int columns = passages.columns();
+    int cells = Carver.bandCells(rowCount, columns);
+    BitSet inTree = new BitSet(cells);
+    long[] exits = new long[(cells + 31) >>> 5];
+
+    inTree.set(random.nextInt(cells));
+    for (int origin = inTree.nextClearBit(0); origin < cells; origin = inTree.nextClearBit(origin + 1)) {
+      int current = origin;
+      while (!inTree.get(current)) {
+        int row = current / columns;
+        int column = current - row * columns;
+        int direction;
+        int nextRow;
+        int nextColumn;
+        do {
+          direction = random.nextInt(4);
+          nextRow = row + Passages.D_ROW[direction];
+          nextColumn = column + Passages.D_COL[direction];
+        } while (nextRow < 0 || nextRow >= rowCount || nextColumn < 0 || nextColumn >= columns);
+        exits[current >>> 5] = exits[current >>> 5] & ~(3L << (current << 1)) | (long) direction << (current << 1);
+        current = nextRow * columns + nextColumn;
+      }
+
+      current = origin;
+      while (!inTree.get(current)) {
+        int direction = (int) (exits[current >>> 5] >>> (current << 1)) & 3;
+        int row = current / columns;
+        int column = current - row * columns;
+        passages.open(firstRow + row, column, direction);
+        inTree.set(current);
+        current = (row + Passages.D_ROW[direction]) * columns + column + Passages.D_COL[direction];
+      }
+    }
+  }
+}
@@ -78,9 +78,8 @@ public final class GARunner {
 
       if (newRow >= 0 && newRow < maze.getHeight() &&
           newCol >= 0 && newCol < maze.getWidth()) {
-        Coordinate neighbor = new Coordinate(newRow, newCol);
-        if (maze.getCell(neighbor).isWalkable()) {
-          neighbors.add(neighbor);
+        if (maze.isWalkable(newRow, newCol)) {
+          neighbors.add(new Coordinate(newRow, newCol));
         }
       }
     }
@@ -1,19 +1,20 @@
 package cpe231.finalproject.timelimitedmaze.gui;
 
+import cpe231.finalproject.timelimitedmaze.gui.utils.GUIConstants;
+import cpe231.finalproject.timelimitedmaze.solver.CancellationToken;
 import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
 import cpe231.finalproject.timelimitedmaze.solver.MazeSolver;
 import cpe231.finalproject.timelimitedmaze.solver.MazeSolvingException;
+import cpe231.finalproject.timelimitedmaze.solver.SolveTimeoutException;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
 import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
-import cpe231.finalproject.timelimitedmaze.utils.MazeFileLister;
-import cpe231.finalproject.timelimitedmaze.utils.MazeValidator;
+import cpe231.finalproject.timelimitedmaze.utils.MazeCatalog;
 import cpe231.finalproject.timelimitedmaze.utils.SolverRegistry;
 import com.raylib.Raylib;
 import com.raylib.Helpers;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 
 public final class MazeGUI {
   private Maze maze;
@@ -29,6 +30,7 @@ public final class MazeGUI {
   private Map<String, Boolean> mazeValidityMap;
   private MazeSolver activeSolver;
   private Thread solveThread;
+  private volatile CancellationToken solveToken;
   private volatile boolean solvingInProgress;
   private List<String> solverLogs;
   private String activeSolverName;
@@ -43,16 +45,13 @@ public final class MazeGUI {
     this.errorMessage = null;
     this.selectedMazeFileName = maze.getName();
     this.mazeDropdownOpen = false;
-    this.availableMazeFiles = MazeFileLister.listMazeFiles();
-    this.mazeValidityMap = new HashMap<>();
+    this.availableMazeFiles = MazeCatalog.listMazes();
+    this.mazeValidityMap = MazeCatalog.validateAll(availableMazeFiles);
     this.activeSolver = null;
     this.solveThread = null;
     this.solvingInProgress = false;
     this.solverLogs = new ArrayList<>();
     this.activeSolverName = null;
-    for (String fileName : availableMazeFiles) {
-      mazeValidityMap.put(fileName, MazeValidator.isValidMaze(fileName));
-    }
   }
 
   public void show() {
@@ -94,6 +93,7 @@ public final class MazeGUI {
       Raylib.EndDrawing();
     }
 
+    cancelActiveSolve();
     System.out.println("Closing window");
     Raylib.CloseWindow();
   }
@@ -183,11 +183,22 @@ public final class MazeGUI {
     solverLogs = new ArrayList<>();
     visualizer.resetLogScroll();
 
+    CancellationToken token = CancellationToken.withBudget(GUIConstants.SOLVE_BUDGET);
+    solveToken = token;
+
     solveThread = new Thread(() -> {
       try {
         solvingInProgress = true;
-        SolverResult computed = solver.solve(maze);
+        SolverResult computed = solver.solve(maze, token);
         result = computed;
+        if (computed.timedOut()) {
+          errorMessage = "Time budget of " + GUIConstants.SOLVE_BUDGET.toSeconds()
+              + " s exceeded; showing best partial path";
+        }
+      } catch (SolveTimeoutException exception) {
+        errorMessage = "Time budget of " + GUIConstants.SOLVE_BUDGET.toSeconds()
+            + " s exceeded before any path was found";
+        result = null;
       } catch (MazeSolvingException exception) {
         errorMessage = "Failed to solve maze: " + exception.getMessage();
         result = null;
@@ -202,6 +213,13 @@ public final class MazeGUI {
     solveThread.start();
   }
 
+  private void cancelActiveSolve() {
+    CancellationToken token = solveToken;
+    if (token != null && solveThread != null && solveThread.isAlive()) {
+      token.cancel();
+    }
+  }
+
   private void updateSolverLogs() {
     if (activeSolver != null) {
       solverLogs = activeSolver.getLogs();
@@ -5,6 +5,7 @@ import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
 import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public final class MazeRenderer {
@@ -19,10 +20,12 @@ public final class MazeRenderer {
     int offsetX = GUIConstants.PADDING;
     int offsetY = GUIConstants.PADDING;
 
+    List<List<MazeCell>> grid = maze.getGrid();
     for (int row = 0; row < maze.getHeight(); row++) {
+      List<MazeCell> cells = grid.get(row);
       for (int col = 0; col < maze.getWidth(); col++) {
         Coordinate coord = new Coordinate(row, col);
-        MazeCell cell = maze.getCell(coord);
+        MazeCell cell = cells.get(col);
         int x = offsetX + col * cellSize;
         int y = offsetY + row * cellSize;
 
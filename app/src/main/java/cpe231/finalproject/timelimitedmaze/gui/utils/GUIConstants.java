@@ -2,6 +2,7 @@ package cpe231.finalproject.timelimitedmaze.gui.utils;
 
 import com.raylib.Helpers;
 import com.raylib.Raylib;
+import java.time.Duration;
 
 public final class GUIConstants {
   private GUIConstants() {
@@ -23,6 +24,8 @@ public final class GUIConstants {
   public static final int POPULATION_SIZE = 500;
   public static final double ELITE_PERCENTAGE = 0.05;
 
+  public static final Duration SOLVE_BUDGET = Duration.ofSeconds(30);
+
   public static final Raylib.Color BACKGROUND_COLOR = Helpers.newColor((byte) 20, (byte) 20, (byte) 20, (byte) 255);
   public static final Raylib.Color STATS_PANEL_COLOR = Helpers.newColor((byte) 35, (byte) 35, (byte) 40, (byte) 255);
   public static final Raylib.Color DROPDOWN_BACKGROUND_COLOR = Helpers.newColor((byte) 50, (byte) 50, (byte) 55, (byte) 255);
@@ -0,0 +1,138 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A* with landmark lower bounds (ALT) from a cached {@link LandmarkTable}.
+ *
+ * The heuristic is the best triangle-inequality bound over all landmarks,
+ * which accounts for walls and weights that Manhattan distance ignores, so
+ * far fewer cells are expanded once the tables exist. Paths are optimal.
+ */
+public final class AltSolver extends MazeSolver {
+
+  private final int landmarkCount;
+  private volatile int lastExpansions;
+
+  public AltSolver() {
+    this(LandmarkTable.DEFAULT_LANDMARKS);
+  }
+
+  public AltSolver(int landmarkCount) {
+    if (landmarkCount < 1) {
+      throw new IllegalArgumentException("Landmark count must be at least 1");
+    }
+    this.landmarkCount = landmarkCount;
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return "ALT A* (Landmarks)";
+  }
+
+  @Override
+  public String getParameterKey() {
+    return "landmarks=" + landmarkCount;
+  }
+
+  /**
+   * Cells expanded by the last solve.
+   */
+  public int getLastExpansions() {
+    return lastExpansions;
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    log("ALT start: " + start + " -> goal: " + goal + " grid " + rows + "x" + cols);
+
+    LandmarkTable landmarks = LandmarkTable.of(maze, landmarkCount, cancellationToken());
+    log("Landmarks: " + landmarks.landmarkCount() + " tables, " + landmarks.memoryBytes() / 1024 + " KB, built in "
+        + landmarks.buildNanos() / 1_000_000.0 + " ms");
+
+    int startIndex = maze.getStartIndex();
+    int goalIndex = maze.getGoalIndex();
+
+    try (SearchWorkspace workspace = borrowWorkspace(maze)) {
+      SearchWorkspace.Layer search = workspace.layer(0);
+      search.setG(startIndex, 0.0);
+
+      IndexedHeap open = search.open();
+      open.insertOrUpdate(startIndex, landmarks.lowerBound(maze, startIndex, goalIndex));
+
+      int[] dRow = {-1, 1, 0, 0};
+      int[] dCol = {0, 0, 1, -1};
+
+      int expansions = 0;
+
+      while (!open.isEmpty()) {
+        int currentIndex = open.poll();
+        search.close(currentIndex);
+
+        if (currentIndex == goalIndex) {
+          lastExpansions = expansions;
+          log("ALT expanded " + expansions + " nodes");
+          return reconstructPath(search, goalIndex, cols);
+        }
+
+        if (isCancelled()) {
+          lastExpansions = expansions;
+          throw timedOut(reconstructPath(search, currentIndex, cols));
+        }
+
+        int r = currentIndex / cols;
+        int c = currentIndex % cols;
+        for (int k = 0; k < 4; k++) {
+          int nr = r + dRow[k];
+          int nc = c + dCol[k];
+
+          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            int neighborIndex = nr * cols + nc;
+
+            if (search.isClosed(neighborIndex)) {
+              continue;
+            }
+
+            int stepCost = maze.costAt(neighborIndex);
+            if (stepCost == Maze.WALL) {
+              continue;
+            }
+
+            double tentativeG = search.g(currentIndex) + stepCost;
+            if (tentativeG < search.g(neighborIndex)) {
+              int h = landmarks.lowerBound(maze, neighborIndex, goalIndex);
+              if (h == GoalDistanceField.UNREACHABLE) {
+                continue;
+              }
+              search.setParent(neighborIndex, currentIndex);
+              search.setG(neighborIndex, tentativeG);
+              open.insertOrUpdate(neighborIndex, tentativeG + h);
+            }
+          }
+        }
+        expansions++;
+      }
+
+      lastExpansions = expansions;
+      log("ALT exhausted search after expanding " + expansions + " nodes with no path");
+      return new ArrayList<>();
+    }
+  }
+
+  private List<Coordinate> reconstructPath(SearchWorkspace.Layer search, int index, int cols) {
+    List<Coordinate> path = new ArrayList<>();
+    for (int current = index; current != -1; current = search.parent(current)) {
+      path.add(new Coordinate(current / cols, current % cols));
+    }
+    Collections.reverse(path);
+    return path;
+  }
+}
@@ -0,0 +1,281 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Anytime Repairing A* (ARA*): weighted A* with an inflation weight that is
+ * lowered toward 1.0 between iterations.
+ *
+ * The first iteration runs the same search as {@link WeightedAStarSolver} with
+ * a high weight and returns a path quickly. Later iterations keep g-values and
+ * parents, re-open only cells whose g-value improved after they were expanded,
+ * and re-key the open list for the new weight instead of searching from
+ * scratch. Each improvement is handed to the listener with its cost and
+ * suboptimality bound. When a solve budget expires, the best path so far is
+ * returned as a timed-out result.
+ */
+public final class AnytimeAStarSolver extends MazeSolver {
+
+  public static final double DEFAULT_INITIAL_WEIGHT = 3.0;
+  public static final double DEFAULT_WEIGHT_STEP = 0.5;
+
+  private static final Consumer<AnytimeSolution> NO_LISTENER = solution -> {
+  };
+
+  private final double initialWeight;
+  private final double weightStep;
+  private final Consumer<AnytimeSolution> listener;
+
+  public AnytimeAStarSolver() {
+    this(DEFAULT_INITIAL_WEIGHT, DEFAULT_WEIGHT_STEP, NO_LISTENER);
+  }
+
+  /**
+   * @param listener called on the solving thread for every improved path
+   */
+  public AnytimeAStarSolver(double initialWeight, double weightStep, Consumer<AnytimeSolution> listener) {
+    if (!(initialWeight >= 1.0)) {
+      throw new IllegalArgumentException("initialWeight must be >= 1.0");
+    }
+    if (!(weightStep > 0.0)) {
+      throw new IllegalArgumentException("weightStep must be positive");
+    }
+    this.initialWeight = initialWeight;
+    this.weightStep = weightStep;
+    this.listener = Objects.requireNonNull(listener, "listener cannot be null");
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return "Anytime Repairing A* (ARA*)";
+  }
+
+  @Override
+  public String getParameterKey() {
+    return "w0=" + initialWeight + ", step=" + weightStep;
+  }
+
+  @Override
+  public boolean isResultCacheable() {
+    // A cached answer would skip the listener's intermediate solutions
+    return listener == NO_LISTENER;
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    log("ARA* start: " + start + " -> goal: " + goal + " grid " + maze.getHeight() + "x" + maze.getWidth()
+        + " weights " + initialWeight + " step " + weightStep);
+    return new Search(maze).run();
+  }
+
+  private final class Search {
+
+    private final Maze maze;
+    private final int rows;
+    private final int cols;
+    private final int goalIndex;
+    private final int goalRow;
+    private final int goalCol;
+    private final int heuristicScale;
+    private final double[] g;
+    private final int[] parent;
+    private final int[] closedIteration;
+    private final boolean[] inconsistent;
+    private final int[] incons;
+    private final IndexedHeap open;
+    private final long startNs = System.nanoTime();
+    private int inconsCount;
+    private int iteration = 1;
+    private int expansions;
+    private List<Coordinate> bestPath;
+
+    Search(Maze maze) {
+      this.maze = maze;
+      this.rows = maze.getHeight();
+      this.cols = maze.getWidth();
+      this.goalIndex = maze.getGoalIndex();
+      this.goalRow = maze.getGoal().row();
+      this.goalCol = maze.getGoal().column();
+
+      int size = maze.getCellCount();
+      // Manhattan distance times the cheapest step stays admissible, which
+      // the suboptimality bound relies on
+      int minWeight = Integer.MAX_VALUE;
+      for (int index = 0; index < size; index++) {
+        int cost = maze.costAt(index);
+        if (cost != Maze.WALL) {
+          minWeight = Math.min(minWeight, cost);
+        }
+      }
+      this.heuristicScale = minWeight;
+
+      this.g = new double[size];
+      this.parent = new int[size];
+      this.closedIteration = new int[size];
+      this.inconsistent = new boolean[size];
+      this.incons = new int[size];
+      this.open = new IndexedHeap(size);
+      Arrays.fill(g, Double.POSITIVE_INFINITY);
+      Arrays.fill(parent, -1);
+    }
+
+    List<Coordinate> run() {
+      int startIndex = maze.getStartIndex();
+      g[startIndex] = 0.0;
+      double weight = initialWeight;
+      open.insertOrUpdate(startIndex, weight * heuristic(startIndex));
+
+      int bestCost = Integer.MAX_VALUE;
+      double bestBound = Double.POSITIVE_INFINITY;
+
+      while (true) {
+        improvePath(weight);
+
+        if (g[goalIndex] == Double.POSITIVE_INFINITY) {
+          log("ARA* exhausted search after expanding " + expansions + " nodes with no path");
+          throw new MazeSolvingException("No path found from start to goal");
+        }
+
+        double bound = suboptimalityBound(weight);
+        List<Coordinate> path = reconstructPath(goalIndex);
+        int cost = calculatePathCost(maze, path);
+        log("ARA* iteration " + iteration + " weight " + weight + " cost " + cost + " bound "
+            + String.format("%.3f", bound) + " expansions " + expansions);
+
+        if (cost < bestCost || bound < bestBound) {
+          bestCost = Math.min(bestCost, cost);
+          bestBound = Math.min(bestBound, bound);
+          bestPath = path;
+          listener.accept(new AnytimeSolution(path, cost, weight, bound, iteration, System.nanoTime() - startNs));
+        }
+
+        if (bound <= 1.0 || weight <= 1.0) {
+          log("ARA* finished after " + iteration + " iteration(s), " + expansions + " expansions");
+          return bestPath;
+        }
+
+        weight = Math.max(1.0, Math.min(weight - weightStep, bound));
+        prepareNextIteration(weight);
+      }
+    }
+
+    private void improvePath(double weight) {
+      while (!open.isEmpty() && g[goalIndex] > open.peekPriority()) {
+        int currentIndex = open.poll();
+
+        if (isCancelled()) {
+          throw timedOut(bestPath != null ? bestPath : reconstructPath(currentIndex));
+        }
+
+        closedIteration[currentIndex] = iteration;
+        expansions++;
+
+        int r = currentIndex / cols;
+        int c = currentIndex % cols;
+        if (r > 0) {
+          relax(currentIndex, currentIndex - cols, weight);
+        }
+        if (r < rows - 1) {
+          relax(currentIndex, currentIndex + cols, weight);
+        }
+        if (c < cols - 1) {
+          relax(currentIndex, currentIndex + 1, weight);
+        }
+        if (c > 0) {
+          relax(currentIndex, currentIndex - 1, weight);
+        }
+      }
+    }
+
+    private void relax(int currentIndex, int neighborIndex, double weight) {
+      int stepCost = maze.costAt(neighborIndex);
+      if (stepCost == Maze.WALL) {
+        return;
+      }
+      double tentativeG = g[currentIndex] + stepCost;
+      if (tentativeG >= g[neighborIndex]) {
+        return;
+      }
+      g[neighborIndex] = tentativeG;
+      parent[neighborIndex] = currentIndex;
+      if (closedIteration[neighborIndex] != iteration) {
+        open.insertOrUpdate(neighborIndex, tentativeG + weight * heuristic(neighborIndex));
+      } else if (!inconsistent[neighborIndex]) {
+        // Already expanded this iteration; revisit it once the weight drops
+        inconsistent[neighborIndex] = true;
+        incons[inconsCount++] = neighborIndex;
+      }
+    }
+
+    /**
+     * Moves INCONS into OPEN, re-keys every open cell for {@code weight} and
+     * empties CLOSED by starting a new iteration stamp.
+     */
+    private void prepareNextIteration(double weight) {
+      for (int i = 0; i < inconsCount; i++) {
+        int cell = incons[i];
+        inconsistent[cell] = false;
+        open.insertOrUpdate(cell, g[cell] + weight * heuristic(cell));
+      }
+      inconsCount = 0;
+
+      int[] queued = new int[open.size()];
+      for (int slot = 0; slot < queued.length; slot++) {
+        queued[slot] = open.cellAt(slot);
+      }
+      for (int cell : queued) {
+        open.insertOrUpdate(cell, g[cell] + weight * heuristic(cell));
+      }
+      iteration++;
+    }
+
+    /**
+     * min(weight, g(goal) / min over OPEN and INCONS of g + h), the ARA*
+     * bound on how far the current goal cost is from optimal.
+     */
+    private double suboptimalityBound(double weight) {
+      double lowerBound = Double.POSITIVE_INFINITY;
+      for (int slot = 0; slot < open.size(); slot++) {
+        int cell = open.cellAt(slot);
+        lowerBound = Math.min(lowerBound, g[cell] + heuristic(cell));
+      }
+      for (int i = 0; i < inconsCount; i++) {
+        int cell = incons[i];
+        lowerBound = Math.min(lowerBound, g[cell] + heuristic(cell));
+      }
+      if (g[goalIndex] <= lowerBound) {
+        return 1.0;
+      }
+      return Math.min(weight, g[goalIndex] / lowerBound);
+    }
+
+    private double heuristic(int index) {
+      int r = index / cols;
+      int c = index % cols;
+      return heuristicScale * (Math.abs(r - goalRow) + Math.abs(c - goalCol));
+    }
+
+    private List<Coordinate> reconstructPath(int endIndex) {
+      List<Coordinate> path = new ArrayList<>();
+      int currIndex = endIndex;
+
+      while (currIndex != -1) {
+        int r = currIndex / cols;
+        int c = currIndex % cols;
+        path.add(new Coordinate(r, c));
+        currIndex = parent[currIndex];
+      }
+      Collections.reverse(path);
+      return path;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One improved path published by {@link AnytimeAStarSolver}. The true optimal
+ * cost is at least {@code totalCost / suboptimalityBound}; a bound of 1.0 means
+ * the path is optimal.
+ */
+public record AnytimeSolution(List<Coordinate> path, int totalCost, double weight, double suboptimalityBound,
+    int iteration, long elapsedNs) {
+
+  public AnytimeSolution {
+    Objects.requireNonNull(path, "path cannot be null");
+    if (path.isEmpty()) {
+      throw new IllegalArgumentException("Path cannot be empty");
+    }
+    if (suboptimalityBound < 1.0) {
+      throw new IllegalArgumentException("suboptimalityBound must be >= 1.0");
+    }
+    path = List.copyOf(path);
+  }
+}
@@ -2,147 +2,147 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 
 public class AstarSolver extends MazeSolver {
 
-    @Override
-    public String getAlgorithmName() {
-        return "A* Search";
-    }
-
-    @Override
-    protected List<Coordinate> executeSolve(Maze maze) {
-        int rows = maze.getHeight();
-        int cols = maze.getWidth();
-        Coordinate start = maze.getStart();
-        Coordinate goal = maze.getGoal();
+  /**
+   * MANHATTAN needs no preprocessing; GOAL_DISTANCE uses the exact
+   * cost-to-go of the maze's cached {@link GoalDistanceField}, so only cells
+   * on optimal paths are expanded once the field exists.
+   */
+  public enum Heuristic {
+    MANHATTAN,
+    GOAL_DISTANCE
+  }
+
+  private final Heuristic heuristic;
+
+  public AstarSolver() {
+    this(Heuristic.MANHATTAN);
+  }
+
+  public AstarSolver(Heuristic heuristic) {
+    this.heuristic = heuristic;
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return heuristic == Heuristic.GOAL_DISTANCE ? "A* Search (Goal Distance)" : "A* Search";
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
     log("A* start: " + start + " -> goal: " + goal + " grid " + rows + "x" + cols);
 
-        int startRow = start.row();
-        int startCol = start.column();
-        int goalRow = goal.row();
-        int goalCol = goal.column();
-
-        // Use 1D arrays for better cache locality and performance
-        int size = rows * cols;
-        double[] gScore = new double[size];
-        double[] fScore = new double[size];
-        int[] parent = new int[size];
-        boolean[] closed = new boolean[size];
-
-        // Initialize arrays
-        Arrays.fill(gScore, Double.POSITIVE_INFINITY);
-        Arrays.fill(fScore, Double.POSITIVE_INFINITY);
-        Arrays.fill(parent, -1);
-
-        int startIndex = startRow * cols + startCol;
-        gScore[startIndex] = 0.0;
-        fScore[startIndex] = calculateHValue(startRow, startCol, goalRow, goalCol);
-
-        PriorityQueue<Node> openList = new PriorityQueue<>();
-        openList.add(new Node(fScore[startIndex], startRow, startCol));
-
-        // Cache grid for direct access to avoid Coordinate object creation
-        List<List<MazeCell>> grid = maze.getGrid();
-
-        // Pre-defined directions and costs
-        // 0-3: Cardinal (N, S, E, W)
-        int[] dRow = { -1, 1, 0, 0 };
-        int[] dCol = { 0, 0, 1, -1 };
-        double[] dCost = { 1.0, 1.0, 1.0, 1.0 };
-
-    int expansions = 0;
-
-        while (!openList.isEmpty()) {
-            Node current = openList.poll();
-            int r = current.r;
-            int c = current.c;
-            int currentIndex = r * cols + c;
-
-            // Lazy removal: if we've already closed this node, skip it
-            if (closed[currentIndex])
-                continue;
-            closed[currentIndex] = true;
-
-            // Check if reached goal
-            if (r == goalRow && c == goalCol) {
-                return reconstructPath(parent, goalRow, goalCol, cols);
-            }
+    int startRow = start.row();
+    int startCol = start.column();
+    int goalRow = goal.row();
+    int goalCol = goal.column();
 
-            // Check all 4 neighbors
-            for (int k = 0; k < 4; k++) {
-                int nr = r + dRow[k];
-                int nc = c + dCol[k];
-
-                // Bounds check
-                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-                    int neighborIndex = nr * cols + nc;
-
-            if (closed[neighborIndex])
-                continue;
-
-                    MazeCell cell = grid.get(nr).get(nc);
-                    if (!cell.isWalkable())
-                        continue;
-
-                    double moveCost = dCost[k];
-                    double stepCost = cell.stepCost();
-                    double tentativeG = gScore[currentIndex] + (moveCost * stepCost);
-
-                    if (tentativeG < gScore[neighborIndex]) {
-                        parent[neighborIndex] = currentIndex;
-                        gScore[neighborIndex] = tentativeG;
-                        double h = calculateHValue(nr, nc, goalRow, goalCol);
-                        fScore[neighborIndex] = tentativeG + h;
-                        openList.add(new Node(fScore[neighborIndex], nr, nc));
-                    }
-                }
-            }
-            expansions++;
-        }
+    // Borrow pooled 1D arrays for better cache locality and no per-solve allocation
+    try (SearchWorkspace workspace = borrowWorkspace(maze)) {
+      SearchWorkspace.Layer search = workspace.layer(0);
 
-        log("A* exhausted search after expanding " + expansions + " nodes with no path");
-        return new ArrayList<>();
-    }
+      GoalDistanceField field = heuristic == Heuristic.GOAL_DISTANCE
+          ? GoalDistanceField.of(maze, cancellationToken())
+          : null;
 
-    private double calculateHValue(int r, int c, int gr, int gc) {
-        return Math.abs(r - gr) + Math.abs(c - gc);
-    }
+      int startIndex = startRow * cols + startCol;
+      search.setG(startIndex, 0.0);
 
-    private List<Coordinate> reconstructPath(int[] parent, int gr, int gc, int cols) {
-        List<Coordinate> path = new ArrayList<>();
-        int currIndex = gr * cols + gc;
+      // Indexed heap with decrease-key: each cell is queued at most once
+      IndexedHeap openList = search.open();
+      openList.insertOrUpdate(startIndex, calculateHValue(field, startIndex, goalRow, goalCol, cols));
 
-        while (currIndex != -1) {
-            int r = currIndex / cols;
-            int c = currIndex % cols;
-            path.add(new Coordinate(r, c));
-            currIndex = parent[currIndex];
-        }
-        Collections.reverse(path);
-        log("A* reconstructed path of length " + path.size());
-        return path;
-    }
+      // Pre-defined directions and costs
+      // 0-3: Cardinal (N, S, E, W)
+      int[] dRow = { -1, 1, 0, 0 };
+      int[] dCol = { 0, 0, 1, -1 };
+      double[] dCost = { 1.0, 1.0, 1.0, 1.0 };
 
-    private static class Node implements Comparable<Node> {
-        double f;
-        int r, c;
+      int expansions = 0;
 
-        Node(double f, int r, int c) {
-            this.f = f;
-            this.r = r;
-            this.c = c;
+      while (!openList.isEmpty()) {
+        int currentIndex = openList.poll();
+        int r = currentIndex / cols;
+        int c = currentIndex % cols;
+        search.close(currentIndex);
+
+        // Check if reached goal
+        if (r == goalRow && c == goalCol) {
+          return reconstructPath(search, goalRow, goalCol, cols);
         }
 
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.f, other.f);
+        if (isCancelled()) {
+          throw timedOut(reconstructPath(search, r, c, cols));
         }
+
+        // Check all 4 neighbors
+        for (int k = 0; k < 4; k++) {
+          int nr = r + dRow[k];
+          int nc = c + dCol[k];
+
+          // Bounds check
+          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            int neighborIndex = nr * cols + nc;
+
+            if (search.isClosed(neighborIndex))
+              continue;
+
+            // Read cost straight from the flat grid to avoid Coordinate object creation
+            int stepCost = maze.costAt(neighborIndex);
+            if (stepCost == Maze.WALL)
+              continue;
+
+            // Cells the goal distance field cannot reach lead nowhere
+            if (field != null && !field.isReachable(neighborIndex))
+              continue;
+
+            double moveCost = dCost[k];
+            double tentativeG = search.g(currentIndex) + (moveCost * stepCost);
+
+            if (tentativeG < search.g(neighborIndex)) {
+              search.setParent(neighborIndex, currentIndex);
+              search.setG(neighborIndex, tentativeG);
+              double h = calculateHValue(field, neighborIndex, goalRow, goalCol, cols);
+              openList.insertOrUpdate(neighborIndex, tentativeG + h);
+            }
+          }
+        }
+        expansions++;
+      }
+
+      log("A* exhausted search after expanding " + expansions + " nodes with no path");
+      return new ArrayList<>();
+    }
+  }
+
+  private double calculateHValue(GoalDistanceField field, int index, int gr, int gc, int cols) {
+    if (field != null) {
+      return field.costToGo(index);
+    }
+    return Math.abs(index / cols - gr) + Math.abs(index % cols - gc);
+  }
+
+  private List<Coordinate> reconstructPath(SearchWorkspace.Layer search, int gr, int gc, int cols) {
+    List<Coordinate> path = new ArrayList<>();
+    int currIndex = gr * cols + gc;
+
+    while (currIndex != -1) {
+      int r = currIndex / cols;
+      int c = currIndex % cols;
+      path.add(new Coordinate(r, c));
+      currIndex = search.parent(currIndex);
     }
+    Collections.reverse(path);
+    log("A* reconstructed path of length " + path.size());
+    return path;
+  }
 }
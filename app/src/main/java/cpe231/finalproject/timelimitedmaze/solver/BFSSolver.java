@@ -2,7 +2,6 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -43,8 +42,6 @@ public final class BFSSolver extends MazeSolver {
     Queue<Node> queue = new ArrayDeque<>();
     queue.add(new Node(startRow, startCol));
 
-    List<List<MazeCell>> grid = maze.getGrid();
-
     int[] dRow = {-1, 1, 0, 0};
     int[] dCol = {0, 0, 1, -1};
 
@@ -60,6 +57,10 @@ public final class BFSSolver extends MazeSolver {
         return reconstructPath(parent, goalRow, goalCol, cols);
       }
 
+      if (isCancelled()) {
+        throw timedOut(reconstructPath(parent, r, c, cols));
+      }
+
       for (int k = 0; k < 4; k++) {
         int nr = r + dRow[k];
         int nc = c + dCol[k];
@@ -71,8 +72,7 @@ public final class BFSSolver extends MazeSolver {
             continue;
           }
 
-          MazeCell cell = grid.get(nr).get(nc);
-          if (!cell.isWalkable()) {
+          if (!maze.isWalkable(neighborIndex)) {
             continue;
           }
 
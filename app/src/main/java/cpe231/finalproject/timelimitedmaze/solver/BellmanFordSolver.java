@@ -2,7 +2,6 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -39,8 +38,6 @@ public final class BellmanFordSolver extends MazeSolver {
     int startIndex = startRow * cols + startCol;
     dist[startIndex] = 0.0;
 
-    List<List<MazeCell>> grid = maze.getGrid();
-
     int[] dRow = {-1, 1, 0, 0};
     int[] dCol = {0, 0, 1, -1};
 
@@ -48,6 +45,10 @@ public final class BellmanFordSolver extends MazeSolver {
       boolean relaxed = false;
 
       for (int r = 0; r < rows; r++) {
+        if (isCancelledNow()) {
+          throw timedOut(bestPathSoFar(dist, parent, goalRow, goalCol, cols));
+        }
+
         for (int c = 0; c < cols; c++) {
           int currentIndex = r * cols + c;
 
@@ -55,8 +56,7 @@ public final class BellmanFordSolver extends MazeSolver {
             continue;
           }
 
-          MazeCell currentCell = grid.get(r).get(c);
-          if (!currentCell.isWalkable()) {
+          if (!maze.isWalkable(currentIndex)) {
             continue;
           }
 
@@ -67,12 +67,11 @@ public final class BellmanFordSolver extends MazeSolver {
             if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
               int neighborIndex = nr * cols + nc;
 
-              MazeCell neighborCell = grid.get(nr).get(nc);
-              if (!neighborCell.isWalkable()) {
+              int stepCost = maze.costAt(neighborIndex);
+              if (stepCost == Maze.WALL) {
                 continue;
               }
 
-              double stepCost = neighborCell.stepCost();
               double newDist = dist[currentIndex] + stepCost;
 
               if (newDist < dist[neighborIndex]) {
@@ -99,6 +98,17 @@ public final class BellmanFordSolver extends MazeSolver {
     return reconstructPath(parent, goalRow, goalCol, cols);
   }
 
+  /**
+   * Relaxation passes only ever shorten dist, so once the goal is reachable the
+   * current parent chain is a valid, if not yet optimal, path.
+   */
+  private List<Coordinate> bestPathSoFar(double[] dist, int[] parent, int goalRow, int goalCol, int cols) {
+    if (dist[goalRow * cols + goalCol] == Double.POSITIVE_INFINITY) {
+      return List.of();
+    }
+    return reconstructPath(parent, goalRow, goalCol, cols);
+  }
+
   private List<Coordinate> reconstructPath(int[] parent, int gr, int gc, int cols) {
     List<Coordinate> path = new ArrayList<>();
     int currIndex = gr * cols + gc;
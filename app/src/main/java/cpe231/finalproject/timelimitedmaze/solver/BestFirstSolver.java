@@ -2,14 +2,9 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Set;
 
 public final class BestFirstSolver extends MazeSolver {
 
@@ -31,74 +26,66 @@ public final class BestFirstSolver extends MazeSolver {
     int goalRow = goal.row();
     int goalCol = goal.column();
 
-    int size = rows * cols;
-    int[] parent = new int[size];
-    Set<Integer> visited = new HashSet<>();
+    try (SearchWorkspace workspace = borrowWorkspace(maze)) {
+      SearchWorkspace.Layer search = workspace.layer(0);
 
-    Arrays.fill(parent, -1);
+      IndexedHeap pq = search.open();
+      pq.insertOrUpdate(startRow * cols + startCol, heuristic(startRow, startCol, goalRow, goalCol));
 
-    int startIndex = startRow * cols + startCol;
+      int[] dRow = {-1, 1, 0, 0};
+      int[] dCol = {0, 0, 1, -1};
 
-    PriorityQueue<Node> pq = new PriorityQueue<>();
-    pq.add(new Node(heuristic(startRow, startCol, goalRow, goalCol), startRow, startCol));
+      int expansions = 0;
 
-    List<List<MazeCell>> grid = maze.getGrid();
+      while (!pq.isEmpty()) {
+        int currentIndex = pq.poll();
+        int r = currentIndex / cols;
+        int c = currentIndex % cols;
+        search.close(currentIndex);
 
-    int[] dRow = {-1, 1, 0, 0};
-    int[] dCol = {0, 0, 1, -1};
-
-    int expansions = 0;
-
-    while (!pq.isEmpty()) {
-      Node current = pq.poll();
-      int r = current.r;
-      int c = current.c;
-      int currentIndex = r * cols + c;
-
-      if (visited.contains(currentIndex)) {
-        continue;
-      }
-      visited.add(currentIndex);
+        if (r == goalRow && c == goalCol) {
+          return reconstructPath(search, goalRow, goalCol, cols);
+        }
 
-      if (r == goalRow && c == goalCol) {
-        return reconstructPath(parent, goalRow, goalCol, cols);
-      }
+        if (isCancelled()) {
+          throw timedOut(reconstructPath(search, r, c, cols));
+        }
 
-      for (int k = 0; k < 4; k++) {
-        int nr = r + dRow[k];
-        int nc = c + dCol[k];
+        for (int k = 0; k < 4; k++) {
+          int nr = r + dRow[k];
+          int nc = c + dCol[k];
 
-        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-          int neighborIndex = nr * cols + nc;
+          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            int neighborIndex = nr * cols + nc;
 
-          if (visited.contains(neighborIndex)) {
-            continue;
-          }
+            if (search.isClosed(neighborIndex)) {
+              continue;
+            }
 
-          MazeCell cell = grid.get(nr).get(nc);
-          if (!cell.isWalkable()) {
-            continue;
-          }
+            if (!maze.isWalkable(neighborIndex)) {
+              continue;
+            }
 
-          if (parent[neighborIndex] == -1) {
-            parent[neighborIndex] = currentIndex;
-            double h = heuristic(nr, nc, goalRow, goalCol);
-            pq.add(new Node(h, nr, nc));
+            if (search.parent(neighborIndex) == -1) {
+              search.setParent(neighborIndex, currentIndex);
+              double h = heuristic(nr, nc, goalRow, goalCol);
+              pq.insertOrUpdate(neighborIndex, h);
+            }
           }
         }
+        expansions++;
       }
-      expansions++;
-    }
 
-    log("Best-First Search exhausted search after expanding " + expansions + " nodes with no path");
-    throw new MazeSolvingException("No path found from start to goal");
+      log("Best-First Search exhausted search after expanding " + expansions + " nodes with no path");
+      throw new MazeSolvingException("No path found from start to goal");
+    }
   }
 
   private double heuristic(int r, int c, int gr, int gc) {
     return Math.abs(r - gr) + Math.abs(c - gc);
   }
 
-  private List<Coordinate> reconstructPath(int[] parent, int gr, int gc, int cols) {
+  private List<Coordinate> reconstructPath(SearchWorkspace.Layer search, int gr, int gc, int cols) {
     List<Coordinate> path = new ArrayList<>();
     int currIndex = gr * cols + gc;
 
@@ -106,27 +93,11 @@ public final class BestFirstSolver extends MazeSolver {
       int r = currIndex / cols;
       int c = currIndex % cols;
       path.add(new Coordinate(r, c));
-      currIndex = parent[currIndex];
+      currIndex = search.parent(currIndex);
     }
     Collections.reverse(path);
     log("Best-First Search reconstructed path of length " + path.size());
     return path;
   }
-
-  private static class Node implements Comparable<Node> {
-    double heuristic;
-    int r, c;
-
-    Node(double heuristic, int r, int c) {
-      this.heuristic = heuristic;
-      this.r = r;
-      this.c = c;
-    }
-
-    @Override
-    public int compareTo(Node other) {
-      return Double.compare(this.heuristic, other.heuristic);
-    }
-  }
 }
 
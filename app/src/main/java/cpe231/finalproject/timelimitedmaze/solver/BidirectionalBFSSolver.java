@@ -2,7 +2,6 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -52,19 +51,23 @@ public final class BidirectionalBFSSolver extends MazeSolver {
     queueForward.add(new Node(startRow, startCol));
     queueBackward.add(new Node(goalRow, goalCol));
 
-    List<List<MazeCell>> grid = maze.getGrid();
-
     int[] dRow = {-1, 1, 0, 0};
     int[] dCol = {0, 0, 1, -1};
 
     int expansions = 0;
+    int frontierIndex = startIndex;
 
     while (!queueForward.isEmpty() || !queueBackward.isEmpty()) {
+      if (isCancelled()) {
+        throw timedOut(mergePaths(parentForward, parentBackward, frontierIndex, cols));
+      }
+
       if (!queueForward.isEmpty()) {
         Node current = queueForward.poll();
         int r = current.r;
         int c = current.c;
         int currentIndex = r * cols + c;
+        frontierIndex = currentIndex;
 
         if (visitedBackward[currentIndex]) {
           return mergePaths(parentForward, parentBackward, currentIndex, cols);
@@ -81,8 +84,7 @@ public final class BidirectionalBFSSolver extends MazeSolver {
               continue;
             }
 
-            MazeCell cell = grid.get(nr).get(nc);
-            if (!cell.isWalkable()) {
+            if (!maze.isWalkable(neighborIndex)) {
               continue;
             }
 
@@ -115,8 +117,7 @@ public final class BidirectionalBFSSolver extends MazeSolver {
               continue;
             }
 
-            MazeCell cell = grid.get(nr).get(nc);
-            if (!cell.isWalkable()) {
+            if (!maze.isWalkable(neighborIndex)) {
               continue;
             }
 
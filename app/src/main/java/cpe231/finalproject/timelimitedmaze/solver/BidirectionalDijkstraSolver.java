@@ -2,12 +2,9 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 
 public final class BidirectionalDijkstraSolver extends MazeSolver {
 
@@ -29,147 +26,132 @@ public final class BidirectionalDijkstraSolver extends MazeSolver {
     int goalRow = goal.row();
     int goalCol = goal.column();
 
-    int size = rows * cols;
-    double[] distForward = new double[size];
-    double[] distBackward = new double[size];
-    int[] parentForward = new int[size];
-    int[] parentBackward = new int[size];
-    boolean[] visitedForward = new boolean[size];
-    boolean[] visitedBackward = new boolean[size];
+    try (SearchWorkspace workspace = borrowWorkspace(maze, 2)) {
+      SearchWorkspace.Layer forward = workspace.layer(0);
+      SearchWorkspace.Layer backward = workspace.layer(1);
 
-    Arrays.fill(distForward, Double.POSITIVE_INFINITY);
-    Arrays.fill(distBackward, Double.POSITIVE_INFINITY);
-    Arrays.fill(parentForward, -1);
-    Arrays.fill(parentBackward, -1);
+      int startIndex = startRow * cols + startCol;
+      int goalIndex = goalRow * cols + goalCol;
 
-    int startIndex = startRow * cols + startCol;
-    int goalIndex = goalRow * cols + goalCol;
+      forward.setG(startIndex, 0.0);
+      backward.setG(goalIndex, 0.0);
 
-    distForward[startIndex] = 0.0;
-    distBackward[goalIndex] = 0.0;
+      IndexedHeap pqForward = forward.open();
+      IndexedHeap pqBackward = backward.open();
 
-    PriorityQueue<Node> pqForward = new PriorityQueue<>();
-    PriorityQueue<Node> pqBackward = new PriorityQueue<>();
+      pqForward.insertOrUpdate(startIndex, 0.0);
+      pqBackward.insertOrUpdate(goalIndex, 0.0);
 
-    pqForward.add(new Node(0.0, startRow, startCol));
-    pqBackward.add(new Node(0.0, goalRow, goalCol));
+      int[] dRow = {-1, 1, 0, 0};
+      int[] dCol = {0, 0, 1, -1};
 
-    List<List<MazeCell>> grid = maze.getGrid();
+      int expansions = 0;
+      double bestDist = Double.POSITIVE_INFINITY;
+      int meetingPoint = -1;
+      int frontierIndex = startIndex;
 
-    int[] dRow = {-1, 1, 0, 0};
-    int[] dCol = {0, 0, 1, -1};
-
-    int expansions = 0;
-    double bestDist = Double.POSITIVE_INFINITY;
-    int meetingPoint = -1;
-
-    while (!pqForward.isEmpty() || !pqBackward.isEmpty()) {
-      if (!pqForward.isEmpty()) {
-        Node current = pqForward.poll();
-        int r = current.r;
-        int c = current.c;
-        int currentIndex = r * cols + c;
-
-        if (visitedForward[currentIndex]) {
-          continue;
+      while (!pqForward.isEmpty() || !pqBackward.isEmpty()) {
+        if (isCancelled()) {
+          throw timedOut(mergePaths(forward, backward, frontierIndex, cols));
         }
-        visitedForward[currentIndex] = true;
 
-        if (visitedBackward[currentIndex]) {
-          double totalDist = distForward[currentIndex] + distBackward[currentIndex];
-          if (totalDist < bestDist) {
-            bestDist = totalDist;
-            meetingPoint = currentIndex;
+        if (!pqForward.isEmpty()) {
+          int currentIndex = pqForward.poll();
+          int r = currentIndex / cols;
+          int c = currentIndex % cols;
+          forward.close(currentIndex);
+          frontierIndex = currentIndex;
+
+          if (backward.isClosed(currentIndex)) {
+            double totalDist = forward.g(currentIndex) + backward.g(currentIndex);
+            if (totalDist < bestDist) {
+              bestDist = totalDist;
+              meetingPoint = currentIndex;
+            }
           }
-        }
 
-        for (int k = 0; k < 4; k++) {
-          int nr = r + dRow[k];
-          int nc = c + dCol[k];
+          for (int k = 0; k < 4; k++) {
+            int nr = r + dRow[k];
+            int nc = c + dCol[k];
 
-          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-            int neighborIndex = nr * cols + nc;
+            if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+              int neighborIndex = nr * cols + nc;
 
-            if (visitedForward[neighborIndex]) {
-              continue;
-            }
+              if (forward.isClosed(neighborIndex)) {
+                continue;
+              }
 
-            MazeCell cell = grid.get(nr).get(nc);
-            if (!cell.isWalkable()) {
-              continue;
-            }
+              int stepCost = maze.costAt(neighborIndex);
+              if (stepCost == Maze.WALL) {
+                continue;
+              }
 
-            double stepCost = cell.stepCost();
-            double newDist = distForward[currentIndex] + stepCost;
+              double newDist = forward.g(currentIndex) + stepCost;
 
-            if (newDist < distForward[neighborIndex]) {
-              distForward[neighborIndex] = newDist;
-              parentForward[neighborIndex] = currentIndex;
-              pqForward.add(new Node(newDist, nr, nc));
+              if (newDist < forward.g(neighborIndex)) {
+                forward.setG(neighborIndex, newDist);
+                forward.setParent(neighborIndex, currentIndex);
+                pqForward.insertOrUpdate(neighborIndex, newDist);
+              }
             }
           }
+          expansions++;
         }
-        expansions++;
-      }
-
-      if (!pqBackward.isEmpty()) {
-        Node current = pqBackward.poll();
-        int r = current.r;
-        int c = current.c;
-        int currentIndex = r * cols + c;
-
-        if (visitedBackward[currentIndex]) {
-          continue;
-        }
-        visitedBackward[currentIndex] = true;
 
-        if (visitedForward[currentIndex]) {
-          double totalDist = distForward[currentIndex] + distBackward[currentIndex];
-          if (totalDist < bestDist) {
-            bestDist = totalDist;
-            meetingPoint = currentIndex;
+        if (!pqBackward.isEmpty()) {
+          int currentIndex = pqBackward.poll();
+          int r = currentIndex / cols;
+          int c = currentIndex % cols;
+          backward.close(currentIndex);
+
+          if (forward.isClosed(currentIndex)) {
+            double totalDist = forward.g(currentIndex) + backward.g(currentIndex);
+            if (totalDist < bestDist) {
+              bestDist = totalDist;
+              meetingPoint = currentIndex;
+            }
           }
-        }
 
-        for (int k = 0; k < 4; k++) {
-          int nr = r + dRow[k];
-          int nc = c + dCol[k];
+          for (int k = 0; k < 4; k++) {
+            int nr = r + dRow[k];
+            int nc = c + dCol[k];
 
-          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-            int neighborIndex = nr * cols + nc;
+            if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+              int neighborIndex = nr * cols + nc;
 
-            if (visitedBackward[neighborIndex]) {
-              continue;
-            }
+              if (backward.isClosed(neighborIndex)) {
+                continue;
+              }
 
-            MazeCell cell = grid.get(nr).get(nc);
-            if (!cell.isWalkable()) {
-              continue;
-            }
+              int stepCost = maze.costAt(neighborIndex);
+              if (stepCost == Maze.WALL) {
+                continue;
+              }
 
-            double stepCost = cell.stepCost();
-            double newDist = distBackward[currentIndex] + stepCost;
+              double newDist = backward.g(currentIndex) + stepCost;
 
-            if (newDist < distBackward[neighborIndex]) {
-              distBackward[neighborIndex] = newDist;
-              parentBackward[neighborIndex] = currentIndex;
-              pqBackward.add(new Node(newDist, nr, nc));
+              if (newDist < backward.g(neighborIndex)) {
+                backward.setG(neighborIndex, newDist);
+                backward.setParent(neighborIndex, currentIndex);
+                pqBackward.insertOrUpdate(neighborIndex, newDist);
+              }
             }
           }
+          expansions++;
         }
-        expansions++;
-      }
 
-      if (meetingPoint != -1 && bestDist < Double.POSITIVE_INFINITY) {
-        return mergePaths(parentForward, parentBackward, meetingPoint, cols);
+        if (meetingPoint != -1 && bestDist < Double.POSITIVE_INFINITY) {
+          return mergePaths(forward, backward, meetingPoint, cols);
+        }
       }
-    }
 
-    log("Bidirectional Dijkstra exhausted search after expanding " + expansions + " nodes with no path");
-    throw new MazeSolvingException("No path found from start to goal");
+      log("Bidirectional Dijkstra exhausted search after expanding " + expansions + " nodes with no path");
+      throw new MazeSolvingException("No path found from start to goal");
+    }
   }
 
-  private List<Coordinate> mergePaths(int[] parentForward, int[] parentBackward, int meetingIndex, int cols) {
+  private List<Coordinate> mergePaths(SearchWorkspace.Layer forward, SearchWorkspace.Layer backward,
+      int meetingIndex, int cols) {
     List<Coordinate> forwardPath = new ArrayList<>();
     List<Coordinate> backwardPath = new ArrayList<>();
 
@@ -178,16 +160,16 @@ public final class BidirectionalDijkstraSolver extends MazeSolver {
       int r = currIndex / cols;
       int c = currIndex % cols;
       forwardPath.add(new Coordinate(r, c));
-      currIndex = parentForward[currIndex];
+      currIndex = forward.parent(currIndex);
     }
     Collections.reverse(forwardPath);
 
-    currIndex = parentBackward[meetingIndex];
+    currIndex = backward.parent(meetingIndex);
     while (currIndex != -1) {
       int r = currIndex / cols;
       int c = currIndex % cols;
       backwardPath.add(new Coordinate(r, c));
-      currIndex = parentBackward[currIndex];
+      currIndex = backward.parent(currIndex);
     }
 
     List<Coordinate> fullPath = new ArrayList<>(forwardPath);
@@ -195,21 +177,5 @@ public final class BidirectionalDijkstraSolver extends MazeSolver {
     log("Bidirectional Dijkstra reconstructed path of length " + fullPath.size());
     return fullPath;
   }
-
-  private static class Node implements Comparable<Node> {
-    double dist;
-    int r, c;
-
-    Node(double dist, int r, int c) {
-      this.dist = dist;
-      this.r = r;
-      this.c = c;
-    }
-
-    @Override
-    public int compareTo(Node other) {
-      return Double.compare(this.dist, other.dist);
-    }
-  }
 }
 
@@ -0,0 +1,115 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Circular bucket queue over cell indices with small non-negative int keys.
+ *
+ * Buckets are intrusive doubly linked lists stored in flat int arrays, so
+ * insert, decrease-key and poll are O(1) amortized and never allocate. The
+ * queue requires that every live key lies within {@code span} of the last
+ * polled key, which holds for Dijkstra and consistent A* when {@code span}
+ * exceeds the largest possible key increase along one edge. An empty queue
+ * re-anchors its window on the next inserted key.
+ */
+final class BucketQueue {
+
+  private static final int NONE = -1;
+
+  private final int span;
+  private final int[] heads;
+  private final int[] next;
+  private final int[] prev;
+  private final int[] keys;
+  private int size;
+  private int cursor;
+
+  BucketQueue(int capacity, int span) {
+    if (span < 1) {
+      throw new IllegalArgumentException("Bucket span must be at least 1");
+    }
+    this.span = span;
+    this.heads = new int[span];
+    this.next = new int[capacity];
+    this.prev = new int[capacity];
+    this.keys = new int[capacity];
+    Arrays.fill(heads, NONE);
+    Arrays.fill(keys, NONE);
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean contains(int cell) {
+    return keys[cell] != NONE;
+  }
+
+  int keyOf(int cell) {
+    return keys[cell];
+  }
+
+  /**
+   * Inserts {@code cell} with {@code key}, or moves it to the new bucket if it
+   * is already queued.
+   */
+  void insertOrUpdate(int cell, int key) {
+    boolean outsideWindow = key < cursor || key - cursor >= span;
+    if (size == 0 && outsideWindow) {
+      cursor = key;
+    } else if (outsideWindow) {
+      throw new IllegalArgumentException("Key " + key + " outside bucket window starting at " + cursor);
+    }
+    if (keys[cell] != NONE) {
+      unlink(cell);
+    } else {
+      size++;
+    }
+    keys[cell] = key;
+    int bucket = key % span;
+    int head = heads[bucket];
+    next[cell] = head;
+    prev[cell] = NONE;
+    if (head != NONE) {
+      prev[head] = cell;
+    }
+    heads[bucket] = cell;
+  }
+
+  int poll() {
+    if (size == 0) {
+      throw new IllegalStateException("Bucket queue is empty");
+    }
+    int bucket = cursor % span;
+    while (heads[bucket] == NONE) {
+      cursor++;
+      bucket = cursor % span;
+    }
+    int cell = heads[bucket];
+    unlink(cell);
+    keys[cell] = NONE;
+    size--;
+    return cell;
+  }
+
+  int currentKey() {
+    return cursor;
+  }
+
+  private void unlink(int cell) {
+    int before = prev[cell];
+    int after = next[cell];
+    if (before != NONE) {
+      next[before] = after;
+    } else {
+      heads[keys[cell] % span] = after;
+    }
+    if (after != NONE) {
+      prev[after] = before;
+    }
+  }
+}
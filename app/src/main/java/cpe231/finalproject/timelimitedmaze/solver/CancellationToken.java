@@ -0,0 +1,108 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Cooperative stop signal for a single solve.
+ *
+ * A token expires when its deadline passes or when {@link #cancel()} is
+ * called from any thread. Solvers poll it once per main-loop iteration through
+ * {@link MazeSolver}; the clock is only read every {@value #CLOCK_CHECK_INTERVAL}
+ * polls so the check stays cheap in tight loops.
+ */
+public final class CancellationToken {
+
+  private static final int CLOCK_CHECK_INTERVAL = 256;
+
+  private final long startNs;
+  private final long deadlineNs;
+  private final boolean bounded;
+  private final CancellationToken parent;
+  private volatile boolean cancelled;
+  private int pollsUntilClockCheck;
+
+  private CancellationToken(long startNs, long budgetNs, boolean bounded) {
+    this.startNs = startNs;
+    this.bounded = bounded;
+    this.deadlineNs = bounded ? startNs + budgetNs : 0L;
+    this.parent = null;
+  }
+
+  private CancellationToken(CancellationToken parent) {
+    this.startNs = parent.startNs;
+    this.bounded = parent.bounded;
+    this.deadlineNs = parent.deadlineNs;
+    this.parent = parent;
+  }
+
+  /**
+   * A token with no deadline that only expires through {@link #cancel()}.
+   */
+  public static CancellationToken unbounded() {
+    return new CancellationToken(System.nanoTime(), 0L, false);
+  }
+
+  /**
+   * A token that expires {@code budget} from now.
+   */
+  public static CancellationToken withBudget(Duration budget) {
+    Objects.requireNonNull(budget, "budget cannot be null");
+    if (budget.isNegative()) {
+      throw new IllegalArgumentException("budget must be non-negative");
+    }
+    long budgetNs;
+    try {
+      budgetNs = budget.toNanos();
+    } catch (ArithmeticException e) {
+      return unbounded();
+    }
+    return new CancellationToken(System.nanoTime(), budgetNs, true);
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Reads the clock and reports whether the token has expired.
+   */
+  public boolean isCancelled() {
+    if (cancelled) {
+      return true;
+    }
+    if (parent != null ? parent.isCancelled() : bounded && System.nanoTime() - deadlineNs >= 0) {
+      cancelled = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A token for one worker thread of parallel preprocessing. It expires with
+   * this one but keeps its own poll count, so each worker may {@link #poll()}
+   * its own.
+   */
+  CancellationToken forWorker() {
+    return new CancellationToken(this);
+  }
+
+  public Duration elapsed() {
+    return Duration.ofNanos(System.nanoTime() - startNs);
+  }
+
+  /**
+   * Amortized form of {@link #isCancelled()} for solver loops; only meant to be
+   * called from the solving thread.
+   */
+  boolean poll() {
+    if (cancelled || parent != null && parent.cancelled) {
+      return true;
+    }
+    if (--pollsUntilClockCheck > 0) {
+      return false;
+    }
+    pollsUntilClockCheck = CLOCK_CHECK_INTERVAL;
+    return isCancelled();
+  }
+}
@@ -0,0 +1,823 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A contraction hierarchy over a maze's {@link JunctionGraph}, for workloads
+ * that ask many start/goal questions of the same maze.
+ *
+ * Preprocessing contracts the junction nodes one at a time, cheapest first by
+ * edge difference: the shortcuts a contraction would add, minus the edges it
+ * removes, plus the neighbours already contracted so contractions spread out
+ * evenly. Priorities are updated lazily; a popped node is scored again and
+ * put back if it is no longer the cheapest. Contracting {@code v} adds a
+ * shortcut {@code u -> w} for each pair of remaining neighbours unless a
+ * witness search from {@code u} that avoids {@code v} finds a path no longer
+ * than {@code u -> v -> w}. Witness searches stop after a few dozen settled
+ * nodes; one that gives up only costs a shortcut that was not needed. Each
+ * shortcut remembers the two edges it replaces.
+ *
+ * A query runs Dijkstra from the source over edges leading up in contraction
+ * order and, over reversed edges, from the target, stopping once neither
+ * frontier is cheaper than the best meeting found. The shortcuts on the
+ * meeting path are unpacked into junction edges and those into cells. Sources
+ * and targets may be any walkable cells: a corridor cell joins the search
+ * through the nodes at both ends of its corridor.
+ *
+ * {@link #of(Maze)} caches one hierarchy per maze content fingerprint behind
+ * a soft reference, like {@link JunctionGraph}. The cancellation token passed
+ * to {@link #of(Maze, CancellationToken)} also goes to the junction graph
+ * extraction, and contraction polls it once per node; nothing is cached when
+ * it is cancelled.
+ */
+public final class ContractionHierarchy {
+
+  private static final int NONE = -1;
+  private static final int WITNESS_SETTLE_LIMIT = 64;
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+  private static final SoftCache<Long, ContractionHierarchy> CACHE = new SoftCache<>();
+
+  private final JunctionGraph graph;
+  private final long fingerprint;
+  private final int rows;
+  private final int cols;
+  private final int[] rank;
+  private final int[] edgeSource;
+  private final int[] edgeTarget;
+  private final int[] edgeWeight;
+  // Junction edge for an original edge, else the first of the two edges a shortcut replaces
+  private final int[] edgeFirst;
+  // NONE for an original edge, else the second edge a shortcut replaces
+  private final int[] edgeSecond;
+  private final int[] firstUp;
+  private final int[] upEdges;
+  private final int[] firstDown;
+  private final int[] downEdges;
+  private final int shortcutCount;
+  private final long buildNanos;
+  private final ThreadLocal<QueryState> queryState;
+
+  private ContractionHierarchy(Maze maze, JunctionGraph graph, Builder builder, long buildNanos) {
+    this.graph = graph;
+    this.fingerprint = maze.getFingerprint();
+    this.rows = maze.getHeight();
+    this.cols = maze.getWidth();
+    this.rank = builder.rank;
+    this.edgeSource = Arrays.copyOf(builder.source, builder.edgeCount);
+    this.edgeTarget = Arrays.copyOf(builder.target, builder.edgeCount);
+    this.edgeWeight = Arrays.copyOf(builder.weight, builder.edgeCount);
+    this.edgeFirst = Arrays.copyOf(builder.first, builder.edgeCount);
+    this.edgeSecond = Arrays.copyOf(builder.second, builder.edgeCount);
+    this.shortcutCount = builder.shortcutCount;
+    this.buildNanos = buildNanos;
+
+    int nodes = graph.nodeCount();
+    this.firstUp = new int[nodes + 1];
+    this.firstDown = new int[nodes + 1];
+    int up = 0;
+    int down = 0;
+    for (int node = 0; node < nodes; node++) {
+      for (int i = 0; i < builder.out[node].size; i++) {
+        if (rank[edgeTarget[builder.out[node].items[i]]] > rank[node]) {
+          up++;
+        }
+      }
+      for (int i = 0; i < builder.in[node].size; i++) {
+        if (rank[edgeSource[builder.in[node].items[i]]] > rank[node]) {
+          down++;
+        }
+      }
+    }
+    this.upEdges = new int[up];
+    this.downEdges = new int[down];
+    up = 0;
+    down = 0;
+    for (int node = 0; node < nodes; node++) {
+      firstUp[node] = up;
+      firstDown[node] = down;
+      for (int i = 0; i < builder.out[node].size; i++) {
+        int edge = builder.out[node].items[i];
+        if (rank[edgeTarget[edge]] > rank[node]) {
+          upEdges[up++] = edge;
+        }
+      }
+      for (int i = 0; i < builder.in[node].size; i++) {
+        int edge = builder.in[node].items[i];
+        if (rank[edgeSource[edge]] > rank[node]) {
+          downEdges[down++] = edge;
+        }
+      }
+    }
+    firstUp[nodes] = up;
+    firstDown[nodes] = down;
+    this.queryState = ThreadLocal.withInitial(() -> new QueryState(nodes));
+  }
+
+  /**
+   * Returns the cached hierarchy for {@code maze}, building it on first use.
+   */
+  public static ContractionHierarchy of(Maze maze) {
+    return of(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Like {@link #of(Maze)}, but a hierarchy still to be built stops when
+   * {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static ContractionHierarchy of(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    ContractionHierarchy hierarchy = CACHE.get(maze.getFingerprint());
+    if (hierarchy != null && hierarchy.matches(maze)) {
+      return hierarchy;
+    }
+    hierarchy = build(maze, token);
+    CACHE.put(maze.getFingerprint(), hierarchy);
+    return hierarchy;
+  }
+
+  /**
+   * Builds a hierarchy over the maze's cached junction graph without
+   * consulting or filling the hierarchy cache.
+   *
+   * @throws MazeSolvingException if a shortcut's cost does not fit in an int
+   */
+  public static ContractionHierarchy build(Maze maze) {
+    return build(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Builds a hierarchy without the cache, stopping when {@code token}
+   * expires. Only for the thread that owns the token.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   * @throws MazeSolvingException if a shortcut's cost does not fit in an int
+   */
+  public static ContractionHierarchy build(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    JunctionGraph graph = JunctionGraph.of(maze, token);
+    long startNs = System.nanoTime();
+    Builder builder = new Builder(graph);
+    builder.contractAll(token);
+    return new ContractionHierarchy(maze, graph, builder, System.nanoTime() - startNs);
+  }
+
+  /**
+   * Drops every cached hierarchy.
+   */
+  public static void clearCache() {
+    CACHE.clear();
+  }
+
+  /**
+   * Hierarchies currently cached.
+   */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  /**
+   * Whether this hierarchy was built for a maze with the same content.
+   */
+  public boolean matches(Maze maze) {
+    return maze.getFingerprint() == fingerprint && graph.matches(maze);
+  }
+
+  public JunctionGraph graph() {
+    return graph;
+  }
+
+  public int nodeCount() {
+    return rank.length;
+  }
+
+  /**
+   * Junction graph edges plus shortcuts that queries may use.
+   */
+  public int edgeCount() {
+    return upEdges.length + downEdges.length;
+  }
+
+  public int shortcutCount() {
+    return shortcutCount;
+  }
+
+  /**
+   * Time spent contracting, excluding the junction graph build, which
+   * {@link JunctionGraph#buildNanos()} reports.
+   */
+  public long buildNanos() {
+    return buildNanos;
+  }
+
+  /**
+   * Position of {@code node} in the contraction order; queries only climb.
+   */
+  public int rankOf(int node) {
+    return rank[node];
+  }
+
+  /**
+   * A shortest path between two cells. {@code totalCost} counts every cell on
+   * the path, the first included, as {@link MazeSolver#calculatePathCost}
+   * does. Both are empty or zero when the cells are not connected.
+   */
+  public record Route(List<Coordinate> path, int totalCost, int settledNodes, long queryNanos) {
+
+    public boolean found() {
+      return !path.isEmpty();
+    }
+  }
+
+  /**
+   * Shortest path from {@code from} to {@code to}. Safe to call from several
+   * threads at once; each keeps its own search state. Expanding the path into
+   * cells usually costs more than the search; {@link #distance} skips it.
+   *
+   * @throws IllegalArgumentException if the maze differs from the one this
+   *     hierarchy was built for, or either cell is outside it or a wall
+   */
+  public Route route(Maze maze, Coordinate from, Coordinate to) {
+    long startNs = System.nanoTime();
+    int source = endpoint(maze, from);
+    int target = endpoint(maze, to);
+    if (source == target) {
+      return new Route(List.of(from), maze.costAt(source), 0, System.nanoTime() - startNs);
+    }
+
+    Attachment up = attach(maze, source, target);
+    Attachment down = attach(maze, target, NONE);
+    QueryState state = queryState.get();
+    long best = search(state, up, down);
+    if (best == Long.MAX_VALUE) {
+      return new Route(List.of(), 0, state.settled, System.nanoTime() - startNs);
+    }
+    List<Coordinate> path = new ArrayList<>();
+    path.add(from);
+    if (state.meet == NONE) {
+      walk(maze, source, up.directStep, target, path);
+    } else {
+      expand(maze, state, source, target, up, down, path);
+    }
+    return new Route(path, (int) (maze.costAt(source) + best), state.settled, System.nanoTime() - startNs);
+  }
+
+  /**
+   * Cost of the shortest path from {@code from} to {@code to}, counted like
+   * {@link Route#totalCost()}, or -1 when there is none.
+   *
+   * @throws IllegalArgumentException as {@link #route} does
+   */
+  public int distance(Maze maze, Coordinate from, Coordinate to) {
+    int source = endpoint(maze, from);
+    int target = endpoint(maze, to);
+    if (source == target) {
+      return maze.costAt(source);
+    }
+    long best = search(queryState.get(), attach(maze, source, target), attach(maze, target, NONE));
+    return best == Long.MAX_VALUE ? -1 : (int) (maze.costAt(source) + best);
+  }
+
+  private int endpoint(Maze maze, Coordinate cell) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    if (!matches(maze)) {
+      throw new IllegalArgumentException("Hierarchy was built for a different maze");
+    }
+    int index = maze.indexOf(cell);
+    if (!maze.isWalkable(index)) {
+      throw new IllegalArgumentException("Route endpoint " + cell + " is a wall");
+    }
+    return index;
+  }
+
+  /**
+   * Bidirectional upward search between the attached nodes. Returns the best
+   * cost, excluding the source cell, or {@link Long#MAX_VALUE}; leaves the
+   * meeting node, or {@link #NONE} for the direct corridor path, and the
+   * search trees in {@code state}.
+   */
+  private long search(QueryState state, Attachment up, Attachment down) {
+    state.begin();
+    for (int i = 0; i < up.count; i++) {
+      state.forward.offer(up.node[i], up.toNode[i], NONE);
+    }
+    for (int i = 0; i < down.count; i++) {
+      state.backward.offer(down.node[i], down.fromNode[i], NONE);
+    }
+
+    long best = up.directCost;
+    while (true) {
+      boolean forwardLive = !state.forward.open.isEmpty() && state.forward.open.peekPriority() < best;
+      boolean backwardLive = !state.backward.open.isEmpty() && state.backward.open.peekPriority() < best;
+      if (!forwardLive && !backwardLive) {
+        break;
+      }
+      boolean forward = forwardLive
+          && (!backwardLive || state.forward.open.peekPriority() <= state.backward.open.peekPriority());
+      Side side = forward ? state.forward : state.backward;
+      Side other = forward ? state.backward : state.forward;
+      int node = side.open.poll();
+      state.settled++;
+      long distance = side.distance(node);
+      if (other.reached(node) && distance + other.distance(node) < best) {
+        best = distance + other.distance(node);
+        state.meet = node;
+      }
+      int[] first = forward ? firstUp : firstDown;
+      int[] edges = forward ? upEdges : downEdges;
+      for (int i = first[node]; i < first[node + 1]; i++) {
+        int edge = edges[i];
+        side.offer(forward ? edgeTarget[edge] : edgeSource[edge], distance + edgeWeight[edge], edge);
+      }
+    }
+    state.forward.open.clear();
+    state.backward.open.clear();
+    return best;
+  }
+
+  /**
+   * Appends the cells after {@code source} up to the meeting node, through it
+   * and on to {@code target}.
+   */
+  private void expand(Maze maze, QueryState state, int source, int target, Attachment up, Attachment down,
+      List<Coordinate> path) {
+    List<Integer> upward = new ArrayList<>();
+    int root = state.meet;
+    for (int edge = state.forward.parent(root); edge != NONE; edge = state.forward.parent(root)) {
+      upward.add(edge);
+      root = edgeSource[edge];
+    }
+    Collections.reverse(upward);
+    walk(maze, source, up.stepTo(root, state.forward.distance(root)), NONE, path);
+
+    List<Integer> junctionEdges = new ArrayList<>();
+    for (int edge : upward) {
+      unpack(edge, junctionEdges);
+    }
+    int sink = state.meet;
+    for (int edge = state.backward.parent(sink); edge != NONE; edge = state.backward.parent(sink)) {
+      unpack(edge, junctionEdges);
+      sink = edgeTarget[edge];
+    }
+    for (int edge : junctionEdges) {
+      graph.appendEdge(maze, edge, path);
+    }
+
+    if (graph.nodeOf(target) < 0) {
+      List<Coordinate> tail = new ArrayList<>();
+      tail.add(new Coordinate(target / cols, target % cols));
+      walk(maze, target, down.stepFrom(sink, state.backward.distance(sink)), NONE, tail);
+      // The tail runs from the target to the sink node, which the path already ends on
+      for (int i = tail.size() - 2; i >= 0; i--) {
+        path.add(tail.get(i));
+      }
+    }
+  }
+
+  /**
+   * Appends the junction edges behind {@code edge}, in path order.
+   */
+  private void unpack(int edge, List<Integer> junctionEdges) {
+    int[] stack = new int[16];
+    int top = 0;
+    stack[top++] = edge;
+    while (top > 0) {
+      int current = stack[--top];
+      if (edgeSecond[current] == NONE) {
+        junctionEdges.add(edgeFirst[current]);
+        continue;
+      }
+      if (top + 2 > stack.length) {
+        stack = Arrays.copyOf(stack, stack.length * 2);
+      }
+      stack[top++] = edgeSecond[current];
+      stack[top++] = edgeFirst[current];
+    }
+  }
+
+  /**
+   * Walks the corridor from {@code cell} through neighbour {@code step},
+   * appending each cell entered, until a node or {@code stop} is reached.
+   * Does nothing when {@code step} is {@link #NONE}, which is how a cell that
+   * is itself a node attaches.
+   */
+  private void walk(Maze maze, int cell, int step, int stop, List<Coordinate> path) {
+    if (step == NONE) {
+      return;
+    }
+    int previous = cell;
+    int current = step;
+    path.add(new Coordinate(current / cols, current % cols));
+    while (current != stop && graph.nodeOf(current) < 0) {
+      int next = JunctionGraph.otherNeighbor(maze, current, previous, rows, cols);
+      previous = current;
+      current = next;
+      path.add(new Coordinate(current / cols, current % cols));
+    }
+  }
+
+  /**
+   * The nodes a search from or to {@code cell} starts at. A node attaches to
+   * itself; a corridor cell to the node at each end of its corridor. When
+   * walking the corridor passes {@code other}, the direct cost is kept too.
+   */
+  private Attachment attach(Maze maze, int cell, int other) {
+    Attachment attachment = new Attachment();
+    int node = graph.nodeOf(cell);
+    if (node >= 0) {
+      attachment.add(node, 0, 0, NONE);
+      return attachment;
+    }
+    int r = cell / cols;
+    int c = cell % cols;
+    for (int k = 0; k < 4; k++) {
+      int nr = r + D_ROW[k];
+      int nc = c + D_COL[k];
+      if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || maze.costAt(nr * cols + nc) == Maze.WALL) {
+        continue;
+      }
+      int step = nr * cols + nc;
+      int previous = cell;
+      int current = step;
+      long cost = maze.costAt(current);
+      while (graph.nodeOf(current) < 0 && current != cell) {
+        if (current == other && cost < attachment.directCost) {
+          attachment.directCost = cost;
+          attachment.directStep = step;
+        }
+        int next = JunctionGraph.otherNeighbor(maze, current, previous, rows, cols);
+        previous = current;
+        current = next;
+        cost += maze.costAt(current);
+      }
+      if (current == cell) {
+        // A ring of corridor cells with no node on it; the other direction may reach other sooner
+        continue;
+      }
+      attachment.add(graph.nodeOf(current), cost, cost - maze.costAt(current) + maze.costAt(cell), step);
+    }
+    return attachment;
+  }
+
+  private static final class Attachment {
+    final int[] node = new int[2];
+    // Cost from the cell to the node, node included; and from the node to the cell, cell included
+    final long[] toNode = new long[2];
+    final long[] fromNode = new long[2];
+    final int[] step = new int[2];
+    int count;
+    long directCost = Long.MAX_VALUE;
+    int directStep = NONE;
+
+    void add(int attachedNode, long to, long from, int firstStep) {
+      node[count] = attachedNode;
+      toNode[count] = to;
+      fromNode[count] = from;
+      step[count] = firstStep;
+      count++;
+    }
+
+    /**
+     * First step of the corridor walk to {@code attachedNode} whose cost
+     * towards the node is {@code cost}.
+     */
+    int stepTo(int attachedNode, long cost) {
+      return stepMatching(attachedNode, toNode, cost);
+    }
+
+    /**
+     * First step of the corridor walk to {@code attachedNode} whose cost
+     * back from the node is {@code cost}.
+     */
+    int stepFrom(int attachedNode, long cost) {
+      return stepMatching(attachedNode, fromNode, cost);
+    }
+
+    private int stepMatching(int attachedNode, long[] costs, long cost) {
+      for (int i = 0; i < count; i++) {
+        if (node[i] == attachedNode && costs[i] == cost) {
+          return step[i];
+        }
+      }
+      throw new IllegalStateException("Node " + attachedNode + " is not attached at cost " + cost);
+    }
+  }
+
+  /**
+   * One direction of a query. Distances are valid only for nodes stamped with
+   * the current query's generation, so nothing is cleared between queries.
+   */
+  private static final class Side {
+    final long[] distance;
+    final int[] parent;
+    final int[] stamp;
+    final IndexedHeap open;
+    int generation;
+
+    Side(int nodes) {
+      this.distance = new long[nodes];
+      this.parent = new int[nodes];
+      this.stamp = new int[nodes];
+      this.open = new IndexedHeap(nodes);
+    }
+
+    boolean reached(int node) {
+      return stamp[node] == generation;
+    }
+
+    long distance(int node) {
+      return reached(node) ? distance[node] : Long.MAX_VALUE;
+    }
+
+    int parent(int node) {
+      return parent[node];
+    }
+
+    void offer(int node, long cost, int viaEdge) {
+      if (cost < distance(node)) {
+        stamp[node] = generation;
+        distance[node] = cost;
+        parent[node] = viaEdge;
+        open.insertOrUpdate(node, cost);
+      }
+    }
+  }
+
+  private static final class QueryState {
+    final Side forward;
+    final Side backward;
+    int meet;
+    int settled;
+
+    QueryState(int nodes) {
+      this.forward = new Side(nodes);
+      this.backward = new Side(nodes);
+    }
+
+    void begin() {
+      for (Side side : new Side[] {forward, backward}) {
+        if (side.generation == Integer.MAX_VALUE) {
+          Arrays.fill(side.stamp, 0);
+          side.generation = 0;
+        }
+        side.generation++;
+      }
+      meet = NONE;
+      settled = 0;
+    }
+  }
+
+  /**
+   * Growable list of edge ids.
+   */
+  private static final class EdgeList {
+    int[] items = new int[4];
+    int size;
+
+    void add(int edge) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, size * 2);
+      }
+      items[size++] = edge;
+    }
+
+    void remove(int edge) {
+      for (int i = 0; i < size; i++) {
+        if (items[i] == edge) {
+          items[i] = items[--size];
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Mutable graph the contraction runs on. Edges are never deleted from the
+   * arrays, since shortcuts refer to them; a shortcut that beats an existing
+   * edge between the same nodes only drops that edge from the adjacency lists.
+   */
+  private static final class Builder {
+    final int nodes;
+    final EdgeList[] out;
+    final EdgeList[] in;
+    final boolean[] contracted;
+    final int[] contractedNeighbors;
+    final int[] rank;
+    int[] source = new int[16];
+    int[] target = new int[16];
+    int[] weight = new int[16];
+    int[] first = new int[16];
+    int[] second = new int[16];
+    int edgeCount;
+    int shortcutCount;
+
+    final long[] witness;
+    final int[] touched;
+    int touchedCount;
+    final IndexedHeap witnessOpen;
+
+    Builder(JunctionGraph graph) {
+      this.nodes = graph.nodeCount();
+      this.out = new EdgeList[nodes];
+      this.in = new EdgeList[nodes];
+      for (int node = 0; node < nodes; node++) {
+        out[node] = new EdgeList();
+        in[node] = new EdgeList();
+      }
+      this.contracted = new boolean[nodes];
+      this.contractedNeighbors = new int[nodes];
+      this.rank = new int[nodes];
+      this.witness = new long[nodes];
+      Arrays.fill(witness, Long.MAX_VALUE);
+      this.touched = new int[nodes];
+      this.witnessOpen = new IndexedHeap(nodes);
+      for (int edge = 0; edge < graph.edgeCount(); edge++) {
+        addEdge(graph.edgeSource(edge), graph.edgeTarget(edge), graph.edgeWeight(edge), edge, NONE);
+      }
+    }
+
+    void contractAll(CancellationToken token) {
+      IndexedHeap queue = new IndexedHeap(nodes);
+      for (int node = 0; node < nodes; node++) {
+        if (token.poll()) {
+          throw cancelled("ordering", node);
+        }
+        queue.insertOrUpdate(node, priority(node));
+      }
+      int nextRank = 0;
+      while (!queue.isEmpty()) {
+        if (token.poll()) {
+          throw cancelled("contraction", nextRank);
+        }
+        int node = queue.poll();
+        double priority = priority(node);
+        if (!queue.isEmpty() && priority > queue.peekPriority()) {
+          queue.insertOrUpdate(node, priority);
+          continue;
+        }
+        contract(node, true);
+        contracted[node] = true;
+        rank[node] = nextRank++;
+        for (int i = 0; i < out[node].size; i++) {
+          contractedNeighbors[target[out[node].items[i]]]++;
+        }
+        for (int i = 0; i < in[node].size; i++) {
+          contractedNeighbors[source[in[node].items[i]]]++;
+        }
+      }
+    }
+
+    private SolveTimeoutException cancelled(String phase, int done) {
+      return new SolveTimeoutException("Hierarchy " + phase + " cancelled after " + done + " of " + nodes
+          + " nodes", List.of());
+    }
+
+    /**
+     * Edge difference of contracting {@code node} now, plus its contracted
+     * neighbours.
+     */
+    double priority(int node) {
+      int removed = 0;
+      for (int i = 0; i < out[node].size; i++) {
+        if (!contracted[target[out[node].items[i]]]) {
+          removed++;
+        }
+      }
+      for (int i = 0; i < in[node].size; i++) {
+        if (!contracted[source[in[node].items[i]]]) {
+          removed++;
+        }
+      }
+      return contract(node, false) - removed + contractedNeighbors[node];
+    }
+
+    /**
+     * Counts, and when {@code apply} is set adds, the shortcuts that
+     * contracting {@code node} needs.
+     */
+    int contract(int node, boolean apply) {
+      int shortcuts = 0;
+      EdgeList incoming = in[node];
+      EdgeList outgoing = out[node];
+      for (int i = 0; i < incoming.size; i++) {
+        int inEdge = incoming.items[i];
+        int from = source[inEdge];
+        if (contracted[from]) {
+          continue;
+        }
+        long limit = -1;
+        for (int j = 0; j < outgoing.size; j++) {
+          int to = target[outgoing.items[j]];
+          if (!contracted[to] && to != from) {
+            limit = Math.max(limit, (long) weight[inEdge] + weight[outgoing.items[j]]);
+          }
+        }
+        if (limit < 0) {
+          continue;
+        }
+        searchWitnesses(from, node, limit);
+        for (int j = 0; j < outgoing.size; j++) {
+          int outEdge = outgoing.items[j];
+          int to = target[outEdge];
+          if (contracted[to] || to == from) {
+            continue;
+          }
+          long via = (long) weight[inEdge] + weight[outEdge];
+          if (witness[to] <= via) {
+            continue;
+          }
+          if (via >= Integer.MAX_VALUE) {
+            throw new MazeSolvingException("Shortcut cost too large for an int edge weight");
+          }
+          shortcuts++;
+          if (apply) {
+            addEdge(from, to, (int) via, inEdge, outEdge);
+          }
+        }
+      }
+      return shortcuts;
+    }
+
+    /**
+     * Dijkstra from {@code from} over uncontracted nodes other than
+     * {@code avoid}, up to cost {@code limit} or the settle limit. Leaves
+     * path costs in {@code witness}; tentative ones are real paths too.
+     */
+    void searchWitnesses(int from, int avoid, long limit) {
+      for (int i = 0; i < touchedCount; i++) {
+        witness[touched[i]] = Long.MAX_VALUE;
+      }
+      touchedCount = 0;
+      witness[from] = 0;
+      touched[touchedCount++] = from;
+      witnessOpen.insertOrUpdate(from, 0.0);
+      int settled = 0;
+      while (!witnessOpen.isEmpty()) {
+        int node = witnessOpen.poll();
+        if (witness[node] > limit || ++settled > WITNESS_SETTLE_LIMIT) {
+          break;
+        }
+        for (int i = 0; i < out[node].size; i++) {
+          int edge = out[node].items[i];
+          int next = target[edge];
+          if (contracted[next] || next == avoid) {
+            continue;
+          }
+          long cost = witness[node] + weight[edge];
+          if (cost < witness[next]) {
+            if (witness[next] == Long.MAX_VALUE) {
+              touched[touchedCount++] = next;
+            }
+            witness[next] = cost;
+            witnessOpen.insertOrUpdate(next, cost);
+          }
+        }
+      }
+      witnessOpen.clear();
+    }
+
+    void addEdge(int from, int to, int cost, int firstPart, int secondPart) {
+      EdgeList leaving = out[from];
+      for (int i = 0; i < leaving.size; i++) {
+        int existing = leaving.items[i];
+        if (target[existing] == to) {
+          if (weight[existing] <= cost) {
+            return;
+          }
+          leaving.remove(existing);
+          in[to].remove(existing);
+          break;
+        }
+      }
+      if (edgeCount == source.length) {
+        int capacity = edgeCount * 2;
+        source = Arrays.copyOf(source, capacity);
+        target = Arrays.copyOf(target, capacity);
+        weight = Arrays.copyOf(weight, capacity);
+        first = Arrays.copyOf(first, capacity);
+        second = Arrays.copyOf(second, capacity);
+      }
+      if (secondPart != NONE) {
+        shortcutCount++;
+      }
+      source[edgeCount] = from;
+      target[edgeCount] = to;
+      weight[edgeCount] = cost;
+      first[edgeCount] = firstPart;
+      second[edgeCount] = secondPart;
+      leaving.add(edgeCount);
+      in[to].add(edgeCount);
+      edgeCount++;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers the maze's own start/goal query from a cached
+ * {@link ContractionHierarchy}.
+ *
+ * The first solve of a maze pays for the junction graph and the contraction;
+ * both are logged apart from the query, which settles a few hundred nodes at
+ * most. The solve's budget can stop either, which then fails the solve
+ * with no partial path. Callers with many start/goal pairs should use
+ * {@link ContractionHierarchy#route} directly. Paths are optimal.
+ */
+public final class ContractionHierarchySolver extends MazeSolver {
+
+  private volatile int lastSettledNodes;
+  private volatile long lastQueryNanos;
+
+  @Override
+  public String getAlgorithmName() {
+    return "Contraction Hierarchy";
+  }
+
+  /**
+   * Nodes settled by the last solve's query, both directions together.
+   */
+  public int getLastSettledNodes() {
+    return lastSettledNodes;
+  }
+
+  /**
+   * Time the last solve spent querying, preprocessing excluded.
+   */
+  public long getLastQueryNanos() {
+    return lastQueryNanos;
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    log("CH start: " + start + " -> goal: " + goal + " grid " + maze.getHeight() + "x" + maze.getWidth());
+
+    ContractionHierarchy hierarchy = ContractionHierarchy.of(maze, cancellationToken());
+    JunctionGraph graph = hierarchy.graph();
+    log("Preprocessing: junction graph " + graph.nodeCount() + " nodes in " + graph.buildNanos() / 1_000_000.0
+        + " ms, contraction " + hierarchy.shortcutCount() + " shortcuts in " + hierarchy.buildNanos() / 1_000_000.0
+        + " ms");
+
+    ContractionHierarchy.Route route = hierarchy.route(maze, start, goal);
+    lastSettledNodes = route.settledNodes();
+    lastQueryNanos = route.queryNanos();
+    if (!route.found()) {
+      log("CH query settled " + route.settledNodes() + " nodes with no path");
+      return new ArrayList<>();
+    }
+    log("CH query settled " + route.settledNodes() + " nodes in " + route.queryNanos() / 1_000.0 + " us, cost "
+        + route.totalCost());
+    return new ArrayList<>(route.path());
+  }
+}
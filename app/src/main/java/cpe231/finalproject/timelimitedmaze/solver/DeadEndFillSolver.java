@@ -70,6 +70,11 @@ public final class DeadEndFillSolver extends MazeSolver {
 
     int pruned = 0;
     while (!candidates.isEmpty()) {
+      if (isCancelled()) {
+        log("Dead-end fill cancelled while pruning after " + pruned + " cells");
+        throw timedOut(List.of());
+      }
+
       Coordinate current = candidates.removeFirst();
       if (current.equals(start) || current.equals(goal)) {
         continue;
@@ -125,6 +130,10 @@ public final class DeadEndFillSolver extends MazeSolver {
         return reconstructPath(parent, start, goal);
       }
 
+      if (isCancelled()) {
+        throw timedOut(reconstructPath(parent, start, current));
+      }
+
       for (Direction direction : Direction.values()) {
         Coordinate neighbor = move(current, direction);
         if (isWithinGrid(neighbor, height, width)
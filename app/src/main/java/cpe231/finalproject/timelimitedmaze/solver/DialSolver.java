@@ -0,0 +1,152 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dial's algorithm: Dijkstra over a circular bucket queue with exact int costs.
+ *
+ * Cell weights are small integers, so the open list is an array of buckets
+ * indexed by cost modulo (max weight + 1) instead of a binary heap. The A*
+ * mode adds Manhattan distance scaled by the smallest cell weight, which stays
+ * consistent and keeps every key within the bucket window.
+ */
+public final class DialSolver extends MazeSolver {
+
+  public enum Mode {
+    DIJKSTRA,
+    ASTAR
+  }
+
+  private final Mode mode;
+
+  public DialSolver() {
+    this(Mode.DIJKSTRA);
+  }
+
+  public DialSolver(Mode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return mode == Mode.ASTAR ? "Dial's Bucket Queue (A*)" : "Dial's Bucket Queue";
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    log("Dial start: " + start + " -> goal: " + goal + " grid " + rows + "x" + cols + " mode " + mode);
+
+    int goalRow = goal.row();
+    int goalCol = goal.column();
+
+    int size = rows * cols;
+    int minWeight = Integer.MAX_VALUE;
+    int maxWeight = 0;
+    for (int index = 0; index < size; index++) {
+      int cost = maze.costAt(index);
+      if (cost != Maze.WALL) {
+        minWeight = Math.min(minWeight, cost);
+        maxWeight = Math.max(maxWeight, cost);
+      }
+    }
+    int heuristicScale = mode == Mode.ASTAR ? minWeight : 0;
+    if ((long) maxWeight * size + (long) heuristicScale * (rows + cols) >= Integer.MAX_VALUE) {
+      throw new MazeSolvingException("Maze weights too large for int bucket keys");
+    }
+    log("Dial weight range " + minWeight + ".." + maxWeight + " heuristic scale " + heuristicScale);
+
+    int[] dist = new int[size];
+    int[] parent = new int[size];
+    boolean[] closed = new boolean[size];
+    Arrays.fill(dist, Integer.MAX_VALUE);
+    Arrays.fill(parent, -1);
+
+    // Keys grow by at most maxWeight + heuristicScale per relaxation
+    BucketQueue open = new BucketQueue(size, maxWeight + heuristicScale + 1);
+
+    int startIndex = maze.getStartIndex();
+    int goalIndex = maze.getGoalIndex();
+    dist[startIndex] = 0;
+    open.insertOrUpdate(startIndex, heuristicScale * manhattan(start.row(), start.column(), goalRow, goalCol));
+
+    int[] dRow = {-1, 1, 0, 0};
+    int[] dCol = {0, 0, 1, -1};
+
+    int expansions = 0;
+
+    while (!open.isEmpty()) {
+      int currentIndex = open.poll();
+      closed[currentIndex] = true;
+
+      if (currentIndex == goalIndex) {
+        log("Dial expanded " + expansions + " nodes, goal cost " + dist[goalIndex]);
+        return reconstructPath(parent, goalIndex, cols);
+      }
+
+      if (isCancelled()) {
+        throw timedOut(reconstructPath(parent, currentIndex, cols));
+      }
+
+      int r = currentIndex / cols;
+      int c = currentIndex % cols;
+
+      for (int k = 0; k < 4; k++) {
+        int nr = r + dRow[k];
+        int nc = c + dCol[k];
+
+        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+          int neighborIndex = nr * cols + nc;
+
+          if (closed[neighborIndex]) {
+            continue;
+          }
+
+          int stepCost = maze.costAt(neighborIndex);
+          if (stepCost == Maze.WALL) {
+            continue;
+          }
+
+          int newDist = dist[currentIndex] + stepCost;
+
+          if (newDist < dist[neighborIndex]) {
+            dist[neighborIndex] = newDist;
+            parent[neighborIndex] = currentIndex;
+            open.insertOrUpdate(neighborIndex, newDist + heuristicScale * manhattan(nr, nc, goalRow, goalCol));
+          }
+        }
+      }
+      expansions++;
+    }
+
+    log("Dial exhausted search after expanding " + expansions + " nodes with no path");
+    throw new MazeSolvingException("No path found from start to goal");
+  }
+
+  private int manhattan(int r, int c, int gr, int gc) {
+    return Math.abs(r - gr) + Math.abs(c - gc);
+  }
+
+  private List<Coordinate> reconstructPath(int[] parent, int goalIndex, int cols) {
+    List<Coordinate> path = new ArrayList<>();
+    int currIndex = goalIndex;
+
+    while (currIndex != -1) {
+      int r = currIndex / cols;
+      int c = currIndex % cols;
+      path.add(new Coordinate(r, c));
+      currIndex = parent[currIndex];
+    }
+    Collections.reverse(path);
+    log("Dial reconstructed path of length " + path.size());
+    return path;
+  }
+}
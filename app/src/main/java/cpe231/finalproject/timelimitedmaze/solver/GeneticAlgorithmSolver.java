@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Pure Genetic Algorithm solver for mazes with weighted tiles.
@@ -36,9 +37,11 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
   private final int populationSize;
   private final int maxGenerations;
   private final Random random;
+  private GoalDistanceField goalDistances;
   private BufferedWriter jsonLogWriter;
   private boolean isFirstJsonEntry = true;
   private static final DateTimeFormatter JSON_TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+  private static final AtomicInteger JSON_LOG_SEQUENCE = new AtomicInteger();
 
   public GeneticAlgorithmSolver() {
     this(BASE_POPULATION_SIZE, BASE_MAX_GENERATIONS, new Random());
@@ -61,9 +64,16 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
     return "Genetic Algorithm";
   }
 
+  @Override
+  public boolean isResultCacheable() {
+    // Random search with a JSON log per solve
+    return false;
+  }
+
   @Override
   protected List<Coordinate> executeSolve(Maze maze) {
-    String logFileName = "ga_log_" + System.currentTimeMillis() + ".json";
+    // Sequence suffix keeps concurrent solves from sharing a log file
+    String logFileName = "ga_log_" + System.currentTimeMillis() + "_" + JSON_LOG_SEQUENCE.incrementAndGet() + ".json";
     try {
       jsonLogWriter = new BufferedWriter(new FileWriter(logFileName));
       jsonLogWriter.write("[\n");
@@ -76,6 +86,9 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
     }
 
     try {
+    // Inside the try so a cancelled sweep still closes the JSON log
+    goalDistances = GoalDistanceField.of(maze, cancellationToken());
+    log("Goal distance field ready: " + goalDistances.getReachableCells() + " reachable cells");
 
     int mazeSize = maze.getWidth() * maze.getHeight();
     int adaptivePopSize = Math.max(populationSize, (int) Math.sqrt(mazeSize) * 3);
@@ -106,6 +119,11 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
         .build());
 
     for (int generation = 0; generation < adaptiveMaxGen; generation++) {
+      if (isCancelledNow()) {
+        log("GA cancelled at generation " + generation + "/" + adaptiveMaxGen);
+        throw timedOut(bestEver != null ? getCachedOrExecutePath(bestEver, maze) : List.of());
+      }
+
       logJson("generation_start", "Generation started", new JsonBuilder()
           .add("generation", generation)
           .add("maxGeneration", adaptiveMaxGen)
@@ -128,7 +146,7 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
       PathIndividual currentBest = getBest(population);
       List<Coordinate> bestPath = getCachedOrExecutePath(currentBest, maze);
       int distanceToGoal = bestPath.isEmpty() ? Integer.MAX_VALUE
-          : manhattanDistance(bestPath.getLast(), maze.getGoal());
+          : distanceToGoal(bestPath.getLast(), maze.getGoal());
       int bestPathCost = bestPath.isEmpty() ? Integer.MAX_VALUE
           : calculatePathCost(maze, bestPath);
       boolean reachedGoal = reachesGoal(bestPath, maze);
@@ -254,7 +272,7 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
         boolean mutated = false;
         if (random.nextDouble() < mutationRate) {
           List<Coordinate> tempPath = executeChromosome(childChromosome, maze);
-          int tempDistance = tempPath.isEmpty() ? Integer.MAX_VALUE : manhattanDistance(tempPath.getLast(), maze.getGoal());
+          int tempDistance = tempPath.isEmpty() ? Integer.MAX_VALUE : distanceToGoal(tempPath.getLast(), maze.getGoal());
           childChromosome = mutateChromosome(childChromosome, maxChromosomeLength, maze, maze.getGoal(), tempDistance);
           mutated = true;
           mutationCount++;
@@ -341,7 +359,7 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
     double finalMutationRate = adaptiveMutationRate(finalDiversity, adaptiveMaxGen - 1, adaptiveMaxGen);
     int finalPathLength = solution.size();
     int finalDistanceToGoal = solution.isEmpty() ? Integer.MAX_VALUE
-        : manhattanDistance(solution.getLast(), maze.getGoal());
+        : distanceToGoal(solution.getLast(), maze.getGoal());
     int finalPathCost = solution.isEmpty() ? Integer.MAX_VALUE
         : calculatePathCost(maze, solution);
     log("GA generation " + (adaptiveMaxGen - 1) + " (final) best path length " + finalPathLength
@@ -385,6 +403,9 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
           .build());
       closeJsonLog();
       throw e;
+    } finally {
+      // The field stays cached per maze; do not pin it to this solver
+      goalDistances = null;
     }
   }
 
@@ -540,9 +561,8 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
     for (Direction dir : directions) {
       Coordinate next = move(current, dir);
       if (isWalkable(maze, next)) {
-        int distance = manhattanDistance(next, goal);
-        int cost = stepCost(maze, next);
-        double score = distance * 1.3 + cost * 1.4;
+        // Exact remaining cost when stepping to next
+        double score = distanceToGoal(next, goal) + stepCost(maze, next);
         if (score < bestScore) {
           bestScore = score;
           best = dir;
@@ -588,10 +608,10 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
 
     Coordinate goal = maze.getGoal();
     Coordinate end = path.getLast();
-    int distance = manhattanDistance(end, goal);
+    int distance = distanceToGoal(end, goal);
     int pathCost = calculatePathCost(maze, path);
     int pathLength = path.size();
-    int minPossibleCost = manhattanDistance(maze.getStart(), goal);
+    int minPossibleCost = distanceToGoal(maze.getStart(), goal) + stepCost(maze, maze.getStart());
 
     if (distance == 0) {
       double costRatio = minPossibleCost > 0 ? (double) pathCost / minPossibleCost : 1.0;
@@ -882,6 +902,15 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
     return path.getLast().equals(maze.getGoal());
   }
 
+  /**
+   * True cost-to-go from the goal distance field, falling back to Manhattan
+   * distance for cells the field cannot reach the goal from.
+   */
+  private int distanceToGoal(Coordinate from, Coordinate goal) {
+    int costToGo = goalDistances == null ? GoalDistanceField.UNREACHABLE : goalDistances.costToGo(from);
+    return costToGo != GoalDistanceField.UNREACHABLE ? costToGo : manhattanDistance(from, goal);
+  }
+
   private int manhattanDistance(Coordinate a, Coordinate b) {
     return Math.abs(a.row() - b.row()) + Math.abs(a.column() - b.column());
   }
@@ -904,9 +933,7 @@ public final class GeneticAlgorithmSolver extends MazeSolver {
       for (Direction dir : Direction.values()) {
         Coordinate next = move(current, dir);
         if (isWalkable(maze, next)) {
-          int dist = manhattanDistance(next, goal);
-          int cost = stepCost(maze, next);
-          double score = dist * 2.0 + cost;
+          double score = distanceToGoal(next, goal) + stepCost(maze, next);
           if (!visited.contains(next)) {
             score *= 0.8;
           }
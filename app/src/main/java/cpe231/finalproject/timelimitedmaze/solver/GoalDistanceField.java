@@ -0,0 +1,313 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cheapest cost from every cell of a maze to its goal.
+ *
+ * Built by one reverse Dijkstra from {@link Maze#getGoal()} over a bucket
+ * queue, and kept as a single {@code int} per cell. A cell's cost-to-go
+ * counts every cell entered after it up to and including the goal, the same
+ * way solvers accumulate {@code g}, so it is an exact heuristic for the A*
+ * family and {@code costToGo(start) + cost(start)} is the optimal path cost.
+ *
+ * {@link #of(Maze)} caches one field per maze content fingerprint behind a
+ * soft reference, so every solver and every name a maze is loaded under
+ * share it until memory runs short. Solvers pass their cancellation token to
+ * {@link #of(Maze, CancellationToken)} so a budget can stop the sweep; a
+ * cancelled field is never cached.
+ */
+public final class GoalDistanceField {
+
+  public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+  private static final SoftCache<Long, GoalDistanceField> CACHE = new SoftCache<>();
+
+  private final long fingerprint;
+  private final int rows;
+  private final int cols;
+  private final int goalIndex;
+  private final int[] costToGo;
+  private final int reachableCells;
+  private final long computeNanos;
+
+  private GoalDistanceField(Maze maze, int[] costToGo, int reachableCells, long computeNanos) {
+    this.fingerprint = maze.getFingerprint();
+    this.rows = maze.getHeight();
+    this.cols = maze.getWidth();
+    this.goalIndex = maze.getGoalIndex();
+    this.costToGo = costToGo;
+    this.reachableCells = reachableCells;
+    this.computeNanos = computeNanos;
+  }
+
+  /**
+   * Returns the cached field for {@code maze}, computing it on first use.
+   */
+  public static GoalDistanceField of(Maze maze) {
+    return of(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Like {@link #of(Maze)}, but a field still to be computed stops when
+   * {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static GoalDistanceField of(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    GoalDistanceField field = CACHE.get(maze.getFingerprint());
+    if (field != null && field.matches(maze)) {
+      return field;
+    }
+    field = compute(maze, token);
+    CACHE.put(maze.getFingerprint(), field);
+    return field;
+  }
+
+  /**
+   * Computes a field without consulting or filling the cache.
+   *
+   * @throws MazeSolvingException if a cost-to-go does not fit in an int
+   */
+  public static GoalDistanceField compute(Maze maze) {
+    return compute(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Computes a field without the cache, stopping when {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   * @throws MazeSolvingException if a cost-to-go does not fit in an int
+   */
+  public static GoalDistanceField compute(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    long startNs = System.nanoTime();
+    int[] costToGo = costsToReach(maze, maze.getGoalIndex(), token);
+    int reachable = 0;
+    for (int cost : costToGo) {
+      if (cost != UNREACHABLE) {
+        reachable++;
+      }
+    }
+    return new GoalDistanceField(maze, costToGo, reachable, System.nanoTime() - startNs);
+  }
+
+  /**
+   * Reverse Dijkstra: the cheapest cost from every cell to {@code root},
+   * excluding the cell itself, or {@link #UNREACHABLE}.
+   *
+   * @throws MazeSolvingException if a cost does not fit in an int
+   */
+  static int[] costsToReach(Maze maze, int root) {
+    return costsToReach(maze, root, CancellationToken.unbounded());
+  }
+
+  /**
+   * {@link #costsToReach(Maze, int)}, polling {@code token} once per settled
+   * cell. Only for the thread that owns the token.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  static int[] costsToReach(Maze maze, int root, CancellationToken token) {
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    int size = rows * cols;
+    int maxWeight = 1;
+    for (int index = 0; index < size; index++) {
+      maxWeight = Math.max(maxWeight, maze.costAt(index));
+    }
+
+    int[] costToGo = new int[size];
+    Arrays.fill(costToGo, UNREACHABLE);
+    // Keys grow by at most one cell weight per relaxation
+    BucketQueue open = new BucketQueue(size, maxWeight + 1);
+    costToGo[root] = 0;
+    open.insertOrUpdate(root, 0);
+
+    while (!open.isEmpty()) {
+      if (token.poll()) {
+        throw new SolveTimeoutException("Distance sweep cancelled before it finished", List.of());
+      }
+      int current = open.poll();
+      // Stepping from a neighbour into this cell pays this cell's weight
+      long through = (long) costToGo[current] + maze.costAt(current);
+      if (through >= UNREACHABLE) {
+        throw new MazeSolvingException("Maze path costs too large for an int distance field");
+      }
+      int r = current / cols;
+      int c = current % cols;
+      for (int k = 0; k < 4; k++) {
+        int nr = r + D_ROW[k];
+        int nc = c + D_COL[k];
+        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+          continue;
+        }
+        int neighbor = nr * cols + nc;
+        if (maze.costAt(neighbor) != Maze.WALL && through < costToGo[neighbor]) {
+          costToGo[neighbor] = (int) through;
+          open.insertOrUpdate(neighbor, (int) through);
+        }
+      }
+    }
+    return costToGo;
+  }
+
+  /**
+   * Drops every cached field.
+   */
+  public static void clearCache() {
+    CACHE.clear();
+  }
+
+  /**
+   * Fields currently cached.
+   */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  /**
+   * Whether this field was computed for a maze with the same content.
+   */
+  public boolean matches(Maze maze) {
+    return maze.getFingerprint() == fingerprint && maze.getHeight() == rows && maze.getWidth() == cols
+        && maze.getGoalIndex() == goalIndex;
+  }
+
+  /**
+   * Cost of the cheapest path from the cell at {@code index} to the goal,
+   * excluding the cell itself, or {@link #UNREACHABLE}.
+   */
+  public int costToGo(int index) {
+    return costToGo[index];
+  }
+
+  public int costToGo(Coordinate coordinate) {
+    return costToGo[coordinate.row() * cols + coordinate.column()];
+  }
+
+  public boolean isReachable(int index) {
+    return costToGo[index] != UNREACHABLE;
+  }
+
+  public int getReachableCells() {
+    return reachableCells;
+  }
+
+  public long getComputeNanos() {
+    return computeNanos;
+  }
+
+  /**
+   * Extracts an optimal path from {@code start} to the goal by always stepping
+   * to a neighbour whose cost-to-go accounts exactly for the remaining cost.
+   * Takes time proportional to the path length.
+   *
+   * @return the path including both ends, or an empty list when the goal is
+   *     unreachable from {@code start}
+   */
+  public List<Coordinate> pathFrom(Maze maze, Coordinate start) {
+    Objects.requireNonNull(start, "start cannot be null");
+    if (!matches(maze)) {
+      throw new IllegalArgumentException("Distance field was computed for a different maze");
+    }
+    if (start.row() < 0 || start.row() >= rows || start.column() < 0 || start.column() >= cols) {
+      throw new IllegalArgumentException("Coordinate " + start + " is outside maze bounds");
+    }
+    int current = start.row() * cols + start.column();
+    if (costToGo[current] == UNREACHABLE) {
+      return List.of();
+    }
+    List<Coordinate> path = new ArrayList<>();
+    path.add(start);
+    while (current != goalIndex) {
+      int next = descend(maze, current);
+      if (next >= 0) {
+        current = next;
+        path.add(new Coordinate(current / cols, current % cols));
+      } else {
+        current = crossPlateau(maze, current, path);
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Returns a neighbour on an optimal path from {@code current}, or -1.
+   * Neighbours of weight zero are skipped, since stepping onto them does not
+   * make progress.
+   */
+  private int descend(Maze maze, int current) {
+    int r = current / cols;
+    int c = current % cols;
+    for (int k = 0; k < 4; k++) {
+      int nr = r + D_ROW[k];
+      int nc = c + D_COL[k];
+      if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+        continue;
+      }
+      int neighbor = nr * cols + nc;
+      int cost = maze.costAt(neighbor);
+      if (cost == Maze.WALL || costToGo[neighbor] == UNREACHABLE || cost == 0) {
+        continue;
+      }
+      if ((long) costToGo[neighbor] + cost == costToGo[current]) {
+        return neighbor;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Breadth-first search across a plateau of weight-zero cells with equal
+   * cost-to-go, up to a cell that can descend or is the goal. Appends the
+   * crossing to {@code path} and returns its last cell.
+   */
+  private int crossPlateau(Maze maze, int from, List<Coordinate> path) {
+    Map<Integer, Integer> parent = new HashMap<>();
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    parent.put(from, -1);
+    queue.add(from);
+    while (!queue.isEmpty()) {
+      int cell = queue.poll();
+      if (cell != from && (cell == goalIndex || descend(maze, cell) >= 0)) {
+        List<Coordinate> crossing = new ArrayList<>();
+        for (int at = cell; at != from; at = parent.get(at)) {
+          crossing.add(new Coordinate(at / cols, at % cols));
+        }
+        Collections.reverse(crossing);
+        path.addAll(crossing);
+        return cell;
+      }
+      int r = cell / cols;
+      int c = cell % cols;
+      for (int k = 0; k < 4; k++) {
+        int nr = r + D_ROW[k];
+        int nc = c + D_COL[k];
+        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+          continue;
+        }
+        int neighbor = nr * cols + nc;
+        if (maze.costAt(neighbor) == 0 && costToGo[neighbor] == costToGo[from] && !parent.containsKey(neighbor)) {
+          parent.put(neighbor, cell);
+          queue.add(neighbor);
+        }
+      }
+    }
+    throw new IllegalStateException("Distance field is inconsistent with the maze");
+  }
+}
@@ -0,0 +1,37 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.List;
+
+/**
+ * Reads an optimal path straight out of the maze's {@link GoalDistanceField}.
+ *
+ * The first solve on a maze pays for one reverse Dijkstra over the whole
+ * grid; later solves on the same maze content, by any solver instance, only
+ * walk the path.
+ */
+public final class GoalDistanceSolver extends MazeSolver {
+
+  @Override
+  public String getAlgorithmName() {
+    return "Goal Distance Field";
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    Coordinate start = maze.getStart();
+    log("Goal distance start: " + start + " -> goal: " + maze.getGoal()
+        + " grid " + maze.getHeight() + "x" + maze.getWidth());
+
+    GoalDistanceField field = GoalDistanceField.of(maze, cancellationToken());
+    log("Distance field covers " + field.getReachableCells() + " reachable cells, computed in "
+        + field.getComputeNanos() / 1_000_000.0 + " ms");
+
+    List<Coordinate> path = field.pathFrom(maze, start);
+    if (path.isEmpty()) {
+      log("Goal is unreachable from the start");
+    }
+    return path;
+  }
+}
@@ -0,0 +1,468 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * HPA* abstraction of a maze: square clusters, entrance nodes on their
+ * borders, and precomputed distances between the entrances of each cluster.
+ *
+ * Each maximal run of open cell pairs across a cluster border is an
+ * entrance. Runs shorter than {@value #WIDE_ENTRANCE} get one transition in
+ * the middle, longer ones one at each end. A transition is a pair of nodes,
+ * one on each side, joined by inter-cluster edges. Intra-cluster edges join
+ * every pair of nodes in a cluster that are connected inside it, weighted by
+ * the cheapest path that stays in the cluster; they are computed by one
+ * Dijkstra per node, with clusters processed in parallel.
+ *
+ * Edge weights count the step cost of every cell entered, target included,
+ * as solvers do. Paths are not stored: {@link #search} recomputes the cells
+ * of an edge when a query needs them.
+ *
+ * {@link #of(Maze, int)} caches one abstraction per maze content
+ * fingerprint and cluster size behind a soft reference. The build polls the
+ * cancellation token passed to {@link #of(Maze, int, CancellationToken)} once
+ * per cluster while placing entrances and once per settled cell in the
+ * intra-cluster searches; nothing is cached when it is cancelled.
+ */
+public final class HierarchicalGraph {
+
+  public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+  private static final int WIDE_ENTRANCE = 6;
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+  private static final SoftCache<String, HierarchicalGraph> CACHE = new SoftCache<>();
+  private static final CancellationToken NEVER_CANCELLED = CancellationToken.unbounded();
+
+  private final long fingerprint;
+  private final int rows;
+  private final int cols;
+  private final int clusterSize;
+  private final int clusterCols;
+  private final int clusterCount;
+  private final int minWeight;
+  private final int[] nodeCell;
+  private final int[] nodeOfCell;
+  private final int[][] clusterNodes;
+  private final int[] firstEdge;
+  private final int[] edgeTarget;
+  private final int[] edgeWeight;
+  private final long buildNanos;
+
+  private HierarchicalGraph(Maze maze, int clusterSize, int clusterCols, int clusterCount, int minWeight,
+      int[] nodeCell, int[] nodeOfCell, int[][] clusterNodes, int[] firstEdge,
+      int[] edgeTarget, int[] edgeWeight, long buildNanos) {
+    this.fingerprint = maze.getFingerprint();
+    this.rows = maze.getHeight();
+    this.cols = maze.getWidth();
+    this.clusterSize = clusterSize;
+    this.clusterCols = clusterCols;
+    this.clusterCount = clusterCount;
+    this.minWeight = minWeight;
+    this.nodeCell = nodeCell;
+    this.nodeOfCell = nodeOfCell;
+    this.clusterNodes = clusterNodes;
+    this.firstEdge = firstEdge;
+    this.edgeTarget = edgeTarget;
+    this.edgeWeight = edgeWeight;
+    this.buildNanos = buildNanos;
+  }
+
+  /**
+   * Returns the cached abstraction of {@code maze} for this cluster size,
+   * building it on first use.
+   */
+  public static HierarchicalGraph of(Maze maze, int clusterSize) {
+    return of(maze, clusterSize, CancellationToken.unbounded());
+  }
+
+  /**
+   * Like {@link #of(Maze, int)}, but an abstraction still to be built stops
+   * when {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static HierarchicalGraph of(Maze maze, int clusterSize, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    String key = maze.getFingerprint() + "/" + clusterSize;
+    HierarchicalGraph graph = CACHE.get(key);
+    if (graph != null && graph.matches(maze)) {
+      return graph;
+    }
+    graph = build(maze, clusterSize, token);
+    CACHE.put(key, graph);
+    return graph;
+  }
+
+  /**
+   * Builds an abstraction without consulting or filling the cache.
+   */
+  public static HierarchicalGraph build(Maze maze, int clusterSize) {
+    return build(maze, clusterSize, CancellationToken.unbounded());
+  }
+
+  /**
+   * Builds an abstraction without the cache, stopping when {@code token}
+   * expires. Only for the thread that owns the token; the parallel cluster
+   * searches poll {@link CancellationToken#forWorker() worker tokens} of
+   * their own.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static HierarchicalGraph build(Maze maze, int clusterSize, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    if (clusterSize < 2) {
+      throw new IllegalArgumentException("Cluster size must be at least 2");
+    }
+    long startNs = System.nanoTime();
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    int clusterRows = (rows + clusterSize - 1) / clusterSize;
+    int clusterCols = (cols + clusterSize - 1) / clusterSize;
+    int clusterCount = clusterRows * clusterCols;
+
+    int minWeight = Integer.MAX_VALUE;
+    for (int cell = 0; cell < rows * cols; cell++) {
+      int cost = maze.costAt(cell);
+      if (cost != Maze.WALL) {
+        minWeight = Math.min(minWeight, cost);
+      }
+    }
+
+    // Transitions as (cell on one side, cell on the other) pairs
+    List<int[]> transitions = new ArrayList<>();
+    for (int cr = 0; cr < clusterRows; cr++) {
+      for (int cc = 0; cc < clusterCols; cc++) {
+        if (token.poll()) {
+          throw cancelled("entrance placement");
+        }
+        int rowStart = cr * clusterSize;
+        int rowEnd = Math.min(rows, rowStart + clusterSize);
+        int colStart = cc * clusterSize;
+        int colEnd = Math.min(cols, colStart + clusterSize);
+        if (cc + 1 < clusterCols) {
+          int col = colEnd - 1;
+          addEntrances(maze, transitions, rowStart, rowEnd, index -> index * cols + col, 1);
+        }
+        if (cr + 1 < clusterRows) {
+          int row = rowEnd - 1;
+          addEntrances(maze, transitions, colStart, colEnd, index -> row * cols + index, cols);
+        }
+      }
+    }
+
+    int[] nodeOfCell = new int[rows * cols];
+    Arrays.fill(nodeOfCell, -1);
+    List<Integer> cells = new ArrayList<>();
+    for (int[] transition : transitions) {
+      for (int cell : transition) {
+        if (nodeOfCell[cell] < 0) {
+          nodeOfCell[cell] = cells.size();
+          cells.add(cell);
+        }
+      }
+    }
+    int nodeCount = cells.size();
+    int[] nodeCell = cells.stream().mapToInt(Integer::intValue).toArray();
+
+    List<List<Integer>> byCluster = new ArrayList<>();
+    for (int cluster = 0; cluster < clusterCount; cluster++) {
+      byCluster.add(new ArrayList<>());
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      int cell = nodeCell[node];
+      byCluster.get((cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize).add(node);
+    }
+    int[][] clusterNodes = new int[clusterCount][];
+    for (int cluster = 0; cluster < clusterCount; cluster++) {
+      clusterNodes[cluster] = byCluster.get(cluster).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Edges as (source, target, weight); intra-cluster ones come from one Dijkstra per node
+    List<List<int[]>> outgoing = new ArrayList<>();
+    for (int node = 0; node < nodeCount; node++) {
+      outgoing.add(new ArrayList<>());
+    }
+    for (int[] transition : transitions) {
+      int a = nodeOfCell[transition[0]];
+      int b = nodeOfCell[transition[1]];
+      outgoing.get(a).add(new int[] {b, maze.costAt(transition[1])});
+      outgoing.get(b).add(new int[] {a, maze.costAt(transition[0])});
+    }
+    HierarchicalGraph shape = new HierarchicalGraph(maze, clusterSize, clusterCols, clusterCount, minWeight,
+        nodeCell, nodeOfCell, clusterNodes, null, null, null, 0);
+    List<List<int[]>> intra = IntStream.range(0, clusterCount).parallel()
+        .mapToObj(cluster -> shape.intraClusterEdges(maze, cluster, token.forWorker()))
+        .toList();
+    for (List<int[]> clusterEdges : intra) {
+      for (int[] edge : clusterEdges) {
+        outgoing.get(edge[0]).add(new int[] {edge[1], edge[2]});
+      }
+    }
+
+    int[] firstEdge = new int[nodeCount + 1];
+    int edgeCount = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      firstEdge[node] = edgeCount;
+      edgeCount += outgoing.get(node).size();
+    }
+    firstEdge[nodeCount] = edgeCount;
+    int[] edgeTarget = new int[edgeCount];
+    int[] edgeWeight = new int[edgeCount];
+    for (int node = 0; node < nodeCount; node++) {
+      int edge = firstEdge[node];
+      for (int[] out : outgoing.get(node)) {
+        edgeTarget[edge] = out[0];
+        edgeWeight[edge] = out[1];
+        edge++;
+      }
+    }
+
+    return new HierarchicalGraph(maze, clusterSize, clusterCols, clusterCount,
+        minWeight == Integer.MAX_VALUE ? 0 : minWeight, nodeCell, nodeOfCell, clusterNodes, firstEdge,
+        edgeTarget, edgeWeight, System.nanoTime() - startNs);
+  }
+
+  private static SolveTimeoutException cancelled(String phase) {
+    return new SolveTimeoutException("Cluster abstraction " + phase + " cancelled before it finished", List.of());
+  }
+
+  /**
+   * Drops every cached abstraction.
+   */
+  public static void clearCache() {
+    CACHE.clear();
+  }
+
+  /**
+   * Abstractions currently cached.
+   */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  public boolean matches(Maze maze) {
+    return maze.getFingerprint() == fingerprint && maze.getHeight() == rows && maze.getWidth() == cols;
+  }
+
+  public int clusterSize() {
+    return clusterSize;
+  }
+
+  public int clusterCount() {
+    return clusterCount;
+  }
+
+  public int nodeCount() {
+    return nodeCell.length;
+  }
+
+  public int edgeCount() {
+    return edgeTarget.length;
+  }
+
+  public long buildNanos() {
+    return buildNanos;
+  }
+
+  int minWeight() {
+    return minWeight;
+  }
+
+  int nodeCell(int node) {
+    return nodeCell[node];
+  }
+
+  int nodeOf(int cell) {
+    return nodeOfCell[cell];
+  }
+
+  int[] clusterNodes(int cluster) {
+    return clusterNodes[cluster];
+  }
+
+  int firstEdge(int node) {
+    return firstEdge[node];
+  }
+
+  int edgeTarget(int edge) {
+    return edgeTarget[edge];
+  }
+
+  int edgeWeight(int edge) {
+    return edgeWeight[edge];
+  }
+
+  int clusterOf(int cell) {
+    return (cell / cols / clusterSize) * clusterCols + (cell % cols) / clusterSize;
+  }
+
+  /**
+   * Dijkstra from {@code source} that never leaves its cluster. Forward
+   * searches give the cost of reaching each cell; reverse ones the cost from
+   * each cell to {@code source}. A forward search stops once {@code target}
+   * is settled, or runs to exhaustion when {@code target} is -1.
+   */
+  ClusterSearch search(Maze maze, int source, boolean reverse, int target) {
+    return search(maze, source, reverse, target, NEVER_CANCELLED);
+  }
+
+  private ClusterSearch search(Maze maze, int source, boolean reverse, int target, CancellationToken token) {
+    int cluster = clusterOf(source);
+    int rowStart = (cluster / clusterCols) * clusterSize;
+    int colStart = (cluster % clusterCols) * clusterSize;
+    int height = Math.min(clusterSize, rows - rowStart);
+    int width = Math.min(clusterSize, cols - colStart);
+    ClusterSearch search = new ClusterSearch(rowStart, colStart, height, width, cols);
+
+    int sourceLocal = search.local(source);
+    search.dist[sourceLocal] = 0;
+    IndexedHeap open = new IndexedHeap(height * width);
+    open.insertOrUpdate(sourceLocal, 0.0);
+    while (!open.isEmpty()) {
+      if (token.poll()) {
+        throw cancelled("intra-cluster search");
+      }
+      int current = open.poll();
+      search.expansions++;
+      int cell = search.cell(current);
+      if (cell == target) {
+        break;
+      }
+      int r = current / width;
+      int c = current % width;
+      for (int k = 0; k < 4; k++) {
+        int nr = r + D_ROW[k];
+        int nc = c + D_COL[k];
+        if (nr < 0 || nr >= height || nc < 0 || nc >= width) {
+          continue;
+        }
+        int neighbor = nr * width + nc;
+        int neighborCost = maze.costAt(search.cell(neighbor));
+        if (neighborCost == Maze.WALL) {
+          continue;
+        }
+        long candidate = (long) search.dist[current] + (reverse ? maze.costAt(cell) : neighborCost);
+        if (candidate < search.dist[neighbor]) {
+          search.dist[neighbor] = (int) Math.min(candidate, Integer.MAX_VALUE - 1);
+          search.parent[neighbor] = current;
+          open.insertOrUpdate(neighbor, candidate);
+        }
+      }
+    }
+    return search;
+  }
+
+  private List<int[]> intraClusterEdges(Maze maze, int cluster, CancellationToken token) {
+    List<int[]> edges = new ArrayList<>();
+    int[] nodes = clusterNodes[cluster];
+    for (int source : nodes) {
+      ClusterSearch search = search(maze, nodeCell[source], false, -1, token);
+      for (int target : nodes) {
+        int distance = search.distanceTo(nodeCell[target]);
+        if (target != source && distance != Integer.MAX_VALUE) {
+          edges.add(new int[] {source, target, distance});
+        }
+      }
+    }
+    return edges;
+  }
+
+  /**
+   * Scans one cluster border. {@code cellAt} maps a position along the border
+   * to the cell on its near side; the far side is {@code across} further on.
+   */
+  private static void addEntrances(Maze maze, List<int[]> transitions, int from, int to,
+      IntUnaryOperator cellAt, int across) {
+    int runStart = -1;
+    for (int index = from; index <= to; index++) {
+      boolean open = index < to && maze.costAt(cellAt.applyAsInt(index)) != Maze.WALL
+          && maze.costAt(cellAt.applyAsInt(index) + across) != Maze.WALL;
+      if (open && runStart < 0) {
+        runStart = index;
+      } else if (!open && runStart >= 0) {
+        int runEnd = index - 1;
+        if (runEnd - runStart + 1 < WIDE_ENTRANCE) {
+          int middle = cellAt.applyAsInt((runStart + runEnd) / 2);
+          transitions.add(new int[] {middle, middle + across});
+        } else {
+          int first = cellAt.applyAsInt(runStart);
+          int last = cellAt.applyAsInt(runEnd);
+          transitions.add(new int[] {first, first + across});
+          transitions.add(new int[] {last, last + across});
+        }
+        runStart = -1;
+      }
+    }
+  }
+
+  /**
+   * Distances and parents of one cluster-bounded Dijkstra, indexed by
+   * position inside the cluster.
+   */
+  static final class ClusterSearch {
+
+    private final int rowStart;
+    private final int colStart;
+    private final int width;
+    private final int cols;
+    private final int[] dist;
+    private final int[] parent;
+    private int expansions;
+
+    private ClusterSearch(int rowStart, int colStart, int height, int width, int cols) {
+      this.rowStart = rowStart;
+      this.colStart = colStart;
+      this.width = width;
+      this.cols = cols;
+      this.dist = new int[height * width];
+      this.parent = new int[height * width];
+      Arrays.fill(dist, Integer.MAX_VALUE);
+      Arrays.fill(parent, -1);
+    }
+
+    int expansions() {
+      return expansions;
+    }
+
+    /**
+     * Distance to {@code cell}, or {@link Integer#MAX_VALUE} if it is outside
+     * the cluster or was not reached.
+     */
+    int distanceTo(int cell) {
+      int r = cell / cols - rowStart;
+      int c = cell % cols - colStart;
+      if (r < 0 || c < 0 || c >= width || r * width + c >= dist.length) {
+        return Integer.MAX_VALUE;
+      }
+      return dist[r * width + c];
+    }
+
+    /**
+     * Cells of a forward search's path to {@code cell}, excluding the source.
+     */
+    List<Integer> pathTo(int cell) {
+      List<Integer> path = new ArrayList<>();
+      for (int at = local(cell); parent[at] >= 0; at = parent[at]) {
+        path.add(cell(at));
+      }
+      return path.reversed();
+    }
+
+    private int local(int cell) {
+      return (cell / cols - rowStart) * width + cell % cols - colStart;
+    }
+
+    private int cell(int local) {
+      return (rowStart + local / width) * cols + colStart + local % width;
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical path-finding A* (HPA*) over a cached {@link HierarchicalGraph}.
+ *
+ * A query links the start and goal to the entrances of their clusters with
+ * two cluster-bounded Dijkstras, runs A* over the abstract graph, and then
+ * refines only the chosen abstract path: each intra-cluster hop is searched
+ * again inside its cluster, each inter-cluster hop is a single step. The
+ * abstraction is built once per maze and cluster size. Paths are usually
+ * within a few percent of optimal, not always optimal.
+ */
+public final class HpaStarSolver extends MazeSolver {
+
+  private final int clusterSize;
+  private volatile int lastAbstractExpansions;
+  private volatile int lastConcreteExpansions;
+
+  public HpaStarSolver() {
+    this(HierarchicalGraph.DEFAULT_CLUSTER_SIZE);
+  }
+
+  public HpaStarSolver(int clusterSize) {
+    if (clusterSize < 2) {
+      throw new IllegalArgumentException("Cluster size must be at least 2");
+    }
+    this.clusterSize = clusterSize;
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return "HPA* (Hierarchical A*)";
+  }
+
+  @Override
+  public String getParameterKey() {
+    return "cluster=" + clusterSize;
+  }
+
+  /**
+   * Abstract nodes expanded by the last solve's A* over the cluster graph.
+   */
+  public int getLastAbstractExpansions() {
+    return lastAbstractExpansions;
+  }
+
+  /**
+   * Grid cells expanded by the last solve, linking start and goal into the
+   * abstraction and refining its path.
+   */
+  public int getLastConcreteExpansions() {
+    return lastConcreteExpansions;
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    int cols = maze.getWidth();
+    log("HPA* start: " + start + " -> goal: " + goal + " grid " + maze.getHeight() + "x" + cols
+        + " cluster " + clusterSize);
+
+    HierarchicalGraph graph = HierarchicalGraph.of(maze, clusterSize, cancellationToken());
+    log("Abstraction: " + graph.clusterCount() + " clusters, " + graph.nodeCount() + " nodes, "
+        + graph.edgeCount() + " edges, built in " + graph.buildNanos() / 1_000_000.0 + " ms");
+
+    int startCell = maze.getStartIndex();
+    int goalCell = maze.getGoalIndex();
+    int nodes = graph.nodeCount();
+    // Two extra abstract nodes stand for the start and the goal
+    int startNode = nodes;
+    int goalNode = nodes + 1;
+    int concrete = 0;
+
+    HierarchicalGraph.ClusterSearch fromStart = graph.search(maze, startCell, false, -1);
+    HierarchicalGraph.ClusterSearch toGoal = graph.search(maze, goalCell, true, -1);
+    concrete += fromStart.expansions() + toGoal.expansions();
+    int[] goalLink = new int[nodes];
+    Arrays.fill(goalLink, -1);
+    for (int node : graph.clusterNodes(graph.clusterOf(goalCell))) {
+      int distance = toGoal.distanceTo(graph.nodeCell(node));
+      if (distance != Integer.MAX_VALUE) {
+        goalLink[node] = distance;
+      }
+    }
+
+    double[] g = new double[nodes + 2];
+    int[] parent = new int[nodes + 2];
+    boolean[] closed = new boolean[nodes + 2];
+    Arrays.fill(g, Double.POSITIVE_INFINITY);
+    Arrays.fill(parent, -1);
+    IndexedHeap open = new IndexedHeap(nodes + 2);
+    g[startNode] = 0.0;
+    open.insertOrUpdate(startNode, heuristic(graph, startCell, goalCell, cols));
+
+    int expansions = 0;
+    while (!open.isEmpty()) {
+      int node = open.poll();
+      closed[node] = true;
+      if (node == goalNode) {
+        lastAbstractExpansions = expansions;
+        Refinement refined = refine(maze, graph, parent, goalNode, startCell, goalCell);
+        lastConcreteExpansions = concrete + refined.expansions();
+        log("HPA* abstract expansions " + expansions + ", concrete expansions " + lastConcreteExpansions
+            + ", abstract cost " + (int) g[goalNode]);
+        return refined.path();
+      }
+      if (isCancelled()) {
+        lastAbstractExpansions = expansions;
+        Refinement partial = refine(maze, graph, parent, node, startCell, goalCell);
+        lastConcreteExpansions = concrete + partial.expansions();
+        throw timedOut(partial.path());
+      }
+
+      if (node == startNode) {
+        for (int target : graph.clusterNodes(graph.clusterOf(startCell))) {
+          relax(graph, open, g, parent, closed, node, target, fromStart.distanceTo(graph.nodeCell(target)),
+              graph.nodeCell(target), goalCell, cols);
+        }
+        relax(graph, open, g, parent, closed, node, goalNode, fromStart.distanceTo(goalCell), goalCell, goalCell,
+            cols);
+      } else {
+        for (int edge = graph.firstEdge(node); edge < graph.firstEdge(node + 1); edge++) {
+          int target = graph.edgeTarget(edge);
+          relax(graph, open, g, parent, closed, node, target, graph.edgeWeight(edge), graph.nodeCell(target),
+              goalCell, cols);
+        }
+        if (goalLink[node] >= 0) {
+          relax(graph, open, g, parent, closed, node, goalNode, goalLink[node], goalCell, goalCell, cols);
+        }
+      }
+      expansions++;
+    }
+
+    lastAbstractExpansions = expansions;
+    lastConcreteExpansions = concrete;
+    log("HPA* exhausted abstract search after " + expansions + " expansions with no path");
+    return new ArrayList<>();
+  }
+
+  private void relax(HierarchicalGraph graph, IndexedHeap open, double[] g, int[] parent, boolean[] closed,
+      int node, int target, int weight, int targetCell, int goalCell, int cols) {
+    if (weight == Integer.MAX_VALUE || closed[target]) {
+      return;
+    }
+    double tentative = g[node] + weight;
+    if (tentative < g[target]) {
+      g[target] = tentative;
+      parent[target] = node;
+      open.insertOrUpdate(target, tentative + heuristic(graph, targetCell, goalCell, cols));
+    }
+  }
+
+  /**
+   * Manhattan distance scaled by the smallest cell weight, so it stays
+   * admissible on weighted mazes.
+   */
+  private static double heuristic(HierarchicalGraph graph, int cell, int goalCell, int cols) {
+    return (double) graph.minWeight()
+        * (Math.abs(cell / cols - goalCell / cols) + Math.abs(cell % cols - goalCell % cols));
+  }
+
+  /**
+   * A refined path and the grid cells expanded to refine it.
+   */
+  private record Refinement(List<Coordinate> path, int expansions) {
+  }
+
+  /**
+   * Expands the abstract path ending at {@code node} into grid cells.
+   */
+  private Refinement refine(Maze maze, HierarchicalGraph graph, int[] parent, int node, int startCell,
+      int goalCell) {
+    int nodes = graph.nodeCount();
+    List<Integer> cells = new ArrayList<>();
+    for (int at = node; at >= 0; at = parent[at]) {
+      cells.add(at == nodes ? startCell : at == nodes + 1 ? goalCell : graph.nodeCell(at));
+    }
+    int cols = maze.getWidth();
+    int expansions = 0;
+    List<Coordinate> path = new ArrayList<>();
+    path.add(maze.getStart());
+    for (int i = cells.size() - 1; i > 0; i--) {
+      int from = cells.get(i);
+      int to = cells.get(i - 1);
+      if (graph.clusterOf(from) != graph.clusterOf(to)) {
+        path.add(new Coordinate(to / cols, to % cols));
+        continue;
+      }
+      HierarchicalGraph.ClusterSearch hop = graph.search(maze, from, false, to);
+      expansions += hop.expansions();
+      for (int cell : hop.pathTo(to)) {
+        path.add(new Coordinate(cell / cols, cell % cols));
+      }
+    }
+    return new Refinement(path, expansions);
+  }
+}
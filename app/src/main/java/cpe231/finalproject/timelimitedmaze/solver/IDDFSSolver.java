@@ -2,7 +2,6 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,7 +27,6 @@ public final class IDDFSSolver extends MazeSolver {
     int goalCol = goal.column();
 
     int maxDepth = rows * cols;
-    List<List<MazeCell>> grid = maze.getGrid();
 
     int[] dRow = {-1, 1, 0, 0};
     int[] dCol = {0, 0, 1, -1};
@@ -41,7 +39,7 @@ public final class IDDFSSolver extends MazeSolver {
       path.add(start);
 
       int expansions = depthLimitedSearch(
-          grid, rows, cols, startRow, startCol, goalRow, goalCol,
+          maze, rows, cols, startRow, startCol, goalRow, goalCol,
           depth, visited, path, dRow, dCol);
 
       totalExpansions += expansions;
@@ -58,11 +56,15 @@ public final class IDDFSSolver extends MazeSolver {
   }
 
   private int depthLimitedSearch(
-      List<List<MazeCell>> grid, int rows, int cols,
+      Maze maze, int rows, int cols,
       int r, int c, int goalRow, int goalCol,
       int depth, boolean[] visited, List<Coordinate> path,
       int[] dRow, int[] dCol) {
 
+    if (isCancelled()) {
+      throw timedOut(path);
+    }
+
     if (depth == 0) {
       return 1;
     }
@@ -82,8 +84,7 @@ public final class IDDFSSolver extends MazeSolver {
           continue;
         }
 
-        MazeCell cell = grid.get(nr).get(nc);
-        if (!cell.isWalkable()) {
+        if (!maze.isWalkable(neighborIndex)) {
           continue;
         }
 
@@ -94,7 +95,7 @@ public final class IDDFSSolver extends MazeSolver {
 
         path.add(new Coordinate(nr, nc));
         int result = depthLimitedSearch(
-            grid, rows, cols, nr, nc, goalRow, goalCol,
+            maze, rows, cols, nr, nc, goalRow, goalCol,
             depth - 1, visited, path, dRow, dCol);
 
         expansions += result;
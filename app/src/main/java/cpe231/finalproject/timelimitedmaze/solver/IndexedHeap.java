@@ -0,0 +1,154 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Indexed 4-ary min-heap over cell indices with primitive double priorities.
+ *
+ * A position map from cell to heap slot gives true decrease-key, so each cell
+ * is queued at most once and the heap never grows past the live frontier.
+ * Nothing is allocated after construction; {@link #clear()} only touches the
+ * cells still queued.
+ */
+public final class IndexedHeap {
+
+  private static final int ARITY = 4;
+  private static final int ABSENT = -1;
+
+  private final int[] heap;
+  private final int[] position;
+  private final double[] priority;
+  private int size;
+
+  public IndexedHeap(int capacity) {
+    this.heap = new int[capacity];
+    this.position = new int[capacity];
+    this.priority = new double[capacity];
+    Arrays.fill(position, ABSENT);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean contains(int cell) {
+    return position[cell] != ABSENT;
+  }
+
+  public double priorityOf(int cell) {
+    return priority[cell];
+  }
+
+  public double peekPriority() {
+    if (size == 0) {
+      throw new IllegalStateException("Heap is empty");
+    }
+    return priority[heap[0]];
+  }
+
+  /**
+   * Returns the cell stored at heap slot {@code slot}, for scanning the queued
+   * cells in no particular order. Slots are {@code 0..size()-1}.
+   */
+  public int cellAt(int slot) {
+    if (slot < 0 || slot >= size) {
+      throw new IndexOutOfBoundsException("Heap slot " + slot + " out of range for size " + size);
+    }
+    return heap[slot];
+  }
+
+  /**
+   * Inserts {@code cell}, or updates its priority if it is already queued.
+   * Increases are allowed and sift the cell down.
+   */
+  public void insertOrUpdate(int cell, double value) {
+    int slot = position[cell];
+    if (slot == ABSENT) {
+      slot = size++;
+      heap[slot] = cell;
+      position[cell] = slot;
+      priority[cell] = value;
+      siftUp(slot);
+    } else if (value < priority[cell]) {
+      priority[cell] = value;
+      siftUp(slot);
+    } else if (value > priority[cell]) {
+      priority[cell] = value;
+      siftDown(slot);
+    }
+  }
+
+  public int poll() {
+    if (size == 0) {
+      throw new IllegalStateException("Heap is empty");
+    }
+    int top = heap[0];
+    position[top] = ABSENT;
+    size--;
+    if (size > 0) {
+      int last = heap[size];
+      heap[0] = last;
+      position[last] = 0;
+      siftDown(0);
+    }
+    return top;
+  }
+
+  public void clear() {
+    for (int slot = 0; slot < size; slot++) {
+      position[heap[slot]] = ABSENT;
+    }
+    size = 0;
+  }
+
+  private void siftUp(int slot) {
+    int cell = heap[slot];
+    double value = priority[cell];
+    while (slot > 0) {
+      int parentSlot = (slot - 1) / ARITY;
+      int parentCell = heap[parentSlot];
+      if (priority[parentCell] <= value) {
+        break;
+      }
+      heap[slot] = parentCell;
+      position[parentCell] = slot;
+      slot = parentSlot;
+    }
+    heap[slot] = cell;
+    position[cell] = slot;
+  }
+
+  private void siftDown(int slot) {
+    int cell = heap[slot];
+    double value = priority[cell];
+    while (true) {
+      int firstChild = slot * ARITY + 1;
+      if (firstChild >= size) {
+        break;
+      }
+      int lastChild = Math.min(firstChild + ARITY, size);
+      int bestSlot = firstChild;
+      double bestValue = priority[heap[firstChild]];
+      for (int child = firstChild + 1; child < lastChild; child++) {
+        double childValue = priority[heap[child]];
+        if (childValue < bestValue) {
+          bestSlot = child;
+          bestValue = childValue;
+        }
+      }
+      if (bestValue >= value) {
+        break;
+      }
+      int bestCell = heap[bestSlot];
+      heap[slot] = bestCell;
+      position[bestCell] = slot;
+      slot = bestSlot;
+    }
+    heap[slot] = cell;
+    position[cell] = slot;
+  }
+}
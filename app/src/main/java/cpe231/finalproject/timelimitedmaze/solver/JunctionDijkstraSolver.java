@@ -0,0 +1,96 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dijkstra over the maze's {@link JunctionGraph} instead of its cells.
+ *
+ * Corridors are crossed as single weighted edges, so the search settles one
+ * node per junction or dead end and only walks corridor cells again to expand
+ * the final path. The graph is built on the first solve of a maze and reused
+ * by later ones.
+ */
+public final class JunctionDijkstraSolver extends MazeSolver {
+
+  @Override
+  public String getAlgorithmName() {
+    return "Junction Graph Dijkstra";
+  }
+
+  @Override
+  protected List<Coordinate> executeSolve(Maze maze) {
+    Coordinate start = maze.getStart();
+    Coordinate goal = maze.getGoal();
+    log("Junction Dijkstra start: " + start + " -> goal: " + goal
+        + " grid " + maze.getHeight() + "x" + maze.getWidth());
+
+    JunctionGraph graph = JunctionGraph.of(maze, cancellationToken());
+    log("Junction graph: " + graph.nodeCount() + " nodes, " + graph.edgeCount() + " edges, "
+        + String.format("%.2f", graph.contractionRatio()) + " cells per node, built in "
+        + graph.buildNanos() / 1_000_000.0 + " ms");
+
+    int nodes = graph.nodeCount();
+    int startNode = graph.nodeOf(maze.getStartIndex());
+    int goalNode = graph.nodeOf(maze.getGoalIndex());
+
+    double[] dist = new double[nodes];
+    int[] parentEdge = new int[nodes];
+    boolean[] closed = new boolean[nodes];
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    Arrays.fill(parentEdge, -1);
+
+    IndexedHeap open = new IndexedHeap(nodes);
+    dist[startNode] = 0.0;
+    open.insertOrUpdate(startNode, 0.0);
+
+    int expansions = 0;
+
+    while (!open.isEmpty()) {
+      int node = open.poll();
+      closed[node] = true;
+
+      if (node == goalNode) {
+        log("Junction Dijkstra settled " + expansions + " nodes, goal cost " + (int) dist[goalNode]);
+        return expand(maze, graph, parentEdge, goalNode);
+      }
+
+      if (isCancelled()) {
+        throw timedOut(expand(maze, graph, parentEdge, node));
+      }
+
+      for (int edge = graph.firstEdge(node); edge < graph.firstEdge(node + 1); edge++) {
+        int target = graph.edgeTarget(edge);
+        if (closed[target]) {
+          continue;
+        }
+        double newDist = dist[node] + graph.edgeWeight(edge);
+        if (newDist < dist[target]) {
+          dist[target] = newDist;
+          parentEdge[target] = edge;
+          open.insertOrUpdate(target, newDist);
+        }
+      }
+      expansions++;
+    }
+
+    log("Junction Dijkstra exhausted search after settling " + expansions + " nodes with no path");
+    return new ArrayList<>();
+  }
+
+  private List<Coordinate> expand(Maze maze, JunctionGraph graph, int[] parentEdge, int node) {
+    List<Integer> edges = new ArrayList<>();
+    for (int at = node; parentEdge[at] >= 0; at = graph.edgeSource(parentEdge[at])) {
+      edges.add(parentEdge[at]);
+    }
+    List<Coordinate> path = new ArrayList<>();
+    path.add(maze.getStart());
+    for (int i = edges.size() - 1; i >= 0; i--) {
+      graph.appendEdge(maze, edges.get(i), path);
+    }
+    return path;
+  }
+}
@@ -0,0 +1,337 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A maze with its corridors contracted into weighted edges.
+ *
+ * Nodes are the walkable cells that do not have exactly two walkable
+ * neighbours (junctions and dead ends) plus the start and goal. Every run of
+ * corridor cells between two nodes becomes one edge in each direction,
+ * weighted by the summed step cost of the cells it enters, the corridor and
+ * the target node, so shortest paths and their costs are the same as on the
+ * grid. Corridors that lead back to their own node are dropped.
+ *
+ * Edges are stored in compressed rows: the edges leaving {@code node} are
+ * {@code firstEdge(node)} up to {@code firstEdge(node + 1)}. Each remembers
+ * the direction it leaves its source in, so {@link #appendEdge} can walk the
+ * corridor again to expand a node path into cells.
+ *
+ * {@link #of(Maze)} caches one graph per maze content fingerprint behind a
+ * soft reference, like {@link GoalDistanceField}. Extraction polls the
+ * cancellation token passed to {@link #of(Maze, CancellationToken)} once per
+ * cell and leaves nothing cached when it is cancelled.
+ */
+public final class JunctionGraph {
+
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+  private static final SoftCache<Long, JunctionGraph> CACHE = new SoftCache<>();
+
+  private final long fingerprint;
+  private final int rows;
+  private final int cols;
+  private final int[] nodeOfCell;
+  private final int[] cellOfNode;
+  private final int[] firstEdge;
+  private final int[] edgeSource;
+  private final int[] edgeTarget;
+  private final int[] edgeWeight;
+  private final byte[] edgeDirection;
+  private final int[] edgeCells;
+  private final int walkableCells;
+  private final long buildNanos;
+
+  private JunctionGraph(Maze maze, int[] nodeOfCell, int[] cellOfNode, int[] firstEdge, int[] edgeSource,
+      int[] edgeTarget, int[] edgeWeight, byte[] edgeDirection, int[] edgeCells, int walkableCells,
+      long buildNanos) {
+    this.fingerprint = maze.getFingerprint();
+    this.rows = maze.getHeight();
+    this.cols = maze.getWidth();
+    this.nodeOfCell = nodeOfCell;
+    this.cellOfNode = cellOfNode;
+    this.firstEdge = firstEdge;
+    this.edgeSource = edgeSource;
+    this.edgeTarget = edgeTarget;
+    this.edgeWeight = edgeWeight;
+    this.edgeDirection = edgeDirection;
+    this.edgeCells = edgeCells;
+    this.walkableCells = walkableCells;
+    this.buildNanos = buildNanos;
+  }
+
+  /**
+   * Returns the cached graph for {@code maze}, building it on first use.
+   */
+  public static JunctionGraph of(Maze maze) {
+    return of(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Like {@link #of(Maze)}, but a graph still to be built stops when
+   * {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static JunctionGraph of(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    JunctionGraph graph = CACHE.get(maze.getFingerprint());
+    if (graph != null && graph.matches(maze)) {
+      return graph;
+    }
+    graph = build(maze, token);
+    CACHE.put(maze.getFingerprint(), graph);
+    return graph;
+  }
+
+  /**
+   * Builds a graph without consulting or filling the cache.
+   *
+   * @throws MazeSolvingException if a corridor's cost does not fit in an int
+   */
+  public static JunctionGraph build(Maze maze) {
+    return build(maze, CancellationToken.unbounded());
+  }
+
+  /**
+   * Builds a graph without the cache, stopping when {@code token} expires.
+   * Only for the thread that owns the token.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   * @throws MazeSolvingException if a corridor's cost does not fit in an int
+   */
+  public static JunctionGraph build(Maze maze, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    long startNs = System.nanoTime();
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    int size = rows * cols;
+    int startIndex = maze.getStartIndex();
+    int goalIndex = maze.getGoalIndex();
+
+    int[] nodeOfCell = new int[size];
+    Arrays.fill(nodeOfCell, -1);
+    int nodeCount = 0;
+    int walkable = 0;
+    for (int cell = 0; cell < size; cell++) {
+      if (token.poll()) {
+        throw cancelled("node scan", cell, size, "cells");
+      }
+      if (maze.costAt(cell) == Maze.WALL) {
+        continue;
+      }
+      walkable++;
+      if (cell == startIndex || cell == goalIndex || degree(maze, cell, rows, cols) != 2) {
+        nodeOfCell[cell] = nodeCount++;
+      }
+    }
+
+    int[] cellOfNode = new int[nodeCount];
+    for (int cell = 0; cell < size; cell++) {
+      if (nodeOfCell[cell] >= 0) {
+        cellOfNode[nodeOfCell[cell]] = cell;
+      }
+    }
+
+    int capacity = nodeCount * 4;
+    int[] firstEdge = new int[nodeCount + 1];
+    int[] edgeSource = new int[capacity];
+    int[] edgeTarget = new int[capacity];
+    int[] edgeWeight = new int[capacity];
+    byte[] edgeDirection = new byte[capacity];
+    int[] edgeCells = new int[capacity];
+    int edgeCount = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      firstEdge[node] = edgeCount;
+      int origin = cellOfNode[node];
+      int r = origin / cols;
+      int c = origin % cols;
+      for (int k = 0; k < 4; k++) {
+        int nr = r + D_ROW[k];
+        int nc = c + D_COL[k];
+        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || maze.costAt(nr * cols + nc) == Maze.WALL) {
+          continue;
+        }
+        int previous = origin;
+        int current = nr * cols + nc;
+        long weight = maze.costAt(current);
+        int cells = 1;
+        while (nodeOfCell[current] < 0) {
+          if (token.poll()) {
+            throw cancelled("corridor walk", node, nodeCount, "nodes");
+          }
+          int next = otherNeighbor(maze, current, previous, rows, cols);
+          previous = current;
+          current = next;
+          weight += maze.costAt(current);
+          cells++;
+        }
+        if (current == origin) {
+          continue;
+        }
+        if (weight >= Integer.MAX_VALUE) {
+          throw new MazeSolvingException("Corridor cost too large for an int edge weight");
+        }
+        edgeSource[edgeCount] = node;
+        edgeTarget[edgeCount] = nodeOfCell[current];
+        edgeWeight[edgeCount] = (int) weight;
+        edgeDirection[edgeCount] = (byte) k;
+        edgeCells[edgeCount] = cells;
+        edgeCount++;
+      }
+    }
+    firstEdge[nodeCount] = edgeCount;
+
+    return new JunctionGraph(maze, nodeOfCell, cellOfNode, firstEdge,
+        Arrays.copyOf(edgeSource, edgeCount), Arrays.copyOf(edgeTarget, edgeCount),
+        Arrays.copyOf(edgeWeight, edgeCount), Arrays.copyOf(edgeDirection, edgeCount),
+        Arrays.copyOf(edgeCells, edgeCount), walkable, System.nanoTime() - startNs);
+  }
+
+  private static SolveTimeoutException cancelled(String phase, int done, int total, String unit) {
+    return new SolveTimeoutException("Junction graph " + phase + " cancelled after " + done + " of " + total
+        + " " + unit, List.of());
+  }
+
+  /**
+   * Drops every cached graph.
+   */
+  public static void clearCache() {
+    CACHE.clear();
+  }
+
+  /**
+   * Graphs currently cached.
+   */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  /**
+   * Whether this graph was built for a maze with the same content.
+   */
+  public boolean matches(Maze maze) {
+    return maze.getFingerprint() == fingerprint && maze.getHeight() == rows && maze.getWidth() == cols
+        && nodeOfCell[maze.getStartIndex()] >= 0 && nodeOfCell[maze.getGoalIndex()] >= 0;
+  }
+
+  public int nodeCount() {
+    return cellOfNode.length;
+  }
+
+  public int edgeCount() {
+    return edgeTarget.length;
+  }
+
+  public int walkableCells() {
+    return walkableCells;
+  }
+
+  public long buildNanos() {
+    return buildNanos;
+  }
+
+  /**
+   * Walkable cells per node: how many times fewer nodes a search on this
+   * graph settles than one on the grid.
+   */
+  public double contractionRatio() {
+    return cellOfNode.length == 0 ? 1.0 : (double) walkableCells / cellOfNode.length;
+  }
+
+  /**
+   * Node at grid cell {@code cellIndex}, or -1 if the cell is a wall or a
+   * corridor cell.
+   */
+  public int nodeOf(int cellIndex) {
+    return nodeOfCell[cellIndex];
+  }
+
+  public int cellOf(int node) {
+    return cellOfNode[node];
+  }
+
+  public int firstEdge(int node) {
+    return firstEdge[node];
+  }
+
+  public int edgeSource(int edge) {
+    return edgeSource[edge];
+  }
+
+  public int edgeTarget(int edge) {
+    return edgeTarget[edge];
+  }
+
+  /**
+   * Summed step cost of the cells entered along {@code edge}, target
+   * included.
+   */
+  public int edgeWeight(int edge) {
+    return edgeWeight[edge];
+  }
+
+  /**
+   * Number of cells entered along {@code edge}, target included.
+   */
+  public int edgeCells(int edge) {
+    return edgeCells[edge];
+  }
+
+  /**
+   * Appends the cells entered along {@code edge}, in order and ending with its
+   * target node's cell, to {@code path}.
+   */
+  public void appendEdge(Maze maze, int edge, List<Coordinate> path) {
+    int previous = cellOfNode[edgeSource[edge]];
+    int direction = edgeDirection[edge];
+    int current = (previous / cols + D_ROW[direction]) * cols + previous % cols + D_COL[direction];
+    path.add(new Coordinate(current / cols, current % cols));
+    while (nodeOfCell[current] < 0) {
+      int next = otherNeighbor(maze, current, previous, rows, cols);
+      previous = current;
+      current = next;
+      path.add(new Coordinate(current / cols, current % cols));
+    }
+  }
+
+  private static int degree(Maze maze, int cell, int rows, int cols) {
+    int r = cell / cols;
+    int c = cell % cols;
+    int degree = 0;
+    for (int k = 0; k < 4; k++) {
+      int nr = r + D_ROW[k];
+      int nc = c + D_COL[k];
+      if (nr >= 0 && nr < rows && nc >= 0 && nc < cols && maze.costAt(nr * cols + nc) != Maze.WALL) {
+        degree++;
+      }
+    }
+    return degree;
+  }
+
+  /**
+   * The walkable neighbour of corridor cell {@code cell} that is not
+   * {@code previous}.
+   */
+  static int otherNeighbor(Maze maze, int cell, int previous, int rows, int cols) {
+    int r = cell / cols;
+    int c = cell % cols;
+    for (int k = 0; k < 4; k++) {
+      int nr = r + D_ROW[k];
+      int nc = c + D_COL[k];
+      if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+        int neighbor = nr * cols + nc;
+        if (neighbor != previous && maze.costAt(neighbor) != Maze.WALL) {
+          return neighbor;
+        }
+      }
+    }
+    throw new IllegalStateException("Corridor cell " + cell + " has no way forward");
+  }
+}
@@ -0,0 +1,232 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Landmark distance tables for ALT (A*, landmarks, triangle inequality).
+ *
+ * Landmarks are picked by farthest-point selection on hop counts: the first
+ * is the open cell farthest from the start, each next one the cell farthest
+ * from all landmarks so far. Selection is a cheap breadth-first pass per
+ * landmark; the weighted tables are then one reverse Dijkstra per landmark,
+ * run in parallel, each kept as an {@code int} per cell holding the cost from
+ * that cell to the landmark.
+ *
+ * Because a step pays the weight of the cell it enters, distances are not
+ * symmetric. With {@code r(x)} the cost from {@code x} to a landmark and
+ * {@code c(x)} the weight of {@code x}, the triangle inequality gives two
+ * lower bounds on the cost from {@code v} to {@code t}: {@code r(v) - r(t)}
+ * and {@code r(t) + c(t) - r(v) - c(v)}. Both are consistent, so A* with
+ * their maximum stays optimal.
+ *
+ * {@link #of(Maze, int)} caches one table set per maze content fingerprint
+ * and landmark count behind a soft reference. Selection and every sweep poll
+ * the cancellation token passed to {@link #of(Maze, int, CancellationToken)}
+ * once per settled cell; nothing is cached when it is cancelled.
+ */
+public final class LandmarkTable {
+
+  public static final int DEFAULT_LANDMARKS = 8;
+
+  private static final int UNREACHABLE = GoalDistanceField.UNREACHABLE;
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+  private static final SoftCache<String, LandmarkTable> CACHE = new SoftCache<>();
+
+  private final long fingerprint;
+  private final int[] landmarks;
+  private final int[][] costsTo;
+  private final long buildNanos;
+
+  private LandmarkTable(Maze maze, int[] landmarks, int[][] costsTo, long buildNanos) {
+    this.fingerprint = maze.getFingerprint();
+    this.landmarks = landmarks;
+    this.costsTo = costsTo;
+    this.buildNanos = buildNanos;
+  }
+
+  /**
+   * Returns the cached tables for {@code maze} with this many landmarks,
+   * building them on first use.
+   */
+  public static LandmarkTable of(Maze maze, int landmarkCount) {
+    return of(maze, landmarkCount, CancellationToken.unbounded());
+  }
+
+  /**
+   * Like {@link #of(Maze, int)}, but tables still to be built stop when
+   * {@code token} expires.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static LandmarkTable of(Maze maze, int landmarkCount, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    String key = maze.getFingerprint() + "/" + landmarkCount;
+    LandmarkTable table = CACHE.get(key);
+    if (table != null && table.fingerprint == maze.getFingerprint()) {
+      return table;
+    }
+    table = build(maze, landmarkCount, token);
+    CACHE.put(key, table);
+    return table;
+  }
+
+  /**
+   * Builds tables without consulting or filling the cache. Fewer landmarks
+   * than requested are placed when the start's component has fewer cells.
+   */
+  public static LandmarkTable build(Maze maze, int landmarkCount) {
+    return build(maze, landmarkCount, CancellationToken.unbounded());
+  }
+
+  /**
+   * Builds tables without the cache, stopping when {@code token} expires.
+   * Only for the thread that owns the token; the parallel sweeps poll
+   * {@link CancellationToken#forWorker() worker tokens} of their own.
+   *
+   * @throws SolveTimeoutException if {@code token} expires first
+   */
+  public static LandmarkTable build(Maze maze, int landmarkCount, CancellationToken token) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    if (landmarkCount < 1) {
+      throw new IllegalArgumentException("Landmark count must be at least 1");
+    }
+    long startNs = System.nanoTime();
+    int size = maze.getCellCount();
+    int[] nearest = new int[size];
+    Arrays.fill(nearest, Integer.MAX_VALUE);
+    hops(maze, maze.getStartIndex(), nearest, token);
+
+    int[] chosen = new int[landmarkCount];
+    int placed = 0;
+    while (placed < landmarkCount) {
+      int farthest = -1;
+      for (int cell = 0; cell < size; cell++) {
+        if (nearest[cell] != Integer.MAX_VALUE && nearest[cell] > 0
+            && (farthest < 0 || nearest[cell] > nearest[farthest])) {
+          farthest = cell;
+        }
+      }
+      if (farthest < 0) {
+        break;
+      }
+      chosen[placed++] = farthest;
+      if (placed == 1) {
+        // The start only seeded the search; distances now count from landmarks alone
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+      }
+      hops(maze, farthest, nearest, token);
+    }
+
+    int[] landmarks = Arrays.copyOf(chosen, placed);
+    int[][] costsTo = IntStream.range(0, placed).parallel()
+        .mapToObj(index -> GoalDistanceField.costsToReach(maze, landmarks[index], token.forWorker()))
+        .toArray(int[][]::new);
+    return new LandmarkTable(maze, landmarks, costsTo, System.nanoTime() - startNs);
+  }
+
+  /**
+   * Drops every cached table.
+   */
+  public static void clearCache() {
+    CACHE.clear();
+  }
+
+  /**
+   * Table sets currently cached.
+   */
+  static int cacheSize() {
+    return CACHE.size();
+  }
+
+  public int landmarkCount() {
+    return landmarks.length;
+  }
+
+  public int landmarkCell(int landmark) {
+    return landmarks[landmark];
+  }
+
+  public long buildNanos() {
+    return buildNanos;
+  }
+
+  /**
+   * Bytes held by the distance tables.
+   */
+  public long memoryBytes() {
+    long bytes = 0;
+    for (int[] table : costsTo) {
+      bytes += 4L * table.length;
+    }
+    return bytes;
+  }
+
+  /**
+   * Lower bound on the cost from cell {@code from} to cell {@code to},
+   * excluding {@code from} and including {@code to}, or
+   * {@link GoalDistanceField#UNREACHABLE} when a landmark shows the two are
+   * not connected.
+   */
+  public int lowerBound(Maze maze, int from, int to) {
+    int fromCost = maze.costAt(from);
+    int toCost = maze.costAt(to);
+    int best = 0;
+    for (int[] table : costsTo) {
+      int rFrom = table[from];
+      int rTo = table[to];
+      if (rFrom == UNREACHABLE || rTo == UNREACHABLE) {
+        if (rFrom != rTo) {
+          return UNREACHABLE;
+        }
+        continue;
+      }
+      int towards = rFrom - rTo;
+      int away = rTo + toCost - rFrom - fromCost;
+      best = Math.max(best, Math.max(towards, away));
+    }
+    return best;
+  }
+
+  /**
+   * Breadth-first hop counts from {@code source}, lowering {@code nearest}
+   * wherever they are smaller.
+   */
+  private static void hops(Maze maze, int source, int[] nearest, CancellationToken token) {
+    int rows = maze.getHeight();
+    int cols = maze.getWidth();
+    int[] depth = new int[maze.getCellCount()];
+    Arrays.fill(depth, -1);
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    depth[source] = 0;
+    queue.add(source);
+    while (!queue.isEmpty()) {
+      if (token.poll()) {
+        throw new SolveTimeoutException("Landmark selection cancelled before it finished", List.of());
+      }
+      int cell = queue.poll();
+      nearest[cell] = Math.min(nearest[cell], depth[cell]);
+      int r = cell / cols;
+      int c = cell % cols;
+      for (int k = 0; k < 4; k++) {
+        int nr = r + D_ROW[k];
+        int nc = c + D_COL[k];
+        if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+          continue;
+        }
+        int neighbor = nr * cols + nc;
+        if (depth[neighbor] < 0 && maze.costAt(neighbor) != Maze.WALL) {
+          depth[neighbor] = depth[cell] + 1;
+          queue.add(neighbor);
+        }
+      }
+    }
+  }
+}
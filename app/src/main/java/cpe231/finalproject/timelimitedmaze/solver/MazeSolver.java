@@ -2,41 +2,241 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 public abstract class MazeSolver {
 
   private final List<String> logs = Collections.synchronizedList(new ArrayList<>());
   private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
 
+  private static final CancellationToken NEVER_CANCELLED = CancellationToken.unbounded();
+
+  private CancellationToken cancellation = NEVER_CANCELLED;
+
+  private volatile boolean resultCaching = true;
+  private volatile boolean lastResultCached;
+
   public final SolverResult solve(Maze maze) {
+    return solve(maze, NEVER_CANCELLED);
+  }
+
+  /**
+   * Solves with a time budget. If the budget runs out the solver stops at its
+   * next cancellation check and returns its best partial path as a
+   * {@link SolverResult#timedOut() timed-out} result, or throws
+   * {@link SolveTimeoutException} when it has none.
+   */
+  public final SolverResult solve(Maze maze, Duration budget) {
+    return solve(maze, CancellationToken.withBudget(budget));
+  }
+
+  public final SolverResult solve(Maze maze, CancellationToken token) {
     Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
     synchronized (logs) {
       logs.clear();
     }
     log("Starting solve with algorithm: " + getAlgorithmName());
     log("Maze size: " + maze.getHeight() + "x" + maze.getWidth());
+    SolveResultStore store = resultStore();
+    if (store != null) {
+      SolverResult cached = lookupCached(store, maze);
+      lastResultCached = cached != null;
+      if (cached != null) {
+        return cached;
+      }
+    } else {
+      lastResultCached = false;
+    }
+    cancellation = token;
     long startTimeNs = System.nanoTime();
-    List<Coordinate> path = executeSolve(maze);
+    List<Coordinate> path;
+    boolean timedOut = false;
+    try {
+      path = executeSolve(maze);
+    } catch (SolveTimeoutException timeout) {
+      double elapsedMs = (System.nanoTime() - startTimeNs) / 1_000_000.0;
+      if (timeout.partialPath().isEmpty()) {
+        log("Solve cancelled after " + elapsedMs + " ms with no partial path");
+        throw new SolveTimeoutException("Solve cancelled after " + elapsedMs + " ms: " + timeout.getMessage(),
+            List.of());
+      }
+      log("Solve cancelled after " + elapsedMs + " ms; returning partial path");
+      path = timeout.partialPath();
+      timedOut = true;
+    } finally {
+      cancellation = NEVER_CANCELLED;
+    }
     long endTimeNs = System.nanoTime();
     int totalCost = calculatePathCost(maze, path);
     log("Path length: " + path.size());
     log("Path total cost: " + totalCost);
     double durationMs = (endTimeNs - startTimeNs) / 1_000_000.0;
     log("Solve completed in " + durationMs + " ms");
-    return new SolverResult(List.copyOf(path), totalCost, startTimeNs, endTimeNs);
+    SolverResult result = new SolverResult(List.copyOf(path), totalCost, startTimeNs, endTimeNs, timedOut);
+    if (store != null && !timedOut && fitsMaze(maze, result.path())) {
+      try {
+        store.store(maze.getFingerprint(), resultKey(), result.path(), totalCost);
+      } catch (UncheckedIOException | IllegalArgumentException e) {
+        log("Could not store result in solve cache: " + e.getMessage());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Parameters that can change this solver's path beyond what
+   * {@link #getAlgorithmName()} already says, as part of its result-cache key.
+   */
+  public String getParameterKey() {
+    return "";
+  }
+
+  /**
+   * Version of this solver's implementation, as part of its result-cache key.
+   * Bump it in any change that can alter the paths the solver returns, so
+   * results stored by the old code are no longer served.
+   */
+  public int getResultVersion() {
+    return 1;
+  }
+
+  /**
+   * Whether a completed solve may be served from the
+   * {@link SolveResultStore}: its path depends only on the maze and
+   * {@link #getParameterKey()}, and solving has no other visible effect.
+   */
+  public boolean isResultCacheable() {
+    return true;
+  }
+
+  /**
+   * Turns the result cache off for this instance, for example to time real
+   * solves. On by default; has no effect without a
+   * {@link SolveResultStore#getDefault() default store}.
+   */
+  public final void setResultCaching(boolean enabled) {
+    resultCaching = enabled;
+  }
+
+  public final boolean isResultCaching() {
+    return resultCaching;
+  }
+
+  /**
+   * Whether the last {@link #solve} was answered from the result cache, in
+   * which case its timestamps cover the lookup, not a solve.
+   */
+  public final boolean isLastResultCached() {
+    return lastResultCached;
+  }
+
+  private SolveResultStore resultStore() {
+    if (!resultCaching || !isResultCacheable()) {
+      return null;
+    }
+    return SolveResultStore.getDefault().orElse(null);
+  }
+
+  /**
+   * The result-cache key: algorithm name, parameters, implementing class and
+   * {@link #getResultVersion()}.
+   */
+  final String resultKey() {
+    String parameters = getParameterKey();
+    String name = parameters.isEmpty() ? getAlgorithmName() : getAlgorithmName() + " [" + parameters + "]";
+    return name + " (" + getClass().getName() + " v" + getResultVersion() + ")";
+  }
+
+  private SolverResult lookupCached(SolveResultStore store, Maze maze) {
+    long startTimeNs = System.nanoTime();
+    Optional<SolveResultStore.StoredSolve> stored;
+    try {
+      stored = store.lookup(maze.getFingerprint(), resultKey());
+    } catch (UncheckedIOException e) {
+      log("Solve cache unavailable: " + e.getMessage());
+      return null;
+    }
+    if (stored.isEmpty()) {
+      return null;
+    }
+    List<Coordinate> path = stored.get().path();
+    // Guards against fingerprint collisions and stale records: the path must still solve this maze
+    if (!fitsMaze(maze, path) || calculatePathCost(maze, path) != stored.get().totalCost()) {
+      log("Ignoring a solve cache record that does not solve this maze");
+      return null;
+    }
+    long endTimeNs = System.nanoTime();
+    log("Result served from solve cache");
+    log("Path length: " + path.size());
+    log("Path total cost: " + stored.get().totalCost());
+    return new SolverResult(path, stored.get().totalCost(), startTimeNs, endTimeNs, false);
+  }
+
+  /**
+   * Whether {@code path} runs from the maze's start to its goal in unit steps
+   * over walkable cells.
+   */
+  private boolean fitsMaze(Maze maze, List<Coordinate> path) {
+    if (path.isEmpty() || !path.getFirst().equals(maze.getStart()) || !path.getLast().equals(maze.getGoal())) {
+      return false;
+    }
+    Coordinate previous = null;
+    for (Coordinate coordinate : path) {
+      if (!isWalkable(maze, coordinate)) {
+        return false;
+      }
+      if (previous != null
+          && Math.abs(coordinate.row() - previous.row()) + Math.abs(coordinate.column() - previous.column()) != 1) {
+        return false;
+      }
+      previous = coordinate;
+    }
+    return true;
   }
 
   protected abstract List<Coordinate> executeSolve(Maze maze);
 
   public abstract String getAlgorithmName();
 
+  /**
+   * Polls the current solve's cancellation token. Solvers call this once per
+   * main-loop iteration and, when it returns {@code true}, throw
+   * {@link #timedOut(List)} with their best path so far.
+   */
+  protected final boolean isCancelled() {
+    return cancellation.poll();
+  }
+
+  /**
+   * Like {@link #isCancelled()} but reads the clock on every call, for loops
+   * whose iterations are long, such as GA generations or relaxation passes.
+   */
+  protected final boolean isCancelledNow() {
+    return cancellation.isCancelled();
+  }
+
+  /**
+   * The current solve's token, for preprocessing that polls it itself, such
+   * as {@link GoalDistanceField#of(Maze, CancellationToken)}. Only for use on
+   * the solving thread.
+   */
+  protected final CancellationToken cancellationToken() {
+    return cancellation;
+  }
+
+  protected final SolveTimeoutException timedOut(List<Coordinate> partialPath) {
+    return new SolveTimeoutException(getAlgorithmName() + " ran out of time", partialPath);
+  }
+
   protected final Coordinate move(Coordinate coordinate, int deltaRow, int deltaColumn) {
     Objects.requireNonNull(coordinate, "coordinate cannot be null");
     return new Coordinate(coordinate.row() + deltaRow, coordinate.column() + deltaColumn);
@@ -46,6 +246,15 @@ public abstract class MazeSolver {
     return move(coordinate, direction.deltaRow, direction.deltaColumn);
   }
 
+  protected final SearchWorkspace borrowWorkspace(Maze maze) {
+    return borrowWorkspace(maze, 1);
+  }
+
+  protected final SearchWorkspace borrowWorkspace(Maze maze, int layers) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    return SearchWorkspace.borrow(maze.getCellCount(), layers);
+  }
+
   protected final void log(String message) {
     Objects.requireNonNull(message, "message cannot be null");
     synchronized (logs) {
@@ -76,15 +285,15 @@ public abstract class MazeSolver {
     if (!isWithinBounds(maze, coordinate)) {
       throw new IllegalArgumentException("Coordinate " + coordinate + " is outside maze bounds");
     }
-    MazeCell cell = maze.getCell(coordinate);
-    if (!cell.isWalkable()) {
+    int cost = maze.costAt(coordinate.row(), coordinate.column());
+    if (cost == Maze.WALL) {
       throw new IllegalArgumentException("Coordinate " + coordinate + " is not walkable");
     }
-    return cell.stepCost();
+    return cost;
   }
 
   protected final boolean isWalkable(Maze maze, Coordinate coordinate) {
-    return isWithinBounds(maze, coordinate) && maze.getCell(coordinate).isWalkable();
+    return isWithinBounds(maze, coordinate) && maze.isWalkable(coordinate.row(), coordinate.column());
   }
 
   protected final boolean isWithinBounds(Maze maze, Coordinate coordinate) {
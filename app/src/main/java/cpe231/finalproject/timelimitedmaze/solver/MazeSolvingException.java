@@ -1,6 +1,6 @@
 package cpe231.finalproject.timelimitedmaze.solver;
 
-public final class MazeSolvingException extends RuntimeException {
+public class MazeSolvingException extends RuntimeException {
 
   public MazeSolvingException(String message) {
     super(message);
@@ -2,7 +2,6 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -46,8 +45,6 @@ public final class SPFASolver extends MazeSolver {
     queue.add(new Node(startRow, startCol));
     inQueue[startIndex] = true;
 
-    List<List<MazeCell>> grid = maze.getGrid();
-
     int[] dRow = {-1, 1, 0, 0};
     int[] dCol = {0, 0, 1, -1};
 
@@ -64,6 +61,10 @@ public final class SPFASolver extends MazeSolver {
         return reconstructPath(parent, goalRow, goalCol, cols);
       }
 
+      if (isCancelled()) {
+        throw timedOut(reconstructPath(parent, r, c, cols));
+      }
+
       for (int k = 0; k < 4; k++) {
         int nr = r + dRow[k];
         int nc = c + dCol[k];
@@ -71,12 +72,11 @@ public final class SPFASolver extends MazeSolver {
         if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
           int neighborIndex = nr * cols + nc;
 
-          MazeCell cell = grid.get(nr).get(nc);
-          if (!cell.isWalkable()) {
+          int stepCost = maze.costAt(neighborIndex);
+          if (stepCost == Maze.WALL) {
             continue;
           }
 
-          double stepCost = cell.stepCost();
           double newDist = dist[currentIndex] + stepCost;
 
           if (newDist < dist[neighborIndex]) {
@@ -0,0 +1,149 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per-thread scratch arrays for grid searches.
+ *
+ * Each layer holds g-scores, parents, a closed set and an {@link IndexedHeap}
+ * open list indexed by cell. Entries
+ * are stamped with the workspace generation, so starting a new search only
+ * bumps a counter instead of refilling rows * cols slots; untouched cells read
+ * as distance {@code +INF}, parent {@code -1} and not closed. Workspaces are
+ * pooled per thread and grow to the largest maze seen, so back-to-back solves
+ * on same-sized mazes allocate nothing here.
+ *
+ * Borrow with try-with-resources. A nested borrow on the same thread gets a
+ * private, unpooled workspace instead of clobbering the outer search.
+ */
+public final class SearchWorkspace implements AutoCloseable {
+
+  private static final ThreadLocal<SearchWorkspace> POOL = ThreadLocal.withInitial(SearchWorkspace::new);
+
+  private Layer[] layers = new Layer[0];
+  private int capacity;
+  private int generation;
+  private boolean inUse;
+
+  private SearchWorkspace() {
+  }
+
+  public static SearchWorkspace borrow(int cellCount, int layerCount) {
+    if (cellCount < 0) {
+      throw new IllegalArgumentException("cellCount must be non-negative");
+    }
+    if (layerCount < 1) {
+      throw new IllegalArgumentException("layerCount must be at least 1");
+    }
+    SearchWorkspace workspace = POOL.get();
+    if (workspace.inUse) {
+      workspace = new SearchWorkspace();
+    }
+    workspace.begin(cellCount, layerCount);
+    return workspace;
+  }
+
+  public Layer layer(int index) {
+    return layers[index];
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  @Override
+  public void close() {
+    inUse = false;
+  }
+
+  private void begin(int cellCount, int layerCount) {
+    inUse = true;
+    if (cellCount > capacity) {
+      capacity = cellCount;
+      layers = new Layer[0];
+      generation = 0;
+    }
+    if (layerCount > layers.length) {
+      Layer[] grown = Arrays.copyOf(layers, layerCount);
+      for (int index = layers.length; index < layerCount; index++) {
+        grown[index] = new Layer(this, capacity);
+      }
+      layers = grown;
+    }
+    for (Layer layer : layers) {
+      layer.open.clear();
+    }
+    if (generation == Integer.MAX_VALUE) {
+      for (Layer layer : layers) {
+        layer.clearStamps();
+      }
+      generation = 0;
+    }
+    generation++;
+  }
+
+  /**
+   * One search direction's scores, parents, closed set and open list.
+   */
+  public static final class Layer {
+
+    private final SearchWorkspace owner;
+    private final int[] touched;
+    private final int[] closed;
+    private final double[] g;
+    private final int[] parent;
+    private final IndexedHeap open;
+
+    private Layer(SearchWorkspace owner, int capacity) {
+      this.owner = owner;
+      this.touched = new int[capacity];
+      this.closed = new int[capacity];
+      this.g = new double[capacity];
+      this.parent = new int[capacity];
+      this.open = new IndexedHeap(capacity);
+    }
+
+    public IndexedHeap open() {
+      return open;
+    }
+
+    public double g(int cell) {
+      return touched[cell] == owner.generation ? g[cell] : Double.POSITIVE_INFINITY;
+    }
+
+    public void setG(int cell, double value) {
+      touch(cell);
+      g[cell] = value;
+    }
+
+    public int parent(int cell) {
+      return touched[cell] == owner.generation ? parent[cell] : -1;
+    }
+
+    public void setParent(int cell, int value) {
+      touch(cell);
+      parent[cell] = value;
+    }
+
+    public boolean isClosed(int cell) {
+      return closed[cell] == owner.generation;
+    }
+
+    public void close(int cell) {
+      closed[cell] = owner.generation;
+    }
+
+    private void touch(int cell) {
+      if (touched[cell] != owner.generation) {
+        touched[cell] = owner.generation;
+        g[cell] = Double.POSITIVE_INFINITY;
+        parent[cell] = -1;
+      }
+    }
+
+    private void clearStamps() {
+      Arrays.fill(touched, 0);
+      Arrays.fill(closed, 0);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-maze preprocessing results held behind soft references, so they are
+ * shared until memory runs short.
+ *
+ * References the collector clears are queued and their entries removed on
+ * the next access, so keys of collected values do not pile up in the map.
+ */
+final class SoftCache<K, V> {
+
+  private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+  private final ReferenceQueue<V> cleared = new ReferenceQueue<>();
+
+  /**
+   * The cached value for {@code key}, or {@code null} if there is none or it
+   * was collected.
+   */
+  V get(K key) {
+    expungeCleared();
+    Entry<K, V> entry = entries.get(key);
+    return entry == null ? null : entry.get();
+  }
+
+  void put(K key, V value) {
+    expungeCleared();
+    entries.put(key, new Entry<>(key, value, cleared));
+  }
+
+  void clear() {
+    entries.clear();
+    expungeCleared();
+  }
+
+  /**
+   * Number of entries, after dropping those already known to be collected.
+   */
+  int size() {
+    expungeCleared();
+    return entries.size();
+  }
+
+  private void expungeCleared() {
+    for (Reference<? extends V> reference = cleared.poll(); reference != null; reference = cleared.poll()) {
+      if (reference instanceof Entry<?, ?> entry) {
+        // A newer entry under the same key stays
+        entries.remove(entry.key, entry);
+      }
+    }
+  }
+
+  private static final class Entry<K, V> extends SoftReference<V> {
+
+    final K key;
+
+    Entry(K key, V value, ReferenceQueue<V> queue) {
+      super(value, queue);
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+/**
+ * Point-in-time counters of a {@link SolveResultStore}. Hits and misses are
+ * counted since the store was opened; entries and bytes cover the whole
+ * store on disk.
+ */
+public record SolveResultStats(
+    long hitCount,
+    long missCount,
+    long storeCount,
+    int entryCount,
+    long dataBytes) {
+
+  public long requestCount() {
+    return hitCount + missCount;
+  }
+
+  public double hitRate() {
+    long requests = requestCount();
+    return requests == 0 ? 0.0 : (double) hitCount / requests;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("hits=%d, misses=%d, hit rate=%.1f%%, stored=%d, entries=%d, %d bytes",
+        hitCount, missCount, hitRate() * 100, storeCount, entryCount, dataBytes);
+  }
+}
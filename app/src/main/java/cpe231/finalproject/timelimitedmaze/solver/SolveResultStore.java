@@ -0,0 +1,573 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk store of completed solves, keyed by maze content and solver.
+ *
+ * A key is a {@link cpe231.finalproject.timelimitedmaze.utils.Maze#getFingerprint()
+ * maze fingerprint} plus a solver key (algorithm name, parameters, class and
+ * version, see {@link MazeSolver#getParameterKey()} and
+ * {@link MazeSolver#getResultVersion()}). Two files live in the store
+ * directory:
+ * <ul>
+ *   <li>{@value #DATA_FILE}, append-only records of fingerprint, solver key,
+ *       cost and path. Paths are delta-coded, one byte per unit step, and
+ *       every record carries a CRC32C.</li>
+ *   <li>{@value #INDEX_FILE}, a memory-mapped open-addressing hash table from
+ *       64-bit key hash to record offset. It is derived data: a missing,
+ *       damaged or out-of-date index is rebuilt from the data file on open,
+ *       and a torn record at the end of the data file is cut off.</li>
+ * </ul>
+ *
+ * {@link MazeSolver#solve} consults {@link #getDefault()}, which is opened
+ * from the {@code solve.cache.dir} system property when it is set. One
+ * process at a time may open a store; methods are thread-safe.
+ */
+public final class SolveResultStore implements AutoCloseable {
+
+  public static final String DATA_FILE = "solve-results.dat";
+  public static final String INDEX_FILE = "solve-results.idx";
+  public static final int VERSION = 1;
+
+  private static final int DATA_MAGIC = 'M' | 'Z' << 8 | 'S' << 16 | 'R' << 24;
+  private static final int INDEX_MAGIC = 'M' | 'Z' << 8 | 'S' << 16 | 'I' << 24;
+  private static final int DATA_HEADER_BYTES = 16;
+  private static final int INDEX_HEADER_BYTES = 64;
+  private static final int SLOT_BYTES = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = 1 << 26;
+  private static final int RECORD_HEADER_BYTES = 8;
+  private static final int MAX_RECORD_BYTES = 1 << 28;
+  private static final int ESCAPE = 4;
+  private static final int[] STEP_ROW = {-1, 1, 0, 0};
+  private static final int[] STEP_COL = {0, 0, 1, -1};
+
+  private static final Object DEFAULT_LOCK = new Object();
+  private static volatile SolveResultStore defaultStore;
+  private static volatile boolean defaultResolved;
+
+  private final Path directory;
+  private final FileChannel data;
+  private final FileLock lock;
+  private final FileChannel indexChannel;
+  private MappedByteBuffer index;
+  private int capacity;
+  private int count;
+  private long dataSize;
+  private long hitCount;
+  private long missCount;
+  private long storeCount;
+
+  private SolveResultStore(Path directory, FileChannel data, FileLock lock, FileChannel indexChannel) {
+    this.directory = directory;
+    this.data = data;
+    this.lock = lock;
+    this.indexChannel = indexChannel;
+  }
+
+  /**
+   * Opens or creates the store in {@code directory}.
+   *
+   * @throws IllegalStateException if another process has it open
+   */
+  public static SolveResultStore open(Path directory) {
+    Objects.requireNonNull(directory, "directory cannot be null");
+    FileChannel data = null;
+    FileChannel indexChannel = null;
+    try {
+      Files.createDirectories(directory);
+      data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      FileLock lock;
+      try {
+        lock = data.tryLock();
+      } catch (OverlappingFileLockException e) {
+        lock = null;
+      }
+      if (lock == null) {
+        throw new IllegalStateException("Solve result store is in use: " + directory);
+      }
+      indexChannel = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      SolveResultStore store = new SolveResultStore(directory, data, lock, indexChannel);
+      store.load();
+      return store;
+    } catch (IOException exception) {
+      closeQuietly(indexChannel);
+      closeQuietly(data);
+      throw new UncheckedIOException("Failed to open solve result store: " + directory, exception);
+    } catch (RuntimeException exception) {
+      closeQuietly(indexChannel);
+      closeQuietly(data);
+      throw exception;
+    }
+  }
+
+  /**
+   * The store used by {@link MazeSolver#solve}: the one installed with
+   * {@link #setDefault(SolveResultStore)}, else one opened from the
+   * {@code solve.cache.dir} system property on first use, else none. A store
+   * that fails to open is reported once on standard error and left off.
+   */
+  public static Optional<SolveResultStore> getDefault() {
+    if (!defaultResolved) {
+      synchronized (DEFAULT_LOCK) {
+        if (!defaultResolved) {
+          String directory = System.getProperty("solve.cache.dir");
+          if (directory != null && !directory.isBlank()) {
+            try {
+              defaultStore = open(Path.of(directory));
+            } catch (IllegalStateException | UncheckedIOException e) {
+              System.err.println("Solve result cache disabled: " + e.getMessage());
+            }
+          }
+          defaultResolved = true;
+        }
+      }
+    }
+    return Optional.ofNullable(defaultStore);
+  }
+
+  /**
+   * Installs {@code store} as the default, or turns the default off with
+   * {@code null}. The previous default is not closed.
+   */
+  public static void setDefault(SolveResultStore store) {
+    synchronized (DEFAULT_LOCK) {
+      defaultStore = store;
+      defaultResolved = true;
+    }
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the stored solve for this maze and solver, if any.
+   */
+  public synchronized Optional<StoredSolve> lookup(long mazeFingerprint, String solverKey) {
+    Objects.requireNonNull(solverKey, "solverKey cannot be null");
+    byte[] key = solverKey.getBytes(StandardCharsets.UTF_8);
+    long hash = hash(mazeFingerprint, key);
+    try {
+      int slot = findSlot(hash, mazeFingerprint, key);
+      if (slot >= 0) {
+        hitCount++;
+        return Optional.of(readRecord(index.getLong(slotOffset(slot) + 8), mazeFingerprint, key));
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read solve result store: " + directory, exception);
+    }
+    missCount++;
+    return Optional.empty();
+  }
+
+  /**
+   * Appends a completed solve. It replaces any solve stored earlier for the
+   * key, which {@link MazeSolver#solve} only re-solves when the stored path
+   * no longer fits the maze.
+   */
+  public synchronized void store(long mazeFingerprint, String solverKey, List<Coordinate> path, int totalCost) {
+    Objects.requireNonNull(solverKey, "solverKey cannot be null");
+    Objects.requireNonNull(path, "path cannot be null");
+    if (path.isEmpty()) {
+      throw new IllegalArgumentException("Path cannot be empty");
+    }
+    byte[] key = solverKey.getBytes(StandardCharsets.UTF_8);
+    if (key.length > 0xFFFF) {
+      throw new IllegalArgumentException("Solver key is too long");
+    }
+    long hash = hash(mazeFingerprint, key);
+    try {
+      int slot = findSlot(hash, mazeFingerprint, key);
+      ByteBuffer record = encode(mazeFingerprint, key, path, totalCost);
+      long offset = dataSize;
+      writeFully(data, record, offset);
+      dataSize += record.capacity();
+      if (slot >= 0) {
+        index.putLong(slotOffset(slot) + 8, offset);
+        writeIndexHeader();
+      } else {
+        insert(hash, offset);
+      }
+      storeCount++;
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to write solve result store: " + directory, exception);
+    }
+  }
+
+  public synchronized SolveResultStats stats() {
+    return new SolveResultStats(hitCount, missCount, storeCount, count, dataSize);
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (index != null) {
+        index.force();
+      }
+      if (lock.isValid()) {
+        lock.release();
+      }
+    } catch (IOException ignored) {
+      // The index is rebuilt from the data file if it was left incomplete
+    }
+    index = null;
+    closeQuietly(indexChannel);
+    closeQuietly(data);
+  }
+
+  /**
+   * A stored path and its total cost.
+   */
+  public record StoredSolve(List<Coordinate> path, int totalCost) {
+  }
+
+  private void load() throws IOException {
+    long size = data.size();
+    if (size < DATA_HEADER_BYTES || !validDataHeader()) {
+      data.truncate(0);
+      ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(DATA_MAGIC).putShort((short) VERSION);
+      header.clear();
+      writeFully(data, header, 0);
+      size = DATA_HEADER_BYTES;
+    }
+    dataSize = size;
+
+    long indexedLength = -1;
+    if (indexChannel.size() >= INDEX_HEADER_BYTES) {
+      MappedByteBuffer header = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_BYTES);
+      header.order(ByteOrder.LITTLE_ENDIAN);
+      int storedCapacity = header.getInt(8);
+      if (header.getInt(0) == INDEX_MAGIC && Short.toUnsignedInt(header.getShort(4)) == VERSION
+          && Integer.bitCount(storedCapacity) == 1 && storedCapacity <= MAX_CAPACITY
+          && indexChannel.size() == INDEX_HEADER_BYTES + (long) storedCapacity * SLOT_BYTES
+          && header.getLong(16) <= dataSize) {
+        capacity = storedCapacity;
+        count = header.getInt(12);
+        indexedLength = header.getLong(16);
+        mapIndex();
+      }
+    }
+    if (indexedLength < DATA_HEADER_BYTES) {
+      resetIndex(INITIAL_CAPACITY);
+      indexedLength = DATA_HEADER_BYTES;
+    }
+    scanFrom(indexedLength);
+  }
+
+  private boolean validDataHeader() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    readFully(data, header, 0);
+    return header.getInt(0) == DATA_MAGIC && Short.toUnsignedInt(header.getShort(4)) == VERSION;
+  }
+
+  /**
+   * Indexes records from {@code offset} to the end of the data file and
+   * truncates the file at the first record that is incomplete or corrupt.
+   */
+  private void scanFrom(long offset) throws IOException {
+    long position = offset;
+    ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    while (position + RECORD_HEADER_BYTES <= dataSize) {
+      recordHeader.clear();
+      readFully(data, recordHeader, position);
+      int length = recordHeader.getInt(0);
+      if (length < 10 || length > MAX_RECORD_BYTES || position + RECORD_HEADER_BYTES + length > dataSize) {
+        break;
+      }
+      ByteBuffer payload = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+      readFully(data, payload, position + RECORD_HEADER_BYTES);
+      if (crc(payload) != recordHeader.getInt(4)) {
+        break;
+      }
+      long fingerprint = payload.getLong(0);
+      int keyLength = Short.toUnsignedInt(payload.getShort(8));
+      if (10 + keyLength > length) {
+        break;
+      }
+      byte[] key = new byte[keyLength];
+      payload.get(10, key);
+      // A later record for the same key replaces the earlier one
+      long hash = hash(fingerprint, key);
+      int slot = findSlot(hash, fingerprint, key);
+      if (slot >= 0) {
+        index.putLong(slotOffset(slot) + 8, position);
+      } else {
+        insert(hash, position);
+      }
+      position += RECORD_HEADER_BYTES + length;
+    }
+    if (position < dataSize) {
+      data.truncate(position);
+      dataSize = position;
+    }
+    writeIndexHeader();
+  }
+
+  /**
+   * The index slot holding a readable record for this key, or -1.
+   */
+  private int findSlot(long hash, long fingerprint, byte[] key) throws IOException {
+    for (int slot = slotFor(hash); ; slot = (slot + 1) & (capacity - 1)) {
+      long slotHash = index.getLong(slotOffset(slot));
+      if (slotHash == 0) {
+        return -1;
+      }
+      if (slotHash == hash && readRecord(index.getLong(slotOffset(slot) + 8), fingerprint, key) != null) {
+        return slot;
+      }
+    }
+  }
+
+  private StoredSolve readRecord(long offset, long fingerprint, byte[] key) throws IOException {
+    if (offset < DATA_HEADER_BYTES || offset + RECORD_HEADER_BYTES > dataSize) {
+      return null;
+    }
+    ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    readFully(data, recordHeader, offset);
+    int length = recordHeader.getInt(0);
+    if (length < 10 || length > MAX_RECORD_BYTES || offset + RECORD_HEADER_BYTES + length > dataSize) {
+      return null;
+    }
+    ByteBuffer payload = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    readFully(data, payload, offset + RECORD_HEADER_BYTES);
+    if (crc(payload) != recordHeader.getInt(4) || payload.getLong(0) != fingerprint
+        || Short.toUnsignedInt(payload.getShort(8)) != key.length) {
+      return null;
+    }
+    byte[] storedKey = new byte[key.length];
+    payload.get(10, storedKey);
+    if (!java.util.Arrays.equals(storedKey, key)) {
+      return null;
+    }
+    payload.position(10 + key.length);
+    return decodePath(payload);
+  }
+
+  private static ByteBuffer encode(long fingerprint, byte[] key, List<Coordinate> path, int totalCost) {
+    ByteBuffer payload = ByteBuffer.allocate(10 + key.length + 16 + path.size() * 2)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    payload.putLong(fingerprint).putShort((short) key.length).put(key)
+        .putInt(totalCost).putInt(path.size())
+        .putInt(path.getFirst().row()).putInt(path.getFirst().column());
+    for (int i = 1; i < path.size(); i++) {
+      int deltaRow = path.get(i).row() - path.get(i - 1).row();
+      int deltaColumn = path.get(i).column() - path.get(i - 1).column();
+      int step = unitStep(deltaRow, deltaColumn);
+      if (payload.remaining() < 11) {
+        payload = grow(payload);
+      }
+      if (step >= 0) {
+        payload.put((byte) step);
+      } else {
+        payload.put((byte) ESCAPE);
+        putVarint(payload, deltaRow);
+        putVarint(payload, deltaColumn);
+      }
+    }
+    payload.flip();
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.limit()).order(ByteOrder.LITTLE_ENDIAN);
+    record.putInt(payload.limit()).putInt(crc(payload)).put(payload);
+    record.clear();
+    return record;
+  }
+
+  private static StoredSolve decodePath(ByteBuffer payload) {
+    int totalCost = payload.getInt();
+    int length = payload.getInt();
+    if (length < 1 || length > payload.remaining()) {
+      return null;
+    }
+    List<Coordinate> path = new ArrayList<>(length);
+    int row = payload.getInt();
+    int column = payload.getInt();
+    path.add(new Coordinate(row, column));
+    for (int i = 1; i < length; i++) {
+      if (!payload.hasRemaining()) {
+        return null;
+      }
+      int step = payload.get();
+      if (step == ESCAPE) {
+        row += getVarint(payload);
+        column += getVarint(payload);
+      } else if (step >= 0 && step < ESCAPE) {
+        row += STEP_ROW[step];
+        column += STEP_COL[step];
+      } else {
+        return null;
+      }
+      path.add(new Coordinate(row, column));
+    }
+    return new StoredSolve(List.copyOf(path), totalCost);
+  }
+
+  private static int unitStep(int deltaRow, int deltaColumn) {
+    for (int step = 0; step < ESCAPE; step++) {
+      if (STEP_ROW[step] == deltaRow && STEP_COL[step] == deltaColumn) {
+        return step;
+      }
+    }
+    return -1;
+  }
+
+  private static void putVarint(ByteBuffer buffer, int value) {
+    int zigzag = (value << 1) ^ (value >> 31);
+    while ((zigzag & ~0x7F) != 0) {
+      buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+      zigzag >>>= 7;
+    }
+    buffer.put((byte) zigzag);
+  }
+
+  private static int getVarint(ByteBuffer buffer) {
+    int zigzag = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int next = buffer.get();
+      zigzag |= (next & 0x7F) << shift;
+      if ((next & 0x80) == 0) {
+        break;
+      }
+    }
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  private static ByteBuffer grow(ByteBuffer buffer) {
+    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.flip();
+    return larger.put(buffer);
+  }
+
+  private void insert(long hash, long offset) throws IOException {
+    if ((count + 1) * 2L > capacity) {
+      growIndex();
+    }
+    int slot = slotFor(hash);
+    while (index.getLong(slotOffset(slot)) != 0) {
+      slot = (slot + 1) & (capacity - 1);
+    }
+    index.putLong(slotOffset(slot), hash);
+    index.putLong(slotOffset(slot) + 8, offset);
+    count++;
+    writeIndexHeader();
+  }
+
+  private void growIndex() throws IOException {
+    if (capacity >= MAX_CAPACITY) {
+      throw new IllegalStateException("Solve result store is full: " + directory);
+    }
+    long[] hashes = new long[count];
+    long[] offsets = new long[count];
+    int next = 0;
+    for (int slot = 0; slot < capacity; slot++) {
+      long hash = index.getLong(slotOffset(slot));
+      if (hash != 0) {
+        hashes[next] = hash;
+        offsets[next++] = index.getLong(slotOffset(slot) + 8);
+      }
+    }
+    resetIndex(capacity * 2);
+    for (int i = 0; i < next; i++) {
+      insert(hashes[i], offsets[i]);
+    }
+  }
+
+  private void resetIndex(int newCapacity) throws IOException {
+    capacity = newCapacity;
+    count = 0;
+    indexChannel.truncate(0);
+    mapIndex();
+    writeIndexHeader();
+  }
+
+  private void mapIndex() throws IOException {
+    index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_BYTES + (long) capacity * SLOT_BYTES);
+    index.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private void writeIndexHeader() {
+    index.putInt(0, INDEX_MAGIC);
+    index.putShort(4, (short) VERSION);
+    index.putInt(8, capacity);
+    index.putInt(12, count);
+    index.putLong(16, dataSize);
+  }
+
+  private int slotFor(long hash) {
+    return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+  }
+
+  private static int slotOffset(int slot) {
+    return INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+  }
+
+  /**
+   * Non-zero 64-bit hash of a key; zero marks an empty index slot.
+   */
+  private static long hash(long fingerprint, byte[] key) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte value : key) {
+      hash = (hash ^ (value & 0xFF)) * 0x100000001B3L;
+    }
+    long z = fingerprint ^ Long.rotateLeft(hash, 29);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z ^= z >>> 31;
+    return z == 0 ? 1 : z;
+  }
+
+  private static int crc(ByteBuffer payload) {
+    CRC32C crc = new CRC32C();
+    crc.update(payload.duplicate().rewind());
+    return (int) crc.getValue();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    long at = offset;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, at);
+      if (read < 0) {
+        throw new IOException("Unexpected end of solve result store");
+      }
+      at += read;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    long at = offset;
+    while (buffer.hasRemaining()) {
+      at += channel.write(buffer, at);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // Nothing useful to do when closing fails
+    }
+  }
+}
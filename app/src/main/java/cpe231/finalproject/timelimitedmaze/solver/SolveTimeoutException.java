@@ -0,0 +1,27 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Thrown when a solve's {@link CancellationToken} expires before a path to the
+ * goal is found. Solvers attach the best path they had so far, which may be
+ * empty; {@link MazeSolver#solve(cpe231.finalproject.timelimitedmaze.utils.Maze, CancellationToken)}
+ * turns a non-empty one into a timed-out {@link SolverResult}.
+ */
+public final class SolveTimeoutException extends MazeSolvingException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient List<Coordinate> partialPath;
+
+  public SolveTimeoutException(String message, List<Coordinate> partialPath) {
+    super(message);
+    this.partialPath = List.copyOf(Objects.requireNonNull(partialPath, "partialPath cannot be null"));
+  }
+
+  public List<Coordinate> partialPath() {
+    return partialPath;
+  }
+}
@@ -4,7 +4,13 @@ import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import java.util.List;
 import java.util.Objects;
 
-public record SolverResult(List<Coordinate> path, int totalCost, long startTimeNs, long endTimeNs) {
+/**
+ * Path found by a solver. When {@code timedOut} is set the solve ran out of
+ * budget and {@code path} is the best partial path from the start, which does
+ * not necessarily end at the goal.
+ */
+public record SolverResult(List<Coordinate> path, int totalCost, long startTimeNs, long endTimeNs,
+    boolean timedOut) {
 
   public SolverResult {
     Objects.requireNonNull(path, "path cannot be null");
@@ -15,4 +21,8 @@ public record SolverResult(List<Coordinate> path, int totalCost, long startTimeN
       throw new IllegalArgumentException("endTimeNs must be >= startTimeNs");
     }
   }
+
+  public SolverResult(List<Coordinate> path, int totalCost, long startTimeNs, long endTimeNs) {
+    this(path, totalCost, startTimeNs, endTimeNs, false);
+  }
 }
@@ -0,0 +1,460 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeGrid;
+import cpe231.finalproject.timelimitedmaze.utils.TiledMaze;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A* (or Dijkstra, without the heuristic) over any {@link MazeGrid}, built
+ * for {@link TiledMaze} grids that do not fit in the heap.
+ *
+ * Unlike the {@link MazeSolver} family it never allocates per-cell arrays
+ * for the whole maze on the heap. Each cell's distance, parent direction and
+ * closed flag take {@value #STATE_BYTES_PER_CELL} bytes, kept in heap blocks
+ * of {@value #BLOCK_SIZE}x{@value #BLOCK_SIZE} cells created when the search
+ * first touches them or, for grids above the mapped-state threshold, in a
+ * sparse memory-mapped scratch file that the operating system pages like the
+ * maze itself. Only the open list always stays on the heap. Cells are read
+ * only through {@link MazeGrid#costAt(int, int)}.
+ *
+ * Costs match {@link AstarSolver}: entering a cell costs its weight and the
+ * reported cost counts every cell on the path including the start. The
+ * heuristic is the Manhattan distance times {@link MazeGrid#getMinStepCost()},
+ * so it stays admissible, and paths optimal, when cells weigh 0.
+ */
+public final class TiledAStarSolver {
+
+  /**
+   * Grids with more cells than this keep search state in a scratch file.
+   */
+  public static final long DEFAULT_MAPPED_STATE_THRESHOLD_CELLS = 1L << 24;
+
+  private static final int STATE_BYTES_PER_CELL = 5;
+  private static final int BLOCK_SHIFT = 6;
+  private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+  private static final int[] D_ROW = {-1, 1, 0, 0};
+  private static final int[] D_COL = {0, 0, 1, -1};
+
+  private final boolean useHeuristic;
+  private final long mappedStateThresholdCells;
+  private long lastExpansions;
+  private long lastSearchStateBytes;
+  private boolean lastSearchStateMapped;
+
+  public TiledAStarSolver(boolean useHeuristic) {
+    this(useHeuristic, DEFAULT_MAPPED_STATE_THRESHOLD_CELLS);
+  }
+
+  public TiledAStarSolver(boolean useHeuristic, long mappedStateThresholdCells) {
+    if (mappedStateThresholdCells < 0) {
+      throw new IllegalArgumentException("mappedStateThresholdCells cannot be negative");
+    }
+    this.useHeuristic = useHeuristic;
+    this.mappedStateThresholdCells = mappedStateThresholdCells;
+  }
+
+  public String getAlgorithmName() {
+    return useHeuristic ? "Tiled A*" : "Tiled Dijkstra";
+  }
+
+  public SolverResult solve(MazeGrid grid) {
+    return solve(grid, CancellationToken.unbounded());
+  }
+
+  public SolverResult solve(MazeGrid grid, Duration budget) {
+    return solve(grid, CancellationToken.withBudget(budget));
+  }
+
+  /**
+   * Finds a cheapest path, or the path to the last expanded cell marked as
+   * timed out when the token expires first.
+   *
+   * @throws MazeSolvingException if the goal is unreachable
+   */
+  public SolverResult solve(MazeGrid grid, CancellationToken token) {
+    Objects.requireNonNull(grid, "grid cannot be null");
+    Objects.requireNonNull(token, "token cannot be null");
+    long startTimeNs = System.nanoTime();
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    Coordinate start = grid.getStart();
+    Coordinate goal = grid.getGoal();
+    int startCost = grid.costAt(start.row(), start.column());
+    long heuristicScale = useHeuristic ? grid.getMinStepCost() : 0;
+
+    long cellCount = (long) width * height;
+    long expansions = 0;
+    try (SearchState state = cellCount > mappedStateThresholdCells
+        ? new MappedSearchState(width, cellCount)
+        : new HeapSearchState()) {
+      try {
+        LongHeap open = new LongHeap();
+        state.setG(start.row(), start.column(), 0);
+        open.push(heuristic(start.row(), start.column(), goal, heuristicScale), pack(start.row(), start.column()));
+
+        while (!open.isEmpty()) {
+          long cell = open.pop();
+          int row = (int) (cell >>> 32);
+          int column = (int) cell;
+          if (state.isClosed(row, column)) {
+            continue;
+          }
+          state.close(row, column);
+
+          if (row == goal.row() && column == goal.column()) {
+            return result(state, row, column, startCost, startTimeNs, false);
+          }
+          if (token.poll()) {
+            return result(state, row, column, startCost, startTimeNs, true);
+          }
+          expansions++;
+
+          long g = state.g(row, column);
+          for (int k = 0; k < 4; k++) {
+            int nextRow = row + D_ROW[k];
+            int nextColumn = column + D_COL[k];
+            if (nextRow < 0 || nextRow >= height || nextColumn < 0 || nextColumn >= width
+                || state.isClosed(nextRow, nextColumn)) {
+              continue;
+            }
+            int stepCost = grid.costAt(nextRow, nextColumn);
+            if (stepCost == Maze.WALL) {
+              continue;
+            }
+            long tentativeG = g + stepCost;
+            if (tentativeG < state.g(nextRow, nextColumn)) {
+              state.setG(nextRow, nextColumn, tentativeG);
+              state.setParentDirection(nextRow, nextColumn, k);
+              open.push(tentativeG + heuristic(nextRow, nextColumn, goal, heuristicScale), pack(nextRow, nextColumn));
+            }
+          }
+        }
+        throw new MazeSolvingException("No path found from start to goal");
+      } finally {
+        lastExpansions = expansions;
+        lastSearchStateBytes = state.footprintBytes();
+        lastSearchStateMapped = state instanceof MappedSearchState;
+      }
+    }
+  }
+
+  public long getLastExpansions() {
+    return lastExpansions;
+  }
+
+  /**
+   * Search state bytes of the last solve, excluding the open list: the heap
+   * blocks it touched, or the scratch file's logical size when
+   * {@link #isLastSearchStateMapped()}.
+   */
+  public long getLastSearchStateBytes() {
+    return lastSearchStateBytes;
+  }
+
+  public boolean isLastSearchStateMapped() {
+    return lastSearchStateMapped;
+  }
+
+  private static long heuristic(int row, int column, Coordinate goal, long scale) {
+    return scale * (Math.abs(row - goal.row()) + Math.abs(column - goal.column()));
+  }
+
+  private static long pack(int row, int column) {
+    return (long) row << 32 | (column & 0xFFFFFFFFL);
+  }
+
+  private static SolverResult result(SearchState state, int row, int column, int startCost, long startTimeNs,
+      boolean timedOut) {
+    List<Coordinate> path = new ArrayList<>();
+    int currentRow = row;
+    int currentColumn = column;
+    while (true) {
+      path.add(new Coordinate(currentRow, currentColumn));
+      int direction = state.parentDirection(currentRow, currentColumn);
+      if (direction < 0) {
+        break;
+      }
+      currentRow -= D_ROW[direction];
+      currentColumn -= D_COL[direction];
+    }
+    Collections.reverse(path);
+    int totalCost = Math.toIntExact(state.g(row, column) + startCost);
+    return new SolverResult(List.copyOf(path), totalCost, startTimeNs, System.nanoTime(), timedOut);
+  }
+
+  /**
+   * Per-cell distance, parent direction and closed flag. Distances are
+   * stored as g + 1 and the parent as direction + 1, so zero-filled storage
+   * reads as an unreached, open cell with no parent.
+   */
+  private abstract static class SearchState implements AutoCloseable {
+
+    static final int PARENT_MASK = 0x0F;
+    static final int CLOSED = 0x10;
+
+    abstract int storedG(int row, int column);
+
+    abstract void storeG(int row, int column, int value);
+
+    abstract int flags(int row, int column);
+
+    abstract void storeFlags(int row, int column, int value);
+
+    abstract long footprintBytes();
+
+    @Override
+    public void close() {
+    }
+
+    final long g(int row, int column) {
+      int stored = storedG(row, column);
+      return stored == 0 ? Long.MAX_VALUE : stored - 1L;
+    }
+
+    final void setG(int row, int column, long value) {
+      if (value >= Integer.MAX_VALUE) {
+        throw new MazeSolvingException("Path cost exceeds " + (Integer.MAX_VALUE - 1));
+      }
+      storeG(row, column, (int) value + 1);
+    }
+
+    final int parentDirection(int row, int column) {
+      return (flags(row, column) & PARENT_MASK) - 1;
+    }
+
+    final void setParentDirection(int row, int column, int direction) {
+      storeFlags(row, column, (flags(row, column) & CLOSED) | (direction + 1));
+    }
+
+    final boolean isClosed(int row, int column) {
+      return (flags(row, column) & CLOSED) != 0;
+    }
+
+    final void close(int row, int column) {
+      storeFlags(row, column, flags(row, column) | CLOSED);
+    }
+  }
+
+  /**
+   * Heap blocks allocated on first write; reads of untouched cells do not
+   * allocate.
+   */
+  private static final class HeapSearchState extends SearchState {
+
+    private final Map<Long, Block> blocks = new HashMap<>();
+    private long lastKey = -1;
+    private Block lastBlock;
+
+    @Override
+    int storedG(int row, int column) {
+      Block block = find(row, column, false);
+      return block == null ? 0 : block.g[offset(row, column)];
+    }
+
+    @Override
+    void storeG(int row, int column, int value) {
+      find(row, column, true).g[offset(row, column)] = value;
+    }
+
+    @Override
+    int flags(int row, int column) {
+      Block block = find(row, column, false);
+      return block == null ? 0 : block.flags[offset(row, column)];
+    }
+
+    @Override
+    void storeFlags(int row, int column, int value) {
+      find(row, column, true).flags[offset(row, column)] = (byte) value;
+    }
+
+    @Override
+    long footprintBytes() {
+      return (long) blocks.size() * BLOCK_SIZE * BLOCK_SIZE * STATE_BYTES_PER_CELL;
+    }
+
+    private static int offset(int row, int column) {
+      return (row & (BLOCK_SIZE - 1)) << BLOCK_SHIFT | (column & (BLOCK_SIZE - 1));
+    }
+
+    private Block find(int row, int column, boolean create) {
+      long key = (long) (row >>> BLOCK_SHIFT) << 32 | (column >>> BLOCK_SHIFT);
+      if (key == lastKey) {
+        return lastBlock;
+      }
+      Block block = blocks.get(key);
+      if (block == null) {
+        if (!create) {
+          return null;
+        }
+        block = new Block();
+        blocks.put(key, block);
+      }
+      lastKey = key;
+      lastBlock = block;
+      return block;
+    }
+  }
+
+  private static final class Block {
+
+    final int[] g = new int[BLOCK_SIZE * BLOCK_SIZE];
+    final byte[] flags = new byte[BLOCK_SIZE * BLOCK_SIZE];
+  }
+
+  /**
+   * Row-major state in a temporary file, all distances first and all flags
+   * after, mapped in 1 GB regions. The file is sparse, so only pages the
+   * search writes take space, and it is deleted when the solve ends.
+   */
+  private static final class MappedSearchState extends SearchState {
+
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private final int width;
+    private final long flagsOffset;
+    private final long size;
+    private final MappedByteBuffer[] regions;
+    private FileChannel channel;
+
+    MappedSearchState(int width, long cellCount) {
+      this.width = width;
+      this.flagsOffset = cellCount * Integer.BYTES;
+      this.size = cellCount * STATE_BYTES_PER_CELL;
+      this.regions = new MappedByteBuffer[(int) ((size + REGION_MASK) >>> REGION_SHIFT)];
+      try {
+        Path file = Files.createTempFile("tiled-search", ".state");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+        for (int index = 0; index < regions.length; index++) {
+          long offset = (long) index << REGION_SHIFT;
+          regions[index] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+              Math.min(1L << REGION_SHIFT, size - offset));
+        }
+      } catch (IOException exception) {
+        close();
+        throw new UncheckedIOException("Failed to create search state file", exception);
+      }
+    }
+
+    @Override
+    int storedG(int row, int column) {
+      long offset = ((long) row * width + column) * Integer.BYTES;
+      return regions[(int) (offset >>> REGION_SHIFT)].getInt((int) (offset & REGION_MASK));
+    }
+
+    @Override
+    void storeG(int row, int column, int value) {
+      long offset = ((long) row * width + column) * Integer.BYTES;
+      regions[(int) (offset >>> REGION_SHIFT)].putInt((int) (offset & REGION_MASK), value);
+    }
+
+    @Override
+    int flags(int row, int column) {
+      long offset = flagsOffset + (long) row * width + column;
+      return regions[(int) (offset >>> REGION_SHIFT)].get((int) (offset & REGION_MASK));
+    }
+
+    @Override
+    void storeFlags(int row, int column, int value) {
+      long offset = flagsOffset + (long) row * width + column;
+      regions[(int) (offset >>> REGION_SHIFT)].put((int) (offset & REGION_MASK), (byte) value);
+    }
+
+    @Override
+    long footprintBytes() {
+      return size;
+    }
+
+    @Override
+    public void close() {
+      Arrays.fill(regions, null);
+      if (channel == null) {
+        return;
+      }
+      try {
+        channel.close();
+      } catch (IOException ignored) {
+        // The search result is already decided; a leftover temp file is harmless
+      }
+      channel = null;
+    }
+  }
+
+  /**
+   * Growable binary min-heap of (priority, cell) pairs with lazy deletion:
+   * a cell may be queued several times and stale entries are skipped when
+   * popped.
+   */
+  private static final class LongHeap {
+
+    private long[] priorities = new long[1024];
+    private long[] cells = new long[1024];
+    private int size;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void push(long priority, long cell) {
+      if (size == priorities.length) {
+        priorities = Arrays.copyOf(priorities, size * 2);
+        cells = Arrays.copyOf(cells, size * 2);
+      }
+      int slot = size++;
+      while (slot > 0) {
+        int parent = (slot - 1) >>> 1;
+        if (priorities[parent] <= priority) {
+          break;
+        }
+        priorities[slot] = priorities[parent];
+        cells[slot] = cells[parent];
+        slot = parent;
+      }
+      priorities[slot] = priority;
+      cells[slot] = cell;
+    }
+
+    long pop() {
+      long top = cells[0];
+      size--;
+      long priority = priorities[size];
+      long cell = cells[size];
+      int slot = 0;
+      while (true) {
+        int child = 2 * slot + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+          child++;
+        }
+        if (priorities[child] >= priority) {
+          break;
+        }
+        priorities[slot] = priorities[child];
+        cells[slot] = cells[child];
+        slot = child;
+      }
+      priorities[slot] = priority;
+      cells[slot] = cell;
+      return top;
+    }
+  }
+}
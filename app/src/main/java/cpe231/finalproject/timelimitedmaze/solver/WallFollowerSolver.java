@@ -43,6 +43,10 @@ public final class WallFollowerSolver extends MazeSolver {
     log("Wall follower max steps: " + maxSteps);
 
     for (int step = 0; step < maxSteps; step++) {
+      if (isCancelled()) {
+        throw timedOut(path);
+      }
+
       Direction preferredDirection = getPreferredDirection(direction);
       Coordinate preferredCoordinate = move(current, preferredDirection);
       Coordinate forwardCoordinate = move(current, direction);
@@ -2,12 +2,9 @@ package cpe231.finalproject.timelimitedmaze.solver;
 
 import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
 import cpe231.finalproject.timelimitedmaze.utils.Maze;
-import cpe231.finalproject.timelimitedmaze.utils.MazeCell;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 
 public final class WeightedAStarSolver extends MazeSolver {
 
@@ -31,85 +28,73 @@ public final class WeightedAStarSolver extends MazeSolver {
     int goalRow = goal.row();
     int goalCol = goal.column();
 
-    int size = rows * cols;
-    double[] gScore = new double[size];
-    double[] fScore = new double[size];
-    int[] parent = new int[size];
-    boolean[] closed = new boolean[size];
+    try (SearchWorkspace workspace = borrowWorkspace(maze)) {
+      SearchWorkspace.Layer search = workspace.layer(0);
 
-    Arrays.fill(gScore, Double.POSITIVE_INFINITY);
-    Arrays.fill(fScore, Double.POSITIVE_INFINITY);
-    Arrays.fill(parent, -1);
+      int startIndex = startRow * cols + startCol;
+      search.setG(startIndex, 0.0);
 
-    int startIndex = startRow * cols + startCol;
-    gScore[startIndex] = 0.0;
-    fScore[startIndex] = WEIGHT * calculateHValue(startRow, startCol, goalRow, goalCol);
+      IndexedHeap openList = search.open();
+      openList.insertOrUpdate(startIndex, WEIGHT * calculateHValue(startRow, startCol, goalRow, goalCol));
 
-    PriorityQueue<Node> openList = new PriorityQueue<>();
-    openList.add(new Node(fScore[startIndex], startRow, startCol));
+      int[] dRow = {-1, 1, 0, 0};
+      int[] dCol = {0, 0, 1, -1};
 
-    List<List<MazeCell>> grid = maze.getGrid();
+      int expansions = 0;
 
-    int[] dRow = {-1, 1, 0, 0};
-    int[] dCol = {0, 0, 1, -1};
+      while (!openList.isEmpty()) {
+        int currentIndex = openList.poll();
+        int r = currentIndex / cols;
+        int c = currentIndex % cols;
+        search.close(currentIndex);
 
-    int expansions = 0;
-
-    while (!openList.isEmpty()) {
-      Node current = openList.poll();
-      int r = current.r;
-      int c = current.c;
-      int currentIndex = r * cols + c;
-
-      if (closed[currentIndex]) {
-        continue;
-      }
-      closed[currentIndex] = true;
+        if (r == goalRow && c == goalCol) {
+          return reconstructPath(search, goalRow, goalCol, cols);
+        }
 
-      if (r == goalRow && c == goalCol) {
-        return reconstructPath(parent, goalRow, goalCol, cols);
-      }
+        if (isCancelled()) {
+          throw timedOut(reconstructPath(search, r, c, cols));
+        }
 
-      for (int k = 0; k < 4; k++) {
-        int nr = r + dRow[k];
-        int nc = c + dCol[k];
+        for (int k = 0; k < 4; k++) {
+          int nr = r + dRow[k];
+          int nc = c + dCol[k];
 
-        if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
-          int neighborIndex = nr * cols + nc;
+          if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+            int neighborIndex = nr * cols + nc;
 
-          if (closed[neighborIndex]) {
-            continue;
-          }
+            if (search.isClosed(neighborIndex)) {
+              continue;
+            }
 
-          MazeCell cell = grid.get(nr).get(nc);
-          if (!cell.isWalkable()) {
-            continue;
-          }
+            int stepCost = maze.costAt(neighborIndex);
+            if (stepCost == Maze.WALL) {
+              continue;
+            }
 
-          double stepCost = cell.stepCost();
-          double tentativeG = gScore[currentIndex] + stepCost;
+            double tentativeG = search.g(currentIndex) + stepCost;
 
-          if (tentativeG < gScore[neighborIndex]) {
-            parent[neighborIndex] = currentIndex;
-            gScore[neighborIndex] = tentativeG;
-            double h = calculateHValue(nr, nc, goalRow, goalCol);
-            fScore[neighborIndex] = tentativeG + WEIGHT * h;
-            openList.add(new Node(fScore[neighborIndex], nr, nc));
+            if (tentativeG < search.g(neighborIndex)) {
+              search.setParent(neighborIndex, currentIndex);
+              search.setG(neighborIndex, tentativeG);
+              double h = calculateHValue(nr, nc, goalRow, goalCol);
+              openList.insertOrUpdate(neighborIndex, tentativeG + WEIGHT * h);
+            }
           }
         }
+        expansions++;
       }
-      expansions++;
-    }
 
-    log("Weighted A* exhausted search after expanding " + expansions + " nodes with no path");
-    throw new MazeSolvingException("No path found from start to goal");
+      log("Weighted A* exhausted search after expanding " + expansions + " nodes with no path");
+      throw new MazeSolvingException("No path found from start to goal");
+    }
   }
 
   private double calculateHValue(int r, int c, int gr, int gc) {
     return Math.abs(r - gr) + Math.abs(c - gc);
   }
 
-  private List<Coordinate> reconstructPath(int[] parent, int gr, int gc, int cols) {
+  private List<Coordinate> reconstructPath(SearchWorkspace.Layer search, int gr, int gc, int cols) {
     List<Coordinate> path = new ArrayList<>();
     int currIndex = gr * cols + gc;
 
@@ -117,26 +102,10 @@ public final class WeightedAStarSolver extends MazeSolver {
       int r = currIndex / cols;
       int c = currIndex % cols;
       path.add(new Coordinate(r, c));
-      currIndex = parent[currIndex];
+      currIndex = search.parent(currIndex);
     }
     Collections.reverse(path);
     log("Weighted A* reconstructed path of length " + path.size());
     return path;
   }
-
-  private static class Node implements Comparable<Node> {
-    double f;
-    int r, c;
-
-    Node(double f, int r, int c) {
-      this.f = f;
-      this.r = r;
-      this.c = c;
-    }
-
-    @Override
-    public int compareTo(Node other) {
-      return Double.compare(this.f, other.f);
-    }
-  }
 }
@@ -0,0 +1,312 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Versioned binary maze format, stored as a {@value #EXTENSION} sidecar next
+ * to the text file it was converted from.
+ *
+ * Layout, little-endian:
+ * <pre>
+ *   0  magic "MAZB"
+ *   4  u16 version ({@value #VERSION})
+ *   6  u8  weight width in bytes: 1, 2 or 4
+ *   7  u8  reserved, 0
+ *   8  i32 width
+ *  12  i32 height
+ *  16  i32 start row, start column, goal row, goal column
+ *  32  width * height cells, row-major
+ * </pre>
+ * A cell holds its step cost; walls are all ones (0xFF, 0xFFFF or -1). The
+ * writer picks the narrowest width that fits the largest weight.
+ *
+ * Loading is a header check plus one bulk copy from the mapped file into the
+ * cost array; no text is parsed. The copy is kept on purpose: {@link Maze}
+ * stays backed by a plain {@code int[]} so solver inner loops remain a single
+ * array load rather than a buffer read.
+ */
+public final class BinaryMazeFormat {
+
+  public static final String EXTENSION = ".mzb";
+  public static final int VERSION = 1;
+  static final int HEADER_BYTES = 32;
+
+  private static final int MAGIC = 'M' | 'A' << 8 | 'Z' << 16 | 'B' << 24;
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private BinaryMazeFormat() {
+  }
+
+  /**
+   * Returns the sidecar path for a text maze, e.g. {@code m100_100.txt} to
+   * {@code m100_100.mzb}.
+   */
+  public static Path sidecarFor(Path textFile) {
+    Objects.requireNonNull(textFile, "textFile cannot be null");
+    return textFile.resolveSibling(sidecarName(textFile.getFileName().toString()));
+  }
+
+  public static String sidecarName(String textFileName) {
+    Objects.requireNonNull(textFileName, "textFileName cannot be null");
+    int dot = textFileName.lastIndexOf('.');
+    return (dot > 0 ? textFileName.substring(0, dot) : textFileName) + EXTENSION;
+  }
+
+  /**
+   * Reports whether {@code textFile} has a sidecar that is not older than the
+   * text itself, so an edited maze is never served from a stale sidecar.
+   */
+  public static boolean hasFreshSidecar(Path textFile) {
+    Path sidecar = sidecarFor(textFile);
+    try {
+      return Files.isRegularFile(sidecar)
+          && Files.getLastModifiedTime(sidecar).compareTo(Files.getLastModifiedTime(textFile)) >= 0;
+    } catch (IOException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Parses {@code textFile} and writes its sidecar, returning the sidecar
+   * path.
+   */
+  public static Path convert(Path textFile) {
+    Path sidecar = sidecarFor(textFile);
+    write(MazeFileLoader.load(textFile), sidecar);
+    return sidecar;
+  }
+
+  /**
+   * Writes {@code maze} to a temporary file next to {@code file} and moves it
+   * into place, so an interrupted write never leaves a truncated sidecar that
+   * looks fresh.
+   */
+  public static void write(Maze maze, Path file) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(file, "file cannot be null");
+    Path absolute = file.toAbsolutePath();
+    Path temporary;
+    try {
+      temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to write binary maze: " + file, exception);
+    }
+    try {
+      writeCells(maze, temporary);
+      try {
+        Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to write binary maze: " + file, exception);
+    } finally {
+      try {
+        Files.deleteIfExists(temporary);
+      } catch (IOException ignored) {
+        // Only a leftover temporary file; the sidecar itself is untouched
+      }
+    }
+  }
+
+  private static void writeCells(Maze maze, Path file) throws IOException {
+    int weightBytes = weightBytesFor(maze);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC)
+          .putShort((short) VERSION)
+          .put((byte) weightBytes)
+          .put((byte) 0)
+          .putInt(maze.getWidth())
+          .putInt(maze.getHeight())
+          .putInt(maze.getStart().row())
+          .putInt(maze.getStart().column())
+          .putInt(maze.getGoal().row())
+          .putInt(maze.getGoal().column());
+      for (int index = 0; index < maze.getCellCount(); index++) {
+        if (buffer.remaining() < weightBytes) {
+          drain(channel, buffer);
+        }
+        int cost = maze.costAt(index);
+        switch (weightBytes) {
+          case 1 -> buffer.put((byte) cost);
+          case 2 -> buffer.putShort((short) cost);
+          default -> buffer.putInt(cost);
+        }
+      }
+      drain(channel, buffer);
+      channel.force(false);
+    }
+  }
+
+  public static Maze read(Path file) {
+    Objects.requireNonNull(file, "file cannot be null");
+    return read(file.getFileName().toString(), file);
+  }
+
+  /**
+   * Maps {@code file} and loads it as maze {@code name}.
+   */
+  public static Maze read(String name, Path file) {
+    Objects.requireNonNull(file, "file cannot be null");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(name, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read binary maze: " + file, exception);
+    }
+  }
+
+  /**
+   * Loads a binary maze from the bytes between the buffer's position and
+   * limit, without moving its position.
+   */
+  public static Maze read(String name, ByteBuffer buffer) {
+    Header header = readHeader(name, buffer);
+    int cellCount = header.cellCount();
+    int[] costs = new int[cellCount];
+    ByteBuffer cells = header.cells();
+    switch (header.weightBytes()) {
+      case 1 -> {
+        for (int index = 0; index < cellCount; index++) {
+          int cost = Byte.toUnsignedInt(cells.get(index));
+          costs[index] = cost == 0xFF ? Maze.WALL : cost;
+        }
+      }
+      case 2 -> {
+        for (int index = 0; index < cellCount; index++) {
+          int cost = Short.toUnsignedInt(cells.getShort(index * 2));
+          costs[index] = cost == 0xFFFF ? Maze.WALL : cost;
+        }
+      }
+      default -> {
+        cells.asIntBuffer().get(costs);
+        for (int cost : costs) {
+          if (cost < Maze.WALL) {
+            throw new IllegalArgumentException("Maze weights must be non-negative: " + cost);
+          }
+        }
+      }
+    }
+    Maze maze = Maze.wrap(name, header.width(), header.height(), costs, header.start(), header.goal());
+    if (!maze.isWalkable(maze.getStartIndex()) || !maze.isWalkable(maze.getGoalIndex())) {
+      throw new IllegalArgumentException("Start and goal cells must be walkable: " + name);
+    }
+    return maze;
+  }
+
+  /**
+   * Reads the header and tallies the packed cells for {@link MazeCatalog}
+   * without allocating a cost array.
+   */
+  public static MazeMetadata readMetadata(String name, ByteBuffer buffer, long fileSizeBytes) {
+    Header header = readHeader(name, buffer);
+    ByteBuffer cells = header.cells();
+    int weightBytes = header.weightBytes();
+    long walkable = 0;
+    int minWeight = Integer.MAX_VALUE;
+    int maxWeight = 0;
+    for (int index = 0; index < header.cellCount(); index++) {
+      int cost = switch (weightBytes) {
+        case 1 -> {
+          int value = Byte.toUnsignedInt(cells.get(index));
+          yield value == 0xFF ? Maze.WALL : value;
+        }
+        case 2 -> {
+          int value = Short.toUnsignedInt(cells.getShort(index * 2));
+          yield value == 0xFFFF ? Maze.WALL : value;
+        }
+        default -> cells.getInt(index * 4);
+      };
+      if (cost < Maze.WALL) {
+        throw new IllegalArgumentException("Maze weights must be non-negative: " + cost);
+      }
+      if (cost != Maze.WALL) {
+        walkable++;
+        minWeight = Math.min(minWeight, cost);
+        maxWeight = Math.max(maxWeight, cost);
+      }
+    }
+    return new MazeMetadata(name, header.width(), header.height(), header.start(), header.goal(), walkable,
+        walkable == 0 ? 0 : minWeight, maxWeight, fileSizeBytes);
+  }
+
+  private static Header readHeader(String name, ByteBuffer buffer) {
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(buffer, "buffer cannot be null");
+    ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (data.remaining() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Not a binary maze: " + name);
+    }
+    int version = Short.toUnsignedInt(data.getShort(4));
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported binary maze version " + version + ": " + name);
+    }
+    int weightBytes = data.get(6);
+    int width = data.getInt(8);
+    int height = data.getInt(12);
+    if (weightBytes != 1 && weightBytes != 2 && weightBytes != 4) {
+      throw new IllegalArgumentException("Invalid weight width " + weightBytes + ": " + name);
+    }
+    if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Invalid binary maze dimensions " + width + "x" + height + ": " + name);
+    }
+    long cellBytes = (long) width * height * weightBytes;
+    if (cellBytes > Integer.MAX_VALUE - HEADER_BYTES) {
+      throw new IllegalArgumentException("Binary maze too large to map: " + name);
+    }
+    if (data.remaining() != HEADER_BYTES + cellBytes) {
+      throw new IllegalArgumentException("Truncated binary maze: " + name);
+    }
+    Coordinate start = new Coordinate(data.getInt(16), data.getInt(20));
+    Coordinate goal = new Coordinate(data.getInt(24), data.getInt(28));
+    for (Coordinate endpoint : new Coordinate[] {start, goal}) {
+      if (endpoint.row() < 0 || endpoint.row() >= height || endpoint.column() < 0 || endpoint.column() >= width) {
+        throw new IllegalArgumentException("Coordinate " + endpoint + " is outside maze bounds");
+      }
+    }
+    ByteBuffer cells = data.slice(HEADER_BYTES, (int) cellBytes).order(ByteOrder.LITTLE_ENDIAN);
+    return new Header(width, height, weightBytes, start, goal, cells);
+  }
+
+  /**
+   * Bytes per cell needed to hold every weight of {@code maze} below that
+   * width's wall value.
+   */
+  static int weightBytesFor(Maze maze) {
+    int maxWeight = 0;
+    for (int index = 0; index < maze.getCellCount(); index++) {
+      maxWeight = Math.max(maxWeight, maze.costAt(index));
+    }
+    if (maxWeight < 0xFF) {
+      return 1;
+    }
+    return maxWeight < 0xFFFF ? 2 : 4;
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private record Header(int width, int height, int weightBytes, Coordinate start, Coordinate goal,
+      ByteBuffer cells) {
+
+    int cellCount() {
+      return width * height;
+    }
+  }
+}
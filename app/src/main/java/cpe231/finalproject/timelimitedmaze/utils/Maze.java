@@ -1,33 +1,116 @@
 package cpe231.finalproject.timelimitedmaze.utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalInt;
 
-public final class Maze {
+/**
+ * Immutable maze backed by a flat, row-major cost array.
+ *
+ * Each cell stores its step cost, or {@link #WALL} for blocked cells, so
+ * solvers can read walkability and cost with a single array load through
+ * {@link #costAt(int)}. The {@link MazeCell} list view returned by
+ * {@link #getGrid()} is derived lazily for the GUI and other callers that
+ * still work with cell records.
+ */
+public final class Maze implements MazeGrid {
+
+  public static final int WALL = -1;
 
   private final String name;
-  private final List<List<MazeCell>> grid;
+  private final int[] costs;
   private final int width;
   private final int height;
   private final Coordinate start;
   private final Coordinate goal;
+  private final int startIndex;
+  private final int goalIndex;
+  private final long fingerprint;
+  private volatile List<List<MazeCell>> grid;
 
   public Maze(String name, List<List<MazeCell>> grid, Coordinate start, Coordinate goal) {
     this.name = Objects.requireNonNull(name, "name cannot be null");
-    this.grid = List.copyOf(grid).stream()
-        .map(List::copyOf)
-        .toList();
-    if (this.grid.isEmpty()) {
+    Objects.requireNonNull(grid, "grid cannot be null");
+    if (grid.isEmpty()) {
       throw new IllegalArgumentException("Maze grid cannot be empty");
     }
-    this.height = this.grid.size();
-    this.width = this.grid.getFirst().size();
-    boolean rectangular = this.grid.stream().allMatch(row -> row.size() == width);
+    this.height = grid.size();
+    this.width = grid.getFirst().size();
+    boolean rectangular = grid.stream().allMatch(row -> row.size() == width);
     if (!rectangular) {
       throw new IllegalArgumentException("Maze grid must be rectangular");
     }
     this.start = Objects.requireNonNull(start, "start cannot be null");
     this.goal = Objects.requireNonNull(goal, "goal cannot be null");
+    this.costs = new int[width * height];
+    for (int row = 0; row < height; row++) {
+      List<MazeCell> cells = grid.get(row);
+      for (int column = 0; column < width; column++) {
+        MazeCell cell = Objects.requireNonNull(cells.get(column), "cell cannot be null");
+        if (cell.stepCost() < 0) {
+          throw new IllegalArgumentException("Maze weights must be non-negative: " + cell.rawToken());
+        }
+        costs[row * width + column] = cell.isWalkable() ? cell.stepCost() : WALL;
+      }
+    }
+    this.startIndex = indexOf(start);
+    this.goalIndex = indexOf(goal);
+    this.fingerprint = MazeFingerprint.of(width, height, costs, startIndex, goalIndex);
+  }
+
+  public Maze(String name, int width, int height, int[] costs, Coordinate start, Coordinate goal) {
+    this(name, width, height, costs, start, goal, true);
+  }
+
+  private Maze(String name, int width, int height, int[] costs, Coordinate start, Coordinate goal,
+      boolean copyCosts) {
+    this.name = Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(costs, "costs cannot be null");
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Maze grid cannot be empty");
+    }
+    if ((long) width * height != costs.length) {
+      throw new IllegalArgumentException("Maze grid must be rectangular");
+    }
+    this.width = width;
+    this.height = height;
+    this.costs = copyCosts ? costs.clone() : costs;
+    this.start = Objects.requireNonNull(start, "start cannot be null");
+    this.goal = Objects.requireNonNull(goal, "goal cannot be null");
+    this.startIndex = indexOf(start);
+    this.goalIndex = indexOf(goal);
+    this.fingerprint = MazeFingerprint.of(width, height, this.costs, startIndex, goalIndex);
+  }
+
+  private Maze(String name, Maze content) {
+    this.name = Objects.requireNonNull(name, "name cannot be null");
+    this.width = content.width;
+    this.height = content.height;
+    this.costs = content.costs;
+    this.start = content.start;
+    this.goal = content.goal;
+    this.startIndex = content.startIndex;
+    this.goalIndex = content.goalIndex;
+    this.fingerprint = content.fingerprint;
+    this.grid = content.grid;
+  }
+
+  /**
+   * Wraps a cost array owned by the caller without copying it. Only used by
+   * loaders in this package that hand over a freshly built array.
+   */
+  static Maze wrap(String name, int width, int height, int[] costs, Coordinate start, Coordinate goal) {
+    return new Maze(name, width, height, costs, start, goal, false);
+  }
+
+  /**
+   * Returns this maze under {@code name}, sharing the cost array rather than
+   * copying it.
+   */
+  Maze withName(String name) {
+    return this.name.equals(name) ? this : new Maze(name, this);
   }
 
   public String getName() {
@@ -50,13 +133,130 @@ public final class Maze {
     return goal;
   }
 
+  public int getCellCount() {
+    return costs.length;
+  }
+
+  public int getStartIndex() {
+    return startIndex;
+  }
+
+  public int getGoalIndex() {
+    return goalIndex;
+  }
+
+  public int indexOf(int row, int column) {
+    return row * width + column;
+  }
+
+  public int indexOf(Coordinate coordinate) {
+    Objects.requireNonNull(coordinate, "coordinate cannot be null");
+    if (!isWithinBounds(coordinate.row(), coordinate.column())) {
+      throw new IllegalArgumentException("Coordinate " + coordinate + " is outside maze bounds");
+    }
+    return indexOf(coordinate.row(), coordinate.column());
+  }
+
+  public Coordinate coordinateOf(int index) {
+    return new Coordinate(index / width, index % width);
+  }
+
+  public boolean isWithinBounds(int row, int column) {
+    return row >= 0 && row < height && column >= 0 && column < width;
+  }
+
+  /**
+   * Returns the step cost of the cell at {@code index}, or {@link #WALL} if the
+   * cell is blocked.
+   */
+  public int costAt(int index) {
+    return costs[index];
+  }
+
+  public int costAt(int row, int column) {
+    return costs[row * width + column];
+  }
+
+  public boolean isWalkable(int index) {
+    return costs[index] != WALL;
+  }
+
+  public boolean isWalkable(int row, int column) {
+    return costs[row * width + column] != WALL;
+  }
+
+  /**
+   * 64-bit hash of the dimensions, start, goal and cell costs, computed
+   * when the maze is built. Mazes with equal content have equal
+   * fingerprints whatever their names or source formats, which makes this a
+   * cheap cache key for anything derived from the maze alone.
+   */
+  public long getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Whether {@code other} has the same dimensions, start, goal and costs.
+   * Names are ignored.
+   */
+  public boolean hasSameContent(Maze other) {
+    return other == this || (other.fingerprint == fingerprint
+        && other.width == width
+        && other.height == height
+        && other.startIndex == startIndex
+        && other.goalIndex == goalIndex
+        && Arrays.equals(other.costs, costs));
+  }
+
+  public int[] copyCosts() {
+    return costs.clone();
+  }
+
+  /**
+   * Approximate heap footprint of this maze: the object, its name, endpoints
+   * and cost array. The lazily built {@link #getGrid()} view is not counted.
+   */
+  public long estimatedRetainedBytes() {
+    return 128L + 2L * name.length() + 16L + 4L * costs.length;
+  }
+
   public List<List<MazeCell>> getGrid() {
-    return grid;
+    List<List<MazeCell>> view = grid;
+    if (view == null) {
+      view = buildGrid();
+      grid = view;
+    }
+    return view;
   }
 
   public MazeCell getCell(Coordinate coordinate) {
-    Objects.requireNonNull(coordinate, "coordinate cannot be null");
-    return grid.get(coordinate.row()).get(coordinate.column());
+    return cellAt(indexOf(coordinate));
+  }
+
+  private MazeCell cellAt(int index) {
+    if (index == startIndex) {
+      return new MazeCell(MazeCellType.START, "S", OptionalInt.empty());
+    }
+    if (index == goalIndex) {
+      return new MazeCell(MazeCellType.GOAL, "G", OptionalInt.empty());
+    }
+    int cost = costs[index];
+    if (cost == WALL) {
+      return new MazeCell(MazeCellType.WALL, "#", OptionalInt.empty());
+    }
+    return new MazeCell(MazeCellType.WEIGHTED, Integer.toString(cost), OptionalInt.of(cost));
+  }
+
+  private List<List<MazeCell>> buildGrid() {
+    List<List<MazeCell>> rows = new ArrayList<>(height);
+    for (int row = 0; row < height; row++) {
+      List<MazeCell> cells = new ArrayList<>(width);
+      for (int column = 0; column < width; column++) {
+        cells.add(cellAt(indexOf(row, column)));
+      }
+      rows.add(List.copyOf(cells));
+    }
+    return List.copyOf(rows);
   }
 
   @Override
@@ -74,22 +274,24 @@ public final class Maze {
         .append(goal)
         .append('}');
 
-    for (List<MazeCell> row : grid) {
+    for (int row = 0; row < height; row++) {
       builder.append(System.lineSeparator());
-      for (MazeCell cell : row) {
-        builder.append(toToken(cell));
+      for (int column = 0; column < width; column++) {
+        builder.append(toToken(indexOf(row, column)));
       }
     }
 
     return builder.toString();
   }
 
-  private String toToken(MazeCell cell) {
-    return switch (cell.type()) {
-      case WALL -> "#";
-      case START -> "S";
-      case GOAL -> "G";
-      case WEIGHTED -> "\"" + cell.rawToken() + "\"";
-    };
+  private String toToken(int index) {
+    if (index == startIndex) {
+      return "S";
+    }
+    if (index == goalIndex) {
+      return "G";
+    }
+    int cost = costs[index];
+    return cost == WALL ? "#" : "\"" + cost + "\"";
   }
 }
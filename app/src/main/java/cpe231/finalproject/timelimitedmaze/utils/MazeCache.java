@@ -0,0 +1,322 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of loaded mazes.
+ *
+ * Entries are weighed by {@link Maze#estimatedRetainedBytes()} and the total
+ * is kept under a byte budget. Eviction is least-recently-used, guarded by a
+ * TinyLFU-style admission check: a newly loaded maze only displaces entries
+ * that have not been requested more often than it has, according to a small
+ * frequency sketch of recent requests. A one-off scan over many mazes
+ * therefore cannot flush the mazes that are used repeatedly.
+ *
+ * With soft values enabled, evicted and rejected mazes move to a
+ * {@link SoftReference} tier that the garbage collector may clear under
+ * memory pressure; a request that finds one there promotes it back.
+ *
+ * Concurrent requests for a key that is being loaded wait for that load
+ * instead of starting their own. Failed loads are not cached.
+ */
+public final class MazeCache {
+
+  private final long maxWeightedBytes;
+  private final boolean softValues;
+  private final Function<String, Maze> loader;
+
+  private final LinkedHashMap<String, Maze> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, SoftEntry> softEntries = new HashMap<>();
+  private final ReferenceQueue<Maze> clearedSoftEntries = new ReferenceQueue<>();
+  private final FrequencySketch sketch = new FrequencySketch();
+  private final Map<String, CompletableFuture<Maze>> loading = new ConcurrentHashMap<>();
+
+  private long weightedBytes;
+  private long hitCount;
+  private long softHitCount;
+  private long missCount;
+  private long loadCount;
+  private long loadFailureCount;
+  private long totalLoadNanos;
+  private long evictionCount;
+  private long rejectionCount;
+
+  public MazeCache(long maxWeightedBytes, boolean softValues, Function<String, Maze> loader) {
+    if (maxWeightedBytes < 0) {
+      throw new IllegalArgumentException("maxWeightedBytes cannot be negative");
+    }
+    this.maxWeightedBytes = maxWeightedBytes;
+    this.softValues = softValues;
+    this.loader = Objects.requireNonNull(loader, "loader cannot be null");
+  }
+
+  /**
+   * Returns the cached maze for {@code key}, loading it on a miss. Errors
+   * from the loader are rethrown to every waiting caller.
+   */
+  public Maze get(String key) {
+    Objects.requireNonNull(key, "key cannot be null");
+    Maze cached = lookup(key, true);
+    if (cached != null) {
+      return cached;
+    }
+
+    CompletableFuture<Maze> load = new CompletableFuture<>();
+    CompletableFuture<Maze> pending = loading.putIfAbsent(key, load);
+    if (pending != null) {
+      return join(pending);
+    }
+    try {
+      Maze maze = lookup(key, false);
+      if (maze == null) {
+        maze = load(key);
+      }
+      load.complete(maze);
+      return maze;
+    } catch (RuntimeException | Error e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      loading.remove(key, load);
+    }
+  }
+
+  /**
+   * Returns the maze for {@code key} if it is cached, without loading it or
+   * counting a request.
+   */
+  public synchronized Maze getIfPresent(String key) {
+    Maze maze = entries.get(key);
+    if (maze == null) {
+      SoftEntry soft = softEntries.get(key);
+      maze = soft == null ? null : soft.get();
+    }
+    return maze;
+  }
+
+  public synchronized void invalidate(String key) {
+    Maze removed = entries.remove(key);
+    if (removed != null) {
+      weightedBytes -= removed.estimatedRetainedBytes();
+    }
+    softEntries.remove(key);
+  }
+
+  /**
+   * Drops every entry. Counters are kept.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    softEntries.clear();
+    weightedBytes = 0;
+  }
+
+  public long getMaxWeightedBytes() {
+    return maxWeightedBytes;
+  }
+
+  public boolean hasSoftValues() {
+    return softValues;
+  }
+
+  public synchronized MazeCacheStats stats() {
+    return new MazeCacheStats(hitCount, softHitCount, missCount, loadCount, loadFailureCount, totalLoadNanos,
+        evictionCount, rejectionCount, entries.size(), weightedBytes, maxWeightedBytes);
+  }
+
+  /**
+   * Finds {@code key} in either tier, promoting soft hits. Only a counted
+   * lookup records the request in the stats and the frequency sketch.
+   */
+  private synchronized Maze lookup(String key, boolean count) {
+    if (count) {
+      sketch.increment(key);
+    }
+    Maze maze = entries.get(key);
+    if (maze != null) {
+      if (count) {
+        hitCount++;
+      }
+      return maze;
+    }
+    purgeClearedSoftEntries();
+    SoftEntry soft = softEntries.get(key);
+    maze = soft == null ? null : soft.get();
+    if (maze != null) {
+      softEntries.remove(key);
+      if (count) {
+        softHitCount++;
+      }
+      admit(key, maze);
+      return maze;
+    }
+    if (count) {
+      missCount++;
+    }
+    return null;
+  }
+
+  private Maze load(String key) {
+    long startNs = System.nanoTime();
+    Maze maze;
+    try {
+      maze = Objects.requireNonNull(loader.apply(key), "loader returned null for " + key);
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        loadFailureCount++;
+        totalLoadNanos += System.nanoTime() - startNs;
+      }
+      throw e;
+    }
+    synchronized (this) {
+      loadCount++;
+      totalLoadNanos += System.nanoTime() - startNs;
+      admit(key, maze);
+    }
+    return maze;
+  }
+
+  /**
+   * Inserts {@code maze} if it fits the budget and is at least as frequently
+   * requested as every least-recently-used entry it would displace.
+   */
+  private void admit(String key, Maze maze) {
+    long weight = maze.estimatedRetainedBytes();
+    Maze previous = entries.remove(key);
+    if (previous != null) {
+      weightedBytes -= previous.estimatedRetainedBytes();
+    }
+    if (weight > maxWeightedBytes) {
+      reject(key, maze);
+      return;
+    }
+
+    long excess = weightedBytes + weight - maxWeightedBytes;
+    List<String> victims = new ArrayList<>();
+    if (excess > 0) {
+      int frequency = sketch.frequency(key);
+      Iterator<Map.Entry<String, Maze>> eldest = entries.entrySet().iterator();
+      while (excess > 0 && eldest.hasNext()) {
+        Map.Entry<String, Maze> victim = eldest.next();
+        if (sketch.frequency(victim.getKey()) > frequency) {
+          reject(key, maze);
+          return;
+        }
+        victims.add(victim.getKey());
+        excess -= victim.getValue().estimatedRetainedBytes();
+      }
+    }
+
+    for (String victim : victims) {
+      Maze evicted = entries.remove(victim);
+      weightedBytes -= evicted.estimatedRetainedBytes();
+      evictionCount++;
+      retainSoftly(victim, evicted);
+    }
+    entries.put(key, maze);
+    weightedBytes += weight;
+  }
+
+  private void reject(String key, Maze maze) {
+    rejectionCount++;
+    retainSoftly(key, maze);
+  }
+
+  private void retainSoftly(String key, Maze maze) {
+    if (softValues) {
+      softEntries.put(key, new SoftEntry(key, maze, clearedSoftEntries));
+    }
+  }
+
+  private void purgeClearedSoftEntries() {
+    for (Object cleared; (cleared = clearedSoftEntries.poll()) != null; ) {
+      SoftEntry entry = (SoftEntry) cleared;
+      softEntries.remove(entry.key, entry);
+    }
+  }
+
+  private static Maze join(CompletableFuture<Maze> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException exception) {
+      Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw exception;
+    }
+  }
+
+  private static final class SoftEntry extends SoftReference<Maze> {
+
+    private final String key;
+
+    SoftEntry(String key, Maze maze, ReferenceQueue<Maze> queue) {
+      super(maze, queue);
+      this.key = key;
+    }
+  }
+
+  /**
+   * Count-min sketch of request frequencies: four counters per key, each
+   * capped at 15. All counters are halved periodically so that the sketch
+   * follows recent popularity rather than all-time totals.
+   */
+  private static final class FrequencySketch {
+
+    private static final int TABLE_SIZE = 4096;
+    private static final int RESET_INTERVAL = 10 * TABLE_SIZE;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final byte[] counters = new byte[TABLE_SIZE];
+    private int additions;
+
+    void increment(String key) {
+      int hash = key.hashCode();
+      boolean added = false;
+      for (int seed : SEEDS) {
+        int slot = slot(hash, seed);
+        if (counters[slot] < 15) {
+          counters[slot]++;
+          added = true;
+        }
+      }
+      if (added && ++additions >= RESET_INTERVAL) {
+        for (int slot = 0; slot < TABLE_SIZE; slot++) {
+          counters[slot] >>= 1;
+        }
+        additions /= 2;
+      }
+    }
+
+    int frequency(String key) {
+      int hash = key.hashCode();
+      int frequency = 15;
+      for (int seed : SEEDS) {
+        frequency = Math.min(frequency, counters[slot(hash, seed)]);
+      }
+      return frequency;
+    }
+
+    private static int slot(int hash, int seed) {
+      int mixed = (hash ^ seed) * 0x45D9F3B;
+      mixed ^= mixed >>> 16;
+      return mixed & (TABLE_SIZE - 1);
+    }
+  }
+}
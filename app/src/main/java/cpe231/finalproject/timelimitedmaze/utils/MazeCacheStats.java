@@ -0,0 +1,45 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+/**
+ * Point-in-time counters of a {@link MazeCache}.
+ *
+ * A request that waited on another thread's load of the same maze counts as
+ * a miss but not as a load, so {@code missCount - loadCount - loadFailureCount}
+ * is the number of coalesced requests.
+ */
+public record MazeCacheStats(
+    long hitCount,
+    long softHitCount,
+    long missCount,
+    long loadCount,
+    long loadFailureCount,
+    long totalLoadNanos,
+    long evictionCount,
+    long rejectionCount,
+    int entryCount,
+    long weightedBytes,
+    long maxWeightedBytes) {
+
+  public long requestCount() {
+    return hitCount + softHitCount + missCount;
+  }
+
+  public double hitRate() {
+    long requests = requestCount();
+    return requests == 0 ? 1.0 : (double) (hitCount + softHitCount) / requests;
+  }
+
+  public double averageLoadMillis() {
+    long loads = loadCount + loadFailureCount;
+    return loads == 0 ? 0.0 : totalLoadNanos / 1_000_000.0 / loads;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "hits=%d (soft %d), misses=%d, loads=%d, failures=%d, avg load=%.3f ms, evictions=%d, rejections=%d,"
+            + " entries=%d, %d/%d bytes",
+        hitCount, softHitCount, missCount, loadCount, loadFailureCount, averageLoadMillis(), evictionCount,
+        rejectionCount, entryCount, weightedBytes, maxWeightedBytes);
+  }
+}
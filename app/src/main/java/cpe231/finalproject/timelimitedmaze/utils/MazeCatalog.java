@@ -0,0 +1,192 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Discovers maze files and describes them without loading them.
+ *
+ * Names come from the bundled {@code maze/} resources and the
+ * {@link MazeStore#getMazeDirectory() maze directory}; listing only reads
+ * directory entries. {@link #getMetadata(String)} scans a maze once, through
+ * {@link MazeParser#scanMetadata} or a {@link BinaryMazeFormat} sidecar, and
+ * caches the result. Entries for files on disk are rescanned when the file
+ * that would be loaded changes, so the catalog stays in step with
+ * {@link MazeStore}.
+ */
+public final class MazeCatalog {
+
+  private static final MazeParser PARSER = new MazeParser();
+  private static final Map<String, Entry> METADATA = new ConcurrentHashMap<>();
+
+  private static volatile List<String> bundledMazes;
+
+  private MazeCatalog() {
+  }
+
+  /**
+   * Bundled mazes plus those in the maze directory, sorted by name.
+   */
+  public static List<String> listMazes() {
+    TreeSet<String> names = new TreeSet<>(listBundledMazes());
+    MazeStore.getMazeDirectory().ifPresent(directory -> names.addAll(listMazes(directory)));
+    return List.copyOf(names);
+  }
+
+  /**
+   * Lists the {@code .txt} maze files directly inside {@code directory}, by
+   * name.
+   */
+  public static List<String> listMazes(Path directory) {
+    Objects.requireNonNull(directory, "directory cannot be null");
+    try (Stream<Path> entries = Files.list(directory)) {
+      return entries
+          .filter(Files::isRegularFile)
+          .map(path -> path.getFileName().toString())
+          .filter(name -> name.endsWith(".txt"))
+          .sorted()
+          .toList();
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to list maze directory: " + directory, exception);
+    }
+  }
+
+  /**
+   * Returns the cached metadata for {@code name}, scanning it on first use.
+   * Throws the same {@link IllegalArgumentException} a load would for a
+   * malformed maze.
+   */
+  public static MazeMetadata getMetadata(String name) {
+    Objects.requireNonNull(name, "name cannot be null");
+    MazeSource source = MazeSource.resolve(name);
+    Entry entry = METADATA.get(name);
+    if (entry == null || !entry.source().equals(source)) {
+      entry = scan(name, source);
+      METADATA.put(name, entry);
+    }
+    if (entry.error() != null) {
+      throw entry.error();
+    }
+    return entry.metadata();
+  }
+
+  public static boolean isValid(String name) {
+    try {
+      getMetadata(name);
+      return true;
+    } catch (IllegalArgumentException | UncheckedIOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks every name in parallel on {@link MazeStore#getLoadExecutor()},
+   * returning validity by name in the order given.
+   */
+  public static Map<String, Boolean> validateAll(Collection<String> names) {
+    Executor executor = MazeStore.getLoadExecutor();
+    Map<String, CompletableFuture<Boolean>> checks = new LinkedHashMap<>();
+    for (String name : names) {
+      checks.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> isValid(key), executor));
+    }
+    Map<String, Boolean> validity = new LinkedHashMap<>();
+    checks.forEach((name, check) -> validity.put(name, check.join()));
+    return validity;
+  }
+
+  public static void clear() {
+    METADATA.clear();
+    bundledMazes = null;
+  }
+
+  private static List<String> listBundledMazes() {
+    List<String> names = bundledMazes;
+    if (names == null) {
+      names = MazeReader.listMazes();
+      bundledMazes = names;
+    }
+    return names;
+  }
+
+  private static Entry scan(String name, MazeSource source) {
+    try {
+      return new Entry(source, scanSource(name, source), null);
+    } catch (IllegalArgumentException | UncheckedIOException e) {
+      return new Entry(source, null, e);
+    }
+  }
+
+  private static MazeMetadata scanSource(String name, MazeSource source) {
+    if (source.isFile()) {
+      if (source.isBinary()) {
+        try {
+          return scanFile(name, source.file(), true);
+        } catch (IllegalArgumentException damagedSidecar) {
+          // A bad header or length means the sidecar is damaged; the text is authoritative
+        }
+      }
+      return scanFile(name, source.textFile(), false);
+    }
+
+    String sidecar = BinaryMazeFormat.sidecarName(name);
+    if (!sidecar.equals(name) && MazeReader.hasMaze(sidecar)) {
+      try {
+        return scanResource(name, sidecar, true);
+      } catch (IllegalArgumentException damagedSidecar) {
+        if (!MazeReader.hasMaze(name)) {
+          throw damagedSidecar;
+        }
+      }
+    }
+    return scanResource(name, name, false);
+  }
+
+  private static MazeMetadata scanFile(String name, Path file, boolean binary) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (!binary && size > Integer.MAX_VALUE) {
+        return PARSER.scanMetadata(name, Channels.newInputStream(channel), size);
+      }
+      ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      return binary
+          ? BinaryMazeFormat.readMetadata(name, mapped, size)
+          : PARSER.scanMetadata(name, mapped, size);
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read maze file: " + file, exception);
+    }
+  }
+
+  private static MazeMetadata scanResource(String name, String resource, boolean binary) {
+    long size = MazeReader.resourceSize(resource);
+    try (InputStream input = MazeReader.openMaze(resource)) {
+      return binary
+          ? BinaryMazeFormat.readMetadata(name, ByteBuffer.wrap(input.readAllBytes()), size)
+          : PARSER.scanMetadata(name, input, size);
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read maze file: " + resource, exception);
+    }
+  }
+
+  /**
+   * A scan result, or the error it failed with, for the source it came from.
+   */
+  private record Entry(MazeSource source, MazeMetadata metadata, RuntimeException error) {
+  }
+}
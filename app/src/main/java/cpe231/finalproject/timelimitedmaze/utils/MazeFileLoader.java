@@ -0,0 +1,108 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads text mazes from the filesystem through memory-mapped I/O.
+ *
+ * The file is mapped read-only with {@link FileChannel#map} and parsed
+ * straight from the mapping, so it is never copied into a heap byte array.
+ * Files of {@value #PARALLEL_THRESHOLD_BYTES} bytes or more are cut at line
+ * breaks into one mapped segment per core and parsed with
+ * {@link MazeParser#parseSegments}; segments are also capped below the 2 GB
+ * limit of a single mapping.
+ */
+public final class MazeFileLoader {
+
+  static final long PARALLEL_THRESHOLD_BYTES = 16L * 1024 * 1024;
+  private static final long MAX_SEGMENT_BYTES = 1L << 30;
+  private static final int BOUNDARY_PROBE_BYTES = 4096;
+
+  private static final MazeParser PARSER = new MazeParser();
+
+  private MazeFileLoader() {
+  }
+
+  public static Maze load(Path path) {
+    Objects.requireNonNull(path, "path cannot be null");
+    return load(path.getFileName().toString(), path);
+  }
+
+  public static Maze load(String name, Path path) {
+    return load(name, path, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Loads {@code path} as maze {@code name}, splitting a large file into at
+   * most {@code parallelism} segments (more only when a segment would exceed
+   * the mapping limit).
+   */
+  public static Maze load(String name, Path path, int parallelism) {
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(path, "path cannot be null");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+    if (!Files.isRegularFile(path)) {
+      throw new IllegalArgumentException("Maze file not found: " + path);
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0) {
+        throw new IllegalArgumentException("Maze lines cannot be null or empty");
+      }
+      if (size < PARALLEL_THRESHOLD_BYTES) {
+        return PARSER.parse(name, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+      }
+
+      int segmentCount = (int) Math.max(
+          Math.min(parallelism, size / (PARALLEL_THRESHOLD_BYTES / 2)),
+          (size + MAX_SEGMENT_BYTES - 1) / MAX_SEGMENT_BYTES);
+      List<ByteBuffer> segments = new ArrayList<>(segmentCount);
+      long segmentStart = 0;
+      for (int index = 1; index <= segmentCount && segmentStart < size; index++) {
+        long segmentEnd = index == segmentCount ? size : lineBoundaryAfter(channel, size * index / segmentCount);
+        if (segmentEnd > segmentStart) {
+          segments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentEnd - segmentStart));
+          segmentStart = segmentEnd;
+        }
+      }
+      return PARSER.parseSegments(name, segments);
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read maze file: " + path, exception);
+    }
+  }
+
+  /**
+   * Returns the offset just past the first line break at or after
+   * {@code position}, or the file size when there is none.
+   */
+  private static long lineBoundaryAfter(FileChannel channel, long position) throws IOException {
+    ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_BYTES);
+    long offset = position;
+    while (true) {
+      probe.clear();
+      int read = channel.read(probe, offset);
+      if (read <= 0) {
+        return channel.size();
+      }
+      for (int index = 0; index < read; index++) {
+        byte value = probe.get(index);
+        if (value == '\n' || value == '\r') {
+          return offset + index + 1;
+        }
+      }
+      offset += read;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+/**
+ * 64-bit content hash of a maze: dimensions, start, goal and every cell
+ * cost, but not the name.
+ *
+ * The cost array is consumed two cells at a time in four independent
+ * xxHash64-style lanes, so the hash runs at close to memory bandwidth. It is
+ * not cryptographic; callers that deduplicate on it confirm a match with
+ * {@link Maze#hasSameContent(Maze)}.
+ */
+final class MazeFingerprint {
+
+  private static final long P1 = 0x9E3779B185EBCA87L;
+  private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long P3 = 0x165667B19E3779F9L;
+  private static final long P4 = 0x85EBCA77C2B2AE63L;
+  private static final long P5 = 0x27D4EB2F165667C5L;
+
+  private MazeFingerprint() {
+  }
+
+  static long of(int width, int height, int[] costs, int startIndex, int goalIndex) {
+    int length = costs.length;
+    long v1 = P1 + P2;
+    long v2 = P2;
+    long v3 = 0;
+    long v4 = -P1;
+    int index = 0;
+    for (; index + 8 <= length; index += 8) {
+      v1 = round(v1, pair(costs, index));
+      v2 = round(v2, pair(costs, index + 2));
+      v3 = round(v3, pair(costs, index + 4));
+      v4 = round(v4, pair(costs, index + 6));
+    }
+    long hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+        + Long.rotateLeft(v4, 18);
+    hash = merge(hash, v1);
+    hash = merge(hash, v2);
+    hash = merge(hash, v3);
+    hash = merge(hash, v4);
+    for (; index < length; index++) {
+      hash ^= (costs[index] & 0xFFFFFFFFL) * P5;
+      hash = Long.rotateLeft(hash, 11) * P1;
+    }
+    hash ^= round(0, (long) width << 32 | (height & 0xFFFFFFFFL));
+    hash = Long.rotateLeft(hash, 27) * P1 + P4;
+    hash ^= round(0, (long) startIndex << 32 | (goalIndex & 0xFFFFFFFFL));
+    hash = Long.rotateLeft(hash, 27) * P1 + P4;
+    hash ^= hash >>> 33;
+    hash *= P2;
+    hash ^= hash >>> 29;
+    hash *= P3;
+    return hash ^ (hash >>> 32);
+  }
+
+  private static long pair(int[] costs, int index) {
+    return (long) costs[index] << 32 | (costs[index + 1] & 0xFFFFFFFFL);
+  }
+
+  private static long round(long accumulator, long input) {
+    return Long.rotateLeft(accumulator + input * P2, 31) * P1;
+  }
+
+  private static long merge(long hash, long lane) {
+    return (hash ^ round(0, lane)) * P1 + P4;
+  }
+}
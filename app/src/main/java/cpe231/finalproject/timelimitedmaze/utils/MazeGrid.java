@@ -0,0 +1,44 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+/**
+ * Read-only cell access shared by the in-memory {@link Maze} and the
+ * out-of-core {@link TiledMaze}, for searches that must run on either.
+ */
+public interface MazeGrid {
+
+  String getName();
+
+  int getWidth();
+
+  int getHeight();
+
+  Coordinate getStart();
+
+  Coordinate getGoal();
+
+  /**
+   * Returns the step cost of the cell, or {@link Maze#WALL} if it is blocked.
+   */
+  int costAt(int row, int column);
+
+  /**
+   * Returns the smallest step cost of any walkable cell. Scaling Manhattan
+   * distance by it keeps the heuristic admissible when cells weigh 0.
+   */
+  default int getMinStepCost() {
+    int minimum = Integer.MAX_VALUE;
+    for (int row = 0; row < getHeight(); row++) {
+      for (int column = 0; column < getWidth(); column++) {
+        int cost = costAt(row, column);
+        if (cost != Maze.WALL) {
+          minimum = Math.min(minimum, cost);
+        }
+      }
+    }
+    return minimum == Integer.MAX_VALUE ? 0 : minimum;
+  }
+
+  default boolean isWithinBounds(int row, int column) {
+    return row >= 0 && row < getHeight() && column >= 0 && column < getWidth();
+  }
+}
@@ -0,0 +1,23 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.util.Objects;
+
+/**
+ * Cheap facts about a maze file, gathered by a scan that never builds the
+ * cost grid. Weights cover every walkable cell, with start and goal counting
+ * as cost 1 the way solvers see them. {@code fileSizeBytes} is the size of
+ * the file the maze loads from, or -1 when it is unknown.
+ */
+public record MazeMetadata(String name, int width, int height, Coordinate start, Coordinate goal,
+    long walkableCells, int minWeight, int maxWeight, long fileSizeBytes) {
+
+  public MazeMetadata {
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(start, "start cannot be null");
+    Objects.requireNonNull(goal, "goal cannot be null");
+  }
+
+  public long cellCount() {
+    return (long) width * height;
+  }
+}
@@ -1,104 +1,502 @@
 package cpe231.finalproject.timelimitedmaze.utils;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
-import java.util.OptionalInt;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
+/**
+ * Parses the quoted-weight text maze format into a {@link Maze}.
+ *
+ * Input is scanned byte by byte and step costs are written straight into the
+ * flat cost array, so no per-line strings or per-cell objects are created on
+ * the happy path. Byte input ({@code byte[]}, {@link ByteBuffer} or
+ * {@link InputStream}) skips blank lines the way {@link MazeReader} does; the
+ * {@code List<String>} overload parses every line it is given. All overloads
+ * report malformed input with the same messages.
+ */
 public final class MazeParser {
 
+  private static final int CHUNK_SIZE = 64 * 1024;
+
   public Maze parse(String name, List<String> rawLines) {
     if (rawLines == null || rawLines.isEmpty()) {
       throw new IllegalArgumentException("Maze lines cannot be null or empty");
     }
 
-    List<List<MazeCell>> rows = new ArrayList<>();
+    GridBuilder builder = new GridBuilder(-1, true);
+    for (String line : rawLines) {
+      byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+      builder.acceptLine(bytes, 0, bytes.length);
+    }
+    return builder.build(name);
+  }
+
+  public Maze parse(String name, byte[] bytes) {
+    Objects.requireNonNull(bytes, "bytes cannot be null");
+    return parse(name, bytes, 0, bytes.length);
+  }
+
+  public Maze parse(String name, byte[] bytes, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, Objects.requireNonNull(bytes, "bytes cannot be null").length);
+    return scan(new GridBuilder(length, true), bytes, offset, length).build(name);
+  }
+
+  /**
+   * Parses the bytes between the buffer's position and limit without moving
+   * its position. Heap buffers are read in place; direct and mapped buffers are
+   * copied through a small scratch chunk.
+   */
+  public Maze parse(String name, ByteBuffer buffer) {
+    Objects.requireNonNull(buffer, "buffer cannot be null");
+    return scan(new GridBuilder(buffer.remaining(), true), buffer).build(name);
+  }
+
+  /**
+   * Parses the stream to its end in fixed-size chunks. The stream is not
+   * closed.
+   */
+  public Maze parse(String name, InputStream input) {
+    Objects.requireNonNull(input, "input cannot be null");
+    return scanChunks(new GridBuilder(-1, true), streamSource(name, input)).build(name);
+  }
+
+  /**
+   * Validates a maze exactly as {@link #parse(String, ByteBuffer)} would and
+   * returns its metadata, without keeping the cost grid; memory use is one
+   * row regardless of the maze size.
+   */
+  public MazeMetadata scanMetadata(String name, ByteBuffer buffer, long fileSizeBytes) {
+    Objects.requireNonNull(buffer, "buffer cannot be null");
+    return scan(new GridBuilder(-1, false), buffer).metadata(name, fileSizeBytes);
+  }
+
+  /**
+   * Stream form of {@link #scanMetadata(String, ByteBuffer, long)}. The
+   * stream is not closed.
+   */
+  public MazeMetadata scanMetadata(String name, InputStream input, long fileSizeBytes) {
+    Objects.requireNonNull(input, "input cannot be null");
+    return scanChunks(new GridBuilder(-1, false), streamSource(name, input)).metadata(name, fileSizeBytes);
+  }
+
+  /**
+   * Validates a maze of any size from a stream, handing each finished row to
+   * {@code sink} instead of keeping it. The row array is reused between
+   * calls. Rows already delivered are not taken back when a later row turns
+   * out to be malformed, so callers must discard their output on error.
+   */
+  MazeMetadata scanRows(String name, InputStream input, long fileSizeBytes, RowSink sink) {
+    Objects.requireNonNull(input, "input cannot be null");
+    Objects.requireNonNull(sink, "sink cannot be null");
+    GridBuilder builder = new GridBuilder(-1, false);
+    builder.sink = sink;
+    return scanChunks(builder, streamSource(name, input)).metadata(name, fileSizeBytes);
+  }
+
+  /**
+   * Receives the step costs of one row, with {@link Maze#WALL} for walls and
+   * cost 1 for start and goal, in {@code costs[0..width)}.
+   */
+  @FunctionalInterface
+  interface RowSink {
+    void acceptRow(int row, int[] costs, int width);
+  }
+
+  private static ChunkSource streamSource(String name, InputStream input) {
+    return (chunk, offset, length) -> {
+      try {
+        return input.read(chunk, offset, length);
+      } catch (IOException exception) {
+        throw new UncheckedIOException("Failed to read maze: " + name, exception);
+      }
+    };
+  }
+
+  /**
+   * Parses consecutive pieces of one maze file in parallel and stitches the
+   * rows together. Every segment except the first must start right after a
+   * line break. Malformed input is re-scanned sequentially, so errors are the
+   * same as for {@link #parse(String, ByteBuffer)} on the whole file.
+   */
+  public Maze parseSegments(String name, List<ByteBuffer> segments) {
+    Objects.requireNonNull(segments, "segments cannot be null");
+    List<GridBuilder> parts;
+    try {
+      parts = segments.parallelStream()
+          .map(segment -> scan(new GridBuilder(segment.remaining(), true), segment))
+          .toList();
+    } catch (RuntimeException exception) {
+      return scanInOrder(new GridBuilder(-1, true), segments).build(name);
+    }
+
+    int width = -1;
+    long rows = 0;
     Coordinate start = null;
     Coordinate goal = null;
+    long[] rowOffsets = new long[parts.size()];
+    for (int index = 0; index < parts.size(); index++) {
+      GridBuilder part = parts.get(index);
+      rowOffsets[index] = rows;
+      if (part.rows == 0) {
+        continue;
+      }
+      if (width < 0) {
+        width = part.width;
+      }
+      boolean clash = (part.start != null && start != null) || (part.goal != null && goal != null);
+      if (part.ragged || part.width != width || clash) {
+        return scanInOrder(new GridBuilder(-1, true), segments).build(name);
+      }
+      if (part.start != null) {
+        start = new Coordinate((int) rows + part.start.row(), part.start.column());
+      }
+      if (part.goal != null) {
+        goal = new Coordinate((int) rows + part.goal.row(), part.goal.column());
+      }
+      rows += part.rows;
+    }
+    if (start == null || goal == null || width <= 0 || rows * width > Integer.MAX_VALUE - 8) {
+      return scanInOrder(new GridBuilder(-1, true), segments).build(name);
+    }
 
-    int rowIndex = 0;
-    for (String line : rawLines) {
-      List<MazeCell> parsedRow = new ArrayList<>();
-      int columnIndex = 0;
-
-      for (Token token : tokenize(line)) {
-        MazeCell cell = switch (token.type()) {
-          case WALL -> new MazeCell(MazeCellType.WALL, token.value(), OptionalInt.empty());
-          case START -> {
-            Coordinate coordinate = new Coordinate(rowIndex, columnIndex);
-            if (start != null) {
-              throw new IllegalArgumentException("Maze must contain exactly one start cell");
-            }
-            start = coordinate;
-            yield new MazeCell(MazeCellType.START, token.value(), OptionalInt.empty());
-          }
-          case GOAL -> {
-            Coordinate coordinate = new Coordinate(rowIndex, columnIndex);
-            if (goal != null) {
-              throw new IllegalArgumentException("Maze must contain exactly one goal cell");
-            }
-            goal = coordinate;
-            yield new MazeCell(MazeCellType.GOAL, token.value(), OptionalInt.empty());
-          }
-          case WEIGHT ->
-            new MazeCell(MazeCellType.WEIGHTED, token.value(), OptionalInt.of(Integer.parseInt(token.value())));
-        };
+    int[] costs = new int[(int) (rows * width)];
+    int stride = width;
+    IntStream.range(0, parts.size()).parallel().forEach(index -> {
+      GridBuilder part = parts.get(index);
+      System.arraycopy(part.costs, 0, costs, (int) rowOffsets[index] * stride, part.size);
+    });
+    return Maze.wrap(name, width, (int) rows, costs, start, goal);
+  }
 
-        parsedRow.add(cell);
-        columnIndex++;
+  private GridBuilder scan(GridBuilder builder, byte[] bytes, int offset, int length) {
+    int end = splitLines(builder, bytes, offset, offset + length);
+    acceptIfNotBlank(builder, bytes, end, offset + length);
+    return builder;
+  }
+
+  private GridBuilder scan(GridBuilder builder, ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return scan(builder, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    return scanInOrder(builder, List.of(buffer));
+  }
+
+  /**
+   * Scans the buffers back to back as one input, copying through a chunk.
+   */
+  private GridBuilder scanInOrder(GridBuilder builder, List<ByteBuffer> buffers) {
+    ByteBuffer[] views = new ByteBuffer[buffers.size()];
+    for (int index = 0; index < views.length; index++) {
+      views[index] = buffers.get(index).duplicate();
+    }
+    int[] current = {0};
+    return scanChunks(builder, (chunk, offset, length) -> {
+      while (current[0] < views.length && !views[current[0]].hasRemaining()) {
+        current[0]++;
+      }
+      if (current[0] == views.length) {
+        return -1;
       }
+      ByteBuffer view = views[current[0]];
+      int count = Math.min(length, view.remaining());
+      view.get(chunk, offset, count);
+      return count;
+    });
+  }
 
-      rows.add(parsedRow);
-      rowIndex++;
+  private GridBuilder scanChunks(GridBuilder builder, ChunkSource source) {
+    byte[] chunk = new byte[CHUNK_SIZE];
+    int carried = 0;
+    while (true) {
+      int read = source.read(chunk, carried, chunk.length - carried);
+      if (read < 0) {
+        acceptIfNotBlank(builder, chunk, 0, carried);
+        return builder;
+      }
+      int end = carried + read;
+      int lineStart = splitLines(builder, chunk, 0, end);
+      // Keep the unfinished last line for the next read, growing for very long lines
+      carried = end - lineStart;
+      System.arraycopy(chunk, lineStart, chunk, 0, carried);
+      if (carried == chunk.length) {
+        chunk = Arrays.copyOf(chunk, chunk.length * 2);
+      }
     }
+  }
+
+  /**
+   * Feeds every complete line in {@code [from, to)} to the builder and returns
+   * the start of the trailing partial line.
+   */
+  private int splitLines(GridBuilder builder, byte[] bytes, int from, int to) {
+    int lineStart = from;
+    for (int index = from; index < to; index++) {
+      byte current = bytes[index];
+      if (current == '\n' || current == '\r') {
+        acceptIfNotBlank(builder, bytes, lineStart, index);
+        lineStart = index + 1;
+      }
+    }
+    return lineStart;
+  }
 
-    if (start == null || goal == null) {
-      throw new IllegalArgumentException("Maze must contain both a start and a goal cell");
+  /**
+   * Skips lines that {@link String#isBlank()} would call blank. ASCII is
+   * checked byte by byte; a line with other bytes is decoded, so Unicode
+   * spaces count as blank just as they do for {@link MazeReader}.
+   */
+  private void acceptIfNotBlank(GridBuilder builder, byte[] bytes, int from, int to) {
+    for (int index = from; index < to; index++) {
+      byte current = bytes[index];
+      if (current < 0) {
+        if (!new String(bytes, from, to - from, StandardCharsets.UTF_8).isBlank()) {
+          builder.acceptLine(bytes, from, to);
+        }
+        return;
+      }
+      if (!isWhitespace(current)) {
+        builder.acceptLine(bytes, from, to);
+        return;
+      }
     }
+  }
 
-    return new Maze(name, rows, start, goal);
+  /**
+   * {@link Character#isWhitespace} for ASCII bytes.
+   */
+  private static boolean isWhitespace(byte value) {
+    return value == ' ' || (value >= '\t' && value <= '\r') || (value >= 0x1C && value <= 0x1F);
   }
 
-  private List<Token> tokenize(String line) {
-    List<Token> tokens = new ArrayList<>();
-    int index = 0;
-    while (index < line.length()) {
-      char current = line.charAt(index);
-      switch (current) {
-        case '#':
-          tokens.add(new Token(TokenType.WALL, "#"));
-          index++;
-          break;
-        case 'S':
-          tokens.add(new Token(TokenType.START, "S"));
+  @FunctionalInterface
+  private interface ChunkSource {
+    int read(byte[] chunk, int offset, int length);
+  }
+
+  /**
+   * Accumulates rows into a growing cost array. Width is fixed by the first
+   * row; a row of another width marks the grid ragged but scanning continues,
+   * so token, start and goal errors in later rows still win as they would in
+   * a row-by-row parse. Without {@code retainCells} only the current row is
+   * kept and each finished row is folded into the metadata counters.
+   */
+  private static final class GridBuilder {
+
+    private final long sizeHint;
+    private final boolean retainCells;
+    private int[] costs;
+    private int size;
+    private int width = -1;
+    private int rows;
+    private boolean ragged;
+    private Coordinate start;
+    private Coordinate goal;
+    private long walkableCells;
+    private int minWeight = Integer.MAX_VALUE;
+    private int maxWeight;
+    private RowSink sink;
+
+    GridBuilder(long sizeHint, boolean retainCells) {
+      this.sizeHint = sizeHint;
+      this.retainCells = retainCells;
+      this.costs = new int[64];
+    }
+
+    /**
+     * Parses one line. Token errors anywhere in the line take precedence over
+     * start, goal and weight errors, so the latter are held until the whole
+     * line has been scanned.
+     */
+    void acceptLine(byte[] bytes, int from, int to) {
+      RuntimeException deferred = null;
+      int column = 0;
+      int index = from;
+      while (index < to) {
+        byte current = bytes[index];
+        int cost;
+        if (current == '"') {
+          int closing = index + 1;
+          while (closing < to && bytes[closing] != '"') {
+            closing++;
+          }
+          if (closing == to) {
+            throw new IllegalArgumentException("Unmatched quote in maze line: " + decode(bytes, from, to));
+          }
+          cost = parseDigits(bytes, index + 1, closing);
+          if (cost < 0) {
+            // Signs, non-ASCII digits and bad weights get Integer.parseInt's exact behaviour
+            try {
+              cost = parseWeight(decode(bytes, index + 1, closing));
+            } catch (IllegalArgumentException exception) {
+              deferred = deferred != null ? deferred : exception;
+            }
+          }
+          index = closing + 1;
+        } else if (current == '#') {
+          cost = Maze.WALL;
           index++;
-          break;
-        case 'G':
-          tokens.add(new Token(TokenType.GOAL, "G"));
+        } else if (current == 'S') {
+          if (start == null) {
+            start = new Coordinate(rows, column);
+          } else if (deferred == null) {
+            deferred = new IllegalArgumentException("Maze must contain exactly one start cell");
+          }
+          cost = 1;
           index++;
-          break;
-        case '"':
-          int closing = line.indexOf('"', index + 1);
-          if (closing == -1) {
-            throw new IllegalArgumentException("Unmatched quote in maze line: " + line);
+        } else if (current == 'G') {
+          if (goal == null) {
+            goal = new Coordinate(rows, column);
+          } else if (deferred == null) {
+            deferred = new IllegalArgumentException("Maze must contain exactly one goal cell");
           }
-          String value = line.substring(index + 1, closing);
-          tokens.add(new Token(TokenType.WEIGHT, value));
-          index = closing + 1;
-          break;
-        default:
-          throw new IllegalArgumentException("Unsupported maze token: '" + current + "' in line " + line);
+          cost = 1;
+          index++;
+        } else {
+          throw new IllegalArgumentException("Unsupported maze token: '"
+              + charAt(bytes, from, to, index) + "' in line " + decode(bytes, from, to));
+        }
+        if (size < costs.length) {
+          costs[size++] = cost;
+        } else {
+          append(cost);
+        }
+        column++;
+      }
+      if (deferred != null) {
+        throw deferred;
       }
+      endRow(column, to - from);
     }
-    return tokens;
-  }
 
-  private enum TokenType {
-    WALL,
-    START,
-    GOAL,
-    WEIGHT
-  }
+    Maze build(String name) {
+      validate();
+      int[] grid = size == costs.length ? costs : Arrays.copyOf(costs, size);
+      return Maze.wrap(name, width, rows, grid, start, goal);
+    }
 
-  private record Token(TokenType type, String value) {
+    MazeMetadata metadata(String name, long fileSizeBytes) {
+      validate();
+      return new MazeMetadata(name, width, rows, start, goal, walkableCells,
+          walkableCells == 0 ? 0 : minWeight, maxWeight, fileSizeBytes);
+    }
+
+    private void validate() {
+      if (rows == 0) {
+        throw new IllegalArgumentException("Maze lines cannot be null or empty");
+      }
+      if (start == null || goal == null) {
+        throw new IllegalArgumentException("Maze must contain both a start and a goal cell");
+      }
+      // An empty first row makes every later row ragged, as it did for the row-by-row parse
+      if (ragged) {
+        throw new IllegalArgumentException("Maze grid must be rectangular");
+      }
+      if (width == 0) {
+        throw new IllegalArgumentException("Maze grid cannot be empty");
+      }
+    }
+
+    private void endRow(int columns, int lineBytes) {
+      if (width < 0) {
+        width = columns;
+        if (retainCells) {
+          reserveFromFirstRow(lineBytes);
+        }
+      } else if (columns != width && !ragged) {
+        ragged = true;
+        costs = new int[64];
+      }
+      if (!retainCells && !ragged) {
+        tallyRow();
+        if (sink != null) {
+          sink.acceptRow(rows, costs, width);
+        }
+      }
+      if (ragged || !retainCells) {
+        // Cells are no longer kept; only the current row's scratch is reused
+        size = 0;
+      }
+      rows++;
+      if (retainCells && !ragged && (long) rows * width > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Maze grid is too large");
+      }
+    }
+
+    private void tallyRow() {
+      for (int index = 0; index < size; index++) {
+        int cost = costs[index];
+        if (cost != Maze.WALL) {
+          walkableCells++;
+          minWeight = Math.min(minWeight, cost);
+          maxWeight = Math.max(maxWeight, cost);
+        }
+      }
+    }
+
+    /**
+     * Sizes the array once the first row shows how many bytes a row takes, so
+     * a large input is usually filled without regrowing.
+     */
+    private void reserveFromFirstRow(int lineBytes) {
+      if (sizeHint <= 0 || width == 0) {
+        return;
+      }
+      long estimatedCells = (long) width * (sizeHint / (lineBytes + 1) + 1);
+      if (estimatedCells > costs.length && estimatedCells < Integer.MAX_VALUE - 8) {
+        costs = Arrays.copyOf(costs, (int) estimatedCells);
+      }
+    }
+
+    private void append(int cost) {
+      if (size == costs.length) {
+        long grown = Math.min((long) costs.length * 2, Integer.MAX_VALUE - 8);
+        if (grown <= size) {
+          throw new IllegalArgumentException("Maze grid is too large");
+        }
+        costs = Arrays.copyOf(costs, (int) grown);
+      }
+      costs[size++] = cost;
+    }
+
+    /**
+     * Reads a plain run of ASCII digits, or returns -1 for anything else,
+     * including overflow.
+     */
+    private static int parseDigits(byte[] bytes, int from, int to) {
+      if (from == to) {
+        return -1;
+      }
+      int weight = 0;
+      for (int index = from; index < to; index++) {
+        int digit = bytes[index] - '0';
+        if (digit < 0 || digit > 9 || weight > (Integer.MAX_VALUE - digit) / 10) {
+          return -1;
+        }
+        weight = weight * 10 + digit;
+      }
+      return weight;
+    }
+
+    private static int parseWeight(String value) {
+      int weight = Integer.parseInt(value);
+      if (weight < 0) {
+        throw new IllegalArgumentException("Maze weights must be non-negative: " + value);
+      }
+      return weight;
+    }
+
+    private static char charAt(byte[] bytes, int from, int to, int index) {
+      return decode(bytes, from, to).charAt(decode(bytes, from, index).length());
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+      return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
   }
 }
@@ -0,0 +1,16 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+/**
+ * Receives progress from {@link MazeStore#preloadAll}. Called once per maze,
+ * on the thread that loaded it, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface MazePreloadListener {
+
+  /**
+   * Reports that {@code fileName} finished loading, as the
+   * {@code completed}-th of {@code total}. {@code failure} is the load error,
+   * or {@code null} on success.
+   */
+  void onProgress(String fileName, int completed, int total, Throwable failure);
+}
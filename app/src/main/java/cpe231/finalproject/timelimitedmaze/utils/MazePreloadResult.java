@@ -0,0 +1,24 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of {@link MazeStore#preloadAll}: the mazes now loaded, in request
+ * order, and the load error of each maze that failed.
+ */
+public record MazePreloadResult(List<String> loaded, Map<String, Throwable> failed, long elapsedNanos) {
+
+  public MazePreloadResult {
+    loaded = List.copyOf(loaded);
+    failed = Map.copyOf(failed);
+  }
+
+  public int total() {
+    return loaded.size() + failed.size();
+  }
+
+  public double elapsedMillis() {
+    return elapsedNanos / 1_000_000.0;
+  }
+}
@@ -5,9 +5,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 public final class MazeReader {
 
@@ -17,15 +29,9 @@ public final class MazeReader {
   }
 
   public static List<String> readMaze(String fileName) {
-    Objects.requireNonNull(fileName, "fileName cannot be null");
-
     String resourcePath = MAZE_FOLDER + fileName;
 
-    try (InputStream inputStream = MazeReader.class.getClassLoader().getResourceAsStream(resourcePath)) {
-      if (inputStream == null) {
-        throw new IllegalArgumentException("Maze file not found in resources: " + resourcePath);
-      }
-
+    try (InputStream inputStream = openMaze(fileName)) {
       try (BufferedReader reader = new BufferedReader(
           new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
         return reader.lines().filter(line -> !line.isBlank()).toList();
@@ -34,4 +40,80 @@ public final class MazeReader {
       throw new UncheckedIOException("Failed to read maze file: " + resourcePath, exception);
     }
   }
+
+  /**
+   * Lists the {@code .txt} maze resources under {@code maze/} in every
+   * classpath root, whether it is a directory or a jar.
+   */
+  public static List<String> listMazes() {
+    Set<String> names = new TreeSet<>();
+    try {
+      Enumeration<URL> roots = MazeReader.class.getClassLoader().getResources(MAZE_FOLDER);
+      while (roots.hasMoreElements()) {
+        URL root = roots.nextElement();
+        if (root.getProtocol().equals("file")) {
+          try (Stream<Path> entries = Files.list(Path.of(root.toURI()))) {
+            entries.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(".txt"))
+                .forEach(names::add);
+          }
+        } else if (root.openConnection() instanceof JarURLConnection connection) {
+          connection.setUseCaches(false);
+          try (JarFile jar = connection.getJarFile()) {
+            jar.stream()
+                .map(JarEntry::getName)
+                .filter(name -> name.startsWith(MAZE_FOLDER) && name.endsWith(".txt"))
+                .map(name -> name.substring(MAZE_FOLDER.length()))
+                .filter(name -> !name.contains("/"))
+                .forEach(names::add);
+          }
+        }
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to list maze resources", exception);
+    } catch (URISyntaxException exception) {
+      throw new IllegalStateException("Invalid maze resource location", exception);
+    }
+    return List.copyOf(names);
+  }
+
+  /**
+   * Size in bytes of a maze resource, or -1 when the classpath cannot tell.
+   */
+  public static long resourceSize(String fileName) {
+    Objects.requireNonNull(fileName, "fileName cannot be null");
+    URL resource = MazeReader.class.getClassLoader().getResource(MAZE_FOLDER + fileName);
+    if (resource == null) {
+      throw new IllegalArgumentException("Maze file not found in resources: " + MAZE_FOLDER + fileName);
+    }
+    try {
+      URLConnection connection = resource.openConnection();
+      connection.setUseCaches(false);
+      long size = connection.getContentLengthLong();
+      connection.getInputStream().close();
+      return size;
+    } catch (IOException exception) {
+      return -1;
+    }
+  }
+
+  public static boolean hasMaze(String fileName) {
+    Objects.requireNonNull(fileName, "fileName cannot be null");
+    return MazeReader.class.getClassLoader().getResource(MAZE_FOLDER + fileName) != null;
+  }
+
+  /**
+   * Opens the raw bytes of a maze resource for {@link MazeParser#parse(String, InputStream)}.
+   * The caller closes the stream.
+   */
+  public static InputStream openMaze(String fileName) {
+    Objects.requireNonNull(fileName, "fileName cannot be null");
+
+    String resourcePath = MAZE_FOLDER + fileName;
+    InputStream inputStream = MazeReader.class.getClassLoader().getResourceAsStream(resourcePath);
+    if (inputStream == null) {
+      throw new IllegalArgumentException("Maze file not found in resources: " + resourcePath);
+    }
+    return inputStream;
+  }
 }
@@ -0,0 +1,43 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+/**
+ * Where a maze name currently loads from: a file on disk (the text file, or
+ * its fresh binary sidecar) with its modification stamp, or the classpath
+ * when {@code file} is null. Two resolutions are equal exactly when the
+ * same bytes would be loaded, so a changed value means a cached result for
+ * the name is stale.
+ */
+record MazeSource(Path textFile, Path file, FileTime modified, long size) {
+
+  private static final MazeSource CLASSPATH = new MazeSource(null, null, null, -1);
+
+  static MazeSource resolve(String name) {
+    Optional<Path> textFile = MazeStore.resolveFile(name);
+    if (textFile.isEmpty()) {
+      return CLASSPATH;
+    }
+    Path file = BinaryMazeFormat.hasFreshSidecar(textFile.get())
+        ? BinaryMazeFormat.sidecarFor(textFile.get())
+        : textFile.get();
+    try {
+      return new MazeSource(textFile.get(), file, Files.getLastModifiedTime(file), Files.size(file));
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read maze file: " + file, exception);
+    }
+  }
+
+  boolean isFile() {
+    return file != null;
+  }
+
+  boolean isBinary() {
+    return file != null && !file.equals(textFile);
+  }
+}
@@ -1,29 +1,343 @@
 package cpe231.finalproject.timelimitedmaze.utils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Caches parsed mazes by the name they were requested with.
+ *
+ * A name is resolved in order as an absolute path, a file in the configured
+ * maze directory, and finally a bundled {@code maze/} classpath resource.
+ * The directory defaults to the {@code maze.dir} system property and can be
+ * changed with {@link #setMazeDirectory(Path)}. Filesystem mazes are loaded
+ * through {@link MazeFileLoader}. When a maze has a {@link BinaryMazeFormat}
+ * sidecar (that is not older than the text file, on disk) the sidecar is
+ * loaded instead.
+ *
+ * Loaded mazes are kept in a {@link MazeCache} bounded by the
+ * {@code maze.cache.bytes} system property (a quarter of the maximum heap by
+ * default), with a soft-reference overflow tier when {@code maze.cache.soft}
+ * is {@code true}. Use {@link #configureCache(long, boolean)} to change it at
+ * runtime and {@link #cacheStats()} to inspect it.
+ *
+ * {@link #loadAsync(String)} and {@link #preloadAll} load on the configured
+ * load executor, the common {@link ForkJoinPool} by default: mapped and
+ * bundled mazes are parse-bound, so one worker per core is the right size.
+ * For sources where loads mostly wait on I/O, such as a network mount, pass
+ * a virtual-thread executor to {@link #setLoadExecutor(Executor)}.
+ *
+ * A maze loaded from disk is reloaded when its file's modification time or
+ * size changes. The file is checked at most once per recheck interval
+ * ({@code maze.store.recheckMillis}, 1000 by default, or
+ * {@link #setRecheckInterval(Duration)}), so cache hits in between cost no
+ * file system call and an edit is picked up within one interval. Concurrent
+ * requests share a single check and, through {@link MazeCache}, a single
+ * load. In content-addressed
+ * mode ({@code maze.store.contentAddressed}, or
+ * {@link #setContentAddressed(boolean)}) every loaded maze is also looked up
+ * by {@link Maze#getFingerprint()}: a maze whose content is already loaded
+ * under another name shares that maze's cost array instead of keeping its
+ * own copy, and {@link #findByFingerprint(long)} finds it by content.
+ */
 public final class MazeStore {
 
     private static final MazeParser PARSER = new MazeParser();
-    private static final Map<String, Maze> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, LoadedSource> LOADED_SOURCES = new ConcurrentHashMap<>();
+    private static final Map<Long, WeakReference<Maze>> BY_CONTENT = new ConcurrentHashMap<>();
+    private static final AtomicLong DEDUPLICATED = new AtomicLong();
+
+    private static volatile MazeCache cache = new MazeCache(
+        Long.getLong("maze.cache.bytes", Runtime.getRuntime().maxMemory() / 4),
+        Boolean.getBoolean("maze.cache.soft"),
+        MazeStore::loadMaze);
+
+    private static volatile Executor loadExecutor = ForkJoinPool.commonPool();
+
+    private static volatile long recheckIntervalNanos =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("maze.store.recheckMillis", 1000));
+
+    private static volatile boolean contentAddressed = Boolean.getBoolean("maze.store.contentAddressed");
+
+    private static volatile Path mazeDirectory = Optional.ofNullable(System.getProperty("maze.dir"))
+        .map(Path::of)
+        .orElse(null);
 
     private MazeStore() {
     }
 
     public static Maze getMaze(String fileName) {
         Objects.requireNonNull(fileName, "fileName cannot be null");
-        return CACHE.computeIfAbsent(fileName, MazeStore::loadMaze);
+        LoadedSource loaded = LOADED_SOURCES.get(fileName);
+        if (loaded != null && loaded.isDue(System.nanoTime())) {
+            LOADED_SOURCES.computeIfPresent(fileName, MazeStore::recheck);
+        }
+        return cache.get(fileName);
+    }
+
+    /**
+     * Loads {@code fileName} into the cache on the load executor. The future
+     * fails with the same exception {@link #getMaze(String)} would throw.
+     */
+    public static CompletableFuture<Maze> loadAsync(String fileName) {
+        Objects.requireNonNull(fileName, "fileName cannot be null");
+        return CompletableFuture.supplyAsync(() -> getMaze(fileName), loadExecutor);
+    }
+
+    /**
+     * Loads every maze in {@code fileNames} in parallel to warm the cache,
+     * reporting each completion to {@code listener} (which may be
+     * {@code null}). The returned future completes once all loads have
+     * finished and never completes exceptionally; failures are collected in
+     * the result instead.
+     */
+    public static CompletableFuture<MazePreloadResult> preloadAll(Collection<String> fileNames,
+            MazePreloadListener listener) {
+        List<String> names = List.copyOf(new LinkedHashSet<>(fileNames));
+        long startNs = System.nanoTime();
+        AtomicInteger completed = new AtomicInteger();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[names.size()];
+        for (int index = 0; index < names.size(); index++) {
+            String name = names.get(index);
+            loads[index] = loadAsync(name).handle((maze, error) -> {
+                Throwable failure = error instanceof CompletionException ? error.getCause() : error;
+                if (failure != null) {
+                    failures.put(name, failure);
+                }
+                if (listener != null) {
+                    listener.onProgress(name, completed.incrementAndGet(), names.size(), failure);
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(loads).thenApply(ignored -> new MazePreloadResult(
+            names.stream().filter(name -> !failures.containsKey(name)).toList(),
+            failures,
+            System.nanoTime() - startNs));
+    }
+
+    public static Executor getLoadExecutor() {
+        return loadExecutor;
+    }
+
+    public static void setLoadExecutor(Executor executor) {
+        loadExecutor = Objects.requireNonNull(executor, "executor cannot be null");
     }
 
     public static void clear() {
-        CACHE.clear();
+        cache.clear();
+        LOADED_SOURCES.clear();
+        BY_CONTENT.clear();
+    }
+
+    /**
+     * Drops {@code fileName} from the cache so the next request reloads it.
+     */
+    public static void invalidate(String fileName) {
+        cache.invalidate(fileName);
+    }
+
+    /**
+     * Replaces the cache with an empty one holding at most
+     * {@code maxWeightedBytes} of mazes, optionally overflowing into soft
+     * references. Counters start from zero.
+     */
+    public static void configureCache(long maxWeightedBytes, boolean softValues) {
+        cache = new MazeCache(maxWeightedBytes, softValues, MazeStore::loadMaze);
+    }
+
+    public static MazeCacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    public static Duration getRecheckInterval() {
+        return Duration.ofNanos(recheckIntervalNanos);
+    }
+
+    /**
+     * Sets how long a maze loaded from disk is served before its file is
+     * checked for changes again; {@link Duration#ZERO} checks on every
+     * request.
+     */
+    public static void setRecheckInterval(Duration interval) {
+        Objects.requireNonNull(interval, "interval cannot be null");
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("interval cannot be negative");
+        }
+        recheckIntervalNanos = interval.toNanos();
+    }
+
+    public static boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    /**
+     * Turns content-addressed deduplication on or off for mazes loaded from
+     * now on.
+     */
+    public static void setContentAddressed(boolean enabled) {
+        contentAddressed = enabled;
+        if (!enabled) {
+            BY_CONTENT.clear();
+        }
+    }
+
+    /**
+     * Finds a loaded maze with the given content fingerprint. Only mazes
+     * loaded in content-addressed mode, and not yet garbage collected, are
+     * found.
+     */
+    public static Optional<Maze> findByFingerprint(long fingerprint) {
+        WeakReference<Maze> reference = BY_CONTENT.get(fingerprint);
+        return Optional.ofNullable(reference == null ? null : reference.get());
+    }
+
+    /**
+     * Number of loads that were served by sharing an identical maze already
+     * loaded under another name.
+     */
+    public static long deduplicatedCount() {
+        return DEDUPLICATED.get();
+    }
+
+    public static Optional<Path> getMazeDirectory() {
+        return Optional.ofNullable(mazeDirectory);
+    }
+
+    /**
+     * Sets the directory searched before the classpath, or {@code null} to use
+     * bundled resources only. Already cached mazes are kept.
+     */
+    public static void setMazeDirectory(Path directory) {
+        if (directory != null && !Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Maze directory not found: " + directory);
+        }
+        mazeDirectory = directory;
     }
 
     private static Maze loadMaze(String fileName) {
-        List<String> lines = MazeReader.readMaze(fileName);
-        return PARSER.parse(fileName, lines);
+        long resolvedNanos = System.nanoTime();
+        MazeSource source = MazeSource.resolve(fileName);
+        Maze maze = readMaze(fileName, source);
+        LOADED_SOURCES.put(fileName, new LoadedSource(source, resolvedNanos));
+        return contentAddressed ? deduplicate(maze) : maze;
+    }
+
+    /**
+     * Re-resolves a due entry under the map's lock for {@code fileName}, so
+     * callers arriving together stat the file once. A changed source drops
+     * the cached maze and the entry, and the next load records the new one.
+     */
+    private static LoadedSource recheck(String fileName, LoadedSource loaded) {
+        long now = System.nanoTime();
+        if (!loaded.isDue(now)) {
+            return loaded;
+        }
+        MazeSource current = MazeSource.resolve(fileName);
+        if (current.equals(loaded.source())) {
+            return new LoadedSource(current, now);
+        }
+        cache.invalidate(fileName);
+        return null;
+    }
+
+    private static Maze deduplicate(Maze maze) {
+        BY_CONTENT.values().removeIf(reference -> reference.get() == null);
+        WeakReference<Maze> existing = BY_CONTENT.putIfAbsent(maze.getFingerprint(), new WeakReference<>(maze));
+        Maze canonical = existing == null ? null : existing.get();
+        if (canonical == null) {
+            if (existing != null) {
+                BY_CONTENT.put(maze.getFingerprint(), new WeakReference<>(maze));
+            }
+            return maze;
+        }
+        if (!canonical.hasSameContent(maze)) {
+            return maze;
+        }
+        DEDUPLICATED.incrementAndGet();
+        return canonical.withName(maze.getName());
+    }
+
+    private static Maze readMaze(String fileName, MazeSource source) {
+        if (source.isFile()) {
+            if (source.isBinary()) {
+                try {
+                    return BinaryMazeFormat.read(fileName, source.file());
+                } catch (IllegalArgumentException damagedSidecar) {
+                    // A bad header or length means the sidecar is damaged; the text is authoritative
+                }
+            }
+            return MazeFileLoader.load(fileName, source.textFile());
+        }
+        String sidecar = BinaryMazeFormat.sidecarName(fileName);
+        if (!sidecar.equals(fileName) && MazeReader.hasMaze(sidecar)) {
+            try (InputStream input = MazeReader.openMaze(sidecar)) {
+                return BinaryMazeFormat.read(fileName, ByteBuffer.wrap(input.readAllBytes()));
+            } catch (IllegalArgumentException damagedSidecar) {
+                if (!MazeReader.hasMaze(fileName)) {
+                    throw damagedSidecar;
+                }
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Failed to read maze file: " + sidecar, exception);
+            }
+        }
+        try (InputStream input = MazeReader.openMaze(fileName)) {
+            return PARSER.parse(fileName, input);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read maze file: " + fileName, exception);
+        }
+    }
+
+    /**
+     * Finds the file on disk that {@code fileName} would load from, if any,
+     * following the same order as {@link #getMaze(String)}.
+     */
+    static Optional<Path> resolveFile(String fileName) {
+        Path path = Path.of(fileName);
+        if (path.isAbsolute()) {
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalArgumentException("Maze file not found: " + path);
+            }
+            return Optional.of(path);
+        }
+        Path directory = mazeDirectory;
+        if (directory != null) {
+            Path candidate = directory.resolve(path);
+            if (Files.isRegularFile(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The source a cached maze was loaded from and when it was last found
+     * unchanged.
+     */
+    private record LoadedSource(MazeSource source, long checkedNanos) {
+
+        boolean isDue(long nowNanos) {
+            return source.isFile() && nowNanos - checkedNanos >= recheckIntervalNanos;
+        }
     }
 }
@@ -1,20 +1,14 @@
 package cpe231.finalproject.timelimitedmaze.utils;
 
-import java.io.UncheckedIOException;
-
 public final class MazeValidator {
   private MazeValidator() {
   }
 
+  /**
+   * Checks a maze through {@link MazeCatalog}, which scans it without
+   * building or caching the full grid.
+   */
   public static boolean isValidMaze(String fileName) {
-    try {
-      MazeStore.getMaze(fileName);
-      return true;
-    } catch (IllegalArgumentException | UncheckedIOException e) {
-      return false;
-    } catch (Exception e) {
-      return false;
-    }
+    return MazeCatalog.isValid(fileName);
   }
 }
-
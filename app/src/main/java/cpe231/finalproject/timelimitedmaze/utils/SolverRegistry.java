@@ -1,16 +1,23 @@
 package cpe231.finalproject.timelimitedmaze.utils;
 
+import cpe231.finalproject.timelimitedmaze.solver.AltSolver;
+import cpe231.finalproject.timelimitedmaze.solver.AnytimeAStarSolver;
 import cpe231.finalproject.timelimitedmaze.solver.AstarSolver;
 import cpe231.finalproject.timelimitedmaze.solver.BellmanFordSolver;
 import cpe231.finalproject.timelimitedmaze.solver.BestFirstSolver;
 import cpe231.finalproject.timelimitedmaze.solver.BFSSolver;
 import cpe231.finalproject.timelimitedmaze.solver.BidirectionalBFSSolver;
 import cpe231.finalproject.timelimitedmaze.solver.BidirectionalDijkstraSolver;
+import cpe231.finalproject.timelimitedmaze.solver.ContractionHierarchySolver;
 import cpe231.finalproject.timelimitedmaze.solver.DeadEndFillSolver;
 import cpe231.finalproject.timelimitedmaze.solver.DFSSolver;
+import cpe231.finalproject.timelimitedmaze.solver.DialSolver;
 import cpe231.finalproject.timelimitedmaze.solver.DijkstraSolver;
 import cpe231.finalproject.timelimitedmaze.solver.GeneticAlgorithmSolver;
+import cpe231.finalproject.timelimitedmaze.solver.GoalDistanceSolver;
+import cpe231.finalproject.timelimitedmaze.solver.HpaStarSolver;
 import cpe231.finalproject.timelimitedmaze.solver.IDDFSSolver;
+import cpe231.finalproject.timelimitedmaze.solver.JunctionDijkstraSolver;
 import cpe231.finalproject.timelimitedmaze.solver.MazeSolver;
 import cpe231.finalproject.timelimitedmaze.solver.SPFASolver;
 import cpe231.finalproject.timelimitedmaze.solver.ThetaStarSolver;
@@ -18,6 +25,7 @@ import cpe231.finalproject.timelimitedmaze.solver.WallFollowerSolver;
 import cpe231.finalproject.timelimitedmaze.solver.WeightedAStarSolver;
 
 import java.util.List;
+import java.util.Objects;
 
 public final class SolverRegistry {
   private SolverRegistry() {
@@ -40,6 +48,27 @@ public final class SolverRegistry {
         new WeightedAStarSolver(),
         new BellmanFordSolver(),
         new SPFASolver(),
-        new ThetaStarSolver());
+        new ThetaStarSolver(),
+        new DialSolver(DialSolver.Mode.DIJKSTRA),
+        new DialSolver(DialSolver.Mode.ASTAR),
+        new AnytimeAStarSolver(),
+        new GoalDistanceSolver(),
+        new AstarSolver(AstarSolver.Heuristic.GOAL_DISTANCE),
+        new JunctionDijkstraSolver(),
+        new HpaStarSolver(),
+        new AltSolver(),
+        new ContractionHierarchySolver());
+  }
+
+  /**
+   * Creates a fresh solver instance by display name, so concurrent callers
+   * never share a solver's mutable logs or state.
+   */
+  public static MazeSolver createSolver(String algorithmName) {
+    Objects.requireNonNull(algorithmName, "algorithmName cannot be null");
+    return getAvailableSolvers().stream()
+        .filter(solver -> solver.getAlgorithmName().equals(algorithmName))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm: " + algorithmName));
   }
 }
@@ -0,0 +1,31 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+/**
+ * Tile cache counters of a {@link TiledMaze}. A fault is a cell access whose
+ * tile had to be decoded from the mapped file; every other access is a hit.
+ */
+public record TileCacheStats(long hitCount, long faultCount, long evictionCount, int residentTiles,
+    int maxResidentTiles, int tileSize) {
+
+  public long accessCount() {
+    return hitCount + faultCount;
+  }
+
+  public double hitRate() {
+    long accesses = accessCount();
+    return accesses == 0 ? 1.0 : (double) hitCount / accesses;
+  }
+
+  /**
+   * Heap held by decoded tiles when the cache is full.
+   */
+  public long maxResidentBytes() {
+    return (long) maxResidentTiles * tileSize * tileSize * Integer.BYTES;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("accesses=%d, faults=%d, hit rate=%.4f, evictions=%d, resident=%d/%d tiles of %dx%d",
+        accessCount(), faultCount, hitRate(), evictionCount, residentTiles, maxResidentTiles, tileSize, tileSize);
+  }
+}
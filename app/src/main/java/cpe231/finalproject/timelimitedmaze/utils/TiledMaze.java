@@ -0,0 +1,286 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * Out-of-core maze backed by a {@link TiledMazeFormat} file.
+ *
+ * The file is memory-mapped in regions of whole tiles, so the operating
+ * system pages it in on demand and nothing is read up front. Decoded tiles
+ * are kept in an LRU cache of at most {@code maxResidentTiles} tiles; that
+ * cache is the only heap this class holds for cell data, whatever the maze
+ * size. Every {@link #costAt(int, int)} is counted as a tile hit or a tile
+ * fault in {@link #tileStats()}, which is what the cache should be sized by.
+ *
+ * Instances are not thread-safe; open one per searching thread.
+ */
+public final class TiledMaze implements MazeGrid, AutoCloseable {
+
+  private static final long MAX_REGION_BYTES = 1L << 30;
+
+  private final String name;
+  private final FileChannel channel;
+  private final int tileSize;
+  private final int tileShift;
+  private final int width;
+  private final int height;
+  private final int tilesAcross;
+  private final Coordinate start;
+  private final Coordinate goal;
+  private final int minStepCost;
+  private final int maxResidentTiles;
+  private final int tileBytes;
+  private final int tilesPerRegion;
+  private final MappedByteBuffer[] regions;
+  private final LinkedHashMap<Integer, int[]> tiles;
+
+  private int lastTileId = -1;
+  private int[] lastTile;
+  private long hitCount;
+  private long faultCount;
+  private long evictionCount;
+
+  private TiledMaze(String name, FileChannel channel, ByteBuffer header, int version, int maxResidentTiles)
+      throws IOException {
+    this.name = name;
+    this.channel = channel;
+    this.tileSize = header.getInt(8);
+    this.width = header.getInt(12);
+    this.height = header.getInt(16);
+    if (tileSize < 1 || tileSize > TiledMazeFormat.MAX_TILE_SIZE || width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid tiled maze header: " + name);
+    }
+    this.tileShift = Integer.bitCount(tileSize) == 1 ? Integer.numberOfTrailingZeros(tileSize) : -1;
+    this.tilesAcross = (width + tileSize - 1) / tileSize;
+    long tilesDown = (height + tileSize - 1) / tileSize;
+    if (tilesDown * tilesAcross > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Tiled maze has too many tiles: " + name);
+    }
+    this.tileBytes = tileSize * tileSize * Integer.BYTES;
+    long expectedSize = TiledMazeFormat.HEADER_BYTES + tilesDown * tilesAcross * tileBytes;
+    if (channel.size() != expectedSize) {
+      throw new IllegalArgumentException("Truncated tiled maze: " + name);
+    }
+    this.start = new Coordinate(header.getInt(20), header.getInt(24));
+    this.goal = new Coordinate(header.getInt(28), header.getInt(32));
+    if (!isWithinBounds(start.row(), start.column()) || !isWithinBounds(goal.row(), goal.column())) {
+      throw new IllegalArgumentException("Start and goal must lie inside the maze: " + name);
+    }
+    // Version 1 files do not record it, and 0 is the only safe assumption
+    this.minStepCost = version >= 2 ? header.getInt(36) : 0;
+    if (minStepCost < 0) {
+      throw new IllegalArgumentException("Invalid tiled maze header: " + name);
+    }
+    this.tilesPerRegion = (int) Math.max(1, MAX_REGION_BYTES / tileBytes);
+    int tileCount = (int) (tilesDown * tilesAcross);
+    this.regions = new MappedByteBuffer[(tileCount + tilesPerRegion - 1) / tilesPerRegion];
+    this.maxResidentTiles = maxResidentTiles;
+    this.tiles = new LinkedHashMap<>(Math.min(maxResidentTiles, 1 << 16) * 2, 0.75f, true);
+  }
+
+  /**
+   * Opens a tiled maze, keeping at most {@code maxResidentTiles} decoded
+   * tiles in memory.
+   */
+  public static TiledMaze open(Path file, int maxResidentTiles) {
+    Objects.requireNonNull(file, "file cannot be null");
+    if (maxResidentTiles < 1) {
+      throw new IllegalArgumentException("maxResidentTiles must be at least 1");
+    }
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      ByteBuffer header = ByteBuffer.allocate(TiledMazeFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      for (int read = 0; header.hasRemaining() && read >= 0; ) {
+        read = channel.read(header, header.position());
+      }
+      String name = file.getFileName().toString();
+      if (header.hasRemaining() || header.getInt(0) != TiledMazeFormat.MAGIC) {
+        throw new IllegalArgumentException("Not a tiled maze: " + name);
+      }
+      int version = Short.toUnsignedInt(header.getShort(4));
+      if (version < 1 || version > TiledMazeFormat.VERSION) {
+        throw new IllegalArgumentException("Unsupported tiled maze version " + version + ": " + name);
+      }
+      TiledMaze maze = new TiledMaze(name, channel, header, version, maxResidentTiles);
+      if (maze.costAt(maze.start.row(), maze.start.column()) == Maze.WALL
+          || maze.costAt(maze.goal.row(), maze.goal.column()) == Maze.WALL) {
+        throw new IllegalArgumentException("Start and goal cells must be walkable: " + name);
+      }
+      maze.resetTileStats();
+      return maze;
+    } catch (IOException exception) {
+      closeQuietly(channel);
+      throw new UncheckedIOException("Failed to open tiled maze: " + file, exception);
+    } catch (RuntimeException exception) {
+      closeQuietly(channel);
+      throw exception;
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public Coordinate getStart() {
+    return start;
+  }
+
+  @Override
+  public Coordinate getGoal() {
+    return goal;
+  }
+
+  /**
+   * Returns the cheapest walkable weight recorded at conversion, without
+   * reading any tile; 0 for files written before it was recorded.
+   */
+  @Override
+  public int getMinStepCost() {
+    return minStepCost;
+  }
+
+  public int getTileSize() {
+    return tileSize;
+  }
+
+  public long getCellCount() {
+    return (long) width * height;
+  }
+
+  @Override
+  public int costAt(int row, int column) {
+    int tileRow;
+    int tileColumn;
+    int innerRow;
+    int innerColumn;
+    if (tileShift >= 0) {
+      tileRow = row >>> tileShift;
+      tileColumn = column >>> tileShift;
+      innerRow = row & (tileSize - 1);
+      innerColumn = column & (tileSize - 1);
+    } else {
+      tileRow = row / tileSize;
+      tileColumn = column / tileSize;
+      innerRow = row - tileRow * tileSize;
+      innerColumn = column - tileColumn * tileSize;
+    }
+    return tile(tileRow * tilesAcross + tileColumn)[innerRow * tileSize + innerColumn];
+  }
+
+  public boolean isWalkable(int row, int column) {
+    return costAt(row, column) != Maze.WALL;
+  }
+
+  public TileCacheStats tileStats() {
+    return new TileCacheStats(hitCount, faultCount, evictionCount, tiles.size(), maxResidentTiles, tileSize);
+  }
+
+  public void resetTileStats() {
+    hitCount = 0;
+    faultCount = 0;
+    evictionCount = 0;
+  }
+
+  /**
+   * Drops the tile cache and the file mappings. Mapped regions are released
+   * by the garbage collector once unreachable.
+   */
+  @Override
+  public void close() {
+    tiles.clear();
+    lastTile = null;
+    lastTileId = -1;
+    Arrays.fill(regions, null);
+    closeQuietly(channel);
+  }
+
+  private int[] tile(int tileId) {
+    if (tileId == lastTileId) {
+      hitCount++;
+      return lastTile;
+    }
+    int[] cells = tiles.get(tileId);
+    if (cells != null) {
+      hitCount++;
+    } else {
+      faultCount++;
+      cells = loadTile(tileId);
+      if (tiles.size() >= maxResidentTiles) {
+        Iterator<int[]> eldest = tiles.values().iterator();
+        eldest.next();
+        eldest.remove();
+        evictionCount++;
+      }
+      tiles.put(tileId, cells);
+    }
+    lastTileId = tileId;
+    lastTile = cells;
+    return cells;
+  }
+
+  private int[] loadTile(int tileId) {
+    int regionIndex = tileId / tilesPerRegion;
+    MappedByteBuffer region = regions[regionIndex];
+    if (region == null) {
+      region = mapRegion(regionIndex);
+      regions[regionIndex] = region;
+    }
+    int[] cells = new int[tileSize * tileSize];
+    region.slice((tileId - regionIndex * tilesPerRegion) * tileBytes, tileBytes)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .asIntBuffer()
+        .get(cells);
+    return cells;
+  }
+
+  private MappedByteBuffer mapRegion(int regionIndex) {
+    long offset = TiledMazeFormat.HEADER_BYTES + (long) regionIndex * tilesPerRegion * tileBytes;
+    try {
+      long length = Math.min((long) tilesPerRegion * tileBytes, channel.size() - offset);
+      return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to map tiled maze: " + name, exception);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // Nothing useful to do when closing a read-only channel fails
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TiledMaze{name='" + name + "', width=" + width + ", height=" + height + ", tileSize=" + tileSize
+        + ", maxResidentTiles=" + maxResidentTiles + '}';
+  }
+}
@@ -0,0 +1,244 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tiled maze file for mazes too large to hold in the heap, opened with
+ * {@link TiledMaze}.
+ *
+ * Layout, little-endian:
+ * <pre>
+ *   0  magic "MAZT"
+ *   4  u16 version ({@value #VERSION}), u16 reserved
+ *   8  i32 tile size
+ *  12  i32 width
+ *  16  i32 height
+ *  20  i32 start row, start column, goal row, goal column
+ *  36  i32 smallest walkable cell weight (version 2; reserved in version 1)
+ *  40  reserved up to {@value #HEADER_BYTES}
+ * </pre>
+ * followed by square tiles of {@code tileSize * tileSize} i32 costs, in
+ * row-major tile order, each tile row-major inside. Walls are -1, and cells
+ * of edge tiles that fall outside the maze are stored as walls.
+ *
+ * Conversion streams the text maze once and keeps only one band of
+ * {@code tileSize} rows in memory, so it works for mazes of any size. Files
+ * are written to a temporary file beside the target and renamed over it, so
+ * a failed or interrupted write never leaves a partial tiled file.
+ */
+public final class TiledMazeFormat {
+
+  public static final String EXTENSION = ".mzt";
+  public static final int VERSION = 2;
+  public static final int DEFAULT_TILE_SIZE = 128;
+  static final int HEADER_BYTES = 64;
+  static final int MAGIC = 'M' | 'A' << 8 | 'Z' << 16 | 'T' << 24;
+  static final int MAX_TILE_SIZE = 4096;
+
+  private TiledMazeFormat() {
+  }
+
+  public static Path tiledFileFor(Path textFile) {
+    Objects.requireNonNull(textFile, "textFile cannot be null");
+    String name = textFile.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    return textFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+  }
+
+  /**
+   * Streams {@code textFile} into a tiled file next to it and returns its
+   * path. A malformed maze leaves any existing tiled file as it was.
+   */
+  public static Path convert(Path textFile, int tileSize) {
+    Path tiledFile = tiledFileFor(textFile);
+    convert(textFile, tiledFile, tileSize);
+    return tiledFile;
+  }
+
+  public static void convert(Path textFile, Path tiledFile, int tileSize) {
+    Objects.requireNonNull(textFile, "textFile cannot be null");
+    Objects.requireNonNull(tiledFile, "tiledFile cannot be null");
+    checkTileSize(tileSize);
+    if (!Files.isRegularFile(textFile)) {
+      throw new IllegalArgumentException("Maze file not found: " + textFile);
+    }
+    String name = textFile.getFileName().toString();
+    writeReplacing(tiledFile, "Failed to convert maze: " + textFile, channel -> {
+      try (InputStream input = Files.newInputStream(textFile)) {
+        BandWriter writer = new BandWriter(channel, tileSize);
+        MazeMetadata metadata = new MazeParser().scanRows(name, input, Files.size(textFile), writer::acceptRow);
+        writer.finish(metadata.start(), metadata.goal(), metadata.height());
+      }
+    });
+  }
+
+  /**
+   * Writes an in-memory maze in tiled form, mainly for tests and small
+   * mazes.
+   */
+  public static void write(Maze maze, Path tiledFile, int tileSize) {
+    Objects.requireNonNull(maze, "maze cannot be null");
+    Objects.requireNonNull(tiledFile, "tiledFile cannot be null");
+    checkTileSize(tileSize);
+    writeReplacing(tiledFile, "Failed to write tiled maze: " + tiledFile, channel -> {
+      BandWriter writer = new BandWriter(channel, tileSize);
+      int[] row = new int[maze.getWidth()];
+      for (int rowIndex = 0; rowIndex < maze.getHeight(); rowIndex++) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = maze.costAt(rowIndex, column);
+        }
+        writer.acceptRow(rowIndex, row, row.length);
+      }
+      writer.finish(maze.getStart(), maze.getGoal(), maze.getHeight());
+    });
+  }
+
+  private static void checkTileSize(int tileSize) {
+    if (tileSize < 1 || tileSize > MAX_TILE_SIZE) {
+      throw new IllegalArgumentException("Tile size must be between 1 and " + MAX_TILE_SIZE + ": " + tileSize);
+    }
+  }
+
+  /**
+   * Runs {@code body} against a temporary file beside {@code file}, then
+   * renames it over {@code file}. On any failure the temporary file is
+   * deleted and {@code file} is left as it was.
+   */
+  private static void writeReplacing(Path file, String failure, ChannelWriter body) {
+    Path absolute = file.toAbsolutePath();
+    Path temporary;
+    try {
+      temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    } catch (IOException exception) {
+      throw new UncheckedIOException(failure, exception);
+    }
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        body.write(channel);
+        channel.force(false);
+      }
+      try {
+        Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(failure, exception);
+    } finally {
+      try {
+        Files.deleteIfExists(temporary);
+      } catch (IOException ignored) {
+        // Only a leftover temporary file; the error above is the one worth reporting
+      }
+    }
+  }
+
+  private interface ChannelWriter {
+
+    void write(FileChannel channel) throws IOException;
+  }
+
+  /**
+   * Buffers one band of {@code tileSize} rows and writes it out as a row of
+   * tiles once the band is full. The header is written last, when start and
+   * goal are known.
+   */
+  private static final class BandWriter {
+
+    private final FileChannel channel;
+    private final int tileSize;
+    private int width = -1;
+    private int[] band;
+    private int bandRows;
+    private int minStepCost = Integer.MAX_VALUE;
+    private long position = HEADER_BYTES;
+    private ByteBuffer tileBuffer;
+    private IntBuffer tileCells;
+
+    BandWriter(FileChannel channel, int tileSize) {
+      this.channel = channel;
+      this.tileSize = tileSize;
+    }
+
+    void acceptRow(int row, int[] costs, int rowWidth) {
+      if (width < 0) {
+        width = rowWidth;
+        band = new int[Math.multiplyExact(tileSize, width)];
+        tileBuffer = ByteBuffer.allocate(tileSize * tileSize * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        tileCells = tileBuffer.asIntBuffer();
+      }
+      for (int column = 0; column < rowWidth; column++) {
+        if (costs[column] != Maze.WALL) {
+          minStepCost = Math.min(minStepCost, costs[column]);
+        }
+      }
+      System.arraycopy(costs, 0, band, bandRows * width, width);
+      if (++bandRows == tileSize) {
+        flushBand();
+      }
+    }
+
+    void finish(Coordinate start, Coordinate goal, int height) {
+      if (bandRows > 0) {
+        Arrays.fill(band, bandRows * width, band.length, Maze.WALL);
+        flushBand();
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC)
+          .putShort((short) VERSION)
+          .putShort((short) 0)
+          .putInt(tileSize)
+          .putInt(width)
+          .putInt(height)
+          .putInt(start.row())
+          .putInt(start.column())
+          .putInt(goal.row())
+          .putInt(goal.column())
+          .putInt(minStepCost == Integer.MAX_VALUE ? 0 : minStepCost);
+      header.clear();
+      write(header, 0);
+    }
+
+    private void flushBand() {
+      for (int tileColumn = 0; tileColumn * tileSize < width; tileColumn++) {
+        int firstColumn = tileColumn * tileSize;
+        int columns = Math.min(tileSize, width - firstColumn);
+        tileCells.clear();
+        for (int row = 0; row < tileSize; row++) {
+          tileCells.put(band, row * width + firstColumn, columns);
+          for (int pad = columns; pad < tileSize; pad++) {
+            tileCells.put(Maze.WALL);
+          }
+        }
+        tileBuffer.clear();
+        write(tileBuffer, position);
+        position += tileBuffer.capacity();
+      }
+      bandRows = 0;
+    }
+
+    private void write(ByteBuffer buffer, long offset) {
+      try {
+        long at = offset;
+        while (buffer.hasRemaining()) {
+          at += channel.write(buffer, at);
+        }
+      } catch (IOException exception) {
+        throw new UncheckedIOException("Failed to write tiled maze", exception);
+      }
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package cpe231.finalproject.timelimitedmaze;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cpe231.finalproject.timelimitedmaze.MazeProfiler.ProfileResult;
+import cpe231.finalproject.timelimitedmaze.MazeProfiler.TimingStats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class ProfileReportTest {
+
+  @Test
+  void roundTripsFieldsWithQuotesCommasAndLineBreaks() throws IOException {
+    List<ProfileResult> results = List.of(
+        new ProfileResult("A* Search", "odd\nname, \"quoted\".txt", 126, 25,
+            new TimingStats(3, 0.25, 0.5, 0.75, 0.75, 0.125), 9216, true, false, false, null),
+        new ProfileResult("Dijkstra", "m15_15.txt", -1, -1, null, -1, false, false, false,
+            "line one\r\nline two"),
+        new ProfileResult("BFS", "m15_15.txt", 130, 27,
+            new TimingStats(1, 1.0, 1.0, 1.0, 1.0, 0.0), 1024, true, true, false, null));
+
+    for (ProfileReport.Format format : ProfileReport.Format.values()) {
+      Path file = Files.createTempFile("profile", format == ProfileReport.Format.JSON ? ".json" : ".csv");
+      try {
+        ProfileReport.write(results, format, file);
+        assertEquals(results, ProfileReport.read(file));
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+}
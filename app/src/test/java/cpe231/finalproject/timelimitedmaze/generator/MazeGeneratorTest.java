@@ -0,0 +1,114 @@
+package cpe231.finalproject.timelimitedmaze.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.solver.DijkstraSolver;
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+final class MazeGeneratorTest {
+
+  private static final WeightDistribution WEIGHTS = WeightDistribution.uniform(1, 10);
+
+  @Test
+  void everyAlgorithmCarvesAPerfectMazeAcrossStrips() {
+    MazeGenerator generator = new MazeGenerator(Runnable::run, 64);
+    for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+      MazeSpec spec = new MazeSpec(61, 47, algorithm, WEIGHTS, 0, 7);
+      Passages passages = generator.carve(spec);
+      long open = 0;
+      for (int row = 0; row < passages.rows(); row++) {
+        for (int column = 0; column < passages.columns(); column++) {
+          open += passages.degree(row, column);
+        }
+      }
+      assertEquals(2L * (spec.rows() * spec.columns() - 1), open, algorithm.name());
+
+      Maze maze = generator.generate(spec, "perfect");
+      assertEquals(new Coordinate(2 * spec.rows() - 1, 2 * spec.columns() - 1), maze.getGoal());
+      assertTrue(new DijkstraSolver().solve(maze).totalCost() > 0, algorithm.name());
+    }
+  }
+
+  @Test
+  void fullBraidLeavesNoDeadEnds() {
+    MazeSpec spec = new MazeSpec(41, 41, MazeAlgorithm.BACKTRACKER, WEIGHTS, 1, 3);
+    Passages passages = new MazeGenerator(Runnable::run, 32).carve(spec);
+    for (int row = 0; row < passages.rows(); row++) {
+      for (int column = 0; column < passages.columns(); column++) {
+        assertTrue(passages.degree(row, column) >= 2);
+      }
+    }
+  }
+
+  @Test
+  void streamedTextIsIdenticalAcrossExecutorsAndMatchesMemory() throws IOException {
+    MazeSpec spec = new MazeSpec(120, 95, MazeAlgorithm.KRUSKAL, WeightDistribution.geometric(1, 50, 0.4),
+        0.25, 11);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      byte[] sequential = write(new MazeGenerator(Runnable::run, 256), spec);
+      byte[] parallel = write(new MazeGenerator(pool, 256), spec);
+      assertArrayEquals(sequential, parallel);
+
+      Maze parsed = new MazeParser().parse("m120_95.txt", sequential);
+      Maze generated = new MazeGenerator(Runnable::run, 256).generate(spec, "m120_95.txt");
+      assertArrayEquals(generated.copyCosts(), parsed.copyCosts());
+      assertEquals(generated.getStart(), parsed.getStart());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void braidingTwoRowStripsIsIdenticalAcrossExecutors() throws IOException {
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      for (MazeAlgorithm algorithm : MazeAlgorithm.values()) {
+        if (!algorithm.isStripParallel()) {
+          continue;
+        }
+        for (long seed = 1; seed <= 5; seed++) {
+          MazeSpec spec = new MazeSpec(121, 81, algorithm, WEIGHTS, 0.8, seed);
+          // A one-cell strip budget rounds up to the minimum of two rows per strip
+          byte[] sequential = write(new MazeGenerator(Runnable::run, 1), spec);
+          byte[] parallel = write(new MazeGenerator(pool, 1), spec);
+          assertArrayEquals(sequential, parallel);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void weightDistributionsStayInRange() {
+    WeightDistribution geometric = WeightDistribution.parse("geometric:2:9:0.5");
+    WeightDistribution uniform = WeightDistribution.parse("uniform:3:5");
+    for (long i = 0; i < 10_000; i++) {
+      long bits = MazeGenerator.mix(99, i);
+      int g = geometric.weight(bits);
+      int u = uniform.weight(bits);
+      assertTrue(g >= 2 && g <= 9);
+      assertTrue(u >= 3 && u <= 5);
+    }
+    assertEquals(4, WeightDistribution.parse("constant:4").weight(123));
+    assertThrows(IllegalArgumentException.class, () -> WeightDistribution.parse("uniform:0:5"));
+    assertThrows(IllegalArgumentException.class, () -> WeightDistribution.parse("normal:1:2"));
+  }
+
+  private static byte[] write(MazeGenerator generator, MazeSpec spec) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    generator.write(spec, output);
+    return output.toByteArray();
+  }
+}
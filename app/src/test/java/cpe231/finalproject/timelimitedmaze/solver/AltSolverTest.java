@@ -0,0 +1,64 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+final class AltSolverTest {
+
+  @Test
+  void landmarkBoundsAreAdmissibleAndPathsOptimal() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    int optimal = new DijkstraSolver().solve(maze).totalCost();
+    GoalDistanceField exact = GoalDistanceField.of(maze);
+
+    LandmarkTable table = LandmarkTable.of(maze, 6);
+    assertSame(table, LandmarkTable.of(maze, 6));
+    assertEquals(6, table.landmarkCount());
+    assertEquals(6L * 4 * maze.getCellCount(), table.memoryBytes());
+    for (int cell = 0; cell < maze.getCellCount(); cell += 7) {
+      if (exact.isReachable(cell)) {
+        assertTrue(table.lowerBound(maze, cell, maze.getGoalIndex()) <= exact.costToGo(cell));
+      }
+    }
+
+    AltSolver solver = new AltSolver(6);
+    SolverResult result = solver.solve(maze);
+    assertEquals(optimal, result.totalCost());
+    assertEquals(maze.getGoal(), result.path().getLast());
+
+    AltSolver single = new AltSolver(1);
+    assertEquals(optimal, single.solve(maze).totalCost());
+    assertTrue(solver.getLastExpansions() <= single.getLastExpansions());
+  }
+
+  @Test
+  void expiredBudgetStopsTheLandmarkSweepsWithoutCaching() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    LandmarkTable.clearCache();
+
+    CancellationToken expired = CancellationToken.withBudget(Duration.ZERO);
+    assertThrows(SolveTimeoutException.class, () -> LandmarkTable.of(maze, 4, expired));
+    AltSolver solver = new AltSolver(4);
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+    assertEquals(0, LandmarkTable.cacheSize());
+
+    // The parallel sweeps poll worker tokens, which expire with their parent
+    CancellationToken parent = CancellationToken.unbounded();
+    CancellationToken worker = parent.forWorker();
+    assertFalse(worker.poll());
+    parent.cancel();
+    assertTrue(worker.poll());
+
+    assertEquals(new DijkstraSolver().solve(maze).totalCost(), solver.solve(maze).totalCost());
+    assertEquals(1, LandmarkTable.cacheSize());
+  }
+}
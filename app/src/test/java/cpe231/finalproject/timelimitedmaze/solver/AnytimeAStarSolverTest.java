@@ -0,0 +1,83 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+final class AnytimeAStarSolverTest {
+
+  @Test
+  void improvingSolutionsMeetTheirBoundsAndEndOptimal() {
+    // Open weighted fields have many routes, so the inflated first iterations settle for worse ones
+    List<Maze> mazes = new ArrayList<>(List.of(MazeStore.getMaze("m15_15.txt"), MazeStore.getMaze("m100_100.txt")));
+    for (int seed = 1; seed <= 4; seed++) {
+      mazes.add(openField(30, seed));
+    }
+    boolean improved = false;
+    for (Maze maze : mazes) {
+      int optimal = new DijkstraSolver().solve(maze).totalCost();
+      List<AnytimeSolution> solutions = new ArrayList<>();
+      AnytimeAStarSolver solver = new AnytimeAStarSolver(5.0, 1.0, solutions::add);
+
+      SolverResult result = solver.solve(maze);
+
+      assertFalse(result.timedOut());
+      assertEquals(optimal, result.totalCost(), maze.getName());
+      assertFalse(solutions.isEmpty());
+      for (int i = 0; i < solutions.size(); i++) {
+        AnytimeSolution solution = solutions.get(i);
+        assertEquals(maze.getStart(), solution.path().getFirst());
+        assertEquals(maze.getGoal(), solution.path().getLast());
+        PathAssertions.assertAdjacent(solution.path());
+        assertEquals(solver.calculatePathCost(maze, solution.path()), solution.totalCost());
+        assertTrue(solution.totalCost() <= optimal * solution.suboptimalityBound() + 1e-9,
+            maze.getName() + " iteration " + solution.iteration());
+        if (i > 0) {
+          assertTrue(solution.totalCost() <= solutions.get(i - 1).totalCost());
+          assertTrue(solution.iteration() > solutions.get(i - 1).iteration());
+        }
+      }
+      assertEquals(optimal, solutions.getLast().totalCost());
+      assertEquals(result.path(), solutions.getLast().path());
+      improved |= solutions.getFirst().totalCost() > optimal;
+    }
+    assertTrue(improved);
+  }
+
+  @Test
+  void listenerMakesResultsUncacheable() {
+    assertTrue(new AnytimeAStarSolver().isResultCacheable());
+    assertFalse(new AnytimeAStarSolver(3.0, 0.5, solution -> {
+    }).isResultCacheable());
+  }
+
+  /**
+   * A wall-free square of random weights 1 to 9 from corner to corner.
+   */
+  private static Maze openField(int size, long seed) {
+    Random random = new Random(seed);
+    List<String> lines = new ArrayList<>();
+    for (int row = 0; row < size; row++) {
+      StringBuilder line = new StringBuilder();
+      for (int column = 0; column < size; column++) {
+        if (row == 0 && column == 0) {
+          line.append('S');
+        } else if (row == size - 1 && column == size - 1) {
+          line.append('G');
+        } else {
+          line.append('"').append(1 + random.nextInt(9)).append('"');
+        }
+      }
+      lines.add(line.toString());
+    }
+    return new MazeParser().parse("open" + seed, lines);
+  }
+}
@@ -0,0 +1,90 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.generator.MazeAlgorithm;
+import cpe231.finalproject.timelimitedmaze.generator.MazeGenerator;
+import cpe231.finalproject.timelimitedmaze.generator.MazeSpec;
+import cpe231.finalproject.timelimitedmaze.generator.WeightDistribution;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+final class CancellationTokenTest {
+
+  // About 1.4 million cells: far more than a few milliseconds of search
+  private static final Maze LARGE = new MazeGenerator(Runnable::run)
+      .generate(new MazeSpec(600, 600, MazeAlgorithm.BACKTRACKER, WeightDistribution.uniform(1, 10), 0, 9), "large");
+
+  @Test
+  void budgetExpiringMidSearchReturnsThePartialPath() {
+    MazeSolver solver = new DijkstraSolver();
+    solver.setResultCaching(false);
+
+    SolverResult result = solver.solve(LARGE, Duration.ofMillis(5));
+
+    assertTrue(result.timedOut());
+    assertPartialPath(solver, result);
+  }
+
+  @Test
+  void cancelFromAnotherThreadStopsTheSolve() throws InterruptedException {
+    MazeSolver solver = new AstarSolver();
+    solver.setResultCaching(false);
+    // The budget only guards against a cancel that is never seen
+    CancellationToken token = CancellationToken.withBudget(Duration.ofMinutes(1));
+    Thread canceller = new Thread(() -> {
+      try {
+        Thread.sleep(5);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      token.cancel();
+    });
+
+    canceller.start();
+    SolverResult result = solver.solve(LARGE, token);
+    canceller.join();
+
+    assertTrue(token.isCancelled());
+    assertTrue(token.elapsed().compareTo(Duration.ofSeconds(30)) < 0);
+    assertTrue(result.timedOut());
+    assertPartialPath(solver, result);
+  }
+
+  @Test
+  void solveWithNoPartialPathThrowsAndUnexpiredBudgetCompletes() {
+    Maze maze = MazeStore.getMaze("m15_15.txt");
+    MazeSolver solver = new DeadEndFillSolver();
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+
+    SolverResult result = solver.solve(maze, Duration.ofMinutes(1));
+    assertFalse(result.timedOut());
+    assertEquals(maze.getGoal(), result.path().getLast());
+  }
+
+  @Test
+  void expiresAtItsDeadlineOrOnCancel() {
+    assertTrue(CancellationToken.withBudget(Duration.ZERO).isCancelled());
+    assertThrows(IllegalArgumentException.class, () -> CancellationToken.withBudget(Duration.ofMillis(-1)));
+
+    CancellationToken unbounded = CancellationToken.unbounded();
+    assertFalse(unbounded.isCancelled());
+    assertFalse(unbounded.poll());
+    unbounded.cancel();
+    assertTrue(unbounded.poll());
+  }
+
+  private static void assertPartialPath(MazeSolver solver, SolverResult result) {
+    assertEquals(LARGE.getStart(), result.path().getFirst());
+    assertNotEquals(LARGE.getGoal(), result.path().getLast());
+    PathAssertions.assertAdjacent(result.path());
+    assertEquals(solver.calculatePathCost(LARGE, result.path()), result.totalCost());
+  }
+}
@@ -0,0 +1,122 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+final class ContractionHierarchyTest {
+
+  @Test
+  void routesBetweenArbitraryCellsMatchDijkstra() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    ContractionHierarchy hierarchy = ContractionHierarchy.of(maze);
+    assertSame(hierarchy, ContractionHierarchy.of(maze));
+    assertTrue(hierarchy.buildNanos() > 0);
+
+    List<Integer> open = new ArrayList<>();
+    for (int cell = 0; cell < maze.getCellCount(); cell++) {
+      if (maze.isWalkable(cell)) {
+        open.add(cell);
+      }
+    }
+    Random random = new Random(25);
+    MazeSolver costs = new DijkstraSolver();
+    for (int query = 0; query < 40; query++) {
+      int target = open.get(random.nextInt(open.size()));
+      int[] exact = GoalDistanceField.costsToReach(maze, target);
+      for (int i = 0; i < 5; i++) {
+        int source = open.get(random.nextInt(open.size()));
+        Coordinate from = maze.coordinateOf(source);
+        Coordinate to = maze.coordinateOf(target);
+        ContractionHierarchy.Route route = hierarchy.route(maze, from, to);
+        if (exact[source] == GoalDistanceField.UNREACHABLE) {
+          assertFalse(route.found());
+          assertEquals(-1, hierarchy.distance(maze, from, to));
+          continue;
+        }
+        assertEquals(maze.costAt(source) + exact[source], route.totalCost());
+        assertEquals(route.totalCost(), hierarchy.distance(maze, from, to));
+        assertEquals(from, route.path().getFirst());
+        assertEquals(to, route.path().getLast());
+        PathAssertions.assertAdjacent(route.path());
+        assertEquals(route.totalCost(), costs.calculatePathCost(maze, route.path()));
+      }
+    }
+
+    ContractionHierarchySolver solver = new ContractionHierarchySolver();
+    assertEquals(new DijkstraSolver().solve(maze).totalCost(), solver.solve(maze).totalCost());
+    assertTrue(solver.getLastSettledNodes() > 0);
+  }
+
+  @Test
+  void expiredBudgetStopsContractionWithoutCaching() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    ContractionHierarchy.clearCache();
+    JunctionGraph.clearCache();
+
+    CancellationToken expired = CancellationToken.withBudget(Duration.ZERO);
+    assertThrows(SolveTimeoutException.class, () -> ContractionHierarchy.of(maze, expired));
+    assertEquals(0, JunctionGraph.cacheSize());
+    JunctionGraph.of(maze);
+    assertThrows(SolveTimeoutException.class, () -> ContractionHierarchy.of(maze, expired));
+    ContractionHierarchySolver solver = new ContractionHierarchySolver();
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+    assertEquals(0, ContractionHierarchy.cacheSize());
+
+    assertEquals(new DijkstraSolver().solve(maze).totalCost(), solver.solve(maze).totalCost());
+    assertEquals(1, ContractionHierarchy.cacheSize());
+  }
+
+  @Test
+  void routesAlongOneCorridor() {
+    Maze maze = new MazeParser().parse("corridor.txt", List.of(
+        "#########",
+        "#S\"2\"\"3\"\"4\"\"5\"\"6\"G#",
+        "#########"));
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(maze);
+
+    ContractionHierarchy.Route inner = hierarchy.route(maze, new Coordinate(1, 5), new Coordinate(1, 3));
+    assertEquals(List.of(new Coordinate(1, 5), new Coordinate(1, 4), new Coordinate(1, 3)), inner.path());
+    assertEquals(5 + 4 + 3, inner.totalCost());
+
+    ContractionHierarchy.Route outward = hierarchy.route(maze, new Coordinate(1, 3), new Coordinate(1, 7));
+    assertEquals(3 + 4 + 5 + 6 + 1, outward.totalCost());
+    assertEquals(5, outward.path().size());
+  }
+
+  @Test
+  void routesAroundARingWithNoNodeTheShortWay() {
+    Maze maze = new MazeParser().parse("ring.txt", List.of(
+        "#######",
+        "#S#\"1\"\"1\"\"1\"#",
+        "#\"1\"#\"1\"#\"1\"#",
+        "#G#\"1\"\"1\"\"1\"#",
+        "#######"));
+    ContractionHierarchy hierarchy = ContractionHierarchy.build(maze);
+
+    Coordinate from = new Coordinate(1, 3);
+    Coordinate to = new Coordinate(1, 4);
+    ContractionHierarchy.Route route = hierarchy.route(maze, from, to);
+    assertEquals(List.of(from, to), route.path());
+    assertEquals(2, route.totalCost());
+    assertEquals(2, hierarchy.distance(maze, from, to));
+    assertEquals(2, hierarchy.distance(maze, to, from));
+
+    ContractionHierarchy.Route across = hierarchy.route(maze, new Coordinate(2, 3), new Coordinate(3, 5));
+    assertEquals(4, across.totalCost());
+    PathAssertions.assertAdjacent(across.path());
+  }
+}
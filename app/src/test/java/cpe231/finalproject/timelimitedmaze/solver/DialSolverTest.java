@@ -0,0 +1,75 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+final class DialSolverTest {
+
+  @Test
+  void bothModesMatchDijkstraOnBundledMazes() {
+    for (String name : List.of("m15_15.txt", "m100_100.txt")) {
+      assertMatchesDijkstra(MazeStore.getMaze(name));
+    }
+  }
+
+  @Test
+  void bothModesMatchDijkstraWithFreeCells() {
+    int zeroCells = 0;
+    for (int seed = 1; seed <= 8; seed++) {
+      Maze maze = weightedField(40, seed);
+      for (int cell = 0; cell < maze.getCellCount(); cell++) {
+        if (maze.costAt(cell) == 0) {
+          zeroCells++;
+        }
+      }
+      assertMatchesDijkstra(maze);
+    }
+    assertTrue(zeroCells > 0);
+  }
+
+  private static void assertMatchesDijkstra(Maze maze) {
+    SolverResult expected = new DijkstraSolver().solve(maze);
+    for (DialSolver.Mode mode : DialSolver.Mode.values()) {
+      DialSolver solver = new DialSolver(mode);
+      SolverResult result = solver.solve(maze);
+      assertEquals(expected.totalCost(), result.totalCost(), maze.getName() + " " + mode);
+      assertEquals(maze.getStart(), result.path().getFirst());
+      assertEquals(maze.getGoal(), result.path().getLast());
+      PathAssertions.assertAdjacent(result.path());
+      assertEquals(result.totalCost(), solver.calculatePathCost(maze, result.path()));
+    }
+  }
+
+  /**
+   * A square of weights 0 to 4 with scattered walls, start and goal in opposite
+   * corners. The top row and right column stay open so the goal is reachable.
+   */
+  private static Maze weightedField(int size, long seed) {
+    Random random = new Random(seed);
+    List<String> lines = new ArrayList<>();
+    for (int row = 0; row < size; row++) {
+      StringBuilder line = new StringBuilder();
+      for (int column = 0; column < size; column++) {
+        if (row == 0 && column == 0) {
+          line.append('S');
+        } else if (row == size - 1 && column == size - 1) {
+          line.append('G');
+        } else if (row > 0 && column < size - 1 && random.nextInt(4) == 0) {
+          line.append('#');
+        } else {
+          line.append('"').append(random.nextInt(5)).append('"');
+        }
+      }
+      lines.add(line.toString());
+    }
+    return new MazeParser().parse("field" + seed, lines);
+  }
+}
@@ -0,0 +1,72 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class GoalDistanceFieldTest {
+
+  @Test
+  void extractsOptimalPathsAndServesAsExactHeuristic() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    SolverResult dijkstra = new DijkstraSolver().solve(maze);
+
+    GoalDistanceField field = GoalDistanceField.of(maze);
+    assertSame(field, GoalDistanceField.of(maze));
+    assertEquals(dijkstra.totalCost(), field.costToGo(maze.getStart()) + maze.costAt(maze.getStartIndex()));
+
+    SolverResult extracted = new GoalDistanceSolver().solve(maze);
+    assertEquals(dijkstra.totalCost(), extracted.totalCost());
+    assertEquals(maze.getGoal(), extracted.path().getLast());
+
+    SolverResult exact = new AstarSolver(AstarSolver.Heuristic.GOAL_DISTANCE).solve(maze);
+    assertEquals(dijkstra.totalCost(), exact.totalCost());
+
+    Coordinate midway = dijkstra.path().get(dijkstra.path().size() / 2);
+    List<Coordinate> fromMidway = field.pathFrom(maze, midway);
+    assertEquals(midway, fromMidway.getFirst());
+    assertEquals(field.costToGo(midway) + maze.costAt(midway.row(), midway.column()),
+        new DijkstraSolver().calculatePathCost(maze, fromMidway));
+  }
+
+  @Test
+  void crossesZeroWeightPlateaus() {
+    Maze maze = new MazeParser().parse("plateau.txt", List.of(
+        "########",
+        "#S\"0\"\"0\"#\"4\"\"1\"#",
+        "#\"0\"\"0\"\"0\"\"0\"\"2\"G#",
+        "########"));
+    GoalDistanceField field = GoalDistanceField.compute(maze);
+    List<Coordinate> path = field.pathFrom(maze, maze.getStart());
+
+    assertEquals(maze.getGoal(), path.getLast());
+    assertEquals(3, field.costToGo(maze.getStart()));
+    assertTrue(path.size() >= 6);
+  }
+
+  @Test
+  void expiredBudgetStopsTheSweepWithoutCaching() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    GoalDistanceField.clearCache();
+
+    CancellationToken expired = CancellationToken.withBudget(Duration.ZERO);
+    assertThrows(SolveTimeoutException.class, () -> GoalDistanceField.of(maze, expired));
+    GoalDistanceSolver solver = new GoalDistanceSolver();
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+    assertEquals(0, GoalDistanceField.cacheSize());
+
+    GoalDistanceField field = GoalDistanceField.of(maze);
+    assertEquals(1, GoalDistanceField.cacheSize());
+    assertEquals(GoalDistanceField.compute(maze).getReachableCells(), field.getReachableCells());
+  }
+}
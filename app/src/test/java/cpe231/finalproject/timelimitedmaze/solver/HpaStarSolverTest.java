@@ -0,0 +1,52 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class HpaStarSolverTest {
+
+  @Test
+  void findsNearOptimalPathsThroughACachedAbstraction() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    int optimal = new DijkstraSolver().solve(maze).totalCost();
+
+    for (int clusterSize : new int[] {8, 16, 32}) {
+      HpaStarSolver solver = new HpaStarSolver(clusterSize);
+      SolverResult result = solver.solve(maze);
+      List<Coordinate> path = result.path();
+
+      assertEquals(maze.getStart(), path.getFirst());
+      assertEquals(maze.getGoal(), path.getLast());
+      PathAssertions.assertAdjacent(path);
+      assertTrue(result.totalCost() >= optimal);
+      assertTrue(result.totalCost() <= optimal * 1.25, "cluster " + clusterSize + " cost " + result.totalCost());
+      assertTrue(solver.getLastAbstractExpansions() > 0);
+      assertSame(HierarchicalGraph.of(maze, clusterSize), HierarchicalGraph.of(maze, clusterSize));
+    }
+  }
+
+  @Test
+  void expiredBudgetStopsTheAbstractionWithoutCaching() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    HierarchicalGraph.clearCache();
+
+    CancellationToken expired = CancellationToken.withBudget(Duration.ZERO);
+    assertThrows(SolveTimeoutException.class, () -> HierarchicalGraph.of(maze, 16, expired));
+    HpaStarSolver solver = new HpaStarSolver(16);
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+    assertEquals(0, HierarchicalGraph.cacheSize());
+
+    assertEquals(maze.getGoal(), solver.solve(maze).path().getLast());
+    assertEquals(1, HierarchicalGraph.cacheSize());
+  }
+}
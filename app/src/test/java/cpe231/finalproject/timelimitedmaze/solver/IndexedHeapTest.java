@@ -0,0 +1,51 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+final class IndexedHeapTest {
+
+  @Test
+  void pollsInPriorityOrder() {
+    IndexedHeap heap = new IndexedHeap(8);
+    double[] priorities = {5.0, 3.0, 7.0, 1.0, 4.0, 6.0, 2.0, 0.5};
+    for (int cell = 0; cell < priorities.length; cell++) {
+      heap.insertOrUpdate(cell, priorities[cell]);
+    }
+
+    int[] expected = {7, 3, 6, 1, 4, 0, 5, 2};
+    for (int cell : expected) {
+      assertEquals(cell, heap.poll());
+    }
+    assertTrue(heap.isEmpty());
+  }
+
+  @Test
+  void decreaseKeyKeepsOneEntryPerCell() {
+    IndexedHeap heap = new IndexedHeap(4);
+    heap.insertOrUpdate(0, 10.0);
+    heap.insertOrUpdate(1, 5.0);
+    heap.insertOrUpdate(0, 1.0);
+
+    assertEquals(2, heap.size());
+    assertEquals(0, heap.poll());
+    assertFalse(heap.contains(0));
+    assertEquals(1, heap.poll());
+  }
+
+  @Test
+  void clearForgetsQueuedCells() {
+    IndexedHeap heap = new IndexedHeap(4);
+    heap.insertOrUpdate(2, 3.0);
+    heap.insertOrUpdate(3, 1.0);
+    heap.clear();
+
+    assertTrue(heap.isEmpty());
+    assertFalse(heap.contains(2));
+    heap.insertOrUpdate(2, 4.0);
+    assertEquals(2, heap.poll());
+  }
+}
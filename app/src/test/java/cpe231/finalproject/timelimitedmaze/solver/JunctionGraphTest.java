@@ -0,0 +1,65 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeParser;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class JunctionGraphTest {
+
+  @Test
+  void contractsCorridorsWithoutChangingShortestPaths() {
+    for (String name : List.of("m15_15.txt", "m100_100.txt")) {
+      Maze maze = MazeStore.getMaze(name);
+      JunctionGraph graph = JunctionGraph.of(maze);
+      assertSame(graph, JunctionGraph.of(maze));
+      assertTrue(graph.nodeCount() < graph.walkableCells());
+
+      SolverResult grid = new DijkstraSolver().solve(maze);
+      SolverResult contracted = new JunctionDijkstraSolver().solve(maze);
+      assertEquals(grid.totalCost(), contracted.totalCost(), name);
+      assertEquals(maze.getGoal(), contracted.path().getLast());
+      PathAssertions.assertAdjacent(contracted.path());
+    }
+  }
+
+  @Test
+  void weightsEdgesBySummedCorridorCost() {
+    Maze maze = new MazeParser().parse("corridor.txt", List.of(
+        "#######",
+        "#S\"2\"\"3\"\"4\"G#",
+        "#######"));
+    JunctionGraph graph = JunctionGraph.build(maze);
+
+    assertEquals(2, graph.nodeCount());
+    assertEquals(2, graph.edgeCount());
+    int startNode = graph.nodeOf(maze.getStartIndex());
+    int edge = graph.firstEdge(startNode);
+    assertEquals(graph.nodeOf(maze.getGoalIndex()), graph.edgeTarget(edge));
+    assertEquals(2 + 3 + 4 + 1, graph.edgeWeight(edge));
+    assertEquals(4, graph.edgeCells(edge));
+  }
+
+  @Test
+  void expiredBudgetStopsExtractionWithoutCaching() {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    JunctionGraph.clearCache();
+
+    CancellationToken expired = CancellationToken.withBudget(Duration.ZERO);
+    assertThrows(SolveTimeoutException.class, () -> JunctionGraph.of(maze, expired));
+    JunctionDijkstraSolver solver = new JunctionDijkstraSolver();
+    solver.setResultCaching(false);
+    assertThrows(SolveTimeoutException.class, () -> solver.solve(maze, Duration.ZERO));
+    assertEquals(0, JunctionGraph.cacheSize());
+
+    assertEquals(new DijkstraSolver().solve(maze).totalCost(), solver.solve(maze).totalCost());
+    assertEquals(1, JunctionGraph.cacheSize());
+  }
+}
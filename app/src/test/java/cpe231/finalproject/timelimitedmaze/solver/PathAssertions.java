@@ -0,0 +1,26 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import java.util.List;
+
+/**
+ * Path checks shared by the solver tests.
+ */
+final class PathAssertions {
+
+  private PathAssertions() {
+  }
+
+  /**
+   * Asserts that consecutive cells of {@code path} are one unit step apart.
+   */
+  static void assertAdjacent(List<Coordinate> path) {
+    for (int i = 1; i < path.size(); i++) {
+      Coordinate a = path.get(i - 1);
+      Coordinate b = path.get(i);
+      assertEquals(1, Math.abs(a.row() - b.row()) + Math.abs(a.column() - b.column()), "step " + i);
+    }
+  }
+}
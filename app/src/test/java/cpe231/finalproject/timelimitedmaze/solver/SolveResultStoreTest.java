@@ -0,0 +1,133 @@
+package cpe231.finalproject.timelimitedmaze.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.utils.Coordinate;
+import cpe231.finalproject.timelimitedmaze.utils.Maze;
+import cpe231.finalproject.timelimitedmaze.utils.MazeStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class SolveResultStoreTest {
+
+  @Test
+  void persistsAcrossReopenAndRebuildsItsIndex() throws IOException {
+    Path directory = Files.createTempDirectory("solve-cache");
+    List<Coordinate> path = List.of(new Coordinate(1, 1), new Coordinate(1, 2), new Coordinate(2, 2),
+        new Coordinate(7, 300), new Coordinate(7, 299));
+    try {
+      try (SolveResultStore store = SolveResultStore.open(directory)) {
+        for (int i = 0; i < 1500; i++) {
+          store.store(i, "A* Search", path, i);
+        }
+        store.store(42L, "Bidirectional BFS", path.subList(0, 2), 3);
+        assertEquals(1501, store.stats().entryCount());
+      }
+
+      Files.delete(directory.resolve(SolveResultStore.INDEX_FILE));
+      try (FileChannel data = FileChannel.open(directory.resolve(SolveResultStore.DATA_FILE),
+          StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+        data.write(ByteBuffer.wrap(new byte[] {9, 0, 0}));
+      }
+      long intactBytes;
+      try (SolveResultStore store = SolveResultStore.open(directory)) {
+        SolveResultStore.StoredSolve stored = store.lookup(1234L, "A* Search").orElseThrow();
+        assertEquals(path, stored.path());
+        assertEquals(1234, stored.totalCost());
+        assertEquals(2, store.lookup(42L, "Bidirectional BFS").orElseThrow().path().size());
+        assertFalse(store.lookup(42L, "Dijkstra's Algorithm").isPresent());
+        assertFalse(store.lookup(5000L, "A* Search").isPresent());
+
+        SolveResultStats stats = store.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(1501, stats.entryCount());
+        intactBytes = stats.dataBytes();
+      }
+      assertEquals(intactBytes, Files.size(directory.resolve(SolveResultStore.DATA_FILE)));
+    } finally {
+      deleteRecursively(directory);
+    }
+  }
+
+  @Test
+  void solveIsServedFromTheDefaultStoreUnlessDisabled() throws IOException {
+    Path directory = Files.createTempDirectory("solve-cache");
+    Maze maze = MazeStore.getMaze("m15_15.txt");
+    try (SolveResultStore store = SolveResultStore.open(directory)) {
+      SolveResultStore.setDefault(store);
+
+      SolverResult solved = new DijkstraSolver().solve(maze);
+      DijkstraSolver cachedSolver = new DijkstraSolver();
+      SolverResult cached = cachedSolver.solve(maze);
+      assertTrue(cachedSolver.isLastResultCached());
+      assertEquals(solved.path(), cached.path());
+      assertEquals(solved.totalCost(), cached.totalCost());
+
+      DijkstraSolver uncachedSolver = new DijkstraSolver();
+      uncachedSolver.setResultCaching(false);
+      uncachedSolver.solve(maze);
+      assertFalse(uncachedSolver.isLastResultCached());
+
+      AstarSolver otherAlgorithm = new AstarSolver();
+      otherAlgorithm.solve(maze);
+      assertFalse(otherAlgorithm.isLastResultCached());
+      assertEquals(1, store.stats().hitCount());
+      assertEquals(2, store.stats().storeCount());
+    } finally {
+      SolveResultStore.setDefault(null);
+      deleteRecursively(directory);
+    }
+  }
+
+  @Test
+  void recordsThatNoLongerSolveTheMazeAreReplaced() throws IOException {
+    Path directory = Files.createTempDirectory("solve-cache");
+    Maze maze = MazeStore.getMaze("m15_15.txt");
+    try (SolveResultStore store = SolveResultStore.open(directory)) {
+      SolveResultStore.setDefault(store);
+      DijkstraSolver solver = new DijkstraSolver();
+      List<Coordinate> optimal = new DijkstraSolver().solve(maze).path();
+
+      // Stops one cell short of the goal
+      List<Coordinate> shortOfGoal = optimal.subList(0, optimal.size() - 1);
+      store.store(maze.getFingerprint(), solver.resultKey(), shortOfGoal, solver.calculatePathCost(maze, shortOfGoal));
+      assertEquals(optimal, solver.solve(maze).path());
+      assertFalse(solver.isLastResultCached());
+
+      // Jumps straight from start to goal
+      List<Coordinate> jump = List.of(optimal.getFirst(), optimal.getLast());
+      store.store(maze.getFingerprint(), solver.resultKey(), jump, solver.calculatePathCost(maze, jump));
+      assertEquals(optimal, solver.solve(maze).path());
+      assertFalse(solver.isLastResultCached());
+
+      // The re-solve replaced the bad record
+      assertEquals(optimal, solver.solve(maze).path());
+      assertTrue(solver.isLastResultCached());
+    } finally {
+      SolveResultStore.setDefault(null);
+      deleteRecursively(directory);
+    }
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (Stream<Path> walk = Files.walk(directory)) {
+      walk.sorted(Comparator.reverseOrder()).forEach(paths::add);
+    }
+    for (Path path : paths) {
+      Files.deleteIfExists(path);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class BinaryMazeFormatTest {
+
+  @Test
+  void roundTripsNarrowWeights() throws IOException {
+    Maze maze = new MazeParser().parse("tiny", List.of(
+        "#####",
+        "#S\"3\"\"10\"#",
+        "#\"2\"#G#",
+        "#####"));
+
+    Maze loaded = roundTrip(maze);
+
+    assertEquals(1, BinaryMazeFormat.weightBytesFor(maze));
+    assertEquals(maze.toString(), loaded.toString());
+    assertArrayEquals(maze.copyCosts(), loaded.copyCosts());
+    assertEquals(maze.getFingerprint(), loaded.getFingerprint());
+  }
+
+  @Test
+  void roundTripsWideWeights() throws IOException {
+    Maze maze = new MazeParser().parse("wide", List.of("S\"300\"\"70000\"#G"));
+
+    Maze loaded = roundTrip(maze);
+
+    assertEquals(4, BinaryMazeFormat.weightBytesFor(maze));
+    assertArrayEquals(maze.copyCosts(), loaded.copyCosts());
+    assertEquals(maze.getGoal(), loaded.getGoal());
+  }
+
+  @Test
+  void rejectsTextAndTruncatedInput() throws IOException {
+    Maze maze = new MazeParser().parse("tiny", List.of("S\"2\"G"));
+    Path file = Files.createTempFile("maze", BinaryMazeFormat.EXTENSION);
+    try {
+      BinaryMazeFormat.write(maze, file);
+      byte[] bytes = Files.readAllBytes(file);
+
+      assertThrows(IllegalArgumentException.class,
+          () -> BinaryMazeFormat.read("text", ByteBuffer.wrap("S\"2\"G".getBytes())));
+      assertThrows(IllegalArgumentException.class,
+          () -> BinaryMazeFormat.read("cut", ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void damagedFreshSidecarFallsBackToTheText() throws IOException {
+    Path directory = Files.createTempDirectory("mazes");
+    Path text = directory.resolve("damaged.txt");
+    Path sidecar = BinaryMazeFormat.sidecarFor(text);
+    try {
+      Files.writeString(text, "#####\n#S\"4\"G#\n#####\n");
+      BinaryMazeFormat.convert(text);
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(2, files.count());
+      }
+
+      // As an interrupted in-place write would leave it: cut short, yet newer than the text
+      byte[] bytes = Files.readAllBytes(sidecar);
+      Files.write(sidecar, Arrays.copyOf(bytes, bytes.length - 3));
+      Files.setLastModifiedTime(sidecar, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      assertTrue(BinaryMazeFormat.hasFreshSidecar(text));
+
+      Maze maze = MazeStore.getMaze(text.toString());
+      assertEquals(4, maze.costAt(1, 2));
+      assertEquals(3, MazeCatalog.getMetadata(text.toString()).walkableCells());
+    } finally {
+      MazeStore.clear();
+      MazeCatalog.clear();
+      Files.deleteIfExists(sidecar);
+      Files.deleteIfExists(text);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  void namesSidecarAfterTextFile() {
+    assertEquals(Path.of("mazes", "m15_15.mzb"), BinaryMazeFormat.sidecarFor(Path.of("mazes", "m15_15.txt")));
+  }
+
+  private static Maze roundTrip(Maze maze) throws IOException {
+    Path file = Files.createTempFile("maze", BinaryMazeFormat.EXTENSION);
+    try {
+      BinaryMazeFormat.write(maze, file);
+      return BinaryMazeFormat.read(maze.getName(), file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
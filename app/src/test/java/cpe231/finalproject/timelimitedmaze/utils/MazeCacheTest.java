@@ -0,0 +1,117 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+final class MazeCacheTest {
+
+  private static Maze maze(String name) {
+    return new Maze(name, 10, 10, new int[100], new Coordinate(0, 0), new Coordinate(9, 9));
+  }
+
+  private static final long WEIGHT = maze("m0").estimatedRetainedBytes();
+
+  @Test
+  void evictsLeastRecentlyUsedWithinBudget() {
+    MazeCache cache = new MazeCache(2 * WEIGHT, false, MazeCacheTest::maze);
+
+    Maze first = cache.get("m1");
+    cache.get("m2");
+    assertSame(first, cache.get("m1"));
+    cache.get("m3");
+
+    assertNotNull(cache.getIfPresent("m1"));
+    assertNull(cache.getIfPresent("m2"));
+    MazeCacheStats stats = cache.stats();
+    assertEquals(1, stats.hitCount());
+    assertEquals(3, stats.missCount());
+    assertEquals(1, stats.evictionCount());
+    assertEquals(2, stats.entryCount());
+    assertEquals(2 * WEIGHT, stats.weightedBytes());
+  }
+
+  @Test
+  void keepsFrequentlyUsedMazesDuringScans() {
+    MazeCache cache = new MazeCache(2 * WEIGHT, false, MazeCacheTest::maze);
+    for (int round = 0; round < 5; round++) {
+      cache.get("hot");
+    }
+
+    for (int index = 0; index < 20; index++) {
+      cache.get("scan" + index);
+    }
+
+    assertNotNull(cache.getIfPresent("hot"));
+  }
+
+  @Test
+  void softTierServesEvictedMazes() {
+    MazeCache cache = new MazeCache(WEIGHT, true, MazeCacheTest::maze);
+    Maze first = cache.get("m1");
+    cache.get("m2");
+
+    assertSame(first, cache.get("m1"));
+    assertEquals(1, cache.stats().softHitCount());
+  }
+
+  @Test
+  void coalescesConcurrentLoads() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    MazeCache cache = new MazeCache(10 * WEIGHT, false, name -> {
+      loads.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return maze(name);
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Maze>> results = new ArrayList<>();
+      for (int index = 0; index < 4; index++) {
+        results.add(executor.submit(() -> cache.get("shared")));
+      }
+      while (cache.stats().missCount() < 4) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+      Maze loaded = results.getFirst().get();
+      for (Future<Maze> result : results) {
+        assertSame(loaded, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1, cache.stats().loadCount());
+  }
+
+  @Test
+  void doesNotCacheFailedLoads() {
+    AtomicInteger attempts = new AtomicInteger();
+    MazeCache cache = new MazeCache(WEIGHT, false, name -> {
+      attempts.incrementAndGet();
+      throw new IllegalArgumentException("Maze file not found: " + name);
+    });
+
+    assertThrows(IllegalArgumentException.class, () -> cache.get("missing"));
+    assertThrows(IllegalArgumentException.class, () -> cache.get("missing"));
+    assertEquals(2, attempts.get());
+    assertEquals(2, cache.stats().loadFailureCount());
+  }
+}
@@ -0,0 +1,60 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class MazeCatalogTest {
+
+  @Test
+  void listsBundledMazes() {
+    List<String> mazes = MazeCatalog.listMazes();
+
+    assertTrue(mazes.contains("m15_15.txt"));
+    assertTrue(mazes.contains("m100_100.txt"));
+  }
+
+  @Test
+  void metadataMatchesParsedMaze() {
+    Maze maze = MazeStore.getMaze("m33_35.txt");
+    MazeMetadata metadata = MazeCatalog.getMetadata("m33_35.txt");
+
+    int walkable = 0;
+    int minWeight = Integer.MAX_VALUE;
+    int maxWeight = 0;
+    for (int index = 0; index < maze.getCellCount(); index++) {
+      if (maze.isWalkable(index)) {
+        walkable++;
+        minWeight = Math.min(minWeight, maze.costAt(index));
+        maxWeight = Math.max(maxWeight, maze.costAt(index));
+      }
+    }
+    assertEquals(maze.getWidth(), metadata.width());
+    assertEquals(maze.getHeight(), metadata.height());
+    assertEquals(maze.getStart(), metadata.start());
+    assertEquals(maze.getGoal(), metadata.goal());
+    assertEquals(walkable, metadata.walkableCells());
+    assertEquals(minWeight, metadata.minWeight());
+    assertEquals(maxWeight, metadata.maxWeight());
+  }
+
+  @Test
+  void rescansEditedFiles() throws IOException {
+    Path file = Files.createTempFile("maze", ".txt");
+    try {
+      Files.writeString(file, "S\"2\"G\n");
+      assertTrue(MazeCatalog.isValid(file.toString()));
+
+      Files.writeString(file, "S\"2\"\"3\"\n");
+      assertFalse(MazeCatalog.isValid(file.toString()));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class MazeFileLoaderTest {
+
+  @Test
+  void mappedLoadMatchesLineParseForEveryLineEnding() throws IOException {
+    List<String> lines = bundledLines("m30_30.txt");
+    Maze expected = new MazeParser().parse("m30_30", lines);
+
+    for (String separator : List.of("\n", "\r\n", "\r")) {
+      for (String tail : List.of("", separator, separator + separator)) {
+        String text = String.join(separator, lines) + tail;
+        Path file = Files.createTempFile("maze", ".txt");
+        try {
+          Files.writeString(file, text);
+          String label = escape(separator) + " tail " + escape(tail);
+          assertSameMaze(expected, MazeFileLoader.load("m30_30", file), label);
+          assertSameMaze(expected, MazeFileLoader.load("m30_30", file, 1), label);
+        } finally {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  @Test
+  void segmentsCutAtAnyLineBreakMatchLineParse() throws IOException {
+    List<String> lines = bundledLines("m30_30.txt");
+    Maze expected = new MazeParser().parse("m30_30", lines);
+    byte[] bytes = (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8);
+
+    // Cut after every '\r' and every '\n', so some segments start with the '\n' of a CRLF
+    List<ByteBuffer> segments = new ArrayList<>();
+    int segmentStart = 0;
+    for (int index = 0; index < bytes.length; index++) {
+      if (bytes[index] == '\r' || bytes[index] == '\n') {
+        segments.add(ByteBuffer.wrap(bytes, segmentStart, index + 1 - segmentStart).slice());
+        segmentStart = index + 1;
+      }
+    }
+    assertTrue(segments.size() > lines.size());
+
+    assertSameMaze(expected, new MazeParser().parseSegments("m30_30", segments), "CRLF segments");
+  }
+
+  private static List<String> bundledLines(String fileName) throws IOException {
+    try (InputStream input = MazeFileLoaderTest.class.getResourceAsStream("/maze/" + fileName)) {
+      String text = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+      return text.strip().lines().toList();
+    }
+  }
+
+  private static void assertSameMaze(Maze expected, Maze actual, String label) {
+    assertEquals(expected.getStart(), actual.getStart(), label);
+    assertEquals(expected.getGoal(), actual.getGoal(), label);
+    assertTrue(expected.hasSameContent(actual), label);
+  }
+
+  private static String escape(String text) {
+    return text.replace("\r", "\\r").replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,116 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class MazeParserTest {
+
+  private static final List<String> LINES = List.of(
+      "#####",
+      "#S\"3\"\"10\"#",
+      "#\"2\"#G#",
+      "#####");
+
+  @Test
+  void parsesCostsIntoFlatGrid() {
+    Maze maze = new MazeParser().parse("tiny", LINES);
+
+    assertEquals(5, maze.getWidth());
+    assertEquals(4, maze.getHeight());
+    assertEquals(maze.indexOf(1, 1), maze.getStartIndex());
+    assertEquals(maze.indexOf(2, 3), maze.getGoalIndex());
+    assertEquals(Maze.WALL, maze.costAt(0, 0));
+    assertEquals(1, maze.costAt(1, 1));
+    assertEquals(3, maze.costAt(1, 2));
+    assertEquals(10, maze.costAt(1, 3));
+    assertFalse(maze.isWalkable(2, 2));
+    assertTrue(maze.isWalkable(maze.getGoalIndex()));
+  }
+
+  @Test
+  void derivesCellViewFromFlatGrid() {
+    Maze maze = new MazeParser().parse("tiny", LINES);
+
+    assertEquals(MazeCellType.START, maze.getCell(new Coordinate(1, 1)).type());
+    assertEquals(MazeCellType.GOAL, maze.getCell(new Coordinate(2, 3)).type());
+    assertEquals(10, maze.getGrid().get(1).get(3).stepCost());
+    assertEquals(MazeCellType.WALL, maze.getGrid().get(2).get(2).type());
+  }
+
+  @Test
+  void rejectsRaggedRows() {
+    List<String> ragged = List.of("#S#", "#G");
+
+    assertThrows(IllegalArgumentException.class, () -> new MazeParser().parse("ragged", ragged));
+  }
+
+  @Test
+  void byteInputsMatchLineParse() {
+    Maze expected = new MazeParser().parse("tiny", LINES);
+    byte[] bytes = ("\r\n" + String.join("\r\n", LINES) + "\n  \n").getBytes(StandardCharsets.UTF_8);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+    assertEquals(expected.toString(), new MazeParser().parse("tiny", bytes).toString());
+    assertEquals(expected.toString(), new MazeParser().parse("tiny", new ByteArrayInputStream(bytes)).toString());
+    assertEquals(expected.toString(), new MazeParser().parse("tiny", direct).toString());
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  void byteInputsReportSameErrorsAsLineParse() {
+    List<List<String>> malformed = List.of(
+        List.of("#S\"3\"G", "#S#\"x"),
+        List.of("#S\"-3\"G"),
+        List.of("#S\"\"G"),
+        List.of("#S\"99999999999\"G"),
+        List.of("#SS\"x\"!G"),
+        List.of("#S#", "#G#", "##"),
+        List.of("#S#"));
+
+    for (List<String> lines : malformed) {
+      byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+      IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+          () -> new MazeParser().parse("bad", lines));
+      IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+          () -> new MazeParser().parse("bad", new ByteArrayInputStream(bytes)));
+      assertEquals(expected.getMessage(), actual.getMessage());
+    }
+  }
+
+  @Test
+  void emptyLineInListReportsRaggedGrid() {
+    for (List<String> lines : List.of(List.of("", "#S#", "#G#"), List.of("#S#", "", "#G#"))) {
+      IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+          () -> new MazeParser().parse("gap", lines));
+      assertEquals("Maze grid must be rectangular", error.getMessage());
+    }
+  }
+
+  @Test
+  void byteInputsSkipUnicodeBlankLines() {
+    Maze expected = new MazeParser().parse("tiny", LINES);
+    String blank = "\u3000\u2003 \u2029";
+    byte[] bytes = (blank + "\n" + String.join("\n" + blank + "\n", LINES) + "\n" + blank)
+        .getBytes(StandardCharsets.UTF_8);
+
+    assertEquals(expected.toString(), new MazeParser().parse("tiny", bytes).toString());
+    assertEquals(expected.toString(), new MazeParser().parse("tiny", new ByteArrayInputStream(bytes)).toString());
+    assertThrows(IllegalArgumentException.class,
+        () -> new MazeParser().parse("nbsp", "#S#\n\u00A0\n#G#".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void acceptsSignedWeightsLikeIntegerParse() {
+    Maze maze = new MazeParser().parse("signed", List.of("S\"+4\"G"));
+
+    assertEquals(4, maze.costAt(0, 1));
+  }
+}
@@ -0,0 +1,120 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+final class MazeStoreTest {
+
+  @Test
+  void preloadAllWarmsCacheAndCollectsFailures() {
+    AtomicInteger progress = new AtomicInteger();
+    List<String> names = List.of("m15_15.txt", "m24_20.txt", "missing.txt", "m15_15.txt");
+
+    MazePreloadResult result = MazeStore.preloadAll(names,
+        (fileName, completed, total, failure) -> {
+          progress.incrementAndGet();
+          assertEquals(3, total);
+        }).join();
+
+    assertEquals(3, progress.get());
+    assertEquals(List.of("m15_15.txt", "m24_20.txt"), result.loaded());
+    assertTrue(result.failed().get("missing.txt") instanceof IllegalArgumentException);
+    assertSame(MazeStore.loadAsync("m24_20.txt").join(), MazeStore.getMaze("m24_20.txt"));
+  }
+
+  @Test
+  void deduplicatesIdenticalContentAndReloadsEditedFiles() throws IOException {
+    Path directory = Files.createTempDirectory("mazes");
+    Path first = directory.resolve("first.txt");
+    Path second = directory.resolve("second.txt");
+    Files.writeString(first, "#####\n#S\"3\"G#\n#####\n");
+    Files.writeString(second, "#####\n#S\"3\"G#\n#####\n");
+    MazeStore.setMazeDirectory(directory);
+    MazeStore.setContentAddressed(true);
+    Duration interval = MazeStore.getRecheckInterval();
+    MazeStore.setRecheckInterval(Duration.ZERO);
+    try {
+      long deduplicated = MazeStore.deduplicatedCount();
+      Maze original = MazeStore.getMaze("first.txt");
+      Maze copy = MazeStore.getMaze("second.txt");
+
+      assertEquals("second.txt", copy.getName());
+      assertEquals(original.getFingerprint(), copy.getFingerprint());
+      assertTrue(original.hasSameContent(copy));
+      assertEquals(deduplicated + 1, MazeStore.deduplicatedCount());
+      assertSame(original, MazeStore.findByFingerprint(original.getFingerprint()).orElseThrow());
+
+      Files.writeString(first, "#####\n#S\"7\"G#\n#####\n");
+      Files.setLastModifiedTime(first, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      Maze edited = MazeStore.getMaze("first.txt");
+      assertNotEquals(original.getFingerprint(), edited.getFingerprint());
+      assertEquals(7, edited.costAt(1, 2));
+    } finally {
+      MazeStore.setRecheckInterval(interval);
+      MazeStore.setContentAddressed(false);
+      MazeStore.setMazeDirectory(null);
+      MazeStore.clear();
+      Files.deleteIfExists(first);
+      Files.deleteIfExists(second);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  void concurrentRequestsShareOneLoadAndEditsWaitForTheRecheck() throws Exception {
+    Path directory = Files.createTempDirectory("mazes");
+    Path file = directory.resolve("shared.txt");
+    Files.writeString(file, "#####\n#S\"3\"G#\n#####\n");
+    MazeStore.setMazeDirectory(directory);
+    Duration interval = MazeStore.getRecheckInterval();
+    MazeStore.setRecheckInterval(Duration.ofHours(1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      long loads = MazeStore.cacheStats().loadCount();
+      CountDownLatch ready = new CountDownLatch(1);
+      List<Future<Maze>> requests = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        requests.add(executor.submit(() -> {
+          ready.await();
+          return MazeStore.getMaze("shared.txt");
+        }));
+      }
+      ready.countDown();
+      Maze first = requests.getFirst().get();
+      for (Future<Maze> request : requests) {
+        assertSame(first, request.get());
+      }
+      assertEquals(loads + 1, MazeStore.cacheStats().loadCount());
+
+      Files.writeString(file, "#####\n#S\"7\"G#\n#####\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+      assertSame(first, MazeStore.getMaze("shared.txt"));
+      MazeStore.setRecheckInterval(Duration.ZERO);
+      assertEquals(7, MazeStore.getMaze("shared.txt").costAt(1, 2));
+      assertEquals(loads + 2, MazeStore.cacheStats().loadCount());
+    } finally {
+      executor.shutdownNow();
+      MazeStore.setRecheckInterval(interval);
+      MazeStore.setMazeDirectory(null);
+      MazeStore.clear();
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(directory);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package cpe231.finalproject.timelimitedmaze.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cpe231.finalproject.timelimitedmaze.solver.DijkstraSolver;
+import cpe231.finalproject.timelimitedmaze.solver.SolverResult;
+import cpe231.finalproject.timelimitedmaze.solver.TiledAStarSolver;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class TiledMazeTest {
+
+  @Test
+  void servesSameCellsThroughSmallTileCache() throws IOException {
+    Maze maze = MazeStore.getMaze("m33_35.txt");
+    Path file = Files.createTempFile("maze", TiledMazeFormat.EXTENSION);
+    try {
+      TiledMazeFormat.write(maze, file, 7);
+      try (TiledMaze tiled = TiledMaze.open(file, 2)) {
+        assertEquals(maze.getWidth(), tiled.getWidth());
+        assertEquals(maze.getHeight(), tiled.getHeight());
+        assertEquals(maze.getStart(), tiled.getStart());
+        assertEquals(maze.getGoal(), tiled.getGoal());
+        for (int row = 0; row < maze.getHeight(); row++) {
+          for (int column = 0; column < maze.getWidth(); column++) {
+            assertEquals(maze.costAt(row, column), tiled.costAt(row, column));
+          }
+        }
+        TileCacheStats stats = tiled.tileStats();
+        assertTrue(stats.faultCount() > 0);
+        assertTrue(stats.evictionCount() > 0);
+        assertTrue(stats.residentTiles() <= 2);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void tiledSearchMatchesInMemoryDijkstra() throws IOException {
+    Maze maze = MazeStore.getMaze("m100_100.txt");
+    Path file = Files.createTempFile("maze", TiledMazeFormat.EXTENSION);
+    try {
+      TiledMazeFormat.write(maze, file, 16);
+      SolverResult expected = new DijkstraSolver().solve(maze);
+      try (TiledMaze tiled = TiledMaze.open(file, 4)) {
+        assertEquals(expected.totalCost(), new TiledAStarSolver(false).solve(tiled).totalCost());
+        assertEquals(expected.totalCost(), new TiledAStarSolver(true).solve(tiled).totalCost());
+
+        TiledAStarSolver mapped = new TiledAStarSolver(true, 0);
+        SolverResult result = mapped.solve(tiled);
+        assertTrue(mapped.isLastSearchStateMapped());
+        assertEquals(expected.totalCost(), result.totalCost());
+        assertEquals(maze.getGoal(), result.path().getLast());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void streamingConversionMatchesInMemoryWrite() throws IOException {
+    Path text = Files.createTempFile("maze", ".txt");
+    Path streamed = TiledMazeFormat.tiledFileFor(text);
+    Path written = Files.createTempFile("maze", TiledMazeFormat.EXTENSION);
+    try {
+      Files.writeString(text, "#####\n#S\"3\"\"10\"#\n#\"2\"#G#\n#####\n");
+      TiledMazeFormat.convert(text, 4);
+      TiledMazeFormat.write(new MazeParser().parse("tiny", Files.readAllBytes(text)), written, 4);
+
+      assertEquals(-1, Files.mismatch(streamed, written));
+    } finally {
+      Files.deleteIfExists(text);
+      Files.deleteIfExists(streamed);
+      Files.deleteIfExists(written);
+    }
+  }
+
+  @Test
+  void failedConversionLeavesNoFile() throws IOException {
+    Path text = Files.createTempFile("maze", ".txt");
+    Path tiled = TiledMazeFormat.tiledFileFor(text);
+    try {
+      Files.writeString(text, "S\"2\"\n\"3\"\n");
+      assertThrows(IllegalArgumentException.class, () -> TiledMazeFormat.convert(text, 4));
+      assertFalse(Files.exists(tiled));
+    } finally {
+      Files.deleteIfExists(text);
+      Files.deleteIfExists(tiled);
+    }
+  }
+
+  @Test
+  void failedConversionKeepsThePreviousFile() throws IOException {
+    Path directory = Files.createTempDirectory("mazes");
+    Path text = directory.resolve("tiny.txt");
+    Path tiled = TiledMazeFormat.tiledFileFor(text);
+    try {
+      Files.writeString(text, "#####\n#S\"3\"G#\n#####\n");
+      TiledMazeFormat.convert(text, 4);
+      byte[] converted = Files.readAllBytes(tiled);
+
+      Files.writeString(text, "S\"2\"\n\"3\"\n");
+      assertThrows(IllegalArgumentException.class, () -> TiledMazeFormat.convert(text, 4));
+      assertArrayEquals(converted, Files.readAllBytes(tiled));
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(2, files.count());
+      }
+    } finally {
+      Files.deleteIfExists(text);
+      Files.deleteIfExists(tiled);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Test
+  void heuristicStaysAdmissibleWithFreeCells() throws IOException {
+    // The free detour first leads away from the goal; unscaled Manhattan takes the direct step
+    List<String> lines = new ArrayList<>();
+    lines.add("S\"5\"G");
+    for (int row = 1; row < 6; row++) {
+      lines.add("\"0\"#\"0\"");
+    }
+    lines.add("\"0\"\"0\"\"0\"");
+    Maze maze = new MazeParser().parse("free", lines);
+    Path file = Files.createTempFile("maze", TiledMazeFormat.EXTENSION);
+    try {
+      TiledMazeFormat.write(maze, file, 2);
+      int expected = new DijkstraSolver().solve(maze).totalCost();
+      assertEquals(2, expected);
+      try (TiledMaze tiled = TiledMaze.open(file, 2)) {
+        assertEquals(0, tiled.getMinStepCost());
+        assertEquals(expected, new TiledAStarSolver(true).solve(tiled).totalCost());
+      }
+      assertEquals(expected, new TiledAStarSolver(true).solve(maze).totalCost());
+
+      TiledMazeFormat.write(MazeStore.getMaze("m33_35.txt"), file, 8);
+      try (TiledMaze tiled = TiledMaze.open(file, 2)) {
+        assertEquals(MazeStore.getMaze("m33_35.txt").getMinStepCost(), tiled.getMinStepCost());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}